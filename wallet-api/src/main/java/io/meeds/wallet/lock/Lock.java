@@ -27,10 +27,28 @@ import java.util.concurrent.TimeUnit;
 @Target(ElementType.METHOD)
 public @interface Lock {
 
+  /**
+   * @return lock identifier, when blank, the annotated method signature is
+   *         used
+   */
   String id() default "";
 
+  /**
+   * @return an expression resolving the lock key from method arguments, for
+   *         example: '#0' for first argument, '#transactionHash' for a named
+   *         argument or '#0.hash' for a property of the first argument. When
+   *         blank, a single lock is used for all method invocations, else the
+   *         lock is acquired per resolved key.
+   */
+  String key() default "";
+
   TimeUnit timeUnit();
 
+  /**
+   * @return max duration to wait for the lock, when reached, the annotated
+   *         method isn't invoked and an {@link IllegalStateException} is
+   *         thrown
+   */
   int duration();
 
 }
@@ -1,8 +1,8 @@
 /*
  * This file is part of the Meeds project (https://meeds.io/).
- * 
+ *
  * Copyright (C) 2020 - 2023 Meeds Association contact@meeds.io
- * 
+ *
  * This program is free software; you can redistribute it and/or
  * modify it under the terms of the GNU Lesser General Public
  * License as published by the Free Software Foundation; either
@@ -18,10 +18,13 @@
 package io.meeds.wallet.lock;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
-import java.util.concurrent.locks.StampedLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -31,24 +34,170 @@ import org.aspectj.lang.reflect.MethodSignature;
 @Aspect
 public class LockAspect {
 
-  private static final Map<String, StampedLock> LOCKS = new HashMap<>();
+  private static final Map<Method, LockDefinition> DEFINITIONS = new ConcurrentHashMap<>();
+
+  private static final Map<String, KeyedLocks>     LOCKS       = new ConcurrentHashMap<>();
 
   @Around("execution(* *(..)) && @annotation(io.meeds.wallet.lock.Lock)")
   public Object around(ProceedingJoinPoint point) throws Throwable { // NOSONAR
     MethodSignature methodSignature = (MethodSignature) point.getSignature();
     Method method = methodSignature.getMethod();
-    Lock annotation = method.getAnnotation(Lock.class);
-
-    String id = annotation.id();
-    if (StringUtils.isBlank(id)) {
-      id = method.toString();
-    }
-    StampedLock lock = LOCKS.computeIfAbsent(id, key -> new StampedLock());
-    long stamp = lock.tryWriteLock(annotation.duration(), annotation.timeUnit());
+    LockDefinition definition = DEFINITIONS.computeIfAbsent(method,
+                                                            key -> new LockDefinition(method,
+                                                                                      methodSignature.getParameterNames()));
+    KeyedLocks keyedLocks = definition.locks;
+    String key = definition.resolveKey(point.getArgs());
+    KeyLock keyLock = keyedLocks.use(key);
     try {
-      return point.proceed();
+      long startTime = System.nanoTime();
+      boolean acquired = keyLock.lock.tryLock(definition.duration, definition.timeUnit);
+      long waitTime = System.nanoTime() - startTime;
+      if (!acquired) {
+        keyedLocks.metrics.timedOut(waitTime);
+        throw new IllegalStateException("Lock '" + definition.id + "' wasn't acquired after " + definition.duration + " "
+            + definition.timeUnit);
+      }
+      keyedLocks.metrics.acquired(waitTime);
+      try {
+        return point.proceed();
+      } finally {
+        keyedLocks.metrics.released();
+        keyLock.lock.unlock();
+      }
     } finally {
-      lock.unlock(stamp);
+      keyedLocks.release(key);
+    }
+  }
+
+  /**
+   * @return contention metrics of managed locks by lock identifier
+   */
+  public static Map<String, LockMetrics> getLocksMetrics() {
+    Map<String, LockMetrics> metrics = new ConcurrentHashMap<>();
+    LOCKS.forEach((id, keyedLocks) -> metrics.put(id, keyedLocks.metrics));
+    return Collections.unmodifiableMap(metrics);
+  }
+
+  /**
+   * @param id lock identifier
+   * @return contention metrics of the lock or null if not used yet
+   */
+  public static LockMetrics getLockMetrics(String id) {
+    KeyedLocks keyedLocks = LOCKS.get(id);
+    return keyedLocks == null ? null : keyedLocks.metrics;
+  }
+
+  protected static String resolveKey(String[] path, int argumentIndex, Object[] args) {
+    if (argumentIndex < 0 || args == null || argumentIndex >= args.length) {
+      throw new IllegalStateException("Lock key argument index " + argumentIndex + " is out of method arguments");
+    }
+    Object value = args[argumentIndex];
+    for (int i = 1; i < path.length && value != null; i++) {
+      value = getPropertyValue(value, path[i]);
+    }
+    return value == null ? null : StringUtils.lowerCase(value.toString());
+  }
+
+  protected static int getArgumentIndex(String argument, String[] parameterNames) {
+    if (StringUtils.isNumeric(argument)) {
+      return Integer.parseInt(argument);
+    }
+    int index = ArrayUtils.indexOf(parameterNames, argument);
+    if (index < 0) {
+      throw new IllegalStateException("Lock key argument '" + argument + "' isn't a method parameter");
+    }
+    return index;
+  }
+
+  private static Object getPropertyValue(Object value, String property) {
+    String capitalizedProperty = StringUtils.capitalize(property);
+    for (String methodName : new String[] { "get" + capitalizedProperty, "is" + capitalizedProperty, property }) {
+      try {
+        return value.getClass().getMethod(methodName).invoke(value);
+      } catch (NoSuchMethodException e) {
+        // Try next accessor name
+      } catch (Exception e) {
+        throw new IllegalStateException("Error retrieving property '" + property + "' to compute lock key", e);
+      }
+    }
+    throw new IllegalStateException("Property '" + property + "' to compute lock key wasn't found in " + value.getClass());
+  }
+
+  private static class LockDefinition {
+
+    private final String      id;
+
+    private final int         duration;
+
+    private final TimeUnit    timeUnit;
+
+    private final String[]    keyPath;
+
+    private final int         keyArgumentIndex;
+
+    private final KeyedLocks  locks;
+
+    private LockDefinition(Method method, String[] parameterNames) {
+      Lock annotation = method.getAnnotation(Lock.class);
+      this.id = StringUtils.isBlank(annotation.id()) ? method.toString() : annotation.id();
+      this.duration = annotation.duration();
+      this.timeUnit = annotation.timeUnit();
+
+      String key = StringUtils.removeStart(StringUtils.trim(annotation.key()), "#");
+      if (StringUtils.isBlank(key)) {
+        this.keyPath = null;
+        this.keyArgumentIndex = -1;
+      } else {
+        this.keyPath = StringUtils.split(key, '.');
+        this.keyArgumentIndex = getArgumentIndex(keyPath[0], parameterNames);
+      }
+      this.locks = LOCKS.computeIfAbsent(id, lockId -> new KeyedLocks());
+    }
+
+    private String resolveKey(Object[] args) {
+      return keyPath == null ? null : LockAspect.resolveKey(keyPath, keyArgumentIndex, args);
+    }
+  }
+
+  /**
+   * Reentrant locks of a lock identifier indexed by their exact key. A lock
+   * is kept only while used, to bound memory usage whatever the number of
+   * distinct keys.
+   */
+  protected static class KeyedLocks {
+
+    private static final String        NULL_KEY = "";
+
+    private final Map<String, KeyLock> locks    = new ConcurrentHashMap<>();
+
+    private final LockMetrics          metrics  = new LockMetrics();
+
+    protected KeyLock use(String key) {
+      return locks.compute(key == null ? NULL_KEY : key, (lockKey, keyLock) -> {
+        KeyLock usedLock = keyLock == null ? new KeyLock() : keyLock;
+        usedLock.users++;
+        return usedLock;
+      });
+    }
+
+    protected void release(String key) {
+      locks.computeIfPresent(key == null ? NULL_KEY : key, (lockKey, keyLock) -> --keyLock.users == 0 ? null : keyLock);
+    }
+
+    protected int size() {
+      return locks.size();
+    }
+  }
+
+  protected static class KeyLock {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Modified only inside map computations of the key
+    private int                 users;
+
+    protected ReentrantLock getLock() {
+      return lock;
     }
   }
 
@@ -0,0 +1,108 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ *
+ * Copyright (C) 2020 - 2023 Meeds Association contact@meeds.io
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package io.meeds.wallet.lock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contention metrics of a lock managed by {@link LockAspect}
+ */
+public class LockMetrics {
+
+  private final AtomicLong    acquisitions  = new AtomicLong();
+
+  private final AtomicLong    timeouts      = new AtomicLong();
+
+  private final AtomicLong    totalWaitTime = new AtomicLong();
+
+  private final AtomicLong    maxWaitTime   = new AtomicLong();
+
+  private final AtomicInteger holders       = new AtomicInteger();
+
+  /**
+   * @return count of successful lock acquisitions
+   */
+  public long getAcquisitions() {
+    return acquisitions.get();
+  }
+
+  /**
+   * @return count of lock acquisitions that reached configured duration
+   */
+  public long getTimeouts() {
+    return timeouts.get();
+  }
+
+  /**
+   * @return cumulated time spent waiting for the lock in milliseconds
+   */
+  public long getTotalWaitTime() {
+    return TimeUnit.NANOSECONDS.toMillis(totalWaitTime.get());
+  }
+
+  /**
+   * @return maximum time spent waiting for the lock in milliseconds
+   */
+  public long getMaxWaitTime() {
+    return TimeUnit.NANOSECONDS.toMillis(maxWaitTime.get());
+  }
+
+  /**
+   * @return average time spent waiting for the lock in milliseconds
+   */
+  public double getAverageWaitTime() {
+    long count = acquisitions.get() + timeouts.get();
+    return count == 0 ? 0 : (double) getTotalWaitTime() / count;
+  }
+
+  /**
+   * @return count of threads currently holding the lock, a key for each
+   */
+  public int getHolders() {
+    return holders.get();
+  }
+
+  protected void acquired(long waitTimeInNanos) {
+    acquisitions.incrementAndGet();
+    holders.incrementAndGet();
+    addWaitTime(waitTimeInNanos);
+  }
+
+  protected void timedOut(long waitTimeInNanos) {
+    timeouts.incrementAndGet();
+    addWaitTime(waitTimeInNanos);
+  }
+
+  protected void released() {
+    holders.decrementAndGet();
+  }
+
+  private void addWaitTime(long waitTimeInNanos) {
+    totalWaitTime.addAndGet(waitTimeInNanos);
+    maxWaitTime.accumulateAndGet(waitTimeInNanos, Math::max);
+  }
+
+  @Override
+  public String toString() {
+    return "LockMetrics [acquisitions=" + getAcquisitions() + ", timeouts=" + getTimeouts() + ", holders=" + getHolders()
+        + ", totalWaitTime=" + getTotalWaitTime() + "ms, maxWaitTime=" + getMaxWaitTime() + "ms]";
+  }
+
+}
@@ -18,19 +18,30 @@ package org.exoplatform.wallet.model.reward;
 
 import static org.exoplatform.wallet.utils.RewardUtils.*;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode.Exclude;
 
 @Data
 public class RewardReport {
-  private RewardPeriod      period  = null;
+  private RewardPeriod      period               = null;
 
-  private Set<WalletReward> rewards = new HashSet<>();
+  private Set<WalletReward> rewards              = new HashSet<>();
+
+  /**
+   * Time in milliseconds spent retrieving earned points, per plugin id. When
+   * retrieved in chunks, this is the sum of chunks computing time, excluding
+   * the time waiting for an available thread.
+   */
+  @Exclude
+  private Map<String, Long> pluginsComputingTime = new HashMap<>();
 
   public long getPendingTransactionCount() {
     return rewards.stream()
@@ -0,0 +1,79 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.model.transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Position in a transactions list sorted by creation date and identifier
+ * descending. The next page starts with transactions strictly older than this
+ * position, thus retrieving a page doesn't depend on its depth in history.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionCursor {
+
+  private static final char SEPARATOR = ':';
+
+  private long              createdDate;
+
+  private long              id;
+
+  /**
+   * @param transactionDetail last transaction of a retrieved page
+   * @return {@link TransactionCursor} pointing after the transaction
+   */
+  public static TransactionCursor of(TransactionDetail transactionDetail) {
+    return new TransactionCursor(transactionDetail.getTimestamp(), transactionDetail.getId());
+  }
+
+  /**
+   * @param cursor opaque cursor as returned by {@link #encode()}
+   * @return decoded {@link TransactionCursor} or null if cursor is blank
+   * @throws IllegalArgumentException if the cursor isn't valid
+   */
+  public static TransactionCursor decode(String cursor) {
+    if (StringUtils.isBlank(cursor)) {
+      return null;
+    }
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separatorIndex = value.indexOf(SEPARATOR);
+      return new TransactionCursor(Long.parseLong(value.substring(0, separatorIndex)),
+                                   Long.parseLong(value.substring(separatorIndex + 1)));
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid transactions cursor " + cursor, e);
+    }
+  }
+
+  /**
+   * @return opaque representation of the cursor to send to clients
+   */
+  public String encode() {
+    String value = String.valueOf(createdDate) + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+}
@@ -41,6 +41,7 @@ import org.exoplatform.services.log.ExoLogger;
 import org.exoplatform.services.log.Log;
 import org.exoplatform.services.rest.resource.ResourceContainer;
 import org.exoplatform.wallet.model.transaction.TransactionDetail;
+import org.exoplatform.wallet.model.transaction.TransactionDetailPage;
 import org.exoplatform.wallet.model.transaction.TransactionStatistics;
 import org.exoplatform.wallet.service.*;
 
@@ -262,6 +263,55 @@ public class WalletTransactionREST implements ResourceContainer {
     }
   }
 
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  @Path("getTransactionsPage")
+  @RolesAllowed("users")
+  @Operation(
+          summary = "Get a page of transactions of an address",
+          method = "GET",
+          description = "returns a page of transaction detail objects with the cursor to use to retrieve next page")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Request fulfilled"),
+      @ApiResponse(responseCode = "400", description = "Invalid query input"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized operation"),
+      @ApiResponse(responseCode = "500", description = "Internal server error") })
+  public Response getTransactionsPage(@Parameter(description = "wallet address", required = true) @QueryParam("address") String address,
+                                      @Parameter(description = "token contract address to filter with") @QueryParam("contractAddress") String contractAddress,
+                                      @Parameter(description = "token contract method to filter with") @QueryParam("contractMethodName") String contractMethodName,
+                                      @Parameter(description = "transaction hash to include in first page") @QueryParam("hash") String hash,
+                                      @Parameter(description = "cursor returned with previous page") @QueryParam("cursor") String cursor,
+                                      @Parameter(description = "size of page to retrieve", required = true) @QueryParam("limit") int limit,
+                                      @Parameter(description = "whether to include only pending or not") @QueryParam("pending") boolean onlyPending,
+                                      @Parameter(description = "whether to include administration transactions or not") @QueryParam("administration") boolean administration) {
+    String currentUserId = getCurrentUserId();
+    if (StringUtils.isBlank(address)) {
+      LOG.warn("Bad request sent to server with empty wallet address");
+      return Response.status(HTTPStatus.BAD_REQUEST).build();
+    }
+    try {
+      TransactionDetailPage transactionsPage = transactionService.getTransactionsPage(address,
+                                                                                      contractAddress,
+                                                                                      contractMethodName,
+                                                                                      hash,
+                                                                                      cursor,
+                                                                                      limit,
+                                                                                      onlyPending,
+                                                                                      administration,
+                                                                                      currentUserId);
+      return Response.ok(transactionsPage).build();
+    } catch (IllegalArgumentException e) {
+      LOG.warn("Bad request sent to server to retrieve transactions of wallet {}: {}", address, e.getMessage());
+      return Response.status(HTTPStatus.BAD_REQUEST).build();
+    } catch (IllegalAccessException e) {
+      LOG.warn("User {} attempts to display transactions of address {}", currentUserId, address, e);
+      return Response.status(HTTPStatus.UNAUTHORIZED).build();
+    } catch (Exception e) {
+      LOG.error("Error getting transactions of wallet " + address, e);
+      return Response.serverError().build();
+    }
+  }
+
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   @Path("refreshTransactionFromBlockchain")
@@ -0,0 +1,294 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.reward.api;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Earned points of identities, stored in primitive arrays indexed by identity
+ * id using open addressing. This avoids allocating a {@link Long} and a
+ * {@link Double} wrapper per identity when computing rewards of large
+ * communities.
+ */
+public class IdentityPoints {
+
+  private static final int DEFAULT_EXPECTED_SIZE = 16;
+
+  private long[]           identityIds;
+
+  private double[]         points;
+
+  private boolean[]        used;
+
+  private int              mask;
+
+  private int              size;
+
+  private int              resizeThreshold;
+
+  public IdentityPoints() {
+    this(DEFAULT_EXPECTED_SIZE);
+  }
+
+  /**
+   * @param expectedSize count of identities expected to be added, used to
+   *          avoid resizing the map while adding them
+   */
+  public IdentityPoints(int expectedSize) {
+    allocate(tableSize(expectedSize));
+  }
+
+  /**
+   * Converts boxed earned points into primitive ones. Null points are
+   * considered as zero and null identity ids are ignored.
+   *
+   * @param earnedPoints {@link Map} of identity id with its earned points
+   * @return {@link IdentityPoints} with the same content
+   */
+  public static IdentityPoints of(Map<Long, ? extends Number> earnedPoints) {
+    if (earnedPoints == null) {
+      return new IdentityPoints();
+    }
+    IdentityPoints identityPoints = new IdentityPoints(earnedPoints.size());
+    for (Map.Entry<Long, ? extends Number> entry : earnedPoints.entrySet()) {
+      if (entry.getKey() != null) {
+        Number value = entry.getValue();
+        identityPoints.put(entry.getKey(), value == null ? 0 : value.doubleValue());
+      }
+    }
+    return identityPoints;
+  }
+
+  /**
+   * @param identityId identity id
+   * @param earnedPoints earned points of identity
+   * @return previous points of the identity, 0 if none
+   */
+  public double put(long identityId, double earnedPoints) {
+    int slot = findSlot(identityId);
+    if (used[slot]) {
+      double previousPoints = points[slot];
+      points[slot] = earnedPoints;
+      return previousPoints;
+    }
+    identityIds[slot] = identityId;
+    points[slot] = earnedPoints;
+    used[slot] = true;
+    if (++size > resizeThreshold) {
+      resize();
+    }
+    return 0;
+  }
+
+  /**
+   * Adds points to the already earned points of an identity
+   *
+   * @param identityId identity id
+   * @param earnedPoints points to add
+   * @return new earned points of the identity
+   */
+  public double add(long identityId, double earnedPoints) {
+    int slot = findSlot(identityId);
+    if (used[slot]) {
+      points[slot] += earnedPoints;
+      return points[slot];
+    }
+    put(identityId, earnedPoints);
+    return earnedPoints;
+  }
+
+  /**
+   * @param identityId identity id
+   * @return earned points of the identity, 0 if not found
+   */
+  public double get(long identityId) {
+    int slot = findSlot(identityId);
+    return used[slot] ? points[slot] : 0;
+  }
+
+  public boolean containsKey(long identityId) {
+    return used[findSlot(identityId)];
+  }
+
+  /**
+   * @param identityId identity id
+   * @return true if the identity was found and removed
+   */
+  public boolean remove(long identityId) {
+    int slot = findSlot(identityId);
+    if (!used[slot]) {
+      return false;
+    }
+    removeAt(slot);
+    return true;
+  }
+
+  /**
+   * Removes identities matching the given predicate
+   *
+   * @param predicate predicate applied on each identity id and its points
+   * @return count of removed identities
+   */
+  public int removeIf(PointsPredicate predicate) {
+    long[] removedIdentityIds = new long[size];
+    int removedCount = 0;
+    for (int slot = 0; slot < used.length; slot++) {
+      if (used[slot] && predicate.test(identityIds[slot], points[slot])) {
+        removedIdentityIds[removedCount++] = identityIds[slot];
+      }
+    }
+    for (int i = 0; i < removedCount; i++) {
+      remove(removedIdentityIds[i]);
+    }
+    return removedCount;
+  }
+
+  /**
+   * @param consumer consumer called for each identity id and its points
+   */
+  public void forEach(PointsConsumer consumer) {
+    for (int slot = 0; slot < used.length; slot++) {
+      if (used[slot]) {
+        consumer.accept(identityIds[slot], points[slot]);
+      }
+    }
+  }
+
+  /**
+   * @return sum of earned points of all identities
+   */
+  public double sum() {
+    double sum = 0;
+    for (int slot = 0; slot < used.length; slot++) {
+      if (used[slot]) {
+        sum += points[slot];
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * @return identity ids having earned points, in no particular order
+   */
+  public long[] identityIds() {
+    long[] result = new long[size];
+    int index = 0;
+    for (int slot = 0; slot < used.length; slot++) {
+      if (used[slot]) {
+        result[index++] = identityIds[slot];
+      }
+    }
+    return result;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @return a boxed {@link Map} of identity id with its earned points
+   */
+  public Map<Long, Double> toMap() {
+    Map<Long, Double> earnedPoints = new HashMap<>(size * 2);
+    forEach(earnedPoints::put);
+    return earnedPoints;
+  }
+
+  @Override
+  public String toString() {
+    return "IdentityPoints" + toMap();
+  }
+
+  private int findSlot(long identityId) {
+    int slot = hash(identityId);
+    while (used[slot] && identityIds[slot] != identityId) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Removes the entry at the given slot and shifts back following entries of
+   * the same probe sequence, thus lookups never need tombstones
+   */
+  private void removeAt(int slot) {
+    size--;
+    used[slot] = false;
+    int gap = slot;
+    int next = (gap + 1) & mask;
+    while (used[next]) {
+      int idealSlot = hash(identityIds[next]);
+      if (((next - idealSlot) & mask) >= ((next - gap) & mask)) {
+        identityIds[gap] = identityIds[next];
+        points[gap] = points[next];
+        used[gap] = true;
+        used[next] = false;
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+  }
+
+  private void resize() {
+    long[] oldIdentityIds = identityIds;
+    double[] oldPoints = points;
+    boolean[] oldUsed = used;
+    allocate(used.length * 2);
+    for (int slot = 0; slot < oldUsed.length; slot++) {
+      if (oldUsed[slot]) {
+        int newSlot = findSlot(oldIdentityIds[slot]);
+        identityIds[newSlot] = oldIdentityIds[slot];
+        points[newSlot] = oldPoints[slot];
+        used[newSlot] = true;
+      }
+    }
+  }
+
+  private void allocate(int tableSize) {
+    identityIds = new long[tableSize];
+    points = new double[tableSize];
+    used = new boolean[tableSize];
+    mask = tableSize - 1;
+    resizeThreshold = tableSize / 2;
+  }
+
+  private int hash(long identityId) {
+    long hash = identityId * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  private static int tableSize(int expectedSize) {
+    int tableSize = Integer.highestOneBit(Math.max(expectedSize, 1) * 2 - 1) << 1;
+    return Math.max(tableSize, 2);
+  }
+
+  @FunctionalInterface
+  public interface PointsConsumer {
+    void accept(long identityId, double points);
+  }
+
+  @FunctionalInterface
+  public interface PointsPredicate {
+    boolean test(long identityId, double points);
+  }
+
+}
@@ -55,4 +55,19 @@ public abstract class RewardPlugin extends BaseComponentPlugin {
    */
   public abstract Map<Long, Double> getEarnedPoints(Set<Long> identityIds, long startDateInSeconds, long endDateInSeconds);
 
+  /**
+   * Retrieves earned points for identities in a selected period of time using
+   * primitive types. By default, the points returned by
+   * {@link #getEarnedPoints(Set, long, long)} are converted, plugins should
+   * override it when they can build the result without boxed values.
+   * 
+   * @param identityIds identity ids of wallets to consider in computation
+   * @param startDateInSeconds start timestamp in seconds of reward period
+   * @param endDateInSeconds end timestamp in seconds of reward period
+   * @return {@link IdentityPoints} of identity ID with its earned points
+   */
+  public IdentityPoints getIdentityPoints(Set<Long> identityIds, long startDateInSeconds, long endDateInSeconds) {
+    return IdentityPoints.of(getEarnedPoints(identityIds, startDateInSeconds, endDateInSeconds));
+  }
+
 }
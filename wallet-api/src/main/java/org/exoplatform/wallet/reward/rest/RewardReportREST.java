@@ -147,8 +147,9 @@ public class RewardReportREST implements ResourceContainer {
   @Operation(
           summary = "Send rewards of wallets per a chosen period of time",
           method = "GET",
-          description = "Send rewards of wallets per a chosen period of time and returns an empty response")
+          description = "Send rewards of wallets per a chosen period of time and returns the count of reward transactions that couldn't be sent if any")
   @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Request fulfilled with some reward transactions not sent"),
       @ApiResponse(responseCode = "204", description = "Request fulfilled"),
       @ApiResponse(responseCode = "400", description = "Invalid query input"),
       @ApiResponse(responseCode = "401", description = "Unauthorized operation"),
@@ -162,7 +163,13 @@ public class RewardReportREST implements ResourceContainer {
         return Response.status(HTTPStatus.BAD_REQUEST).entity(ERROR_EMPTY_PARAM_DATE).build();
       }
       RewardPeriod rewardPeriod = getRewardPeriod(date);
-      rewardReportService.sendRewards(rewardPeriod.getPeriodMedianDate(), WalletUtils.getCurrentUserId());
+      int failedTransactionsCount = rewardReportService.sendRewards(rewardPeriod.getPeriodMedianDate(),
+                                                                   WalletUtils.getCurrentUserId());
+      if (failedTransactionsCount > 0) {
+        JSONObject object = new JSONObject();
+        object.put("failedTransactionsCount", failedTransactionsCount);
+        return Response.ok(object.toString(), MediaType.APPLICATION_JSON).build();
+      }
       return Response.noContent().build();
     } catch (Exception e) {
       LOG.error("Error getting computed reward", e);
@@ -39,6 +39,19 @@ public interface RewardReportService {
    */
   RewardReport computeRewards(LocalDate localDate);
 
+  /**
+   * Compute rewards of a period by updating the last computed report of the
+   * period with the modifications made since its computing, when possible.
+   * 
+   * @param localDate a {@link LocalDate} inside the period time
+   *          that will be retrieved
+   * @return a {@link RewardReport} with the details of sent tokens and tokens
+   *         to send
+   */
+  default RewardReport computeRewardsIncrementally(LocalDate localDate) {
+    return computeRewards(localDate);
+  }
+
   /**
    * Compute rewards By User
    *
@@ -56,10 +69,12 @@ public interface RewardReportService {
    * @param localDate a {@link LocalDate} inside the period time
    *          that will be retrieved
    * @param username current username sending rewards
+   * @return count of reward transactions that couldn't be sent, they can be
+   *         sent again once the sent ones are mined
    * @throws Exception if an error occurs while sending the rewards transactions
    *           on blockchain
    */
-  void sendRewards(LocalDate localDate, String username) throws Exception; // NOSONAR
+  int sendRewards(LocalDate localDate, String username) throws Exception; // NOSONAR
 
   /**
    * Retrieve a {@link RewardReport} corresponding to a period of time
@@ -59,6 +59,16 @@ public interface BlockchainTransactionService {
    */
   void addTransactionToRefreshFromBlockchain(TransactionDetail transactionDetail);
 
+  /**
+   * Add {@link TransactionDetail} to refresh processing {@link Queue}, if the
+   * transaction is already queued, its priority is bumped when requested
+   * 
+   * @param transactionDetail {@link TransactionDetail} to refresh from blockchain
+   * @param prioritize whether to refresh the transaction before other queued
+   *          transactions, typically when it's known as mined
+   */
+  void addTransactionToRefreshFromBlockchain(TransactionDetail transactionDetail, boolean prioritize);
+
   /**
    * Checks whether the Contract Transaction Topics contains a managed wallet
    * 
@@ -16,8 +16,10 @@
  */
 package org.exoplatform.wallet.service;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.exoplatform.social.core.identity.model.Identity;
 import org.exoplatform.wallet.model.*;
@@ -34,6 +36,15 @@ public interface WalletAccountService {
    */
   Set<Wallet> listWallets();
 
+  /**
+   * Retrieves the registered wallets with their blockchain state
+   * progressively, without holding all of them in memory. The returned
+   * {@link Stream} has to be closed once consumed.
+   *
+   * @return {@link Stream} of wallets associated to users and spaces
+   */
+  Stream<Wallet> streamWallets();
+
   /**
    * Retrieve wallets count
    * 
@@ -141,6 +152,27 @@ public interface WalletAccountService {
    */
   Wallet getWalletByAddress(String address);
 
+  /**
+   * Retrieve wallets by addresses at once, using cached wallets when available
+   * and a single lookup for the others
+   * 
+   * @param addresses addresses of wallets to retrieve
+   * @return {@link Map} of found {@link Wallet} details indexed by lower case
+   *         address
+   */
+  Map<String, Wallet> getWalletsByAddresses(Collection<String> addresses);
+
+  /**
+   * Retrieve wallets of identities at once, using cached wallets when
+   * available and a single lookup for the others. Like
+   * {@link #getWalletByIdentityId(long)}, a wallet is returned for each
+   * existing identity even when it has no associated address.
+   * 
+   * @param identityIds user/space technical identity ids
+   * @return {@link Map} of {@link Wallet} details indexed by identity id
+   */
+  Map<Long, Wallet> getWalletsByIdentityIds(Collection<Long> identityIds);
+
   /**
    * Save wallet state on blockchain
    * 
@@ -321,6 +353,15 @@ public interface WalletAccountService {
    */
   void refreshWalletFromBlockchain(Wallet wallet, ContractDetail contractDetail, Map<String, Set<String>> walletsModifications);
 
+  /**
+   * Refreshes only the stored token balance of a wallet from blockchain,
+   * without retrieving its ether balance
+   * 
+   * @param wallet wallet which token balance is reconciled
+   * @param contractDetail contract details attributes
+   */
+  void refreshWalletTokenBalanceFromBlockchain(Wallet wallet, ContractDetail contractDetail);
+
   /**
    * Retrieve wallet state from internal database
    * 
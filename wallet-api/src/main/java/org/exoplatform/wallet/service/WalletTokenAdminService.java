@@ -17,6 +17,7 @@
 package org.exoplatform.wallet.service;
 
 import java.math.BigInteger;
+import java.util.List;
 import java.util.Set;
 
 import org.exoplatform.wallet.model.ContractDetail;
@@ -73,6 +74,23 @@ public interface WalletTokenAdminService {
    */
   TransactionDetail reward(TransactionDetail transactionDetail, String issuerUsername) throws Exception;// NOSONAR
 
+  /**
+   * Send rewarded token amounts (on blockchain) to many receiver wallet
+   * addresses using 'Admin' wallet. The transactions are signed at once using
+   * a reserved range of nonces and are stored in a single operation.
+   *
+   * @param transactionDetails {@link List} of {@link TransactionDetail} to
+   *          send
+   * @param issuerUsername username of user sending rewards
+   * @return {@link List} of {@link TransactionDetail} with the hash of the
+   *         transactions that will be sent in blockchain. When a transaction
+   *         is invalid or couldn't be signed, it's marked as not pending and
+   *         has no hash.
+   * @throws Exception when the signed transactions couldn't be stored, in
+   *           which case none of them will be sent
+   */
+  List<TransactionDetail> rewardAll(List<TransactionDetail> transactionDetails, String issuerUsername) throws Exception;// NOSONAR
+
   /**
    * Send ether (on blockchain) to a receiver wallet address using 'Admin'
    * wallet. The transaction issuer, label and message will be stored in
@@ -109,6 +127,17 @@ public interface WalletTokenAdminService {
    */
   BigInteger getTokenBalanceOf(String address) throws Exception;// NOSONAR
 
+  /**
+   * Get token balance of a wallet address as it was at the last watched
+   * block (on blockchain), which mined transfers are already applied to the
+   * token balances stored in internal database
+   * 
+   * @param address wallet address
+   * @return token balance, not converted from token decimals
+   * @throws Exception when an error happens while reading from blockchain
+   */
+  BigInteger getTokenBalanceOfAtLastWatchedBlock(String address) throws Exception;// NOSONAR
+
   /**
    * Get ether balance of a wallet address (on blockchain)
    * 
@@ -137,7 +166,8 @@ public interface WalletTokenAdminService {
    * @param walletModifications list of called method names to change wallet
    *          state on blockchain. This parameter will be used to know which
    *          methods to call to refresh wallet state in order to optimize the
-   *          number of calls to Blockchain
+   *          number of calls to Blockchain. When null, the whole wallet
+   *          state is retrieved from blockchain, including its token balance
    * @throws Exception
    */
   void retrieveWalletInformationFromBlockchain(Wallet wallet,
@@ -16,11 +16,14 @@
  */
 package org.exoplatform.wallet.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import org.exoplatform.wallet.model.Wallet;
 import org.exoplatform.wallet.model.transaction.TransactionDetail;
+import org.exoplatform.wallet.model.transaction.TransactionDetailPage;
 import org.exoplatform.wallet.model.transaction.TransactionStatistics;
 
 /**
@@ -88,9 +91,42 @@ public interface WalletTransactionService {
                                           boolean administration,
                                           String currentUser) throws IllegalAccessException;
 
+  /**
+   * Retrieves a page of transactions sorted by creation date descending. The
+   * returned cursor points to the last transaction of the page, thus the cost
+   * of retrieving a page doesn't depend on its depth in history.
+   *
+   * @param address wallet address
+   * @param contractAddress contract address to use to filter transactions
+   * @param contractMethodName the contract method name to use to filter on
+   *          transactions
+   * @param hash the transaction hash to include in first page
+   * @param cursor opaque cursor returned with previous page, null to retrieve
+   *          first page
+   * @param limit size of the page to retrieve
+   * @param onlyPending whether filtering on pending transactions only or not
+   * @param administration include administration transactions or not
+   * @param currentUser the user accessing the list of transactions
+   * @return {@link TransactionDetailPage} with retrieved transactions and
+   *         cursor of next page if any
+   * @throws IllegalAccessException if the current user isn't allowed to access
+   *           wallet transactions
+   */
+  TransactionDetailPage getTransactionsPage(String address, // NOSONAR
+                                            String contractAddress,
+                                            String contractMethodName,
+                                            String hash,
+                                            String cursor,
+                                            int limit,
+                                            boolean onlyPending,
+                                            boolean administration,
+                                            String currentUser) throws IllegalAccessException;
+
   /**
    * Retrives the Transaction statistics of a user on a designated contract by
-   * period of time
+   * period of time. Only reward, initializeAccount, transfer and transferFrom
+   * transactions which are mined and succeeded are counted, pending and failed
+   * transactions aren't included in sent and received amounts.
    * 
    * @param address
    * @param periodicity
@@ -108,6 +144,22 @@ public interface WalletTransactionService {
    */
   TransactionDetail getTransactionByHash(String hash);
 
+  /**
+   * @param hashes transaction hashes
+   * @return {@link Map} of the transaction details corresponding to the
+   *         hashes, indexed by lower case hash and retrieved from internal
+   *         database using a single lookup
+   */
+  Map<String, TransactionDetail> getTransactionsByHashes(Collection<String> hashes);
+
+  /**
+   * @param hashes transaction hashes
+   * @return count of the transactions corresponding to the hashes which are
+   *         still marked as pending in internal database, retrieved without
+   *         loading the transactions
+   */
+  long countPendingTransactionsByHashes(Collection<String> hashes);
+
   /**
    * @param hash transaction hash
    * @return the transaction detail corresponding to the hash parameter,
@@ -150,6 +202,13 @@ public interface WalletTransactionService {
    */
   void saveTransactionDetail(TransactionDetail transactionDetail, boolean broadcastMinedTransaction);
 
+  /**
+   * Save a list of not mined transaction details in database at once
+   *
+   * @param transactionDetails {@link List} of {@link TransactionDetail} to save
+   */
+  void saveTransactionDetails(List<TransactionDetail> transactionDetails);
+
   /**
    * Save transaction details in database
    *
@@ -188,6 +247,17 @@ public interface WalletTransactionService {
    */
   boolean canSendTransactionToBlockchain(String senderAddress);
 
+  /**
+   * Determines whether the user can send a new transaction to blockchain while
+   * taking into account the transactions being sent and not saved as sent yet.
+   * 
+   * @param senderAddress wallet address of transaction sender
+   * @param sendingTransactionsCount count of transactions of the sender being
+   *          currently sent to blockchain
+   * @return true if address can send a transaction to blockchain.
+   */
+  boolean canSendTransactionToBlockchain(String senderAddress, long sendingTransactionsCount);
+
   /**
    * @return max attempts of sending a transaction
    */
@@ -207,6 +277,15 @@ public interface WalletTransactionService {
    */
   public void cancelTransactionsWithSameNonce(TransactionDetail transactionDetail);
 
+  /**
+   * Cancels other transactions having same nonce as the corresponding
+   * transactions created in bulk, using a single lookup per sender
+   * 
+   * @param transactionDetails {@link List} of {@link TransactionDetail} that
+   *          may replace previous transactions having the same nonce
+   */
+  public void cancelTransactionsWithSameNonce(List<TransactionDetail> transactionDetails);
+
   /**
    * Count the number of transactions sent from the same Wallet and having same
    * Nonce than another transaction
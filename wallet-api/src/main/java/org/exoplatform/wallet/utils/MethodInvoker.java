@@ -0,0 +1,93 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * Invokes a method resolved once into a {@link MethodHandle} instead of using
+ * {@link Method#invoke(Object, Object...)} on each call. The handle is adapted
+ * to a single generic signature, so that it's invoked exactly without access
+ * checks nor arguments array copy.
+ */
+public final class MethodInvoker {
+
+  private static final MethodType GENERIC_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+  private final Method            method;
+
+  private final MethodHandle      methodHandle;
+
+  private MethodInvoker(Method method, MethodHandle methodHandle) {
+    this.method = method;
+    this.methodHandle = methodHandle;
+  }
+
+  /**
+   * @param method {@link Method} to invoke
+   * @return {@link MethodInvoker} of the method, null if method is null
+   */
+  public static MethodInvoker of(Method method) {
+    if (method == null) {
+      return null;
+    }
+    MethodHandle methodHandle;
+    try {
+      method.trySetAccessible();
+      methodHandle = MethodHandles.lookup().unreflect(method);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("Can't access method " + method, e);
+    }
+    if (Modifier.isStatic(method.getModifiers())) {
+      // Ignore target object of static methods
+      methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+    }
+    methodHandle = methodHandle.asSpreader(Object[].class, method.getParameterCount()).asType(GENERIC_TYPE);
+    return new MethodInvoker(method, methodHandle);
+  }
+
+  /**
+   * Invokes the method. Unlike {@link Method#invoke(Object, Object...)},
+   * exceptions thrown by the method are not wrapped into an
+   * {@link java.lang.reflect.InvocationTargetException}.
+   *
+   * @param target object on which the method is invoked, ignored for static
+   *          methods
+   * @param arguments method arguments
+   * @return method result, null for void methods
+   * @throws Exception when the method throws an exception
+   */
+  public Object invoke(Object target, Object... arguments) throws Exception {
+    try {
+      return methodHandle.invokeExact(target, arguments);
+    } catch (Exception | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new UndeclaredThrowableException(e);
+    }
+  }
+
+  public Method getMethod() {
+    return method;
+  }
+
+}
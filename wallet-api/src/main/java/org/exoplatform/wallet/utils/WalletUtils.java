@@ -153,6 +153,9 @@ public class WalletUtils {
   public static final String                          LAST_BLOCK_NUMBER_KEY_NAME               =
                                                                                  "ADDONS_ETHEREUM_LAST_BLOCK_NUMBER";
 
+  public static final String                          LAST_ROLLUP_DAY_KEY_NAME                 =
+                                                                               "ADDONS_WALLET_LAST_ROLLUP_DAY";
+
   public static final String                          SCOPE_NAME                               = "ADDONS_ETHEREUM_WALLET";
 
   public static final String                          INITIAL_FUNDS_KEY_NAME                   = "INITIAL_FUNDS";
@@ -198,6 +201,21 @@ public class WalletUtils {
   public static final String                          TRANSACTION_MODIFIED_EVENT               =
                                                                                  "exo.wallet.transaction.modified";
 
+  /**
+   * Event triggered once with the {@link java.util.List} of transactions
+   * created in bulk instead of one {@link #TRANSACTION_CREATED_EVENT} per
+   * transaction
+   */
+  public static final String                          TRANSACTIONS_CREATED_EVENT               = "exo.wallet.transactions.created";
+
+  /**
+   * Event triggered once with the {@link java.util.List} of transactions
+   * modified in bulk instead of one {@link #TRANSACTION_MODIFIED_EVENT} per
+   * transaction
+   */
+  public static final String                          TRANSACTIONS_MODIFIED_EVENT              =
+                                                                                  "exo.wallet.transactions.modified";
+
   public static final String                          WALLET_ENABLED_EVENT                     = "exo.wallet.enabled";
 
   public static final String                          WALLET_DISABLED_EVENT                    = "exo.wallet.disabled";
@@ -295,6 +313,8 @@ public class WalletUtils {
 
   public static final String                          OPERATION_GET_FILTER_LOGS                = "getFilterLogs";
 
+  public static final String                          OPERATION_GET_LOGS                       = "eth_getLogs";
+
   public static final String                          OPERATION_NEW_FILTER                     = "eth_newFilter";
 
   public static final String                          OPERATION_UNINSTALL_FILTER               = "eth_uninstallFilter";
@@ -321,6 +341,8 @@ public class WalletUtils {
 
   public static final String                          OPERATION_SEND_TRANSACTION               = "eth_sendRawTransaction";
 
+  public static final String                          OPERATION_SEND_BATCH                     = "eth_batch";
+
   public static final ArgumentLiteral<Wallet>         FUNDS_REQUEST_SENDER_DETAIL_PARAMETER    =
                                                                                             new ArgumentLiteral<>(Wallet.class,
                                                                                                                   "senderFullName");
@@ -0,0 +1,97 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ *
+ * Copyright (C) 2020 - 2023 Meeds Association contact@meeds.io
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301, USA.
+ */
+package io.meeds.wallet.lock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.exoplatform.wallet.model.transaction.TransactionDetail;
+
+public class LockAspectTest {
+
+  @Test
+  public void testGetArgumentIndex() {
+    String[] parameterNames = new String[] { "transactionHash", "walletAddress" };
+    assertEquals(0, LockAspect.getArgumentIndex("0", parameterNames));
+    assertEquals(1, LockAspect.getArgumentIndex("walletAddress", parameterNames));
+    assertThrows(IllegalStateException.class, () -> LockAspect.getArgumentIndex("notExisting", parameterNames));
+  }
+
+  @Test
+  public void testResolveKey() {
+    TransactionDetail transactionDetail = new TransactionDetail();
+    transactionDetail.setHash("0xABCDEF");
+    Object[] args = new Object[] { "0xAddress", transactionDetail, null };
+
+    assertEquals("0xaddress", LockAspect.resolveKey(new String[] { "0" }, 0, args));
+    assertEquals("0xabcdef", LockAspect.resolveKey(new String[] { "1", "hash" }, 1, args));
+    assertNull(LockAspect.resolveKey(new String[] { "2", "hash" }, 2, args));
+    assertThrows(IllegalStateException.class, () -> LockAspect.resolveKey(new String[] { "1", "notExisting" }, 1, args));
+    assertThrows(IllegalStateException.class, () -> LockAspect.resolveKey(new String[] { "3" }, 3, args));
+  }
+
+  @Test
+  public void testLockMetrics() {
+    LockMetrics metrics = new LockMetrics();
+    metrics.acquired(TimeUnit.MILLISECONDS.toNanos(10));
+    metrics.acquired(TimeUnit.MILLISECONDS.toNanos(30));
+    assertEquals(2, metrics.getHolders());
+    metrics.released();
+    metrics.timedOut(TimeUnit.MILLISECONDS.toNanos(20));
+
+    assertEquals(2, metrics.getAcquisitions());
+    assertEquals(1, metrics.getTimeouts());
+    assertEquals(1, metrics.getHolders());
+    assertEquals(60, metrics.getTotalWaitTime());
+    assertEquals(30, metrics.getMaxWaitTime());
+    assertEquals(20d, metrics.getAverageWaitTime(), 0);
+  }
+
+  @Test
+  public void testKeyedLocks() throws Exception {
+    LockAspect.KeyedLocks keyedLocks = new LockAspect.KeyedLocks();
+    LockAspect.KeyLock lock1 = keyedLocks.use("0xaddress1");
+    LockAspect.KeyLock lock2 = keyedLocks.use("0xaddress2");
+    assertNotSame(lock1, lock2);
+    assertSame(lock1, keyedLocks.use("0xaddress1"));
+    assertEquals(2, keyedLocks.size());
+
+    // Nested locks of distinct keys or of the same key don't block
+    assertTrue(lock1.getLock().tryLock(1, TimeUnit.SECONDS));
+    assertTrue(lock2.getLock().tryLock(1, TimeUnit.SECONDS));
+    assertTrue(lock1.getLock().tryLock(1, TimeUnit.SECONDS));
+    lock1.getLock().unlock();
+    lock2.getLock().unlock();
+    lock1.getLock().unlock();
+
+    keyedLocks.release("0xaddress1");
+    keyedLocks.release("0xaddress2");
+    assertEquals(1, keyedLocks.size());
+    keyedLocks.release("0xaddress1");
+    assertEquals(0, keyedLocks.size());
+  }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.model.transaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+
+public class TransactionCursorTest {
+
+  @Test
+  public void testEncodeAndDecode() {
+    TransactionDetail transactionDetail = new TransactionDetail();
+    transactionDetail.setTimestamp(1600000000000L);
+    transactionDetail.setId(3256);
+
+    String cursor = TransactionCursor.of(transactionDetail).encode();
+    TransactionCursor decodedCursor = TransactionCursor.decode(cursor);
+    assertEquals(1600000000000L, decodedCursor.getCreatedDate());
+    assertEquals(3256, decodedCursor.getId());
+  }
+
+  @Test
+  public void testDecodeInvalidCursor() {
+    assertNull(TransactionCursor.decode(null));
+    assertNull(TransactionCursor.decode(" "));
+    assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode("not a cursor"));
+    assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode("MTIz"));
+  }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.reward.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class IdentityPointsTest {
+
+  @Test
+  public void testPutGetAndRemove() {
+    IdentityPoints identityPoints = new IdentityPoints(1);
+    assertTrue(identityPoints.isEmpty());
+
+    for (long identityId = 1; identityId <= 100; identityId++) {
+      assertEquals(0, identityPoints.put(identityId, identityId * 2d), 0);
+    }
+    assertEquals(100, identityPoints.size());
+    assertEquals(20, identityPoints.put(10, 5), 0);
+    assertEquals(5, identityPoints.get(10), 0);
+    assertEquals(8, identityPoints.add(10, 3), 0);
+    assertEquals(1, identityPoints.add(200, 1), 0);
+    assertEquals(101, identityPoints.size());
+
+    assertTrue(identityPoints.remove(10));
+    assertFalse(identityPoints.remove(10));
+    assertFalse(identityPoints.containsKey(10));
+    assertEquals(0, identityPoints.get(10), 0);
+    assertEquals(100, identityPoints.size());
+    for (long identityId = 1; identityId <= 100; identityId++) {
+      if (identityId != 10) {
+        assertEquals(identityId * 2d, identityPoints.get(identityId), 0);
+      }
+    }
+  }
+
+  @Test
+  public void testRemoveIfAndSum() {
+    IdentityPoints identityPoints = IdentityPoints.of(Map.of(1L, 1L, 2L, 5L, 3L, 10L));
+    assertEquals(16, identityPoints.sum(), 0);
+
+    assertEquals(2, identityPoints.removeIf((identityId, points) -> points < 10));
+    assertEquals(1, identityPoints.size());
+    assertEquals(10, identityPoints.sum(), 0);
+    assertEquals(Map.of(3L, 10d), identityPoints.toMap());
+  }
+
+  @Test
+  public void testSameContentThanHashMap() {
+    Random random = new Random(1);
+    IdentityPoints identityPoints = new IdentityPoints();
+    Map<Long, Double> expectedPoints = new HashMap<>();
+    for (int i = 0; i < 50000; i++) {
+      long identityId = random.nextInt(2000);
+      if (random.nextInt(3) == 0) {
+        identityPoints.remove(identityId);
+        expectedPoints.remove(identityId);
+      } else {
+        double points = random.nextInt(100);
+        identityPoints.put(identityId, points);
+        expectedPoints.put(identityId, points);
+      }
+    }
+    assertEquals(expectedPoints.size(), identityPoints.size());
+    assertEquals(expectedPoints, identityPoints.toMap());
+    assertEquals(expectedPoints.size(), identityPoints.identityIds().length);
+  }
+
+  @Test
+  public void testDefaultPluginAdapter() {
+    Map<Long, Double> earnedPoints = new HashMap<>();
+    earnedPoints.put(1L, 3d);
+    earnedPoints.put(2L, null);
+    RewardPlugin rewardPlugin = new RewardPlugin() {
+      @Override
+      public Map<Long, Double> getEarnedPoints(Set<Long> identityIds, long startDateInSeconds, long endDateInSeconds) {
+        return earnedPoints;
+      }
+    };
+
+    IdentityPoints identityPoints = rewardPlugin.getIdentityPoints(Set.of(1L, 2L), 0, 1);
+    assertEquals(2, identityPoints.size());
+    assertEquals(3, identityPoints.get(1), 0);
+    assertTrue(identityPoints.containsKey(2));
+    assertEquals(0, identityPoints.get(2), 0);
+  }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class MethodInvokerTest {
+
+  @Test
+  public void testInvokeInstanceMethod() throws Exception {
+    MethodInvoker methodInvoker = MethodInvoker.of(getCountMethod());
+    Object result = methodInvoker.invoke(new PointsService(), List.of(1L, 2L), 10L, 100L);
+    assertEquals(Map.of(1L, 111L, 2L, 112L), result);
+  }
+
+  @Test
+  public void testInvokeStaticMethod() throws Exception {
+    MethodInvoker methodInvoker = MethodInvoker.of(PointsService.class.getMethod("multiply", int.class, int.class));
+    assertEquals(12, methodInvoker.invoke(null, 3, 4));
+  }
+
+  @Test
+  public void testInvokeNullMethod() {
+    assertNull(MethodInvoker.of(null));
+  }
+
+  @Test
+  public void testExceptionNotWrapped() throws Exception {
+    MethodInvoker methodInvoker = MethodInvoker.of(PointsService.class.getMethod("fail"));
+    PointsService service = new PointsService();
+    assertThrows(IOException.class, () -> methodInvoker.invoke(service));
+  }
+
+  @Test
+  public void testSameResultThanReflection() throws Exception {
+    Method method = getCountMethod();
+    MethodInvoker methodInvoker = MethodInvoker.of(method);
+    PointsService service = new PointsService();
+    List<Long> identityIds = List.of(1L, 2L);
+    assertEquals(method.invoke(service, identityIds, 1L, 2L), methodInvoker.invoke(service, identityIds, 1L, 2L));
+  }
+
+  private Method getCountMethod() throws NoSuchMethodException {
+    return PointsService.class.getMethod("countByPeriod", List.class, long.class, long.class);
+  }
+
+  public static class PointsService {
+
+    public Map<Long, Long> countByPeriod(List<Long> identityIds, long startDate, long endDate) {
+      Map<Long, Long> points = new HashMap<>();
+      for (Long identityId : identityIds) {
+        points.put(identityId, identityId + startDate + endDate);
+      }
+      return points;
+    }
+
+    public static int multiply(int first, int second) {
+      return first * second;
+    }
+
+    public void fail() throws IOException {
+      throw new IOException("Expected exception");
+    }
+  }
+
+}
@@ -16,14 +16,19 @@
  */
 package org.exoplatform.wallet.reward.dao;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.Session;
 
 import org.exoplatform.commons.api.persistence.ExoTransactional;
 import org.exoplatform.commons.persistence.impl.GenericDAOJPAImpl;
@@ -36,6 +41,8 @@ public class RewardDAO extends GenericDAOJPAImpl<WalletRewardEntity, Long> {
 
   private static final String IDENTITY_ID = "identityId";
 
+  private static final int    BATCH_SIZE  = 50;
+
   public List<WalletRewardEntity> findRewardsByPeriodId(long periodId) {
     TypedQuery<WalletRewardEntity> query = getEntityManager().createNamedQuery("Reward.findRewardsByPeriodId",
                                                                                WalletRewardEntity.class);
@@ -44,6 +51,52 @@ public class RewardDAO extends GenericDAOJPAImpl<WalletRewardEntity, Long> {
     return toNotNullList(result);
   }
 
+  /**
+   * Retrieves rewards of a period using a single query. When many rewards
+   * exist for the same identity, the one having a transaction with the highest
+   * sent amount is retained.
+   *
+   * @param periodId reward period technical identifier
+   * @return {@link Map} of reward per identity id
+   */
+  public Map<Long, WalletRewardEntity> findRewardsPerIdentityByPeriodId(long periodId) {
+    List<WalletRewardEntity> rewardEntities = findRewardsByPeriodId(periodId);
+    Map<Long, WalletRewardEntity> rewardsPerIdentity = new HashMap<>(rewardEntities.size() * 2);
+    for (WalletRewardEntity rewardEntity : rewardEntities) {
+      rewardsPerIdentity.merge(rewardEntity.getIdentityId(), rewardEntity, RewardDAO::selectSentReward);
+    }
+    return rewardsPerIdentity;
+  }
+
+  /**
+   * Creates new entities and updates existing ones using JDBC batches
+   *
+   * @param entities {@link Collection} of {@link WalletRewardEntity} to save
+   */
+  @ExoTransactional
+  public void saveAll(Collection<WalletRewardEntity> entities) {
+    EntityManager entityManager = getEntityManager();
+    Session session = entityManager.unwrap(Session.class);
+    Integer jdbcBatchSize = session.getJdbcBatchSize();
+    session.setJdbcBatchSize(BATCH_SIZE);
+    try {
+      int count = 0;
+      for (WalletRewardEntity entity : entities) {
+        if (entity.getId() == null) {
+          entityManager.persist(entity);
+        } else {
+          entityManager.merge(entity);
+        }
+        if (++count % BATCH_SIZE == 0) {
+          entityManager.flush();
+        }
+      }
+      entityManager.flush();
+    } finally {
+      session.setJdbcBatchSize(jdbcBatchSize);
+    }
+  }
+
   public List<WalletRewardEntity> findRewardsByIdentityId(long identityId, int limit) {
     TypedQuery<WalletRewardEntity> query = getEntityManager().createNamedQuery("Reward.findRewardsByIdentityId",
                                                                                WalletRewardEntity.class);
@@ -96,15 +149,22 @@ public class RewardDAO extends GenericDAOJPAImpl<WalletRewardEntity, Long> {
     if (CollectionUtils.isEmpty(resultList)) {
       return null;
     } else {
-      return resultList.stream().filter(r -> StringUtils.isNotBlank(r.getTransactionHash())).sorted((r2, r1) -> {
-        if (r1.getTokensSent() > r2.getTokensSent()) {
-          return 1;
-        } else if (r2.getTokensSent() > r1.getTokensSent()) {
-          return -1;
-        } else {
-          return 0;
-        }
-      }).findFirst().orElse(resultList.get(0));
+      return resultList.stream().reduce(RewardDAO::selectSentReward).orElse(null);
+    }
+  }
+
+  /**
+   * @return the reward with a transaction having the highest sent amount,
+   *         else the first reward
+   */
+  private static WalletRewardEntity selectSentReward(WalletRewardEntity selectedReward, WalletRewardEntity reward) {
+    if (StringUtils.isBlank(reward.getTransactionHash())) {
+      return selectedReward;
+    } else if (StringUtils.isBlank(selectedReward.getTransactionHash())
+        || reward.getTokensSent() > selectedReward.getTokensSent()) {
+      return reward;
+    } else {
+      return selectedReward;
     }
   }
 
@@ -16,17 +16,24 @@
  */
 package org.exoplatform.wallet.reward.dao;
 
+import java.util.Collection;
 import java.util.List;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 
+import org.hibernate.Session;
+
+import org.exoplatform.commons.api.persistence.ExoTransactional;
 import org.exoplatform.commons.persistence.impl.GenericDAOJPAImpl;
 import org.exoplatform.services.log.ExoLogger;
 import org.exoplatform.services.log.Log;
 import org.exoplatform.wallet.reward.entity.WalletRewardPluginEntity;
 
 public class RewardPluginDAO extends GenericDAOJPAImpl<WalletRewardPluginEntity, Long> {
-  private static final Log LOG = ExoLogger.getLogger(RewardPluginDAO.class);
+  private static final Log LOG        = ExoLogger.getLogger(RewardPluginDAO.class);
+
+  private static final int BATCH_SIZE = 50;
 
   public List<WalletRewardPluginEntity> getRewardPluginsByRewardId(long rewardId) {
     TypedQuery<WalletRewardPluginEntity> query = getEntityManager().createNamedQuery("RewardPlugin.getRewardPluginsByRewardId",
@@ -35,6 +42,47 @@ public class RewardPluginDAO extends GenericDAOJPAImpl<WalletRewardPluginEntity,
     return query.getResultList();
   }
 
+  /**
+   * @param periodId reward period technical identifier
+   * @return {@link List} of plugin rewards of all rewards of the period
+   */
+  public List<WalletRewardPluginEntity> getRewardPluginsByPeriodId(long periodId) {
+    TypedQuery<WalletRewardPluginEntity> query = getEntityManager().createNamedQuery("RewardPlugin.getRewardPluginsByPeriodId",
+                                                                                     WalletRewardPluginEntity.class);
+    query.setParameter("periodId", periodId);
+    return query.getResultList();
+  }
+
+  /**
+   * Creates new entities and updates existing ones using JDBC batches
+   *
+   * @param entities {@link Collection} of {@link WalletRewardPluginEntity} to
+   *          save
+   */
+  @ExoTransactional
+  public void saveAll(Collection<WalletRewardPluginEntity> entities) {
+    EntityManager entityManager = getEntityManager();
+    Session session = entityManager.unwrap(Session.class);
+    Integer jdbcBatchSize = session.getJdbcBatchSize();
+    session.setJdbcBatchSize(BATCH_SIZE);
+    try {
+      int count = 0;
+      for (WalletRewardPluginEntity entity : entities) {
+        if (entity.getId() == null) {
+          entityManager.persist(entity);
+        } else {
+          entityManager.merge(entity);
+        }
+        if (++count % BATCH_SIZE == 0) {
+          entityManager.flush();
+        }
+      }
+      entityManager.flush();
+    } finally {
+      session.setJdbcBatchSize(jdbcBatchSize);
+    }
+  }
+
   public WalletRewardPluginEntity getRewardPluginsByRewardIdAndPluginId(long rewardId, String pluginId) {
     TypedQuery<WalletRewardPluginEntity> query =
                                                getEntityManager().createNamedQuery("RewardPlugin.getRewardPluginsByRewardIdAndPluginId",
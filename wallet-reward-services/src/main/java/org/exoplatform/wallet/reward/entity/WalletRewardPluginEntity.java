@@ -27,6 +27,7 @@ import org.hibernate.annotations.DynamicUpdate;
 @Table(name = "ADDONS_WALLET_REWARD_PLUGIN")
 @NamedQueries({
     @NamedQuery(name = "RewardPlugin.getRewardPluginsByRewardId", query = "SELECT rp FROM RewardPlugin rp WHERE rp.reward.id = :rewardId"),
+    @NamedQuery(name = "RewardPlugin.getRewardPluginsByPeriodId", query = "SELECT rp FROM RewardPlugin rp JOIN FETCH rp.reward r WHERE r.period.id = :periodId"),
     @NamedQuery(name = "RewardPlugin.getRewardPluginsByRewardIdAndPluginId", query = "SELECT rp FROM RewardPlugin rp WHERE rp.reward.id = :rewardId AND rp.pluginId = :pluginId"),
 })
 public class WalletRewardPluginEntity implements Serializable {
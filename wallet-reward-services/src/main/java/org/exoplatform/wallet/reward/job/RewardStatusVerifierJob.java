@@ -43,7 +43,11 @@ import org.exoplatform.wallet.service.WalletAccountService;
 /**
  * This job is used to check pending rewards sent for periods. When all
  * transaction rewards are sent correctly without error, an event is triggered
- * through {@link ListenerService}
+ * through {@link ListenerService}. Reward reports are computed incrementally,
+ * thus only the modifications made since the previous execution are
+ * retrieved, and pending reward transactions are checked in database to
+ * consider modifications made by other cluster nodes. Reports are computed
+ * again completely before being saved.
  */
 @DisallowConcurrentExecution
 public class RewardStatusVerifierJob implements Job {
@@ -81,12 +85,16 @@ public class RewardStatusVerifierJob implements Job {
           if (!getRewardReportService().isRewardSendingInProgress()) {
             // Avoid saving rewards while transaction status storage is in
             // progress
-            RewardReport rewardReport = getRewardReportService().computeRewards(rewardPeriod.getPeriodMedianDate());
-            if (rewardReport != null) {
+            RewardReport rewardReport = getRewardReportService().computeRewardsIncrementally(rewardPeriod.getPeriodMedianDate());
+            if (isToSave(rewardReport)) {
+              // The incremental report considers only modifications of rewards
+              // inputs made on this node, thus compute it completely before
+              // saving it
+              rewardReport = getRewardReportService().computeRewards(rewardPeriod.getPeriodMedianDate());
               if (rewardReport.isCompletelyProceeded()) {
                 getListenerService().broadcast(REWARD_SUCCESS_EVENT_NAME, rewardReport, null);
                 getRewardReportService().saveRewardReport(rewardReport);
-              } else if (rewardReport.getPendingTransactionCount() == 0 && rewardReport.getTokensSent() == 0) {
+              } else if (isToSave(rewardReport)) {
                 getRewardReportService().saveRewardReport(rewardReport);
               }
             }
@@ -101,6 +109,12 @@ public class RewardStatusVerifierJob implements Job {
     }
   }
 
+  private boolean isToSave(RewardReport rewardReport) {
+    return rewardReport != null
+        && (rewardReport.isCompletelyProceeded()
+            || (rewardReport.getPendingTransactionCount() == 0 && rewardReport.getTokensSent() == 0));
+  }
+
   private RewardReportService getRewardReportService() {
     if (rewardReportService == null) {
       rewardReportService = CommonsUtils.getService(RewardReportService.class);
@@ -0,0 +1,59 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.reward.listener;
+
+import java.util.Collection;
+
+import org.exoplatform.services.listener.Event;
+import org.exoplatform.services.listener.Listener;
+import org.exoplatform.wallet.model.Wallet;
+import org.exoplatform.wallet.model.WalletType;
+import org.exoplatform.wallet.model.transaction.TransactionDetail;
+import org.exoplatform.wallet.reward.service.RewardReportChangeTracker;
+
+/**
+ * A listener to record wallets and reward transactions modifications, used to
+ * update computed reward reports incrementally
+ */
+public class RewardReportChangeListener extends Listener<Object, Object> {
+
+  private RewardReportChangeTracker changeTracker;
+
+  public RewardReportChangeListener(RewardReportChangeTracker changeTracker) {
+    this.changeTracker = changeTracker;
+  }
+
+  @Override
+  public void onEvent(Event<Object, Object> event) throws Exception {
+    Object source = event.getSource();
+    Object data = event.getData();
+    if (source instanceof Wallet wallet) {
+      if (WalletType.isUser(wallet.getType())) {
+        changeTracker.markIdentityModified(wallet.getTechnicalId());
+      }
+    } else if (data instanceof TransactionDetail transactionDetail) {
+      changeTracker.markTransactionModified(transactionDetail);
+    } else if (data instanceof Collection<?> transactionDetails) {
+      for (Object transactionDetail : transactionDetails) {
+        if (transactionDetail instanceof TransactionDetail modifiedTransaction) {
+          changeTracker.markTransactionModified(modifiedTransaction);
+        }
+      }
+    }
+  }
+
+}
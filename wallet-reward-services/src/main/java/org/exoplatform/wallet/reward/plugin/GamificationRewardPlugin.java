@@ -18,7 +18,6 @@ package org.exoplatform.wallet.reward.plugin;
 
 import java.lang.reflect.Method;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import org.exoplatform.container.ExoContainer;
 import org.exoplatform.container.PortalContainer;
@@ -26,7 +25,9 @@ import org.exoplatform.container.configuration.ConfigurationManager;
 import org.exoplatform.container.xml.Component;
 import org.exoplatform.services.log.ExoLogger;
 import org.exoplatform.services.log.Log;
+import org.exoplatform.wallet.reward.api.IdentityPoints;
 import org.exoplatform.wallet.reward.api.RewardPlugin;
+import org.exoplatform.wallet.utils.MethodInvoker;
 import org.exoplatform.wallet.utils.RewardUtils;
 
 public class GamificationRewardPlugin extends RewardPlugin {
@@ -43,7 +44,7 @@ public class GamificationRewardPlugin extends RewardPlugin {
 
   private Object               serviceInstance;
 
-  private Method               retrievePointsMethod;
+  private MethodInvoker        retrievePointsInvoker;
 
   private boolean              enabled;
 
@@ -61,36 +62,41 @@ public class GamificationRewardPlugin extends RewardPlugin {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public Map<Long, Double> getEarnedPoints(Set<Long> identityIds, long startDateInSeconds, long endDateInSeconds) {
-    HashMap<Long, Double> earnedPoints = new HashMap<>();
+    return getIdentityPoints(identityIds, startDateInSeconds, endDateInSeconds).toMap();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public IdentityPoints getIdentityPoints(Set<Long> identityIds, long startDateInSeconds, long endDateInSeconds) {
     if (identityIds == null || identityIds.isEmpty()) {
-      return earnedPoints;
+      return new IdentityPoints();
     }
     Date startDate = new Date(startDateInSeconds * 1000);
     Date endDate = new Date(endDateInSeconds * 1000);
-    Method method = getMethod();
-    if (method == null) {
+    MethodInvoker methodInvoker = getMethodInvoker();
+    if (methodInvoker == null) {
       throw new IllegalStateException("Can't find gamification service method to retrieve user points");
     }
-    Map<Long, Long> points = new HashMap<>();
+    Map<Long, Long> points = Collections.emptyMap();
     try {
-      points = (Map<Long, Long>) method.invoke(getService(),
-                                               identityIds.stream().map(Object::toString).toList(),
-                                               startDate,
-                                               endDate);
+      points = (Map<Long, Long>) methodInvoker.invoke(getService(),
+                                                      identityIds.stream().map(Object::toString).toList(),
+                                                      startDate,
+                                                      endDate);
     } catch (Exception e) {
       LOG.warn("Error getting gamification points for user with ids {}", identityIds, e);
     }
-    return points.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().doubleValue()));
+    return IdentityPoints.of(points);
   }
 
-  private Method getMethod() {
-    if (this.retrievePointsMethod != null) {
-      return retrievePointsMethod;
+  private MethodInvoker getMethodInvoker() {
+    if (this.retrievePointsInvoker != null) {
+      return retrievePointsInvoker;
     }
-    retrievePointsMethod = RewardUtils.getMethod(container, GAMIFICATION_SERVICE_FQN, FIND_USER_POINTS_METHOD_NAME);
-    return retrievePointsMethod;
+    Method method = RewardUtils.getMethod(container, GAMIFICATION_SERVICE_FQN, FIND_USER_POINTS_METHOD_NAME);
+    retrievePointsInvoker = MethodInvoker.of(method);
+    return retrievePointsInvoker;
   }
 
   private Object getService() {
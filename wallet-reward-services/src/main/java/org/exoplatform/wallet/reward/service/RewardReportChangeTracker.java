@@ -0,0 +1,235 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.reward.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+
+import org.exoplatform.wallet.model.transaction.TransactionDetail;
+
+/**
+ * Records the inputs of reward reports modified since a given sequence, so
+ * that a computed reward report can be updated instead of computed again from
+ * scratch. Each modification increments a global sequence:
+ * <ul>
+ * <li>Modified wallets are recorded by identity id</li>
+ * <li>Modified transactions are recorded only when watched, which means that
+ * they are sent reward transactions of a computed report, or when a report is
+ * being computed since its reward transactions are known only once computed</li>
+ * <li>Modifications of settings, plugins and teams affect all rewards, thus
+ * they are recorded as a full computing requirement</li>
+ * </ul>
+ */
+public class RewardReportChangeTracker {
+
+  private long                                 sequence;
+
+  private long                                 fullComputingSequence;
+
+  private final Map<Long, Long>                modifiedIdentities   = new HashMap<>();
+
+  private final Map<String, Long>              modifiedTransactions = new HashMap<>();
+
+  private final Map<String, TransactionDetail> transactions         = new HashMap<>();
+
+  private Set<String>                          watchedTransactions  = Collections.emptySet();
+
+  private int                                  computingCount;
+
+  /**
+   * @return current modifications sequence
+   */
+  public synchronized long getSequence() {
+    return sequence;
+  }
+
+  /**
+   * Records a modification of the wallet of an identity
+   *
+   * @param identityId wallet owner identity id
+   */
+  public synchronized void markIdentityModified(long identityId) {
+    if (identityId > 0) {
+      modifiedIdentities.put(identityId, ++sequence);
+    }
+  }
+
+  /**
+   * Records a modification of a transaction when it's a watched reward
+   * transaction or when a report is being computed, else the transaction is
+   * ignored
+   *
+   * @param transactionDetail modified transaction
+   */
+  public synchronized void markTransactionModified(TransactionDetail transactionDetail) {
+    if (transactionDetail == null || StringUtils.isBlank(transactionDetail.getHash())) {
+      return;
+    }
+    String hash = StringUtils.lowerCase(transactionDetail.getHash());
+    if (computingCount > 0 || watchedTransactions.contains(hash)) {
+      modifiedTransactions.put(hash, ++sequence);
+      transactions.put(hash, transactionDetail);
+    }
+  }
+
+  /**
+   * Records a modification affecting all rewards, such as settings, plugins
+   * or teams modifications
+   */
+  public synchronized void markAllModified() {
+    fullComputingSequence = ++sequence;
+  }
+
+  /**
+   * Starts recording all transactions modifications until
+   * {@link #endComputing()} is called, to not miss the modifications of reward
+   * transactions made while computing a report and before watching them
+   *
+   * @return current modifications sequence
+   */
+  public synchronized long startComputing() {
+    computingCount++;
+    return sequence;
+  }
+
+  /**
+   * Ends recording all transactions modifications started by
+   * {@link #startComputing()}
+   */
+  public synchronized void endComputing() {
+    computingCount = Math.max(0, computingCount - 1);
+  }
+
+  /**
+   * @param transactionHashes hashes of reward transactions which status is
+   *          still expected to change
+   */
+  public synchronized void watchTransactions(Collection<String> transactionHashes) {
+    Set<String> hashes = new HashSet<>();
+    for (String transactionHash : transactionHashes) {
+      if (StringUtils.isNotBlank(transactionHash)) {
+        hashes.add(StringUtils.lowerCase(transactionHash));
+      }
+    }
+    this.watchedTransactions = hashes;
+  }
+
+  /**
+   * @param sinceSequence sequence of the last computing
+   * @return modifications made after the given sequence
+   */
+  public synchronized RewardReportChanges getChanges(long sinceSequence) {
+    Set<Long> identityIds = new HashSet<>();
+    modifiedIdentities.forEach((identityId, modificationSequence) -> {
+      if (modificationSequence > sinceSequence) {
+        identityIds.add(identityId);
+      }
+    });
+    Map<String, TransactionDetail> modifiedTransactionDetails = new HashMap<>();
+    modifiedTransactions.forEach((hash, modificationSequence) -> {
+      if (modificationSequence > sinceSequence) {
+        modifiedTransactionDetails.put(hash, transactions.get(hash));
+      }
+    });
+    return new RewardReportChanges(sequence,
+                                   fullComputingSequence > sinceSequence,
+                                   identityIds,
+                                   modifiedTransactionDetails);
+  }
+
+  /**
+   * Forgets modifications which were already considered by all computed
+   * reports
+   *
+   * @param minSequence the oldest sequence of computed reports
+   */
+  public synchronized void prune(long minSequence) {
+    modifiedIdentities.values().removeIf(modificationSequence -> modificationSequence <= minSequence);
+    Iterator<Map.Entry<String, Long>> iterator = modifiedTransactions.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, Long> entry = iterator.next();
+      if (entry.getValue() <= minSequence) {
+        iterator.remove();
+        transactions.remove(entry.getKey());
+      }
+    }
+  }
+
+  /**
+   * Modifications of reward reports inputs made since a given sequence
+   */
+  public static class RewardReportChanges {
+
+    private final long                           sequence;
+
+    private final boolean                        fullComputing;
+
+    private final Set<Long>                      identityIds;
+
+    private final Map<String, TransactionDetail> transactions;
+
+    public RewardReportChanges(long sequence,
+                               boolean fullComputing,
+                               Set<Long> identityIds,
+                               Map<String, TransactionDetail> transactions) {
+      this.sequence = sequence;
+      this.fullComputing = fullComputing;
+      this.identityIds = identityIds;
+      this.transactions = transactions;
+    }
+
+    /**
+     * @return sequence of the last considered modification
+     */
+    public long getSequence() {
+      return sequence;
+    }
+
+    /**
+     * @return true if a modification affecting all rewards has been made
+     */
+    public boolean isFullComputing() {
+      return fullComputing;
+    }
+
+    /**
+     * @return identity ids which wallets were modified
+     */
+    public Set<Long> getIdentityIds() {
+      return identityIds;
+    }
+
+    /**
+     * @return modified reward transactions by lower cased hash
+     */
+    public Map<String, TransactionDetail> getTransactions() {
+      return transactions;
+    }
+
+    public boolean isEmpty() {
+      return !fullComputing && identityIds.isEmpty() && transactions.isEmpty();
+    }
+  }
+
+}
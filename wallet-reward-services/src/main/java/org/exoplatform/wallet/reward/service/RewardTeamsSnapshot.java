@@ -0,0 +1,133 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.reward.service;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.exoplatform.wallet.model.reward.RewardTeam;
+import org.exoplatform.wallet.model.reward.RewardTeamMember;
+
+/**
+ * An immutable snapshot of not deleted reward teams, with an index of teams
+ * by member identity id. The snapshot teams are shared, thus they must not be
+ * modified, use {@link #copyTeams()} to get modifiable teams.
+ */
+public class RewardTeamsSnapshot implements Serializable {
+
+  private static final long                 serialVersionUID = 5307409611232464128L;
+
+  private final long                        version;
+
+  private final List<RewardTeam>            teams;
+
+  private final Map<Long, List<RewardTeam>> teamsByMember;
+
+  public RewardTeamsSnapshot(long version, List<RewardTeam> teams) {
+    this.version = version;
+    this.teams = Collections.unmodifiableList(new ArrayList<>(teams));
+
+    Map<Long, List<RewardTeam>> memberTeams = new HashMap<>();
+    for (RewardTeam team : this.teams) {
+      if (team.getMembers() == null) {
+        continue;
+      }
+      for (RewardTeamMember member : team.getMembers()) {
+        if (member != null && member.getIdentityId() != null) {
+          List<RewardTeam> teamsOfMember = memberTeams.computeIfAbsent(member.getIdentityId(), key -> new ArrayList<>());
+          if (!teamsOfMember.contains(team)) {
+            teamsOfMember.add(team);
+          }
+        }
+      }
+    }
+    memberTeams.replaceAll((identityId, teamsOfMember) -> Collections.unmodifiableList(teamsOfMember));
+    this.teamsByMember = Collections.unmodifiableMap(memberTeams);
+  }
+
+  /**
+   * @return snapshot version, greater for more recent snapshots
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * @return unmodifiable {@link List} of not deleted teams, sorted by
+   *         descending id
+   */
+  public List<RewardTeam> getTeams() {
+    return teams;
+  }
+
+  /**
+   * @param identityId member identity id
+   * @return unmodifiable {@link List} of not deleted teams of the member,
+   *         sorted by descending id
+   */
+  public List<RewardTeam> getTeamsByMemberId(long identityId) {
+    return teamsByMember.getOrDefault(identityId, Collections.emptyList());
+  }
+
+  /**
+   * @return a modifiable copy of teams, including their members lists
+   */
+  public List<RewardTeam> copyTeams() {
+    List<RewardTeam> teamsCopy = new ArrayList<>(teams.size());
+    for (RewardTeam team : teams) {
+      teamsCopy.add(copyTeam(team));
+    }
+    return teamsCopy;
+  }
+
+  /**
+   * @param identityId member identity id
+   * @return a modifiable copy of not deleted teams of the member, including
+   *         their members lists
+   */
+  public List<RewardTeam> copyTeamsByMemberId(long identityId) {
+    List<RewardTeam> teamsOfMember = getTeamsByMemberId(identityId);
+    List<RewardTeam> teamsCopy = new ArrayList<>(teamsOfMember.size());
+    for (RewardTeam team : teamsOfMember) {
+      teamsCopy.add(copyTeam(team));
+    }
+    return teamsCopy;
+  }
+
+  private static RewardTeam copyTeam(RewardTeam team) {
+    RewardTeam teamCopy = new RewardTeam();
+    teamCopy.setId(team.getId());
+    teamCopy.setName(team.getName());
+    teamCopy.setDescription(team.getDescription());
+    teamCopy.setRewardType(team.getRewardType());
+    teamCopy.setBudget(team.getBudget());
+    teamCopy.setSpaceId(team.getSpaceId());
+    teamCopy.setSpacePrettyName(team.getSpacePrettyName());
+    teamCopy.setDisabled(team.isDisabled());
+    teamCopy.setDeleted(team.isDeleted());
+    teamCopy.setManager(team.getManager());
+    if (team.getMembers() != null) {
+      teamCopy.setMembers(new ArrayList<>(team.getMembers()));
+    }
+    return teamCopy;
+  }
+
+}
@@ -34,6 +34,7 @@ import java.math.BigInteger;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -42,14 +43,26 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.exoplatform.commons.utils.CommonsUtils;
+import org.exoplatform.container.ExoContainer;
+import org.exoplatform.container.ExoContainerContext;
+import org.exoplatform.container.component.RequestLifeCycle;
 import org.exoplatform.services.log.ExoLogger;
 import org.exoplatform.services.log.Log;
 import org.exoplatform.social.core.identity.model.Identity;
@@ -68,7 +81,9 @@ import org.exoplatform.wallet.model.reward.RewardTeamMember;
 import org.exoplatform.wallet.model.reward.WalletPluginReward;
 import org.exoplatform.wallet.model.reward.WalletReward;
 import org.exoplatform.wallet.model.transaction.TransactionDetail;
+import org.exoplatform.wallet.reward.api.IdentityPoints;
 import org.exoplatform.wallet.reward.api.RewardPlugin;
+import org.exoplatform.wallet.reward.service.RewardReportChangeTracker.RewardReportChanges;
 import org.exoplatform.wallet.reward.storage.WalletRewardReportStorage;
 import org.exoplatform.wallet.service.WalletAccountService;
 import org.exoplatform.wallet.service.WalletTokenAdminService;
@@ -80,35 +95,76 @@ import lombok.Setter;
  */
 public class WalletRewardReportService implements RewardReportService {
 
-  private static final Log                LOG            = ExoLogger.getLogger(WalletRewardReportService.class);
+  private static final Log                        LOG                             = ExoLogger.getLogger(WalletRewardReportService.class);
+
+  private static final String                     EMPTY_SETTINGS                  = "Error computing rewards using empty settings";
+
+  private static final int                        DEFAULT_PLUGINS_WORKERS         = 4;
+
+  private static final int                        DEFAULT_PLUGINS_CHUNK_SIZE      = 5000;
+
+  private static final long                       DEFAULT_FULL_COMPUTING_INTERVAL = 3600000L;
 
-  private static final String             EMPTY_SETTINGS = "Error computing rewards using empty settings";
+  private final WalletAccountService              walletAccountService;
 
-  private final WalletAccountService      walletAccountService;
+  private WalletTokenAdminService                 walletTokenAdminService;
 
-  private WalletTokenAdminService         walletTokenAdminService;
+  private final RewardSettingsService             rewardSettingsService;
 
-  private final RewardSettingsService     rewardSettingsService;
+  private final RewardTeamService                 rewardTeamService;
 
-  private final RewardTeamService         rewardTeamService;
+  private final WalletRewardReportStorage         rewardReportStorage;
 
-  private final WalletRewardReportStorage rewardReportStorage;
+  private final ExecutorService                   pluginsExecutor;
+
+  private final int                               pluginsChunkSize;
+
+  private final RewardReportChangeTracker         changeTracker;
+
+  private final Map<String, ComputedRewardReport> computedReports                 = new ConcurrentHashMap<>();
+
+  private final long                              fullComputingInterval;
 
   @Setter
-  private boolean                         rewardSendingInProgress;
+  private boolean                                 rewardSendingInProgress;
 
   public WalletRewardReportService(WalletAccountService walletAccountService,
                                    RewardSettingsService rewardSettingsService,
                                    RewardTeamService rewardTeamService,
-                                   WalletRewardReportStorage rewardReportStorage) {
+                                   WalletRewardReportStorage rewardReportStorage,
+                                   RewardReportChangeTracker changeTracker) {
     this.walletAccountService = walletAccountService;
     this.rewardSettingsService = rewardSettingsService;
     this.rewardTeamService = rewardTeamService;
     this.rewardReportStorage = rewardReportStorage;
+    this.changeTracker = changeTracker;
+
+    String pluginsWorkersParam = System.getProperty("exo.wallet.reward.plugins.workers");
+    int pluginsWorkersCount = StringUtils.isBlank(pluginsWorkersParam) ? DEFAULT_PLUGINS_WORKERS
+                                                                       : Math.max(1, Integer.parseInt(pluginsWorkersParam));
+    ThreadFactory namedThreadFactory = new ThreadFactoryBuilder().setNameFormat("Reward-plugins-points-%d")
+                                                                 .setDaemon(true)
+                                                                 .build();
+    ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(pluginsWorkersCount,
+                                                                   pluginsWorkersCount,
+                                                                   60,
+                                                                   TimeUnit.SECONDS,
+                                                                   new LinkedBlockingQueue<>(),
+                                                                   namedThreadFactory);
+    threadPoolExecutor.allowCoreThreadTimeOut(true);
+    this.pluginsExecutor = threadPoolExecutor;
+
+    String pluginsChunkSizeParam = System.getProperty("exo.wallet.reward.plugins.chunkSize");
+    this.pluginsChunkSize = StringUtils.isBlank(pluginsChunkSizeParam) ? DEFAULT_PLUGINS_CHUNK_SIZE
+                                                                       : Math.max(1, Integer.parseInt(pluginsChunkSizeParam));
+
+    String fullComputingIntervalParam = System.getProperty("exo.wallet.reward.report.fullComputingInterval");
+    this.fullComputingInterval = StringUtils.isBlank(fullComputingIntervalParam) ? DEFAULT_FULL_COMPUTING_INTERVAL
+                                                                                 : Long.parseLong(fullComputingIntervalParam);
   }
 
   @Override
-  public void sendRewards(LocalDate date, String username) throws Exception { // NOSONAR
+  public int sendRewards(LocalDate date, String username) throws Exception { // NOSONAR
     if (!isUserRewardingAdmin(username)) {
       throw new IllegalAccessException("User " + username + " is not allowed to send rewards");
     }
@@ -118,7 +174,7 @@ public class WalletRewardReportService implements RewardReportService {
     }
 
     if (rewardReport == null || rewardReport.getRewards() == null || rewardReport.getRewards().isEmpty()) {
-      return;
+      return 0;
     }
 
     if (rewardReport.getPendingTransactionCount() > 0) {
@@ -163,8 +219,7 @@ public class WalletRewardReportService implements RewardReportService {
       throw new IllegalStateException("No rewards to send for selected period");
     }
     ContractDetail contractDetail = getContractDetail();
-    BigInteger adminTokenBalance = getTokenAdminService().getTokenBalanceOf(adminWalletAddress);
-    double adminBalance = convertFromDecimals(adminTokenBalance, contractDetail.getDecimals());
+    double adminBalance = getAdminTokenBalance(adminWalletAddress, contractDetail);
     double rewardsAmount = rewardReport.getRemainingTokensToSend();
 
     if (rewardsAmount > adminBalance) {
@@ -172,21 +227,34 @@ public class WalletRewardReportService implements RewardReportService {
     }
 
     RewardPeriod rewardPeriod = rewardReport.getPeriod();
+    List<TransactionDetail> rewardTransactions = new ArrayList<>();
+    List<WalletReward> rewardsToSend = new ArrayList<>();
     for (WalletReward walletReward : rewards) {
-      try {
-        TransactionDetail transactionDetail = new TransactionDetail();
-        transactionDetail.setFrom(adminWalletAddress);
-        transactionDetail.setTo(walletReward.getWallet().getAddress());
-        transactionDetail.setContractAmount(walletReward.getTokensToSend());
-        transactionDetail.setValue(walletReward.getTokensToSend());
-        String transactionLabel = getTransactionLabel(walletReward, contractDetail, rewardPeriod);
-        transactionDetail.setLabel(transactionLabel);
-        String transactionMessage = getTransactionMessage(walletReward, contractDetail, rewardPeriod);
-        transactionDetail.setMessage(transactionMessage);
+      TransactionDetail transactionDetail = new TransactionDetail();
+      transactionDetail.setFrom(adminWalletAddress);
+      transactionDetail.setTo(walletReward.getWallet().getAddress());
+      transactionDetail.setContractAmount(walletReward.getTokensToSend());
+      transactionDetail.setValue(walletReward.getTokensToSend());
+      String transactionLabel = getTransactionLabel(walletReward, contractDetail, rewardPeriod);
+      transactionDetail.setLabel(transactionLabel);
+      String transactionMessage = getTransactionMessage(walletReward, contractDetail, rewardPeriod);
+      transactionDetail.setMessage(transactionMessage);
+      rewardsToSend.add(walletReward);
+      rewardTransactions.add(transactionDetail);
+    }
+    // When the transactions couldn't be stored, the error is propagated
+    // without marking any reward as sent
+    getTokenAdminService().rewardAll(rewardTransactions, username);
+
+    int failedTransactionsCount = 0;
+    for (int i = 0; i < rewardTransactions.size(); i++) {
+      TransactionDetail transactionDetail = rewardTransactions.get(i);
+      WalletReward walletReward = rewardsToSend.get(i);
+      if (StringUtils.isBlank(transactionDetail.getHash())) {
+        LOG.warn("Error while sending reward transaction for user '{}'", walletReward.getWallet().getName());
+        failedTransactionsCount++;
+      } else {
         walletReward.setTransaction(transactionDetail);
-        getTokenAdminService().reward(transactionDetail, username);
-      } catch (Exception e) {
-        LOG.warn("Error while sending reward transaction for user '{}'", walletReward.getWallet().getName(), e);
       }
     }
     this.rewardSendingInProgress = true;
@@ -194,7 +262,15 @@ public class WalletRewardReportService implements RewardReportService {
       rewardReportStorage.saveRewardReport(rewardReport);
     } finally {
       this.rewardSendingInProgress = false;
+      // Sent transactions have to be retrieved again
+      changeTracker.markAllModified();
+    }
+    if (failedTransactionsCount > 0) {
+      LOG.warn("{} of {} reward transactions couldn't be sent, they can be sent again once the sent ones are mined",
+               failedTransactionsCount,
+               rewardTransactions.size());
     }
+    return failedTransactionsCount;
   }
 
   @Override
@@ -223,6 +299,46 @@ public class WalletRewardReportService implements RewardReportService {
     return rewardReport;
   }
 
+  @Override
+  public RewardReport computeRewardsIncrementally(LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException("date is mandatory");
+    }
+    RewardPeriod rewardPeriod = getRewardPeriod(date);
+    String periodKey = rewardPeriod.getRewardPeriodType() + "-" + rewardPeriod.getStartDateInSeconds();
+    long now = System.currentTimeMillis();
+
+    RewardReport rewardReport = null;
+    ComputedRewardReport computedReport = computedReports.get(periodKey);
+    if (computedReport != null && (now - computedReport.getComputingTime()) < fullComputingInterval) {
+      RewardReportChanges changes = changeTracker.getChanges(computedReport.getSequence());
+      if (!changes.isFullComputing() && updateRewardReport(computedReport.getRewardReport(), changes)
+          && !isPendingTransactionsModified(computedReport.getRewardReport())) {
+        computedReport.setSequence(changes.getSequence());
+        rewardReport = computedReport.getRewardReport();
+      }
+    }
+    if (rewardReport == null) {
+      // Retrieve sequence before computing to consider modifications made
+      // meanwhile in next computing. All transactions modifications are
+      // recorded until the reward transactions of the computed report are
+      // watched.
+      long sequence = changeTracker.startComputing();
+      try {
+        rewardReport = computeRewards(date);
+        computedReports.put(periodKey, new ComputedRewardReport(rewardReport, sequence, now));
+        cleanComputedReports(now);
+      } finally {
+        changeTracker.endComputing();
+      }
+    } else {
+      cleanComputedReports(now);
+    }
+    // The computed report is kept to be updated on next call, thus return a
+    // copy that callers can modify
+    return copyRewardReport(rewardReport);
+  }
+
   @Override
   public RewardReport computeRewardsByUser(LocalDate date, long userIdentityId) {
     RewardReport rewardReport = computeRewards(date);
@@ -310,6 +426,7 @@ public class WalletRewardReportService implements RewardReportService {
   @Override
   public void replaceRewardTransactions(String oldHash, String newHash) {
     rewardReportStorage.replaceRewardTransactions(oldHash, newHash);
+    changeTracker.markAllModified();
   }
 
   private RewardPeriod getRewardPeriod(LocalDate date) {
@@ -318,40 +435,251 @@ public class WalletRewardReportService implements RewardReportService {
     return periodType.getPeriodOfTime(date, rewardSettings.zoneId());
   }
 
+  /**
+   * Updates a computed reward report with modified transactions and wallets.
+   * Rewards of modified wallets are computed again only when the budget of
+   * each identity doesn't depend on other identities points, else the report
+   * has to be computed again completely.
+   *
+   * @param rewardReport computed reward report
+   * @param changes modifications made since report computing
+   * @return true if the report has been updated, false if it has to be
+   *         computed again completely
+   */
+  private boolean updateRewardReport(RewardReport rewardReport, RewardReportChanges changes) {
+    if (changes.isEmpty()) {
+      return true;
+    }
+    Map<RewardPlugin, RewardPluginSettings> rewardPlugins = getEnabledRewardPlugins();
+    if (!changes.getIdentityIds().isEmpty()) {
+      if (!isBudgetPerIdentity(rewardPlugins.values())) {
+        return false;
+      }
+      List<Wallet> wallets = new ArrayList<>();
+      for (Long identityId : changes.getIdentityIds()) {
+        Wallet wallet = walletAccountService.getWalletByIdentityId(identityId);
+        if (wallet == null || StringUtils.isBlank(wallet.getAddress())) {
+          // Wallet removed, thus its reward is retrieved by a full computing
+          return false;
+        } else if (WalletType.isUser(wallet.getType())) {
+          wallets.add(wallet);
+        }
+      }
+      boolean completelyProceeded = rewardReport.isCompletelyProceeded();
+      List<WalletReward> rewardsOfWallets = mergeWalletRewards(rewardReport.getRewards(), wallets);
+      if (!completelyProceeded) {
+        for (WalletReward walletReward : rewardsOfWallets) {
+          walletReward.setTeams(rewardTeamService.findTeamsByMemberId(walletReward.getIdentityId()));
+        }
+      }
+      Set<WalletPluginReward> walletRewardsByPlugin = computePluginRewards(rewardReport, rewardPlugins, rewardsOfWallets);
+      assignPluginRewards(rewardsOfWallets, walletRewardsByPlugin);
+    }
+    if (!changes.getTransactions().isEmpty()) {
+      for (WalletReward walletReward : rewardReport.getRewards()) {
+        TransactionDetail transaction = walletReward.getTransaction();
+        TransactionDetail modifiedTransaction = transaction == null ? null
+                                                                    : changes.getTransactions()
+                                                                             .get(StringUtils.lowerCase(transaction.getHash()));
+        if (modifiedTransaction != null) {
+          walletReward.setTransaction(modifiedTransaction);
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks in database whether reward transactions that are pending in a
+   * computed report were modified without being notified on this node, for
+   * instance when modified by another cluster node
+   */
+  private boolean isPendingTransactionsModified(RewardReport rewardReport) {
+    Set<String> pendingTransactions = new HashSet<>();
+    for (WalletReward walletReward : rewardReport.getRewards()) {
+      TransactionDetail transaction = walletReward.getTransaction();
+      if (transaction != null && transaction.isPending() && StringUtils.isNotBlank(transaction.getHash())) {
+        pendingTransactions.add(StringUtils.lowerCase(transaction.getHash()));
+      }
+    }
+    return !pendingTransactions.isEmpty()
+        && rewardReportStorage.countPendingTransactions(pendingTransactions) != pendingTransactions.size();
+  }
+
+  /**
+   * @return true if the reward of an identity depends only on its own points,
+   *         which is the case of plugins using a fixed budget per point
+   */
+  private boolean isBudgetPerIdentity(Collection<RewardPluginSettings> pluginsSettings) {
+    return pluginsSettings.stream()
+                          .allMatch(pluginSettings -> pluginSettings.getBudgetType() == RewardBudgetType.FIXED_PER_POINT);
+  }
+
+  private void cleanComputedReports(long now) {
+    computedReports.values().removeIf(computedReport -> (now - computedReport.getComputingTime()) >= fullComputingInterval);
+    Set<String> pendingTransactions = new HashSet<>();
+    long minSequence = changeTracker.getSequence();
+    for (ComputedRewardReport computedReport : computedReports.values()) {
+      minSequence = Math.min(minSequence, computedReport.getSequence());
+      for (WalletReward walletReward : computedReport.getRewardReport().getRewards()) {
+        TransactionDetail transaction = walletReward.getTransaction();
+        if (transaction != null && transaction.isPending()) {
+          pendingTransactions.add(transaction.getHash());
+        }
+      }
+    }
+    changeTracker.watchTransactions(pendingTransactions);
+    changeTracker.prune(minSequence);
+  }
+
   private void computeRewardDetails(RewardReport rewardReport, Set<Wallet> wallets) {
     // Get te list of enabled reward plugins
     Map<RewardPlugin, RewardPluginSettings> rewardPlugins = getEnabledRewardPlugins();
-    RewardPeriod period = rewardReport.getPeriod();
     Set<WalletReward> walletRewards = retrieveWalletRewards(rewardReport, wallets);
+    Set<WalletPluginReward> walletRewardsByPlugin = computePluginRewards(rewardReport, rewardPlugins, walletRewards);
+
+    // Assign rewards objects for each wallet,a wallet can have multiple rewards
+    // one per plugin
+    assignPluginRewards(walletRewards, walletRewardsByPlugin);
+  }
+
+  private Set<WalletPluginReward> computePluginRewards(RewardReport rewardReport,
+                                                       Map<RewardPlugin, RewardPluginSettings> rewardPlugins,
+                                                       Collection<WalletReward> walletRewards) {
     Set<WalletReward> enabledRewards = walletRewards.stream().filter(WalletReward::isEnabled).collect(Collectors.toSet());
     Set<WalletReward> enabledTeamRewards = enabledRewards.stream()
                                                          .filter(wr -> wr.getTeam() == null || !wr.getTeam().isDisabled())
                                                          .collect(Collectors.toSet());
 
     // Compute rewards per plugin
+    Set<Long> identityIds = walletRewards.stream().map(WalletReward::getIdentityId).collect(Collectors.toSet());
+    Map<RewardPlugin, IdentityPoints> pluginsEarnedPoints = getPluginsEarnedPoints(rewardReport,
+                                                                                   rewardPlugins.keySet(),
+                                                                                   identityIds);
     Set<WalletPluginReward> walletRewardsByPlugin = new HashSet<>();
     for (Map.Entry<RewardPlugin, RewardPluginSettings> pluginEntry : rewardPlugins.entrySet()) {
       RewardPlugin plugin = pluginEntry.getKey();
       RewardPluginSettings pluginSettings = pluginEntry.getValue();
 
-      Set<Long> identityIds = walletRewards.stream().map(WalletReward::getIdentityId).collect(Collectors.toSet());
-      Map<Long, Double> earnedPoints = plugin.getEarnedPoints(identityIds,
-                                                              period.getStartDateInSeconds(),
-                                                              period.getEndDateInSeconds());
+      IdentityPoints earnedPoints = pluginsEarnedPoints.get(plugin);
 
       Set<WalletReward> validWalletRewards = pluginSettings.isUsePools() ? enabledTeamRewards : enabledRewards;
       computeReward(pluginSettings, earnedPoints, validWalletRewards, walletRewardsByPlugin);
     }
+    return walletRewardsByPlugin;
+  }
 
-    // Assign rewards objects for each wallet,a wallet can have multiple rewards
-    // one per plugin
-    for (WalletReward walletReward : walletRewards) {
-      Set<WalletPluginReward> rewardDetails =
-                                            walletRewardsByPlugin.stream()
-                                                                 .filter(rewardByPlugin -> rewardByPlugin.getIdentityId() == walletReward.getIdentityId())
-                                                                 .collect(Collectors.toSet());
-      walletReward.setRewards(rewardDetails);
+  /**
+   * Retrieves earned points of identities from all plugins concurrently. Large
+   * identities sets are split into chunks retrieved in parallel then merged.
+   * The computing time of each plugin, measured inside the chunk tasks and
+   * summed, is added to the report.
+   *
+   * @param rewardReport reward report of the period
+   * @param rewardPlugins enabled reward plugins
+   * @param identityIds identity ids of wallets to reward
+   * @return {@link Map} of earned points per plugin
+   */
+  private Map<RewardPlugin, IdentityPoints> getPluginsEarnedPoints(RewardReport rewardReport,
+                                                                   Collection<RewardPlugin> rewardPlugins,
+                                                                   Set<Long> identityIds) {
+    if (rewardPlugins.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    RewardPeriod period = rewardReport.getPeriod();
+    Map<String, Long> pluginsComputingTime = new ConcurrentHashMap<>();
+    Map<RewardPlugin, IdentityPoints> pluginsEarnedPoints = new HashMap<>();
+    List<Set<Long>> identityIdsChunks = splitIdentityIds(identityIds, pluginsChunkSize);
+    if (rewardPlugins.size() == 1 && identityIdsChunks.size() == 1) {
+      // No need to use another thread
+      RewardPlugin plugin = rewardPlugins.iterator().next();
+      long startTime = System.currentTimeMillis();
+      pluginsEarnedPoints.put(plugin,
+                              plugin.getIdentityPoints(identityIds,
+                                                       period.getStartDateInSeconds(),
+                                                       period.getEndDateInSeconds()));
+      pluginsComputingTime.put(plugin.getPluginId(), System.currentTimeMillis() - startTime);
+    } else {
+      ExoContainer container = ExoContainerContext.getCurrentContainer();
+      Map<RewardPlugin, CompletableFuture<IdentityPoints>> pluginsFutures = new HashMap<>();
+      for (RewardPlugin plugin : rewardPlugins) {
+        List<CompletableFuture<IdentityPoints>> chunksFutures = new ArrayList<>();
+        for (Set<Long> identityIdsChunk : identityIdsChunks) {
+          chunksFutures.add(CompletableFuture.supplyAsync(() -> getEarnedPoints(container,
+                                                                                plugin,
+                                                                                identityIdsChunk,
+                                                                                period,
+                                                                                pluginsComputingTime),
+                                                          pluginsExecutor));
+        }
+        CompletableFuture<IdentityPoints> pluginFuture = CompletableFuture.allOf(chunksFutures.toArray(new CompletableFuture[0]))
+                                                                          .thenApply(result -> mergeEarnedPoints(chunksFutures));
+        pluginsFutures.put(plugin, pluginFuture);
+      }
+      try {
+        pluginsFutures.forEach((plugin, pluginFuture) -> pluginsEarnedPoints.put(plugin, pluginFuture.join()));
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        throw e;
+      }
+    }
+    LOG.debug("Earned points of {} identities retrieved in chunks of {} with computing time in ms per plugin: {}",
+              identityIds.size(),
+              pluginsChunkSize,
+              pluginsComputingTime);
+    rewardReport.setPluginsComputingTime(pluginsComputingTime);
+    return pluginsEarnedPoints;
+  }
+
+  private IdentityPoints getEarnedPoints(ExoContainer container,
+                                         RewardPlugin plugin,
+                                         Set<Long> identityIds,
+                                         RewardPeriod period,
+                                         Map<String, Long> pluginsComputingTime) {
+    ExoContainerContext.setCurrentContainer(container);
+    RequestLifeCycle.begin(container);
+    long startTime = System.currentTimeMillis();
+    try {
+      return plugin.getIdentityPoints(identityIds, period.getStartDateInSeconds(), period.getEndDateInSeconds());
+    } finally {
+      pluginsComputingTime.merge(plugin.getPluginId(), System.currentTimeMillis() - startTime, Long::sum);
+      RequestLifeCycle.end();
+    }
+  }
+
+  private static IdentityPoints mergeEarnedPoints(List<CompletableFuture<IdentityPoints>> chunksFutures) {
+    if (chunksFutures.size() == 1) {
+      return chunksFutures.get(0).join();
+    }
+    IdentityPoints earnedPoints = new IdentityPoints();
+    for (CompletableFuture<IdentityPoints> chunkFuture : chunksFutures) {
+      chunkFuture.join().forEach(earnedPoints::put);
     }
+    return earnedPoints;
+  }
+
+  /**
+   * @param identityIds identity ids to split
+   * @param chunkSize maximum size of a chunk
+   * @return {@link List} of identity ids chunks, a single chunk when the set
+   *         isn't larger than chunk size
+   */
+  protected static List<Set<Long>> splitIdentityIds(Set<Long> identityIds, int chunkSize) {
+    if (identityIds.size() <= chunkSize) {
+      return Collections.singletonList(identityIds);
+    }
+    List<Set<Long>> chunks = new ArrayList<>();
+    Set<Long> chunk = null;
+    for (Long identityId : identityIds) {
+      if (chunk == null || chunk.size() == chunkSize) {
+        chunk = new HashSet<>(chunkSize * 2);
+        chunks.add(chunk);
+      }
+      chunk.add(identityId);
+    }
+    return chunks;
   }
 
   private Set<WalletReward> retrieveWalletRewards(RewardReport rewardReport, Set<Wallet> wallets) {
@@ -362,32 +690,85 @@ public class WalletRewardReportService implements RewardReportService {
     }
 
     boolean completelyProceeded = rewardReport.isCompletelyProceeded();
+    List<WalletReward> rewardsOfWallets = mergeWalletRewards(walletRewards, wallets);
+    if (!completelyProceeded) {
+      for (WalletReward walletReward : rewardsOfWallets) {
+        List<RewardTeam> rewardTeams = rewardTeamService.findTeamsByMemberId(walletReward.getIdentityId());
+        walletReward.setTeams(rewardTeams);
+      }
+    }
+    return walletRewards;
+  }
+
+  /**
+   * Associates each wallet to its existing reward or to a new one added to
+   * the rewards set. When many rewards exist for a wallet, the one with the
+   * highest sent amount is used. Existing rewards are indexed by identity id
+   * first, thus the computing time is linear with wallets and rewards count.
+   *
+   * @param walletRewards existing rewards of the period, new rewards are added
+   *          to it
+   * @param wallets wallets to reward
+   * @return {@link List} of {@link WalletReward} associated to each wallet, in
+   *         wallets iteration order
+   */
+  protected static List<WalletReward> mergeWalletRewards(Set<WalletReward> walletRewards, Collection<Wallet> wallets) {
+    Map<Long, WalletReward> rewardsByIdentityId = new HashMap<>();
+    for (WalletReward walletReward : walletRewards) {
+      if (walletReward.getWallet() != null) {
+        rewardsByIdentityId.merge(walletReward.getIdentityId(), walletReward, WalletRewardReportService::selectSentReward);
+      }
+    }
+
+    List<WalletReward> rewardsOfWallets = new ArrayList<>(wallets.size());
     for (Wallet wallet : wallets) {
-      List<WalletReward> walletRewardList = walletRewards.stream()
-                                                         .filter(wr -> wallet != null && wr.getWallet() != null
-                                                             && wr.getIdentityId() == wallet.getTechnicalId())
-                                                         .toList();
-      WalletReward walletReward = walletRewardList.stream().filter(r -> r.getTransaction() != null).sorted((r2, r1) -> {
-        if (r1.getTokensSent() > r2.getTokensSent()) {
-          return 1;
-        } else if (r2.getTokensSent() > r1.getTokensSent()) {
-          return -1;
-        } else {
-          return 0;
-        }
-      }).findFirst().orElseGet(() -> walletRewardList.isEmpty() ? null : walletRewardList.get(0));
+      WalletReward walletReward = wallet == null ? null : rewardsByIdentityId.get(wallet.getTechnicalId());
       if (walletReward == null) {
         walletReward = new WalletReward();
         walletRewards.add(walletReward);
+        if (wallet != null) {
+          rewardsByIdentityId.put(wallet.getTechnicalId(), walletReward);
+        }
       }
       walletReward.setWallet(wallet);
+      rewardsOfWallets.add(walletReward);
+    }
+    return rewardsOfWallets;
+  }
 
-      if (!completelyProceeded) {
-        List<RewardTeam> rewardTeams = rewardTeamService.findTeamsByMemberId(walletReward.getIdentityId());
-        walletReward.setTeams(rewardTeams);
-      }
+  /**
+   * Assigns to each wallet reward its rewards per plugin, which are grouped by
+   * identity id first, thus the computing time is linear with wallets and
+   * plugin rewards count.
+   *
+   * @param walletRewards rewards of wallets
+   * @param walletRewardsByPlugin computed rewards per plugin of all wallets
+   */
+  protected static void assignPluginRewards(Collection<WalletReward> walletRewards,
+                                            Collection<WalletPluginReward> walletRewardsByPlugin) {
+    Map<Long, Set<WalletPluginReward>> pluginRewardsByIdentityId = new HashMap<>();
+    for (WalletPluginReward walletPluginReward : walletRewardsByPlugin) {
+      pluginRewardsByIdentityId.computeIfAbsent(walletPluginReward.getIdentityId(), key -> new HashSet<>())
+                               .add(walletPluginReward);
+    }
+    for (WalletReward walletReward : walletRewards) {
+      Set<WalletPluginReward> rewardDetails = pluginRewardsByIdentityId.get(walletReward.getIdentityId());
+      walletReward.setRewards(rewardDetails == null ? new HashSet<>() : new HashSet<>(rewardDetails));
+    }
+  }
+
+  /**
+   * @return the reward with a transaction having the highest sent amount,
+   *         else the first reward
+   */
+  private static WalletReward selectSentReward(WalletReward selectedReward, WalletReward walletReward) {
+    if (walletReward.getTransaction() == null) {
+      return selectedReward;
+    } else if (selectedReward.getTransaction() == null || walletReward.getTokensSent() > selectedReward.getTokensSent()) {
+      return walletReward;
+    } else {
+      return selectedReward;
     }
-    return walletRewards;
   }
 
   private Map<RewardPlugin, RewardPluginSettings> getEnabledRewardPlugins() {
@@ -414,7 +795,7 @@ public class WalletRewardReportService implements RewardReportService {
   }
 
   private void computeReward(RewardPluginSettings rewardPluginSettings,
-                             Map<Long, Double> earnedPoints,
+                             IdentityPoints earnedPoints,
                              Set<WalletReward> enabledRewards,
                              Set<WalletPluginReward> rewardMemberDetails) {
     RewardBudgetType budgetType = rewardPluginSettings.getBudgetType();
@@ -429,16 +810,16 @@ public class WalletRewardReportService implements RewardReportService {
           + ")");
     }
 
-    Set<Long> validIdentityIdsToUse = enabledRewards.stream().map(WalletReward::getIdentityId).collect(Collectors.toSet());
+    long[] validIdentityIdsToUse = enabledRewards.stream().mapToLong(WalletReward::getIdentityId).sorted().toArray();
     // Filter non elligible users switch threshold
-    filterElligibleMembers(earnedPoints.entrySet(), validIdentityIdsToUse, rewardPluginSettings, rewardMemberDetails);
+    filterElligibleMembers(earnedPoints, validIdentityIdsToUse, rewardPluginSettings, rewardMemberDetails);
 
     double amountPerPoint = 0;
     double totalFixedBudget = 0;
     switch (budgetType) {
     case FIXED_PER_POINT:
       amountPerPoint = configuredPluginAmount;
-      addRewardsSwitchPointAmount(rewardMemberDetails, earnedPoints.entrySet(), pluginId, amountPerPoint);
+      addRewardsSwitchPointAmount(rewardMemberDetails, earnedPoints, pluginId, amountPerPoint);
       break;
     case FIXED:
       totalFixedBudget = configuredPluginAmount;
@@ -457,7 +838,7 @@ public class WalletRewardReportService implements RewardReportService {
   }
 
   private void addTeamMembersReward(RewardPluginSettings rewardPluginSettings,
-                                    Map<Long, Double> earnedPoints,
+                                    IdentityPoints earnedPoints,
                                     double totalFixedBudget,
                                     Set<WalletPluginReward> rewardMemberDetails) {
     if (totalFixedBudget <= 0) {
@@ -470,25 +851,20 @@ public class WalletRewardReportService implements RewardReportService {
       buildNoPoolUsers(earnedPoints, teams, identityIds);
       computeTeamsMembersBudget(rewardPluginSettings.getPluginId(), teams, totalFixedBudget, rewardMemberDetails, earnedPoints);
     } else {
-      double totalPoints = earnedPoints.entrySet().stream().collect(Collectors.summingDouble(Entry::getValue));
+      double totalPoints = earnedPoints.sum();
       if (totalPoints <= 0 || totalFixedBudget <= 0) {
         return;
       }
       amountPerPoint = totalFixedBudget / totalPoints;
-      addRewardsSwitchPointAmount(rewardMemberDetails,
-                                  earnedPoints.entrySet(),
-                                  rewardPluginSettings.getPluginId(),
-                                  amountPerPoint);
+      addRewardsSwitchPointAmount(rewardMemberDetails, earnedPoints, rewardPluginSettings.getPluginId(), amountPerPoint);
     }
   }
 
   private void addRewardsSwitchPointAmount(Set<WalletPluginReward> rewardMemberDetails,
-                                           Set<Entry<Long, Double>> identitiesPointsEntries,
+                                           IdentityPoints earnedPoints,
                                            String pluginId,
                                            double amountPerPoint) {
-    for (Entry<Long, Double> identitiyPointsEntry : identitiesPointsEntries) {
-      Long identityId = identitiyPointsEntry.getKey();
-      Double points = identitiyPointsEntry.getValue();
+    earnedPoints.forEach((identityId, points) -> {
       double amount = points * amountPerPoint;
 
       WalletPluginReward rewardMemberDetail = new WalletPluginReward();
@@ -498,32 +874,25 @@ public class WalletRewardReportService implements RewardReportService {
       rewardMemberDetail.setAmount(amount);
       rewardMemberDetail.setPoolsUsed(false);
       rewardMemberDetails.add(rewardMemberDetail);
-    }
+    });
   }
 
-  private void filterElligibleMembers(Set<Entry<Long, Double>> identitiesPointsEntries,
-                                      Set<Long> validIdentityIdsToUse,
+  private void filterElligibleMembers(IdentityPoints earnedPoints,
+                                      long[] validIdentityIdsToUse,
                                       RewardPluginSettings rewardPluginSettings,
                                       Set<WalletPluginReward> rewardMemberDetails) {
     String pluginId = rewardPluginSettings.getPluginId();
     double threshold = rewardPluginSettings.getThreshold();
 
-    Iterator<Entry<Long, Double>> identitiesPointsIterator = identitiesPointsEntries.iterator();
-    while (identitiesPointsIterator.hasNext()) {
-      Map.Entry<java.lang.Long, java.lang.Double> entry = identitiesPointsIterator.next();
-      Long identityId = entry.getKey();
-      Double points = entry.getValue();
-      points = points == null ? 0 : points;
+    earnedPoints.removeIf((identityId, points) -> {
       if (points < 0) {
         throw new IllegalStateException("Plugin with id " + pluginId + " has assigned a negative points (" + points
             + ") to user with id " + identityId);
       }
 
-      if (points < threshold || points == 0 || !validIdentityIdsToUse.contains(identityId)) {
+      if (points < threshold || points == 0 || Arrays.binarySearch(validIdentityIdsToUse, identityId) < 0) {
         // Member doesn't have enough points or his wallet is disabled => not
         // eligible
-        identitiesPointsIterator.remove();
-
         if (points > 0) {
           // Add member with earned points for information on UI
           WalletPluginReward rewardMemberDetail = new WalletPluginReward();
@@ -534,15 +903,17 @@ public class WalletRewardReportService implements RewardReportService {
           rewardMemberDetail.setPoolsUsed(rewardPluginSettings.isUsePools());
           rewardMemberDetails.add(rewardMemberDetail);
         }
+        return true;
       }
-    }
+      return false;
+    });
   }
 
   private void computeTeamsMembersBudget(String pluginId,
                                          List<RewardTeam> teams,
                                          double totalTeamsBudget,
                                          Set<WalletPluginReward> rewardMemberDetails,
-                                         Map<Long, Double> earnedPoints) {
+                                         IdentityPoints earnedPoints) {
     double totalFixedTeamsBudget = 0;
     double computedRecipientsCount = 0;
     List<RewardTeam> computedBudgetTeams = new ArrayList<>();
@@ -556,7 +927,8 @@ public class WalletRewardReportService implements RewardReportService {
       }
       double totalTeamPoints = rewardTeam.getMembers()
                                          .stream()
-                                         .collect(Collectors.summingDouble(member -> earnedPoints.get(member.getIdentityId())));
+                                         .mapToDouble(member -> earnedPoints.get(member.getIdentityId()))
+                                         .sum();
       if (teamBudgetType == RewardBudgetType.COMPUTED) {
         computedRecipientsCount += rewardTeam.getMembers().size();
         computedBudgetTeams.add(rewardTeam);
@@ -590,18 +962,19 @@ public class WalletRewardReportService implements RewardReportService {
     }
   }
 
-  private void buildNoPoolUsers(Map<Long, Double> earnedPoints, List<RewardTeam> teams, Set<Long> identityIds) {
+  private void buildNoPoolUsers(IdentityPoints earnedPoints, List<RewardTeam> teams, Set<Long> identityIds) {
     // Build "No pool" users
-    ArrayList<Long> noPoolsIdentityIds = new ArrayList<>(earnedPoints.keySet());
-    noPoolsIdentityIds.removeAll(identityIds);
-    if (!noPoolsIdentityIds.isEmpty()) {
+    List<RewardTeamMember> noPoolRewardTeamList = Arrays.stream(earnedPoints.identityIds())
+                                                        .filter(identityId -> !identityIds.contains(identityId))
+                                                        .mapToObj(identityId -> {
+                                                          RewardTeamMember rewardTeamMember = new RewardTeamMember();
+                                                          rewardTeamMember.setIdentityId(identityId);
+                                                          return rewardTeamMember;
+                                                        })
+                                                        .toList();
+    if (!noPoolRewardTeamList.isEmpty()) {
       RewardTeam noPoolRewardTeam = new RewardTeam();
       noPoolRewardTeam.setDisabled(false);
-      List<RewardTeamMember> noPoolRewardTeamList = noPoolsIdentityIds.stream().map(identityId -> {
-        RewardTeamMember rewardTeamMember = new RewardTeamMember();
-        rewardTeamMember.setIdentityId(identityId);
-        return rewardTeamMember;
-      }).toList();
       noPoolRewardTeam.setMembers(noPoolRewardTeamList);
       noPoolRewardTeam.setId(0L);
       noPoolRewardTeam.setRewardType(RewardBudgetType.COMPUTED);
@@ -609,7 +982,7 @@ public class WalletRewardReportService implements RewardReportService {
     }
   }
 
-  private Set<Long> filterEligibleMembersAndTeams(List<RewardTeam> teams, Map<Long, Double> earnedPoints) {
+  private Set<Long> filterEligibleMembersAndTeams(List<RewardTeam> teams, IdentityPoints earnedPoints) {
     Set<Long> identityIds = new HashSet<>();
 
     // Search for duplicated users and retain only elligible members in
@@ -627,7 +1000,7 @@ public class WalletRewardReportService implements RewardReportService {
           Long identityId = member.getIdentityId();
           identityIds.add(identityId);
           // Retain in Teams collection only elligible members
-          if (!earnedPoints.containsKey(identityId)) {
+          if (identityId == null || !earnedPoints.containsKey(identityId)) {
             membersIterator.remove();
           }
         }
@@ -696,7 +1069,7 @@ public class WalletRewardReportService implements RewardReportService {
                                         double totalTeamBudget,
                                         double totalTeamPoints,
                                         String pluginId,
-                                        Map<Long, Double> earnedPoints,
+                                        IdentityPoints earnedPoints,
                                         Set<WalletPluginReward> rewardMemberDetails) {
     if (rewardTeam.getMembers() == null || rewardTeam.getMembers().isEmpty() || totalTeamBudget <= 0 || totalTeamPoints <= 0) {
       return;
@@ -705,7 +1078,7 @@ public class WalletRewardReportService implements RewardReportService {
     double amountPerPoint = totalTeamBudget / totalTeamPoints;
     rewardTeam.getMembers().forEach(member -> {
       Long identityId = member.getIdentityId();
-      Double points = earnedPoints.get(identityId);
+      double points = earnedPoints.get(identityId);
 
       WalletPluginReward rewardMemberDetail = new WalletPluginReward();
       rewardMemberDetail.setIdentityId(identityId);
@@ -724,6 +1097,20 @@ public class WalletRewardReportService implements RewardReportService {
    * 
    * @return wallet token service
    */
+  private double getAdminTokenBalance(String adminWalletAddress, ContractDetail contractDetail) throws Exception {
+    // Use the admin wallet token balance maintained in internal database from
+    // mined transfers, when available, to not request blockchain
+    Wallet adminWallet = walletAccountService.getWalletByAddress(adminWalletAddress);
+    if (adminWallet != null) {
+      walletAccountService.retrieveWalletBlockchainState(adminWallet);
+      if (adminWallet.getTokenBalance() != null) {
+        return adminWallet.getTokenBalance();
+      }
+    }
+    BigInteger adminTokenBalance = getTokenAdminService().getTokenBalanceOf(adminWalletAddress);
+    return convertFromDecimals(adminTokenBalance, contractDetail.getDecimals());
+  }
+
   private WalletTokenAdminService getTokenAdminService() {
     if (walletTokenAdminService == null) {
       walletTokenAdminService = CommonsUtils.getService(WalletTokenAdminService.class);
@@ -731,4 +1118,54 @@ public class WalletRewardReportService implements RewardReportService {
     return walletTokenAdminService;
   }
 
+  private static RewardReport copyRewardReport(RewardReport rewardReport) {
+    RewardReport copy = new RewardReport();
+    copy.setPeriod(rewardReport.getPeriod());
+    copy.setPluginsComputingTime(new HashMap<>(rewardReport.getPluginsComputingTime()));
+    copy.setRewards(rewardReport.getRewards()
+                                .stream()
+                                .map(walletReward -> new WalletReward(walletReward.getWallet(),
+                                                                      walletReward.getTeams(),
+                                                                      walletReward.getTransaction(),
+                                                                      walletReward.getRewards(),
+                                                                      walletReward.getPeriod()))
+                                .collect(Collectors.toSet()));
+    return copy;
+  }
+
+  /**
+   * A reward report computed for a period, with the sequence of the last
+   * modification considered in it
+   */
+  private static class ComputedRewardReport {
+
+    private final RewardReport rewardReport;
+
+    private final long         computingTime;
+
+    private long               sequence;
+
+    ComputedRewardReport(RewardReport rewardReport, long sequence, long computingTime) {
+      this.rewardReport = rewardReport;
+      this.sequence = sequence;
+      this.computingTime = computingTime;
+    }
+
+    RewardReport getRewardReport() {
+      return rewardReport;
+    }
+
+    long getComputingTime() {
+      return computingTime;
+    }
+
+    long getSequence() {
+      return sequence;
+    }
+
+    void setSequence(long sequence) {
+      this.sequence = sequence;
+    }
+  }
+
 }
@@ -36,12 +36,15 @@ public class WalletRewardSettingsService implements RewardSettingsService {
 
   private SettingService            settingService;
 
+  private RewardReportChangeTracker changeTracker;
+
   private RewardSettings            configuredRewardSettings;
 
   private Map<String, RewardPlugin> rewardPlugins = new HashMap<>();
 
-  public WalletRewardSettingsService(SettingService settingService) {
+  public WalletRewardSettingsService(SettingService settingService, RewardReportChangeTracker changeTracker) {
     this.settingService = settingService;
+    this.changeTracker = changeTracker;
   }
 
   @Override
@@ -120,6 +123,7 @@ public class WalletRewardSettingsService implements RewardSettingsService {
 
     // Purge cached settings
     this.configuredRewardSettings = null;
+    this.changeTracker.markAllModified();
   }
 
   @Override
@@ -128,6 +132,7 @@ public class WalletRewardSettingsService implements RewardSettingsService {
 
     // Purge cached settings
     this.configuredRewardSettings = null;
+    this.changeTracker.markAllModified();
   }
 
   @Override
@@ -136,6 +141,7 @@ public class WalletRewardSettingsService implements RewardSettingsService {
 
     // Purge cached settings
     this.configuredRewardSettings = null;
+    this.changeTracker.markAllModified();
   }
 
   @Override
@@ -18,23 +18,53 @@ package org.exoplatform.wallet.reward.service;
 
 import java.util.List;
 
+import org.exoplatform.commons.cache.future.FutureExoCache;
+import org.exoplatform.commons.cache.future.Loader;
+import org.exoplatform.services.cache.CacheService;
+import org.exoplatform.services.cache.ExoCache;
 import org.exoplatform.wallet.model.reward.RewardTeam;
 import org.exoplatform.wallet.reward.storage.WalletRewardTeamStorage;
 
 /**
- * A service to manage reward teams
+ * A service to manage reward teams. Not deleted teams are read from a
+ * {@link RewardTeamsSnapshot} shared through platform cache, which is rebuilt
+ * when a team is saved or removed only.
  */
 public class WalletRewardTeamService implements RewardTeamService {
 
-  private WalletRewardTeamStorage rewardTeamStorage;
+  private static final String                                 TEAMS_CACHE_KEY = "teams";
 
-  public WalletRewardTeamService(WalletRewardTeamStorage rewardTeamStorage) {
+  private WalletRewardTeamStorage                             rewardTeamStorage;
+
+  private RewardReportChangeTracker                           changeTracker;
+
+  private ExoCache<String, RewardTeamsSnapshot>               teamsCache;
+
+  private FutureExoCache<String, RewardTeamsSnapshot, Object> teamsFutureCache;
+
+  public WalletRewardTeamService(CacheService cacheService,
+                                 WalletRewardTeamStorage rewardTeamStorage,
+                                 RewardReportChangeTracker changeTracker) {
     this.rewardTeamStorage = rewardTeamStorage;
+    this.changeTracker = changeTracker;
+    this.teamsCache = cacheService.getCacheInstance("wallet.reward.teams");
+
+    // Future cache is used for clustered environment improvements (usage of
+    // putLocal VS put)
+    this.teamsFutureCache = new FutureExoCache<>(new Loader<String, RewardTeamsSnapshot, Object>() {
+      @Override
+      public RewardTeamsSnapshot retrieve(Object context, String key) throws Exception {
+        return new RewardTeamsSnapshot(System.currentTimeMillis(), rewardTeamStorage.getTeams());
+      }
+    }, teamsCache);
   }
 
+  /**
+   * @return a modifiable copy of not deleted teams, read from teams snapshot
+   */
   @Override
   public List<RewardTeam> getTeams() {
-    return this.rewardTeamStorage.getTeams();
+    return getTeamsSnapshot().copyTeams();
   }
 
   @Override
@@ -42,7 +72,10 @@ public class WalletRewardTeamService implements RewardTeamService {
     if (rewardTeam == null) {
       throw new IllegalArgumentException("Empty team to save");
     }
-    return this.rewardTeamStorage.saveTeam(rewardTeam);
+    RewardTeam savedTeam = this.rewardTeamStorage.saveTeam(rewardTeam);
+    refreshTeamsSnapshot();
+    this.changeTracker.markAllModified();
+    return savedTeam;
   }
 
   @Override
@@ -50,15 +83,22 @@ public class WalletRewardTeamService implements RewardTeamService {
     if (id == null || id == 0) {
       throw new IllegalArgumentException("Team id is required");
     }
-    return this.rewardTeamStorage.removeTeam(id);
+    RewardTeam removedTeam = this.rewardTeamStorage.removeTeam(id);
+    refreshTeamsSnapshot();
+    this.changeTracker.markAllModified();
+    return removedTeam;
   }
 
+  /**
+   * @return a modifiable copy of not deleted teams of the member, read from
+   *         teams snapshot
+   */
   @Override
   public List<RewardTeam> findTeamsByMemberId(long identityId) {
     if (identityId == 0) {
       throw new IllegalArgumentException("User identity id is required");
     }
-    return this.rewardTeamStorage.findTeamsByMemberId(identityId);
+    return getTeamsSnapshot().copyTeamsByMemberId(identityId);
   }
 
   public RewardTeam getTeamsById(long teamId) {
@@ -68,4 +108,25 @@ public class WalletRewardTeamService implements RewardTeamService {
     return this.rewardTeamStorage.getTeamsById(teamId);
   }
 
+  /**
+   * @return version of the current teams snapshot, greater each time teams
+   *         are reloaded after a team is saved or removed
+   */
+  public long getTeamsVersion() {
+    return getTeamsSnapshot().getVersion();
+  }
+
+  public void clearCache() {
+    this.teamsFutureCache.clear();
+  }
+
+  private RewardTeamsSnapshot getTeamsSnapshot() {
+    return this.teamsFutureCache.get(null, TEAMS_CACHE_KEY);
+  }
+
+  private void refreshTeamsSnapshot() {
+    // All cluster nodes will reload teams on next access
+    this.teamsCache.remove(TEAMS_CACHE_KEY);
+  }
+
 }
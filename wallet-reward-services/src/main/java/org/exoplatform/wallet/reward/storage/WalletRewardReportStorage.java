@@ -21,8 +21,14 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -122,39 +128,11 @@ public class WalletRewardReportStorage {
     periodOfTime.setId(rewardPeriodEntity.getId());
     rewardReport.setPeriod(periodOfTime);
 
-    List<WalletRewardEntity> rewardEntities = rewardDAO.findRewardsByPeriodId(rewardPeriodEntity.getId());
-    if (rewardEntities != null) {
-      List<WalletRewardEntity> walletRewardEntities = new ArrayList<>();
-      rewardEntities.forEach(reward -> {
-        List<WalletRewardEntity> walletRewardList = rewardEntities.stream()
-                                                                  .filter(wr -> wr.getIdentityId() == reward.getIdentityId())
-                                                                  .toList();
-        if (walletRewardList.size() == 1) {
-          walletRewardEntities.add(reward);
-        } else {
-          WalletRewardEntity walletRewardEntity = walletRewardList.stream()
-                                                                  .filter(r -> r.getTransactionHash() != null)
-                                                                  .sorted((r2, r1) -> {
-                                                                    if (r1.getTokensSent() > r2.getTokensSent()) {
-                                                                      return 1;
-                                                                    } else if (r2.getTokensSent() > r1.getTokensSent()) {
-                                                                      return -1;
-                                                                    } else {
-                                                                      return 0;
-                                                                    }
-                                                                  })
-                                                                  .findFirst()
-                                                                  .orElseGet(() -> walletRewardList.get(0));
-          if (walletRewardEntity.getId().longValue() == reward.getId().longValue()) {
-            walletRewardEntities.add(reward);
-          }
-        }
-      });
-
-      Set<WalletReward> rewards = walletRewardEntities.stream()
-                                                       .map(rewardEntity -> toDTO(rewardEntity, zoneId))
-                                                       .collect(Collectors.toSet());
-      rewardReport.setRewards(rewards);
+    long periodId = rewardPeriodEntity.getId();
+    Collection<WalletRewardEntity> rewardEntities = rewardDAO.findRewardsPerIdentityByPeriodId(periodId).values();
+    if (!rewardEntities.isEmpty()) {
+      List<WalletRewardPluginEntity> rewardPluginEntities = rewardPluginDAO.getRewardPluginsByPeriodId(periodId);
+      rewardReport.setRewards(toDTOs(rewardEntities, rewardPluginEntities, zoneId));
     }
     return rewardReport;
   }
@@ -211,63 +189,97 @@ public class WalletRewardReportStorage {
     // No null check, it has been already checked by
     // rewardReport.countValidRewards()
     Set<WalletReward> rewards = rewardReport.getRewards();
+    saveRewards(rewardPeriodEntity, rewards);
+  }
+
+  /**
+   * Saves rewards of a period by retrieving existing rewards and plugin
+   * rewards of the period using a query each. Only new and modified rows are
+   * written using JDBC batches.
+   *
+   * @param rewardPeriodEntity saved reward period
+   * @param rewards rewards to save
+   */
+  private void saveRewards(WalletRewardPeriodEntity rewardPeriodEntity, Set<WalletReward> rewards) {
+    long periodId = rewardPeriodEntity.getId();
+    Map<Long, WalletRewardEntity> existingRewards = rewardDAO.findRewardsPerIdentityByPeriodId(periodId);
+    Map<Long, Map<String, WalletRewardPluginEntity>> existingPluginRewards = new HashMap<>();
+    for (WalletRewardPluginEntity rewardPluginEntity : rewardPluginDAO.getRewardPluginsByPeriodId(periodId)) {
+      existingPluginRewards.computeIfAbsent(rewardPluginEntity.getReward().getId(), key -> new HashMap<>())
+                           .putIfAbsent(rewardPluginEntity.getPluginId(), rewardPluginEntity);
+    }
+    Map<Long, RewardTeamEntity> teamEntities = new HashMap<>();
+
+    List<WalletRewardEntity> modifiedRewards = new ArrayList<>();
+    Map<WalletRewardEntity, Set<WalletPluginReward>> pluginRewardsToSave = new LinkedHashMap<>();
     for (WalletReward walletReward : rewards) { // NOSONAR
       if (walletReward.getWallet() == null || StringUtils.isBlank(walletReward.getWallet().getAddress())) {
         continue;
       }
       long identityId = walletReward.getIdentityId();
-      WalletRewardEntity rewardEntity = rewardDAO.findRewardByIdentityIdAndPeriodId(identityId, rewardPeriodEntity.getId());
+      WalletRewardEntity rewardEntity = existingRewards.get(identityId);
       if (rewardEntity == null) {
         rewardEntity = new WalletRewardEntity();
+        rewardEntity.setIdentityId(identityId);
+        rewardEntity.setPeriod(rewardPeriodEntity);
+        existingRewards.put(identityId, rewardEntity);
       }
-      rewardEntity.setTokensSent(walletReward.getTokensSent());
-      rewardEntity.setTokensToSend(walletReward.getTokensToSend());
-      rewardEntity.setEnabled(walletReward.isEnabled());
-      rewardEntity.setIdentityId(identityId);
-      rewardEntity.setPeriod(rewardPeriodEntity);
-
       TransactionDetail rewardTransaction = walletReward.getTransaction();
-      rewardEntity.setTransactionHash(rewardTransaction == null ? null : rewardTransaction.getHash());
-
+      String transactionHash = rewardTransaction == null ? null : rewardTransaction.getHash();
       RewardTeam team = walletReward.getTeam();
-      if (team == null) {
-        rewardEntity.setTeam(null);
-      } else {
-        RewardTeamEntity teamEntity = rewardTeamDAO.find(team.getId());
+      RewardTeamEntity teamEntity = team == null ? null : teamEntities.computeIfAbsent(team.getId(), rewardTeamDAO::find);
+
+      if (rewardEntity.getId() == null
+          || rewardEntity.getTokensSent() != walletReward.getTokensSent()
+          || rewardEntity.getTokensToSend() != walletReward.getTokensToSend()
+          || rewardEntity.isEnabled() != walletReward.isEnabled()
+          || !StringUtils.equals(rewardEntity.getTransactionHash(), transactionHash)
+          || !Objects.equals(getTeamId(rewardEntity.getTeam()), getTeamId(teamEntity))) {
+        rewardEntity.setTokensSent(walletReward.getTokensSent());
+        rewardEntity.setTokensToSend(walletReward.getTokensToSend());
+        rewardEntity.setEnabled(walletReward.isEnabled());
+        rewardEntity.setTransactionHash(transactionHash);
         rewardEntity.setTeam(teamEntity);
-      }
-
-      if (rewardEntity.getId() == null) {
-        rewardEntity = rewardDAO.create(rewardEntity);
-      } else {
-        rewardEntity = rewardDAO.update(rewardEntity);
+        modifiedRewards.add(rewardEntity);
       }
 
       Set<WalletPluginReward> rewardPlugins = walletReward.getRewards();
-      if (rewardPlugins == null || rewardPlugins.isEmpty()) {
-        continue;
+      if (rewardPlugins != null && !rewardPlugins.isEmpty()) {
+        pluginRewardsToSave.put(rewardEntity, rewardPlugins);
       }
+    }
+    rewardDAO.saveAll(modifiedRewards);
 
+    List<WalletRewardPluginEntity> modifiedPluginRewards = new ArrayList<>();
+    pluginRewardsToSave.forEach((rewardEntity, rewardPlugins) -> {
+      Map<String, WalletRewardPluginEntity> rewardPluginEntities = existingPluginRewards.getOrDefault(rewardEntity.getId(),
+                                                                                                     Collections.emptyMap());
       for (WalletPluginReward rewardPlugin : rewardPlugins) {
-        WalletRewardPluginEntity rewardPluginEntity =
-                                                    rewardPluginDAO.getRewardPluginsByRewardIdAndPluginId(rewardEntity.getId(),
-                                                                                                          rewardPlugin.getPluginId());
+        WalletRewardPluginEntity rewardPluginEntity = rewardPluginEntities.get(rewardPlugin.getPluginId());
         if (rewardPluginEntity == null) {
           rewardPluginEntity = new WalletRewardPluginEntity();
+          rewardPluginEntity.setPluginId(rewardPlugin.getPluginId());
+          rewardPluginEntity.setReward(rewardEntity);
+        } else if (rewardPluginEntity.getAmount() == rewardPlugin.getAmount()
+            && rewardPluginEntity.getPoints() == rewardPlugin.getPoints()
+            && rewardPluginEntity.isPoolUsed() == rewardPlugin.isPoolsUsed()) {
+          continue;
         }
         rewardPluginEntity.setAmount(rewardPlugin.getAmount());
         rewardPluginEntity.setPoints(rewardPlugin.getPoints());
-        rewardPluginEntity.setPluginId(rewardPlugin.getPluginId());
         rewardPluginEntity.setPoolUsed(rewardPlugin.isPoolsUsed());
-        rewardPluginEntity.setReward(rewardEntity);
-
-        if (rewardPluginEntity.getId() == null) {
-          rewardPluginDAO.create(rewardPluginEntity);
-        } else {
-          rewardPluginDAO.update(rewardPluginEntity);
-        }
+        modifiedPluginRewards.add(rewardPluginEntity);
       }
-    }
+    });
+    rewardPluginDAO.saveAll(modifiedPluginRewards);
+    LOG.debug("{} rewards and {} plugin rewards saved for period with id {}",
+              modifiedRewards.size(),
+              modifiedPluginRewards.size(),
+              periodId);
+  }
+
+  private Long getTeamId(RewardTeamEntity teamEntity) {
+    return teamEntity == null ? null : teamEntity.getId();
   }
 
   public List<RewardPeriod> findRewardPeriodsByStatus(RewardStatus rewardStatus) {
@@ -298,6 +310,10 @@ public class WalletRewardReportStorage {
     rewardDAO.replaceRewardTransactions(oldHash, newHash);
   }
 
+  public long countPendingTransactions(Collection<String> transactionHashes) {
+    return walletTransactionService.countPendingTransactionsByHashes(transactionHashes);
+  }
+
   private RewardPeriod toDTO(WalletRewardPeriodEntity period) {
     if (period == null) {
       return null;
@@ -312,11 +328,6 @@ public class WalletRewardReportStorage {
     return rewardPeriod;
   }
 
-  private void retrieveRewardPlugins(WalletRewardEntity rewardEntity, WalletReward walletReward) {
-    Set<WalletPluginReward> rewardPlugins = getRewardPluginsByRewardId(rewardEntity.getId());
-    walletReward.setRewards(rewardPlugins);
-  }
-
   private Set<WalletPluginReward> getRewardPluginsByRewardId(Long rewardId) {
     List<WalletRewardPluginEntity> rewardsPluginEntities = rewardPluginDAO.getRewardPluginsByRewardId(rewardId);
     if (rewardsPluginEntities != null) {
@@ -325,19 +336,71 @@ public class WalletRewardReportStorage {
     return Collections.emptySet();
   }
 
+  /**
+   * Converts the rewards of a period using a single lookup for each of plugin
+   * rewards, wallets and transactions instead of a lookup per reward
+   *
+   * @param rewardEntities rewards of the period, one per identity
+   * @param rewardPluginEntities plugin rewards of the period
+   * @param zoneId {@link ZoneId} used to compute reward period
+   * @return {@link Set} of {@link WalletReward}
+   */
+  private Set<WalletReward> toDTOs(Collection<WalletRewardEntity> rewardEntities,
+                                   List<WalletRewardPluginEntity> rewardPluginEntities,
+                                   ZoneId zoneId) {
+    Map<Long, Set<WalletPluginReward>> pluginRewards = new HashMap<>();
+    for (WalletRewardPluginEntity rewardPluginEntity : rewardPluginEntities) {
+      pluginRewards.computeIfAbsent(rewardPluginEntity.getReward().getId(), key -> new HashSet<>())
+                   .add(toDTO(rewardPluginEntity));
+    }
+    Set<Long> identityIds = new HashSet<>();
+    Set<String> transactionHashes = new HashSet<>();
+    for (WalletRewardEntity rewardEntity : rewardEntities) {
+      identityIds.add(rewardEntity.getIdentityId());
+      if (StringUtils.isNotBlank(rewardEntity.getTransactionHash())) {
+        transactionHashes.add(StringUtils.lowerCase(rewardEntity.getTransactionHash()));
+      }
+    }
+    Map<Long, Wallet> wallets = walletAccountService.getWalletsByIdentityIds(identityIds);
+    Map<String, TransactionDetail> transactions = transactionHashes.isEmpty() ? Collections.emptyMap()
+                                                                              : walletTransactionService.getTransactionsByHashes(transactionHashes);
+    Map<Long, RewardTeam> teams = new HashMap<>();
+
+    Set<WalletReward> rewards = new HashSet<>();
+    for (WalletRewardEntity rewardEntity : rewardEntities) {
+      WalletReward walletReward = new WalletReward();
+      if (rewardEntity.getTeam() != null) {
+        RewardTeam team = teams.computeIfAbsent(rewardEntity.getTeam().getId(), rewardTeamStorage::getTeamById);
+        walletReward.setTeams(Collections.singletonList(team));
+      }
+      walletReward.setWallet(wallets.get(rewardEntity.getIdentityId()));
+      if (StringUtils.isNotBlank(rewardEntity.getTransactionHash())) {
+        walletReward.setTransaction(transactions.get(StringUtils.lowerCase(rewardEntity.getTransactionHash())));
+      }
+      walletReward.setRewards(pluginRewards.getOrDefault(rewardEntity.getId(), Collections.emptySet()));
+      retrievePeriod(rewardEntity, walletReward, zoneId);
+      rewards.add(walletReward);
+    }
+    return rewards;
+  }
+
   private WalletReward toDTO(WalletRewardEntity rewardEntity, ZoneId zoneId) {
     WalletReward walletReward = new WalletReward();
     retrieveTeam(rewardEntity, walletReward);
     retrieveWallet(rewardEntity, walletReward);
     retrieveTransaction(rewardEntity, walletReward);
-    retrieveRewardPlugins(rewardEntity, walletReward);
+    walletReward.setRewards(getRewardPluginsByRewardId(rewardEntity.getId()));
+    retrievePeriod(rewardEntity, walletReward, zoneId);
+    return walletReward;
+  }
+
+  private void retrievePeriod(WalletRewardEntity rewardEntity, WalletReward walletReward, ZoneId zoneId) {
     WalletRewardPeriodEntity periodEntity = rewardEntity.getPeriod();
     if (periodEntity != null && periodEntity.getPeriodType() != null) {
       RewardPeriodType rewardPeriodType = periodEntity.getPeriodType();
       ZonedDateTime zonedDateTime = ZonedDateTime.ofInstant(Instant.ofEpochSecond(periodEntity.getStartTime()), zoneId);
       walletReward.setPeriod(rewardPeriodType.getPeriodOfTime(zonedDateTime));
     }
-    return walletReward;
   }
 
   private WalletPluginReward toDTO(WalletRewardPluginEntity rewardPluginEntity) {
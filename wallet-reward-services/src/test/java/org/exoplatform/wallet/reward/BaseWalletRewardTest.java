@@ -67,6 +67,7 @@ import org.exoplatform.wallet.reward.dao.RewardTeamDAO;
 import org.exoplatform.wallet.reward.entity.RewardTeamEntity;
 import org.exoplatform.wallet.reward.service.WalletRewardSettingsService;
 import org.exoplatform.wallet.reward.service.WalletRewardSettingsServiceTest;
+import org.exoplatform.wallet.reward.service.WalletRewardTeamService;
 import org.exoplatform.wallet.reward.test.mock.IdentityManagerMock;
 import org.exoplatform.wallet.reward.test.mock.SpaceServiceMock;
 import org.exoplatform.wallet.service.WalletService;
@@ -222,6 +223,8 @@ public abstract class BaseWalletRewardTest extends AbstractKernelTest {
         }
       }
     }
+    // Teams may be deleted using DAO, thus reload teams snapshot
+    getService(WalletRewardTeamService.class).clearCache();
 
     int walletCount = walletAccountDAO.findAll().size();
     int walletPrivateKeyCount = walletPrivateKeyDAO.findAll().size();
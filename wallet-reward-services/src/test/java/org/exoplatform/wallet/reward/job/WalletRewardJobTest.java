@@ -140,7 +140,8 @@ public class WalletRewardJobTest extends BaseWalletRewardTest {
       Mockito.when(tokenAdminService.getTokenBalanceOf("adminAddress"))
              .thenReturn(BigInteger.valueOf((long) sumOfTokensToSend + 1).pow(contractDecimals));
       walletRewardService.sendRewards(date, "root");
-      Mockito.verify(tokenAdminService, Mockito.times(60)).reward(Mockito.any(), Mockito.any());
+      Mockito.verify(tokenAdminService, Mockito.times(1)).rewardAll(Mockito.argThat(transactions -> transactions.size() == 60),
+                                                                   Mockito.any());
 
       List<RewardPeriod> rewardPeriodsInProgress = walletRewardService.getRewardPeriodsInProgress();
       assertNotNull(rewardPeriodsInProgress);
@@ -214,22 +215,24 @@ public class WalletRewardJobTest extends BaseWalletRewardTest {
     container.registerComponentInstance(WalletTokenAdminService.class, tokenAdminService);
     Mockito.reset(tokenAdminService);
     Mockito.when(tokenAdminService.getAdminWalletAddress()).thenReturn("adminAddress");
-    Mockito.when(tokenAdminService.reward(Mockito.any(), Mockito.any())).thenAnswer(new Answer<TransactionDetail>() {
+    Mockito.when(tokenAdminService.rewardAll(Mockito.any(), Mockito.any())).thenAnswer(new Answer<List<TransactionDetail>>() {
       @Override
-      public TransactionDetail answer(InvocationOnMock invocation) throws Throwable {
-        TransactionDetail transactionDetail = invocation.getArgument(0, TransactionDetail.class);
-        transactionDetail.setHash(generateTransactionHash());
-        transactionDetail.setPending(pendingTransactions);
-        transactionDetail.setSucceeded(successTransactions);
-        transactionDetail.setContractMethodName("reward");
-        RequestLifeCycle.begin(container);
-        try {
-          walletTransactionService.saveTransactionDetail(transactionDetail, false);
-        } finally {
-          RequestLifeCycle.end();
+      public List<TransactionDetail> answer(InvocationOnMock invocation) throws Throwable {
+        List<TransactionDetail> transactionDetails = invocation.getArgument(0);
+        for (TransactionDetail transactionDetail : transactionDetails) {
+          transactionDetail.setHash(generateTransactionHash());
+          transactionDetail.setPending(pendingTransactions);
+          transactionDetail.setSucceeded(successTransactions);
+          transactionDetail.setContractMethodName("reward");
+          RequestLifeCycle.begin(container);
+          try {
+            walletTransactionService.saveTransactionDetail(transactionDetail, false);
+          } finally {
+            RequestLifeCycle.end();
+          }
+          entitiesToClean.add(transactionDetail);
         }
-        entitiesToClean.add(transactionDetail);
-        return transactionDetail;
+        return transactionDetails;
       }
     });
   }
@@ -0,0 +1,105 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.reward.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.exoplatform.wallet.model.transaction.TransactionDetail;
+import org.exoplatform.wallet.reward.service.RewardReportChangeTracker.RewardReportChanges;
+
+public class RewardReportChangeTrackerTest {
+
+  @Test
+  public void testIdentityChanges() {
+    RewardReportChangeTracker changeTracker = new RewardReportChangeTracker();
+    long sequence = changeTracker.getSequence();
+    assertTrue(changeTracker.getChanges(sequence).isEmpty());
+
+    changeTracker.markIdentityModified(1);
+    changeTracker.markIdentityModified(2);
+    RewardReportChanges changes = changeTracker.getChanges(sequence);
+    assertFalse(changes.isFullComputing());
+    assertEquals(Set.of(1L, 2L), changes.getIdentityIds());
+
+    changeTracker.markIdentityModified(2);
+    assertEquals(Set.of(2L), changeTracker.getChanges(changes.getSequence()).getIdentityIds());
+    assertEquals(Set.of(1L, 2L), changeTracker.getChanges(sequence).getIdentityIds());
+
+    changeTracker.prune(changeTracker.getSequence());
+    assertTrue(changeTracker.getChanges(sequence).isEmpty());
+  }
+
+  @Test
+  public void testFullComputing() {
+    RewardReportChangeTracker changeTracker = new RewardReportChangeTracker();
+    long sequence = changeTracker.getSequence();
+    changeTracker.markAllModified();
+    assertTrue(changeTracker.getChanges(sequence).isFullComputing());
+    assertFalse(changeTracker.getChanges(changeTracker.getSequence()).isFullComputing());
+  }
+
+  @Test
+  public void testWatchedTransactionChanges() {
+    RewardReportChangeTracker changeTracker = new RewardReportChangeTracker();
+    long sequence = changeTracker.getSequence();
+
+    TransactionDetail transactionDetail = newTransaction("0xABC");
+    changeTracker.markTransactionModified(transactionDetail);
+    assertTrue(changeTracker.getChanges(sequence).isEmpty());
+
+    changeTracker.watchTransactions(Collections.singleton("0xabc"));
+    changeTracker.markTransactionModified(transactionDetail);
+    changeTracker.markTransactionModified(newTransaction("0xdef"));
+    RewardReportChanges changes = changeTracker.getChanges(sequence);
+    assertEquals(1, changes.getTransactions().size());
+    assertSame(transactionDetail, changes.getTransactions().get("0xabc"));
+
+    changeTracker.prune(changes.getSequence());
+    assertTrue(changeTracker.getChanges(sequence).getTransactions().isEmpty());
+  }
+
+  @Test
+  public void testTransactionChangesWhileComputing() {
+    RewardReportChangeTracker changeTracker = new RewardReportChangeTracker();
+    long sequence = changeTracker.startComputing();
+
+    TransactionDetail transactionDetail = newTransaction("0xABC");
+    changeTracker.markTransactionModified(transactionDetail);
+    changeTracker.watchTransactions(Collections.singleton("0xdef"));
+    changeTracker.endComputing();
+    changeTracker.markTransactionModified(newTransaction("0x123"));
+
+    RewardReportChanges changes = changeTracker.getChanges(sequence);
+    assertEquals(1, changes.getTransactions().size());
+    assertSame(transactionDetail, changes.getTransactions().get("0xabc"));
+  }
+
+  private TransactionDetail newTransaction(String hash) {
+    TransactionDetail transactionDetail = new TransactionDetail();
+    transactionDetail.setHash(hash);
+    return transactionDetail;
+  }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.reward.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.Test;
+
+import org.exoplatform.wallet.model.Wallet;
+import org.exoplatform.wallet.model.reward.RewardTeam;
+import org.exoplatform.wallet.model.reward.WalletPluginReward;
+import org.exoplatform.wallet.model.reward.WalletReward;
+import org.exoplatform.wallet.model.transaction.TransactionDetail;
+
+/**
+ * Checks that indexed rewards computation of
+ * {@link WalletRewardReportService} gives the same result than the previous
+ * computation which was matching wallets and rewards using nested loops.
+ */
+public class WalletRewardComputationTest {
+
+  private static final long   SEED                = 20201020L;
+
+  private static final int    WALLETS_COUNT       = 300;
+
+  private static final String KUDOS_PLUGIN        = "kudos";
+
+  private static final String GAMIFICATION_PLUGIN = "gamification";
+
+  @Test
+  public void testMergeWalletRewardsGivesSameResult() {
+    Fixture legacyFixture = new Fixture(SEED);
+    Fixture indexedFixture = new Fixture(SEED);
+
+    List<WalletReward> legacyResult = legacyMergeWalletRewards(legacyFixture.walletRewards, legacyFixture.wallets);
+    List<WalletReward> indexedResult = WalletRewardReportService.mergeWalletRewards(indexedFixture.walletRewards,
+                                                                                    indexedFixture.wallets);
+
+    assertEquals(legacyFixture.walletRewards.size(), indexedFixture.walletRewards.size());
+    assertEquals(legacyResult.size(), indexedResult.size());
+    for (int i = 0; i < legacyResult.size(); i++) {
+      WalletReward legacyReward = legacyResult.get(i);
+      WalletReward indexedReward = indexedResult.get(i);
+      assertEquals(legacyReward.getIdentityId(), indexedReward.getIdentityId());
+      assertEquals(legacyReward.getPoolName(), indexedReward.getPoolName());
+      assertEquals(legacyReward.getTokensSent(), indexedReward.getTokensSent(), 0);
+      if (legacyReward.getTransaction() == null) {
+        assertNull(indexedReward.getTransaction());
+      } else {
+        assertEquals(legacyReward.getTransaction().getHash(), indexedReward.getTransaction().getHash());
+      }
+    }
+  }
+
+  @Test
+  public void testAssignPluginRewardsGivesSameResult() {
+    Fixture legacyFixture = new Fixture(SEED);
+    Fixture indexedFixture = new Fixture(SEED);
+    List<WalletReward> legacyRewards = legacyMergeWalletRewards(legacyFixture.walletRewards, legacyFixture.wallets);
+    List<WalletReward> indexedRewards = WalletRewardReportService.mergeWalletRewards(indexedFixture.walletRewards,
+                                                                                     indexedFixture.wallets);
+
+    legacyAssignPluginRewards(legacyFixture.walletRewards, legacyFixture.pluginRewards);
+    WalletRewardReportService.assignPluginRewards(indexedFixture.walletRewards, indexedFixture.pluginRewards);
+
+    for (int i = 0; i < legacyRewards.size(); i++) {
+      Set<WalletPluginReward> legacyPluginRewards = legacyRewards.get(i).getRewards();
+      Set<WalletPluginReward> indexedPluginRewards = indexedRewards.get(i).getRewards();
+      assertEquals(legacyPluginRewards, indexedPluginRewards);
+      assertEquals(sumAmounts(legacyPluginRewards), sumAmounts(indexedPluginRewards), 0);
+    }
+  }
+
+  @Test
+  public void testSplitIdentityIds() {
+    Set<Long> identityIds = LongStream.rangeClosed(1, 25).boxed().collect(Collectors.toSet());
+    assertEquals(Collections.singletonList(identityIds), WalletRewardReportService.splitIdentityIds(identityIds, 25));
+
+    List<Set<Long>> chunks = WalletRewardReportService.splitIdentityIds(identityIds, 10);
+    assertEquals(3, chunks.size());
+    assertEquals(10, chunks.get(0).size());
+    assertEquals(10, chunks.get(1).size());
+    assertEquals(5, chunks.get(2).size());
+    assertEquals(identityIds, chunks.stream().flatMap(Set::stream).collect(Collectors.toSet()));
+  }
+
+  private double sumAmounts(Set<WalletPluginReward> pluginRewards) {
+    return pluginRewards.stream().mapToDouble(WalletPluginReward::getAmount).sum();
+  }
+
+  /**
+   * Copy of rewards matching made before indexing rewards by identity id
+   */
+  private List<WalletReward> legacyMergeWalletRewards(Set<WalletReward> walletRewards, Set<Wallet> wallets) {
+    List<WalletReward> rewardsOfWallets = new ArrayList<>();
+    for (Wallet wallet : wallets) {
+      List<WalletReward> walletRewardList = walletRewards.stream()
+                                                         .filter(wr -> wallet != null && wr.getWallet() != null
+                                                             && wr.getIdentityId() == wallet.getTechnicalId())
+                                                         .toList();
+      WalletReward walletReward = walletRewardList.stream().filter(r -> r.getTransaction() != null).sorted((r2, r1) -> {
+        if (r1.getTokensSent() > r2.getTokensSent()) {
+          return 1;
+        } else if (r2.getTokensSent() > r1.getTokensSent()) {
+          return -1;
+        } else {
+          return 0;
+        }
+      }).findFirst().orElseGet(() -> walletRewardList.isEmpty() ? null : walletRewardList.get(0));
+      if (walletReward == null) {
+        walletReward = new WalletReward();
+        walletRewards.add(walletReward);
+      }
+      walletReward.setWallet(wallet);
+      rewardsOfWallets.add(walletReward);
+    }
+    return rewardsOfWallets;
+  }
+
+  /**
+   * Copy of plugin rewards assignment made before grouping them by identity id
+   */
+  private void legacyAssignPluginRewards(Set<WalletReward> walletRewards, Set<WalletPluginReward> walletRewardsByPlugin) {
+    for (WalletReward walletReward : walletRewards) {
+      Set<WalletPluginReward> rewardDetails =
+                                            walletRewardsByPlugin.stream()
+                                                                 .filter(rewardByPlugin -> rewardByPlugin.getIdentityId() == walletReward.getIdentityId())
+                                                                 .collect(Collectors.toSet());
+      walletReward.setRewards(rewardDetails);
+    }
+  }
+
+  /**
+   * Wallets, stored rewards and plugin rewards generated identically for a
+   * given seed. Some wallets have many stored rewards, with or without
+   * transactions and with equal sent amounts, to check which one is selected.
+   */
+  private static class Fixture {
+
+    private final Set<Wallet>             wallets       = new LinkedHashSet<>();
+
+    private final Set<WalletReward>       walletRewards = new LinkedHashSet<>();
+
+    private final Set<WalletPluginReward> pluginRewards = new HashSet<>();
+
+    Fixture(long seed) {
+      Random random = new Random(seed);
+      int rewardIndex = 0;
+      for (long identityId = 1; identityId <= WALLETS_COUNT; identityId++) {
+        Wallet wallet = newWallet(identityId);
+        wallets.add(wallet);
+
+        int storedRewardsCount = random.nextInt(4);
+        for (int i = 0; i < storedRewardsCount; i++) {
+          WalletReward walletReward = new WalletReward();
+          // Stored rewards of the same identity are distinct only when
+          // their wallets have a different remote id
+          Wallet storedWallet = newWallet(identityId);
+          storedWallet.setId("stored-" + rewardIndex);
+          walletReward.setWallet(storedWallet);
+          RewardTeam team = new RewardTeam();
+          team.setName("reward-" + rewardIndex);
+          walletReward.setTeams(Collections.singletonList(team));
+          if (random.nextBoolean()) {
+            TransactionDetail transaction = new TransactionDetail();
+            transaction.setHash("0x" + rewardIndex);
+            transaction.setContractAmount(random.nextInt(3));
+            walletReward.setTransaction(transaction);
+          }
+          walletRewards.add(walletReward);
+          rewardIndex++;
+        }
+
+        for (String pluginId : new String[] { KUDOS_PLUGIN, GAMIFICATION_PLUGIN }) {
+          if (random.nextInt(10) < 7) {
+            WalletPluginReward pluginReward = new WalletPluginReward();
+            pluginReward.setPluginId(pluginId);
+            pluginReward.setIdentityId(identityId);
+            pluginReward.setPoints(random.nextInt(100));
+            pluginReward.setAmount(random.nextDouble() * 10);
+            pluginRewards.add(pluginReward);
+          }
+        }
+      }
+    }
+
+    private Wallet newWallet(long identityId) {
+      Wallet wallet = new Wallet();
+      wallet.setId("user-" + identityId);
+      wallet.setType("user");
+      wallet.setTechnicalId(identityId);
+      wallet.setAddress("0x" + identityId);
+      wallet.setEnabled(true);
+      return wallet;
+    }
+  }
+
+}
@@ -47,6 +47,7 @@ import org.exoplatform.wallet.model.transaction.TransactionDetail;
 import org.exoplatform.wallet.reward.BaseWalletRewardTest;
 import org.exoplatform.wallet.reward.dao.RewardDAO;
 import org.exoplatform.wallet.reward.dao.RewardPeriodDAO;
+import org.exoplatform.wallet.reward.dao.RewardPluginDAO;
 import org.exoplatform.wallet.reward.entity.WalletRewardEntity;
 import org.exoplatform.wallet.reward.entity.WalletRewardPeriodEntity;
 import org.exoplatform.wallet.reward.storage.WalletRewardReportStorage;
@@ -209,6 +210,7 @@ public class WalletRewardReportServiceTest extends BaseWalletRewardTest { // NOS
       });
 
       rewardReport = walletRewardService.computeRewards(date);
+      assertTrue(rewardReport.getPluginsComputingTime().containsKey(CUSTOM_PLUGIN_ID));
 
       // check total budget to send
       double tokensToSend = rewardReport.getRewards().stream().mapToDouble(WalletReward::getTokensToSend).sum();
@@ -275,6 +277,67 @@ public class WalletRewardReportServiceTest extends BaseWalletRewardTest { // NOS
     }
   }
 
+  @Test
+  public void testComputeRewardsIncrementally() {
+    WalletRewardReportService walletRewardService = getService(WalletRewardReportService.class);
+    LocalDate date = YearMonth.of(2019, 04).atEndOfMonth();
+
+    WalletAccountService accountService = getService(WalletAccountService.class);
+    int enabledWalletsCount = 20;
+    for (int i = 0; i < enabledWalletsCount; i++) {
+      Wallet wallet = newWallet(i + 1l);
+      wallet = accountService.saveWallet(wallet, true);
+      updateWalletBlockchainState(wallet);
+      accountService.saveWalletBlockchainState(wallet, WalletUtils.getContractAddress());
+      entitiesToClean.add(wallet);
+    }
+
+    WalletRewardSettingsService rewardSettingsService = getService(WalletRewardSettingsService.class);
+    RewardSettings defaultSettings = rewardSettingsService.getSettings();
+    rewardSettingsService.registerPlugin(CUSTOM_REWARD_PLUGIN);
+    try {
+      RewardSettings newSettings = cloneSettings(rewardSettingsService.getSettings());
+      newSettings.setPeriodType(RewardPeriodType.MONTH);
+      RewardPluginSettings customPluginSetting = newSettings.getPluginSettings()
+                                                            .stream()
+                                                            .filter(plugin -> CUSTOM_PLUGIN_ID.equals(plugin.getPluginId()))
+                                                            .findFirst()
+                                                            .orElse(null);
+      assertNotNull(customPluginSetting);
+      long amount = 3l;
+      customPluginSetting.setAmount(amount); // NOSONAR
+      customPluginSetting.setBudgetType(RewardBudgetType.FIXED_PER_POINT);
+      customPluginSetting.setThreshold(0);
+      customPluginSetting.setEnabled(true);
+      customPluginSetting.setUsePools(false);
+      rewardSettingsService.saveSettings(newSettings);
+
+      RewardReport rewardReport = walletRewardService.computeRewardsIncrementally(date);
+      assertNotNull(rewardReport);
+      assertEquals(enabledWalletsCount, rewardReport.getValidRewardCount());
+      double tokensToSend = rewardReport.getTokensToSend();
+      assertEquals(walletRewardService.computeRewards(date).getTokensToSend(), tokensToSend, 0);
+
+      // Nothing modified, the computed report is reused and a copy returned
+      RewardReport reusedRewardReport = walletRewardService.computeRewardsIncrementally(date);
+      assertNotSame(rewardReport, reusedRewardReport);
+      assertEquals(rewardReport, reusedRewardReport);
+      reusedRewardReport.getRewards().clear();
+      assertEquals(tokensToSend, walletRewardService.computeRewardsIncrementally(date).getTokensToSend(), 0);
+
+      // Settings modified, the report is computed again
+      customPluginSetting.setAmount(amount * 2);
+      rewardSettingsService.saveSettings(newSettings);
+      RewardReport modifiedRewardReport = walletRewardService.computeRewardsIncrementally(date);
+      assertNotSame(rewardReport, modifiedRewardReport);
+      assertEquals(tokensToSend * 2, modifiedRewardReport.getTokensToSend(), 0);
+      assertEquals(modifiedRewardReport, walletRewardService.computeRewardsIncrementally(date));
+    } finally {
+      rewardSettingsService.unregisterPlugin(CUSTOM_PLUGIN_ID);
+      rewardSettingsService.saveSettings(defaultSettings);
+    }
+  }
+
   @Test
   public void testComputeRewardWithDuplication() {
     WalletTransactionService walletTransactionService = getService(WalletTransactionService.class);
@@ -432,7 +495,8 @@ public class WalletRewardReportServiceTest extends BaseWalletRewardTest { // NOS
     WalletRewardReportService walletRewardService = new WalletRewardReportService(walletAccountService,
                                                                                   rewardSettingsService,
                                                                                   rewardTeamService,
-                                                                                  rewardReportStorage);
+                                                                                  rewardReportStorage,
+                                                                                  getService(RewardReportChangeTracker.class));
 
     WalletTokenAdminService tokenAdminService = Mockito.mock(WalletTokenAdminService.class);
     resetTokenAdminService(walletTransactionService, tokenAdminService, false, true);
@@ -526,7 +590,8 @@ public class WalletRewardReportServiceTest extends BaseWalletRewardTest { // NOS
     WalletRewardReportService walletRewardService = new WalletRewardReportService(walletAccountService,
                                                                                   rewardSettingsService,
                                                                                   rewardTeamService,
-                                                                                  rewardReportStorage);
+                                                                                  rewardReportStorage,
+                                                                                  getService(RewardReportChangeTracker.class));
     WalletTokenAdminService tokenAdminService = Mockito.mock(WalletTokenAdminService.class);
     resetTokenAdminService(walletTransactionService, tokenAdminService, false, true);
 
@@ -587,13 +652,14 @@ public class WalletRewardReportServiceTest extends BaseWalletRewardTest { // NOS
       } catch (Exception e) {
         // Expected
       }
-      Mockito.verify(tokenAdminService, Mockito.times(0)).reward(Mockito.any(), Mockito.any());
+      Mockito.verify(tokenAdminService, Mockito.times(0)).rewardAll(Mockito.any(), Mockito.any());
 
       // Admin having enough funds
       Mockito.when(tokenAdminService.getTokenBalanceOf("adminAddress"))
              .thenReturn(BigInteger.valueOf((long) sumOfTokensToSend + 1).pow(contractDecimals));
       walletRewardService.sendRewards(date, "root");
-      Mockito.verify(tokenAdminService, Mockito.times(60)).reward(Mockito.any(), Mockito.any());
+      Mockito.verify(tokenAdminService, Mockito.times(1)).rewardAll(Mockito.argThat(transactions -> transactions.size() == 60),
+                                                                   Mockito.any());
 
       // Send reward for the second time for the same period
       resetTokenAdminService(walletTransactionService, tokenAdminService, false, true);
@@ -604,7 +670,7 @@ public class WalletRewardReportServiceTest extends BaseWalletRewardTest { // NOS
       } catch (Exception e) {
         // Expected, no rewards to send
       }
-      Mockito.verify(tokenAdminService, Mockito.times(0)).reward(Mockito.any(), Mockito.any());
+      Mockito.verify(tokenAdminService, Mockito.times(0)).rewardAll(Mockito.any(), Mockito.any());
     } finally {
       rewardSettingsService.unregisterPlugin(CUSTOM_PLUGIN_ID);
       rewardSettingsService.saveSettings(defaultSettings);
@@ -668,6 +734,67 @@ public class WalletRewardReportServiceTest extends BaseWalletRewardTest { // NOS
     assertEquals(rewardPeriod.getId(), report.getPeriod().getId());
   }
 
+  @Test
+  public void testSaveModifiedRewardReport() {
+    RewardReport rewardReport = new RewardReport();
+    LocalDate date = LocalDate.now();
+
+    WalletAccountService accountService = getService(WalletAccountService.class);
+    WalletRewardSettingsService rewardSettingsService = getService(WalletRewardSettingsService.class);
+    RewardPeriod period = rewardSettingsService.getSettings().getPeriodType().getPeriodOfTime(date, ZoneId.systemDefault());
+    rewardReport.setPeriod(period);
+    Set<WalletReward> rewards = new HashSet<>();
+    for (int i = 0; i < 5; i++) {
+      Wallet wallet = newWallet(i + 1l);
+      wallet = accountService.saveWallet(wallet, true);
+      updateWalletBlockchainState(wallet);
+      accountService.saveWalletBlockchainState(wallet, WalletUtils.getContractAddress());
+      entitiesToClean.add(wallet);
+
+      WalletReward walletReward = new WalletReward();
+      walletReward.setWallet(wallet);
+      walletReward.setPeriod(period);
+      Set<WalletPluginReward> pluginRewards = new HashSet<>();
+      for (int j = 0; j < 2; j++) {
+        WalletPluginReward pluginReward = new WalletPluginReward();
+        pluginReward.setAmount(5);
+        pluginReward.setIdentityId(wallet.getTechnicalId());
+        pluginReward.setPluginId("plugin" + j);
+        pluginReward.setPoints(5);
+        pluginRewards.add(pluginReward);
+      }
+      walletReward.setRewards(pluginRewards);
+      rewards.add(walletReward);
+    }
+    rewardReport.setRewards(rewards);
+
+    RewardReportService rewardReportService = getService(RewardReportService.class);
+    rewardReportService.saveRewardReport(rewardReport);
+
+    WalletReward modifiedReward = rewards.iterator().next();
+    WalletPluginReward modifiedPluginReward = modifiedReward.getRewards().iterator().next();
+    modifiedPluginReward.setAmount(8);
+    modifiedPluginReward.setPoints(8);
+    rewardReportService.saveRewardReport(rewardReport);
+
+    RequestLifeCycle.end();
+    RequestLifeCycle.begin(container);
+
+    RewardPeriod rewardPeriod = rewardReportService.getRewardPeriod(period.getRewardPeriodType(), period.getPeriodMedianDate());
+    assertEquals(5, getService(RewardDAO.class).findRewardsByPeriodId(rewardPeriod.getId()).size());
+    assertEquals(10, getService(RewardPluginDAO.class).getRewardPluginsByPeriodId(rewardPeriod.getId()).size());
+
+    RewardReport savedRewardReport = rewardReportService.getRewardReportByPeriodId(rewardPeriod.getId());
+    WalletReward savedReward = savedRewardReport.getRewards()
+                                                .stream()
+                                                .filter(reward -> reward.getIdentityId() == modifiedReward.getIdentityId())
+                                                .findFirst()
+                                                .orElse(null);
+    assertNotNull(savedReward);
+    assertEquals(modifiedReward.getTokensToSend(), savedReward.getTokensToSend(), 0);
+    assertEquals(13, savedReward.getTokensToSend(), 0);
+  }
+
   @Test
   public void testFindRewardReportPeriods() {
     RewardReport rewardReport = new RewardReport();
@@ -733,7 +860,8 @@ public class WalletRewardReportServiceTest extends BaseWalletRewardTest { // NOS
     WalletRewardReportService walletRewardService = new WalletRewardReportService(walletAccountService,
                                                                                   rewardSettingsService,
                                                                                   rewardTeamService,
-                                                                                  rewardReportStorage);
+                                                                                  rewardReportStorage,
+                                                                                  getService(RewardReportChangeTracker.class));
 
     WalletTokenAdminService tokenAdminService = Mockito.mock(WalletTokenAdminService.class);
     resetTokenAdminService(walletTransactionService, tokenAdminService, false, true);
@@ -794,7 +922,8 @@ public class WalletRewardReportServiceTest extends BaseWalletRewardTest { // NOS
       Mockito.when(tokenAdminService.getTokenBalanceOf("adminAddress"))
              .thenReturn(BigInteger.valueOf((long) sumOfTokensToSend + 1).pow(contractDecimals));
       walletRewardService.sendRewards(date, "root");
-      Mockito.verify(tokenAdminService, Mockito.times(60)).reward(Mockito.any(), Mockito.any());
+      Mockito.verify(tokenAdminService, Mockito.times(1)).rewardAll(Mockito.argThat(transactions -> transactions.size() == 60),
+                                                                   Mockito.any());
 
       walletRewards = walletRewardService.listRewards("root3", 10);
       assertNotNull(walletRewards);
@@ -836,12 +965,14 @@ public class WalletRewardReportServiceTest extends BaseWalletRewardTest { // NOS
     container.registerComponentInstance(WalletTokenAdminService.class, tokenAdminService);
     Mockito.reset(tokenAdminService);
     Mockito.when(tokenAdminService.getAdminWalletAddress()).thenReturn("adminAddress");
-    Mockito.when(tokenAdminService.reward(Mockito.any(), Mockito.any())).thenAnswer(new Answer<TransactionDetail>() {
+    Mockito.when(tokenAdminService.rewardAll(Mockito.any(), Mockito.any())).thenAnswer(new Answer<List<TransactionDetail>>() {
       @Override
-      public TransactionDetail answer(InvocationOnMock invocation) throws Throwable {
-        TransactionDetail transactionDetail = invocation.getArgument(0, TransactionDetail.class);
-        saveRewardTransaction(walletTransactionService, pendingTransactions, successTransactions, transactionDetail);
-        return transactionDetail;
+      public List<TransactionDetail> answer(InvocationOnMock invocation) throws Throwable {
+        List<TransactionDetail> transactionDetails = invocation.getArgument(0);
+        for (TransactionDetail transactionDetail : transactionDetails) {
+          saveRewardTransaction(walletTransactionService, pendingTransactions, successTransactions, transactionDetail);
+        }
+        return transactionDetails;
       }
 
     });
@@ -18,10 +18,13 @@ package org.exoplatform.wallet.reward.service;
 
 import java.util.List;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Test;
 
 import org.exoplatform.wallet.model.reward.RewardTeam;
 import org.exoplatform.wallet.reward.BaseWalletRewardTest;
+import org.exoplatform.wallet.reward.dao.RewardTeamDAO;
 
 public class WalletRewardTeamServiceTest extends BaseWalletRewardTest {
 
@@ -94,4 +97,47 @@ public class WalletRewardTeamServiceTest extends BaseWalletRewardTest {
     entitiesToClean.add(rewardTeam);
   }
 
+  @Test
+  public void testFindTeamsByMemberIdFromSnapshot() {
+    WalletRewardTeamService rewardTeamService = getService(WalletRewardTeamService.class);
+    long version = rewardTeamService.getTeamsVersion();
+    assertTrue(rewardTeamService.findTeamsByMemberId(MEMBER_IDENTITY_ID).isEmpty());
+
+    RewardTeam rewardTeam = rewardTeamService.saveTeam(newRewardTeam());
+    entitiesToClean.add(rewardTeam);
+    assertTrue(rewardTeamService.getTeamsVersion() > version);
+    version = rewardTeamService.getTeamsVersion();
+
+    Statistics statistics = getService(RewardTeamDAO.class).getEntityManager()
+                                                            .getEntityManagerFactory()
+                                                            .unwrap(SessionFactory.class)
+                                                            .getStatistics();
+    boolean statisticsEnabled = statistics.isStatisticsEnabled();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+    try {
+      List<RewardTeam> memberTeams = rewardTeamService.findTeamsByMemberId(MEMBER_IDENTITY_ID);
+      assertEquals(1, memberTeams.size());
+      assertEquals(rewardTeam.getId(), memberTeams.get(0).getId());
+      assertTrue(rewardTeamService.findTeamsByMemberId(MEMBER_IDENTITY_ID + 100).isEmpty());
+
+      // Modifying retrieved teams mustn't modify the snapshot
+      List<RewardTeam> teams = rewardTeamService.getTeams();
+      teams.get(0).getMembers().clear();
+      teams.clear();
+      assertEquals(1, rewardTeamService.getTeams().size());
+      assertEquals(1, rewardTeamService.getTeams().get(0).getMembers().size());
+      assertEquals(version, rewardTeamService.getTeamsVersion());
+
+      assertEquals("Teams shouldn't be retrieved from database", 0, statistics.getPrepareStatementCount());
+    } finally {
+      statistics.setStatisticsEnabled(statisticsEnabled);
+    }
+
+    rewardTeamService.removeTeam(rewardTeam.getId());
+    assertTrue(rewardTeamService.getTeamsVersion() > version);
+    assertTrue(rewardTeamService.findTeamsByMemberId(MEMBER_IDENTITY_ID).isEmpty());
+    assertTrue(rewardTeamService.getTeams().isEmpty());
+  }
+
 }
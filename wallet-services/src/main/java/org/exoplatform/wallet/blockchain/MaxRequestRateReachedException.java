@@ -20,6 +20,10 @@ public class MaxRequestRateReachedException extends RuntimeException {
 
   private static final long serialVersionUID = -4897739164628633063L;
 
+  public MaxRequestRateReachedException(String message) {
+    super("Blockchain Provider Requests Rate limit reached. Error Message: " + message);
+  }
+
   public MaxRequestRateReachedException(String transactionHash, String message) {
     super("Blockchain Provider Requests Rate limit reached. Transaction " + transactionHash + " wasn't sent. Error Message: "
         + message);
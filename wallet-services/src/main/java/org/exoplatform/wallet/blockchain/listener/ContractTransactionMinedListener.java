@@ -57,7 +57,7 @@ public class ContractTransactionMinedListener extends Listener<String, ContractT
     if (transactionDetail != null) {
       if (transactionDetail.isPending() || !transactionDetail.isSucceeded()) {
         LOG.debug("Transaction with hash {} has been mined successfully", transactionDetail.getHash());
-        blockchainTransactionService.addTransactionToRefreshFromBlockchain(transactionDetail);
+        blockchainTransactionService.addTransactionToRefreshFromBlockchain(transactionDetail, true);
       }
     } else if (blockchainTransactionService.hasManagedWalletInTransaction(contractEvent)) {
       blockchainTransactionService.refreshTransactionFromBlockchain(transactionHash);
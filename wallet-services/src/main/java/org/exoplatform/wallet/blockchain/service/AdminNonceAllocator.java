@@ -0,0 +1,260 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.blockchain.service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+
+import org.exoplatform.services.log.ExoLogger;
+import org.exoplatform.services.log.Log;
+
+/**
+ * Allocates nonces of a sender wallet from an in-memory counter, thus signing
+ * many transactions doesn't require a database or blockchain round trip.
+ * The counter is periodically reconciled with the blockchain pending nonce,
+ * which allows to reuse nonces of dropped or failed transactions that would
+ * block the following ones, and with the highest stored nonce, which allows
+ * to skip nonces used by transactions signed on other cluster nodes.
+ * <br>
+ * The counter is local to the JVM, thus two cluster nodes signing admin
+ * transactions at the same time can still allocate the same nonce until
+ * next reconciliation. Admin transactions are expected to be signed on a
+ * single node at a time, which is the case of the scheduled jobs that
+ * send rewards and initialize wallets.
+ */
+public class AdminNonceAllocator {
+
+  public static final long                  DEFAULT_RECONCILIATION_PERIOD = 15000;
+
+  private static final Log                  LOG                           = ExoLogger.getLogger(AdminNonceAllocator.class);
+
+  private final String                      address;
+
+  private final Callable<Long>              blockchainNonceSupplier;
+
+  private final LongSupplier                storedNonceSupplier;
+
+  private final LongPredicate               pendingNonceChecker;
+
+  private final long                        reconciliationPeriod;
+
+  private final AtomicLong                  nextNonce                     = new AtomicLong(-1);
+
+  private final ConcurrentSkipListSet<Long> gaps                          = new ConcurrentSkipListSet<>();
+
+  private final Map<Long, Long>             reservedNonces                = new ConcurrentHashMap<>();
+
+  private final AtomicBoolean               reconciling                   = new AtomicBoolean();
+
+  private volatile long                     lastReconciliationTime;
+
+  /**
+   * @param address sender wallet address
+   * @param blockchainNonceSupplier retrieves the next nonce to use from
+   *          blockchain, including pending transactions
+   * @param storedNonceSupplier retrieves the next nonce to use from stored
+   *          transactions, used on initialization and reconciliation
+   * @param pendingNonceChecker checks whether a stored pending transaction
+   *          uses a given nonce
+   * @param reconciliationPeriod period in milliseconds between two
+   *          reconciliations with blockchain
+   */
+  public AdminNonceAllocator(String address,
+                             Callable<Long> blockchainNonceSupplier,
+                             LongSupplier storedNonceSupplier,
+                             LongPredicate pendingNonceChecker,
+                             long reconciliationPeriod) {
+    this.address = address;
+    this.blockchainNonceSupplier = blockchainNonceSupplier;
+    this.storedNonceSupplier = storedNonceSupplier;
+    this.pendingNonceChecker = pendingNonceChecker;
+    this.reconciliationPeriod = reconciliationPeriod;
+  }
+
+  /**
+   * Reserve a nonce to sign a new transaction. The reservation has to be
+   * either confirmed using {@link #confirm(long)} once the transaction is
+   * stored or released using {@link #release(long)} if the transaction is
+   * abandoned.
+   *
+   * @return nonce to use
+   */
+  public long allocate() {
+    if (nextNonce.get() < 0) {
+      initialize();
+    } else if (System.currentTimeMillis() - lastReconciliationTime > reconciliationPeriod) {
+      reconcile();
+    }
+    Long gap = gaps.pollFirst();
+    long nonce = gap == null ? nextNonce.getAndIncrement() : gap;
+    reservedNonces.put(nonce, System.currentTimeMillis());
+    return nonce;
+  }
+
+  /**
+   * Reserve nonces to sign many transactions at once. Nonces left by dropped
+   * transactions are handed out first, then a contiguous range is reserved
+   * from the counter in a single atomic operation.
+   *
+   * @param count count of nonces to reserve
+   * @return reserved nonces in ascending order
+   */
+  public long[] allocate(int count) {
+    if (count <= 0) {
+      return new long[0];
+    }
+    if (nextNonce.get() >= 0) {
+      // Skip nonces used meanwhile by other cluster nodes before reserving a
+      // whole range
+      reconcile();
+    }
+    long[] nonces = new long[count];
+    nonces[0] = allocate();
+    int index = 1;
+    Long gap;
+    while (index < count && (gap = gaps.pollFirst()) != null) {
+      nonces[index++] = gap;
+    }
+    long firstNonce = nextNonce.getAndAdd((long) count - index);
+    long reservationTime = System.currentTimeMillis();
+    for (; index < count; index++) {
+      nonces[index] = firstNonce++;
+    }
+    for (long nonce : nonces) {
+      reservedNonces.put(nonce, reservationTime);
+    }
+    Arrays.sort(nonces);
+    return nonces;
+  }
+
+  /**
+   * Confirms that the nonce is used by a stored transaction
+   *
+   * @param nonce allocated nonce
+   */
+  public void confirm(long nonce) {
+    reservedNonces.remove(nonce);
+  }
+
+  /**
+   * Releases an allocated nonce that will not be used, so that it's handed
+   * out again on next allocation
+   *
+   * @param nonce allocated nonce
+   */
+  public void release(long nonce) {
+    if (reservedNonces.remove(nonce) != null) {
+      gaps.add(nonce);
+    }
+  }
+
+  public String getAddress() {
+    return address;
+  }
+
+  /**
+   * @return next nonce that will be allocated if no gap has to be filled, -1
+   *         if not initialized yet
+   */
+  public long getNextNonce() {
+    return nextNonce.get();
+  }
+
+  /**
+   * @return count of nonces waiting to be reused
+   */
+  public int getGapsCount() {
+    return gaps.size();
+  }
+
+  /**
+   * Reconcile the in-memory counter with stored transactions and blockchain
+   * pending nonce: the counter is moved forward when transactions were signed
+   * or sent outside this allocator, gaps used meanwhile by stored transactions
+   * are dropped and the blockchain pending nonce is marked as a gap to fill
+   * when no pending transaction uses it anymore.
+   */
+  protected void reconcile() {
+    if (!reconciling.compareAndSet(false, true)) {
+      // Another thread is already reconciling, continue with current counter
+      return;
+    }
+    try {
+      lastReconciliationTime = System.currentTimeMillis();
+      nextNonce.accumulateAndGet(storedNonceSupplier.getAsLong(), Math::max);
+      gaps.removeIf(pendingNonceChecker::test);
+
+      long blockchainNonce = getBlockchainNonce();
+      if (blockchainNonce < 0) {
+        return;
+      }
+      // Nonces lower than blockchain pending nonce are already used
+      gaps.headSet(blockchainNonce).clear();
+      long next = nextNonce.accumulateAndGet(blockchainNonce, Math::max);
+      if (blockchainNonce < next && !gaps.contains(blockchainNonce) && !isReserved(blockchainNonce)
+          && !pendingNonceChecker.test(blockchainNonce)) {
+        LOG.info("Nonce {} of wallet {} isn't used by any pending transaction, reuse it for next transaction",
+                 blockchainNonce,
+                 address);
+        gaps.add(blockchainNonce);
+      }
+    } finally {
+      reconciling.set(false);
+    }
+  }
+
+  private synchronized void initialize() {
+    if (nextNonce.get() >= 0) {
+      return;
+    }
+    lastReconciliationTime = System.currentTimeMillis();
+    long blockchainNonce = getBlockchainNonce();
+    long storedNonce = storedNonceSupplier.getAsLong();
+    nextNonce.set(Math.max(0, Math.max(blockchainNonce, storedNonce)));
+  }
+
+  private boolean isReserved(long nonce) {
+    Long reservationTime = reservedNonces.get(nonce);
+    if (reservationTime == null) {
+      return false;
+    } else if (System.currentTimeMillis() - reservationTime > reconciliationPeriod * 4) {
+      // The transaction using this nonce was never confirmed nor released
+      reservedNonces.remove(nonce);
+      return false;
+    } else {
+      return true;
+    }
+  }
+
+  private long getBlockchainNonce() {
+    try {
+      Long blockchainNonce = blockchainNonceSupplier.call();
+      return blockchainNonce == null ? -1 : blockchainNonce;
+    } catch (Exception e) {
+      LOG.warn("Error retrieving nonce of wallet {} from blockchain, use last allocated nonce", address, e);
+      return -1;
+    }
+  }
+
+}
@@ -0,0 +1,190 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.blockchain.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.LongConsumer;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.exoplatform.services.log.ExoLogger;
+import org.exoplatform.services.log.Log;
+
+/**
+ * Indexes the contract logs of a range of blocks by walking it in chunks of
+ * blocks retrieved using eth_getLogs. Many chunks are retrieved
+ * simultaneously while their logs are handled sequentially in block order. A
+ * checkpoint is made after each handled chunk, thus an interrupted indexing
+ * can be resumed from the last handled chunk.
+ */
+public class BlockchainLogIndexer {
+
+  private static final Log                                                      LOG       =
+                                                                                            ExoLogger.getLogger(BlockchainLogIndexer.class);
+
+  private static final Comparator<org.web3j.protocol.core.methods.response.Log> LOG_ORDER =
+                                                                                            Comparator.comparingLong(BlockchainLogIndexer::getBlockNumber)
+                                                                                                      .thenComparingLong(BlockchainLogIndexer::getLogIndex);
+
+  private final LogsRetriever                                                   logsRetriever;
+
+  private final int                                                             chunkSize;
+
+  private final int                                                             parallelChunks;
+
+  private final ExecutorService                                                 chunksExecutor;
+
+  /**
+   * @param logsRetriever retrieves the logs of a blocks range
+   * @param chunkSize max number of blocks retrieved by a single request, it
+   *          has to be compatible with the blockchain provider limits
+   * @param parallelChunks max number of chunks retrieved simultaneously
+   */
+  public BlockchainLogIndexer(LogsRetriever logsRetriever, int chunkSize, int parallelChunks) {
+    this.logsRetriever = logsRetriever;
+    this.chunkSize = Math.max(1, chunkSize);
+    this.parallelChunks = Math.max(1, parallelChunks);
+
+    ThreadFactory namedThreadFactory = new ThreadFactoryBuilder().setNameFormat("Ethereum-log-indexer-%d").build();
+    this.chunksExecutor = Executors.newFixedThreadPool(this.parallelChunks, namedThreadFactory);
+  }
+
+  /**
+   * Indexes the logs of a range of blocks. The logs are handled in the current
+   * thread, ordered by block number and log index. The indexing stops at the
+   * first chunk that couldn't be retrieved or handled.
+   *
+   * @param fromBlock first block to index, inclusive
+   * @param toBlock last block to index, inclusive
+   * @param logHandler handles each retrieved log
+   * @param checkpointHandler receives the last block of each handled chunk
+   * @return the last indexed block number, lower than toBlock when the
+   *         indexing has been interrupted by an error
+   */
+  public long index(long fromBlock, long toBlock, LogHandler logHandler, LongConsumer checkpointHandler) {
+    return index(fromBlock, toBlock, (logs, chunkToBlock) -> {
+      for (org.web3j.protocol.core.methods.response.Log log : logs) {
+        logHandler.handle(log);
+      }
+      checkpointHandler.accept(chunkToBlock);
+    });
+  }
+
+  /**
+   * Indexes the logs of a range of blocks. The logs of each chunk are handed
+   * at once, in the current thread, ordered by block number and log index,
+   * thus the chunk handler can make the checkpoint of the chunk once its logs
+   * are handled. The indexing stops at the first chunk that couldn't be
+   * retrieved or handled.
+   *
+   * @param fromBlock first block to index, inclusive
+   * @param toBlock last block to index, inclusive
+   * @param chunkHandler handles the retrieved logs of each chunk
+   * @return the last indexed block number, lower than toBlock when the
+   *         indexing has been interrupted by an error
+   */
+  public long index(long fromBlock, long toBlock, ChunkHandler chunkHandler) {
+    long lastIndexedBlock = fromBlock - 1;
+    long nextChunkStart = fromBlock;
+    Deque<LogsChunk> chunks = new ArrayDeque<>();
+    try {
+      while (nextChunkStart <= toBlock || !chunks.isEmpty()) {
+        // Keep as much chunks retrieved simultaneously as allowed, to not wait
+        // for a chunk retrieval once the previous one is handled
+        while (nextChunkStart <= toBlock && chunks.size() < parallelChunks) {
+          long chunkStart = nextChunkStart;
+          long chunkEnd = Math.min(toBlock, chunkStart + chunkSize - 1);
+          chunks.add(new LogsChunk(chunkEnd, chunksExecutor.submit(() -> logsRetriever.retrieve(chunkStart, chunkEnd))));
+          nextChunkStart = chunkEnd + 1;
+        }
+        LogsChunk chunk = chunks.poll();
+        List<org.web3j.protocol.core.methods.response.Log> logs = new ArrayList<>(chunk.getLogs().get());
+        logs.sort(LOG_ORDER);
+        chunkHandler.handle(logs, chunk.getToBlock());
+        lastIndexedBlock = chunk.getToBlock();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Logs indexing interrupted at block {}", lastIndexedBlock);
+    } catch (ExecutionException e) {
+      LOG.warn("Error retrieving logs, indexing stopped at block {}", lastIndexedBlock, e.getCause());
+    } catch (Exception e) {
+      LOG.warn("Error handling logs, indexing stopped at block {}", lastIndexedBlock, e);
+    } finally {
+      chunks.forEach(chunk -> chunk.getLogs().cancel(true));
+    }
+    return lastIndexedBlock;
+  }
+
+  public void stop() {
+    chunksExecutor.shutdownNow();
+  }
+
+  private static long getBlockNumber(org.web3j.protocol.core.methods.response.Log log) {
+    return log.getBlockNumber() == null ? Long.MAX_VALUE : log.getBlockNumber().longValue();
+  }
+
+  private static long getLogIndex(org.web3j.protocol.core.methods.response.Log log) {
+    return log.getLogIndex() == null ? Long.MAX_VALUE : log.getLogIndex().longValue();
+  }
+
+  @FunctionalInterface
+  public interface LogsRetriever {
+    List<org.web3j.protocol.core.methods.response.Log> retrieve(long fromBlock, long toBlock) throws IOException;
+  }
+
+  @FunctionalInterface
+  public interface LogHandler {
+    void handle(org.web3j.protocol.core.methods.response.Log log) throws Exception; // NOSONAR
+  }
+
+  @FunctionalInterface
+  public interface ChunkHandler {
+    void handle(List<org.web3j.protocol.core.methods.response.Log> logs, long toBlock) throws Exception; // NOSONAR
+  }
+
+  private static class LogsChunk {
+
+    private final long                                                       toBlock;
+
+    private final Future<List<org.web3j.protocol.core.methods.response.Log>> logs;
+
+    public LogsChunk(long toBlock, Future<List<org.web3j.protocol.core.methods.response.Log>> logs) {
+      this.toBlock = toBlock;
+      this.logs = logs;
+    }
+
+    public long getToBlock() {
+      return toBlock;
+    }
+
+    public Future<List<org.web3j.protocol.core.methods.response.Log>> getLogs() {
+      return logs;
+    }
+  }
+
+}
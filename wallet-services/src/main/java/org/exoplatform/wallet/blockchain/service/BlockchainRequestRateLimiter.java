@@ -0,0 +1,140 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.blockchain.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket limiting the rate of requests sent to blockchain provider.
+ * The rate adapts itself to the provider limits: it's halved each time the
+ * provider answers that the requests rate limit is reached and it grows back
+ * progressively to the configured maximum rate on each successful request.
+ */
+public class BlockchainRequestRateLimiter {
+
+  public static final double  DEFAULT_MAX_REQUESTS_PER_SECOND = 25;
+
+  public static final long    RATE_LIMIT_BACKOFF_MILLIS       = 1000;
+
+  private static final double MIN_REQUESTS_PER_SECOND         = 1;
+
+  private final double        maxRate;
+
+  private final AtomicLong    rateLimitReachedCount           = new AtomicLong();
+
+  private double              rate;
+
+  private double              storedPermits;
+
+  private long                lastRefillTime;
+
+  private long                pausedUntil;
+
+  /**
+   * @param maxRate maximum requests per second, zero or negative value to
+   *          disable rate limiting
+   */
+  public BlockchainRequestRateLimiter(double maxRate) {
+    this.maxRate = maxRate;
+    this.rate = maxRate;
+    this.storedPermits = maxRate;
+    this.lastRefillTime = System.nanoTime();
+    this.pausedUntil = this.lastRefillTime;
+  }
+
+  /**
+   * Wait until a permit is available to send a request to blockchain
+   */
+  public void acquire() {
+    if (!isEnabled()) {
+      return;
+    }
+    long waitTime;
+    while ((waitTime = tryAcquire()) > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(waitTime);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Reduce requests rate and pause sending requests for a while since the
+   * blockchain provider requests rate limit has been reached
+   */
+  public synchronized void reportRateLimitReached() {
+    rateLimitReachedCount.incrementAndGet();
+    if (!isEnabled()) {
+      return;
+    }
+    rate = Math.max(MIN_REQUESTS_PER_SECOND, rate / 2);
+    storedPermits = 0;
+    pausedUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RATE_LIMIT_BACKOFF_MILLIS);
+  }
+
+  /**
+   * Increase progressively the requests rate until reaching the configured
+   * maximum rate
+   */
+  public synchronized void reportSuccess() {
+    if (isEnabled() && rate < maxRate) {
+      rate = Math.min(maxRate, rate + maxRate / 100);
+    }
+  }
+
+  public boolean isEnabled() {
+    return maxRate > 0;
+  }
+
+  public synchronized double getRate() {
+    return rate;
+  }
+
+  public double getMaxRate() {
+    return maxRate;
+  }
+
+  /**
+   * @return count of times the provider requests rate limit was reached
+   */
+  public long getRateLimitReachedCount() {
+    return rateLimitReachedCount.get();
+  }
+
+  /**
+   * @return 0 if a permit is acquired, else the time in nanoseconds to wait
+   *         before retrying
+   */
+  protected synchronized long tryAcquire() {
+    long now = System.nanoTime();
+    if (pausedUntil - now > 0) {
+      return pausedUntil - now;
+    }
+    storedPermits = Math.min(rate, storedPermits + (now - lastRefillTime) * rate / TimeUnit.SECONDS.toNanos(1));
+    lastRefillTime = now;
+    if (storedPermits >= 1) {
+      storedPermits--;
+      return 0;
+    } else {
+      return (long) ((1 - storedPermits) * TimeUnit.SECONDS.toNanos(1) / rate);
+    }
+  }
+
+}
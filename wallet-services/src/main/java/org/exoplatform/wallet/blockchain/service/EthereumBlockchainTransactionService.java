@@ -30,24 +30,36 @@ import static org.exoplatform.wallet.utils.WalletUtils.isWalletEmpty;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import jakarta.servlet.ServletContext;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.picocontainer.Startable;
 import org.web3j.abi.EventEncoder;
 import org.web3j.abi.EventValues;
@@ -56,6 +68,7 @@ import org.web3j.protocol.core.methods.response.EthSendTransaction;
 import org.web3j.protocol.core.methods.response.Transaction;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.tx.Contract;
+import org.web3j.utils.Numeric;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.javascript.jscomp.jarjar.com.google.re2j.Pattern;
@@ -86,6 +99,10 @@ public class EthereumBlockchainTransactionService implements BlockchainTransacti
   private static final Log                 LOG                               =
                                                ExoLogger.getLogger(EthereumBlockchainTransactionService.class);
 
+  private static final int                 DEFAULT_REFRESH_WORKERS           = 5;
+
+  private static final int                 DEFAULT_SENDING_LANES             = 5;
+
   private static final Pattern             GAS_PRICE_TOO_LOW_MESSAGE_PATTERN = Pattern.compile("transaction gas price.*too low");
 
   private static final Pattern             NONCE_TOO_LOW_MESSAGE_PATTERN     = Pattern.compile("nonce (is )?too low");
@@ -112,10 +129,22 @@ public class EthereumBlockchainTransactionService implements BlockchainTransacti
 
   private long                     networkId;
 
-  private Queue<TransactionDetail> transactionDetailsToRefresh = new PriorityBlockingQueue<>(1, this::compareTransactionDate);
+  private TransactionRefreshQueue  transactionDetailsToRefresh = new TransactionRefreshQueue();
 
   private ScheduledExecutorService transactionRefreshExecutor  = null;
 
+  private ExecutorService          transactionRefreshWorkers   = null;
+
+  private int                      refreshWorkersCount;
+
+  private AtomicInteger            activeRefreshWorkers        = new AtomicInteger();
+
+  private AtomicLong               lastRefreshedBlockNumber    = new AtomicLong();
+
+  private Map<String, Integer>     sendingTransactionsCount    = new ConcurrentHashMap<>();
+
+  private ExecutorService          transactionSendingLanes     = null;
+
   public EthereumBlockchainTransactionService(PortalContainer container,
                                               WalletService walletService, // NOSONAR
                                                                            // added
@@ -136,6 +165,18 @@ public class EthereumBlockchainTransactionService implements BlockchainTransacti
 
     ThreadFactory namedThreadFactory = new ThreadFactoryBuilder().setNameFormat("Ethereum-transaction-refresh-%d").build();
     transactionRefreshExecutor = Executors.newSingleThreadScheduledExecutor(namedThreadFactory);
+
+    String refreshWorkersParam = System.getProperty("exo.wallet.blockchain.refresh.workers");
+    refreshWorkersCount = StringUtils.isBlank(refreshWorkersParam) ? DEFAULT_REFRESH_WORKERS
+                                                                   : Math.max(1, Integer.parseInt(refreshWorkersParam));
+    namedThreadFactory = new ThreadFactoryBuilder().setNameFormat("Ethereum-transaction-refresh-worker-%d").build();
+    transactionRefreshWorkers = Executors.newFixedThreadPool(refreshWorkersCount, namedThreadFactory);
+
+    String sendingLanesParam = System.getProperty("exo.wallet.blockchain.sending.lanes");
+    int sendingLanesCount = StringUtils.isBlank(sendingLanesParam) ? DEFAULT_SENDING_LANES
+                                                                   : Math.max(1, Integer.parseInt(sendingLanesParam));
+    namedThreadFactory = new ThreadFactoryBuilder().setNameFormat("Ethereum-transaction-sending-lane-%d").build();
+    transactionSendingLanes = Executors.newFixedThreadPool(sendingLanesCount, namedThreadFactory);
   }
 
   @Override
@@ -155,7 +196,9 @@ public class EthereumBlockchainTransactionService implements BlockchainTransacti
 
   @Override
   public void stop() {
-    // Nothing to stop
+    transactionRefreshExecutor.shutdownNow();
+    transactionRefreshWorkers.shutdownNow();
+    transactionSendingLanes.shutdownNow();
   }
 
   @Override
@@ -166,15 +209,27 @@ public class EthereumBlockchainTransactionService implements BlockchainTransacti
     }
     long startTime = System.currentTimeMillis();
     LOG.info("Start sending {} transactions to blockchain", transactionsToSend.size());
-    List<TransactionDetail> sentTransactions = new ArrayList<>();
+    List<TransactionDetail> sentTransactions = Collections.synchronizedList(new ArrayList<>());
     try {
-      for (TransactionDetail transactionDetail : transactionsToSend) {
-        TransactionDetail trantactionDetailSent = this.sendTransactionToBlockchain(transactionDetail);
-        if (trantactionDetailSent != null && trantactionDetailSent.isPending() && trantactionDetailSent.getSentTimestamp() > 0) {
-          sentTransactions.add(trantactionDetailSent);
+      // Transactions of a same sender must be sent in nonce order, while
+      // transactions of different senders can be sent simultaneously
+      Collection<List<TransactionDetail>> lanes = getSendingLanes(transactionsToSend);
+      AtomicReference<RuntimeException> sendingError = new AtomicReference<>();
+      if (lanes.size() == 1) {
+        sendLaneTransactions(lanes.iterator().next(), sentTransactions, sendingError);
+      } else {
+        List<Future<?>> laneFutures = new ArrayList<>();
+        for (List<TransactionDetail> lane : lanes) {
+          laneFutures.add(transactionSendingLanes.submit(() -> sendLaneTransactionsInContainer(lane,
+                                                                                               sentTransactions,
+                                                                                               sendingError)));
         }
+        waitForLanes(laneFutures, sendingError);
+      }
+      if (sendingError.get() != null) {
+        throw sendingError.get();
       }
-      return sentTransactions;
+      return new ArrayList<>(sentTransactions);
     } finally {
       LOG.info("End sending {}/{} pending transactions to blockchain in {}ms",
                sentTransactions.size(),
@@ -185,11 +240,12 @@ public class EthereumBlockchainTransactionService implements BlockchainTransacti
 
   @Override
   public void addTransactionToRefreshFromBlockchain(TransactionDetail transactionDetail) {
-    if (transactionDetailsToRefresh.stream()
-                                   .noneMatch(otherTransactionDetail -> StringUtils.equalsIgnoreCase(otherTransactionDetail.getHash(),
-                                                                                                     transactionDetail.getHash()))) {
-      transactionDetailsToRefresh.add(transactionDetail);
-    }
+    addTransactionToRefreshFromBlockchain(transactionDetail, false);
+  }
+
+  @Override
+  public void addTransactionToRefreshFromBlockchain(TransactionDetail transactionDetail, boolean prioritize) {
+    transactionDetailsToRefresh.add(transactionDetail, prioritize);
   }
 
   @Override
@@ -199,13 +255,24 @@ public class EthereumBlockchainTransactionService implements BlockchainTransacti
       // Already refreshed no need to change it
       return transactionDetail;
     }
+    if (isSentByWallet(transactionDetail)) {
+      // The nonce, gas price and value of transactions sent by wallet are
+      // already known, thus the receipt is enough to finalize them
+      TransactionReceipt transactionReceipt = ethereumClientConnector.getTransactionReceipt(transactionHash);
+      BigInteger gasPrice = isMinedReceipt(transactionReceipt) ? getGasPrice(transactionDetail, transactionReceipt) : null;
+      if (gasPrice != null) {
+        retrieveTransactionDetailsFromReceipt(transactionDetail, transactionReceipt, gasPrice);
+        updateLastWatchedBlockNumber(transactionReceipt.getBlockNumber());
+        return transactionService.getTransactionByHash(transactionHash);
+      } else if (transactionReceipt == null && !canCheckPendingTransactionValidity(transactionDetail)) {
+        // Not mined yet and can't be marked as failed yet
+        return transactionDetail;
+      }
+    }
     Transaction transaction = ethereumClientConnector.getTransaction(transactionHash);
     retrieveTransactionDetailsFromBlockchain(transactionDetail, transaction);
-    if (transaction != null && transaction.getBlockNumber() != null
-        && transaction.getBlockNumber().longValue() > getLastWatchedBlockNumber()) {
-      long blockNumber = transaction.getBlockNumber().longValue();
-      saveLastWatchedBlockNumber(blockNumber);
-      ethereumClientConnector.setLastWatchedBlockNumber(blockNumber);
+    if (transaction != null) {
+      updateLastWatchedBlockNumber(transaction.getBlockNumber());
     }
     return transactionService.getTransactionByHash(transactionHash);
   }
@@ -284,16 +351,34 @@ public class EthereumBlockchainTransactionService implements BlockchainTransacti
 
   protected void startAsync() {
     ExoContainerContext.setCurrentContainer(container);
+    long pendingContractTransactionsSent;
+    boolean hasEverUsedWallet;
+    long lastWatchedBlockNumber;
     RequestLifeCycle.begin(container);
     try {
-      long pendingContractTransactionsSent = transactionService.countContractPendingTransactionsSent();
-      boolean noPendingTransactionsToWatch = pendingContractTransactionsSent == 0;
+      pendingContractTransactionsSent = transactionService.countContractPendingTransactionsSent();
       Wallet adminWallet = accountService.getAdminWallet();
       boolean isAdminWalletEnabled = adminWallet != null && adminWallet.isEnabled() && adminWallet.getEtherBalance() != null
           && adminWallet.getEtherBalance() > 0 && adminWallet.getTokenBalance() != null && adminWallet.getTokenBalance() > 0;
-      boolean hasEverUsedWallet = isAdminWalletEnabled || transactionService.countTransactions() > 0;
-      if (hasEverUsedWallet && noPendingTransactionsToWatch) {
-        long lastWatchedBlockNumber = ethereumClientConnector.getLastestBlockNumber();
+      hasEverUsedWallet = isAdminWalletEnabled || transactionService.countTransactions() > 0;
+      lastWatchedBlockNumber = getLastWatchedBlockNumber();
+    } finally {
+      RequestLifeCycle.end();
+    }
+    if (lastWatchedBlockNumber > 0) {
+      // Catch up contract transactions mined since the last checkpoint,
+      // including the ones mined while the server was stopped. Each chunk of
+      // blocks is handled in its own request lifecycle
+      lastWatchedBlockNumber = indexContractTransactions(lastWatchedBlockNumber + 1,
+                                                         ethereumClientConnector.getLastestBlockNumber());
+    }
+    RequestLifeCycle.begin(container);
+    try {
+      if (lastWatchedBlockNumber > 0) {
+        saveLastWatchedBlockNumber(lastWatchedBlockNumber);
+        ethereumClientConnector.setLastWatchedBlockNumber(lastWatchedBlockNumber);
+      } else if (hasEverUsedWallet && pendingContractTransactionsSent == 0) {
+        lastWatchedBlockNumber = ethereumClientConnector.getLastestBlockNumber();
         saveLastWatchedBlockNumber(lastWatchedBlockNumber);
         ethereumClientConnector.setLastWatchedBlockNumber(lastWatchedBlockNumber);
       }
@@ -305,24 +390,98 @@ public class EthereumBlockchainTransactionService implements BlockchainTransacti
     }
   }
 
+  /**
+   * Indexes the contract Transfer events of a range of blocks. The mined
+   * transactions of each chunk of blocks are refreshed synchronously, then the
+   * watched block number checkpoint is saved, thus a chunk is never marked as
+   * indexed before its transactions are stored.
+   *
+   * @param fromBlock first block to index, inclusive
+   * @param toBlock last block to index, inclusive
+   * @return last indexed block number
+   */
+  protected long indexContractTransactions(long fromBlock, long toBlock) {
+    if (fromBlock > toBlock) {
+      return fromBlock - 1;
+    }
+    long startTime = System.currentTimeMillis();
+    LOG.info("Start indexing contract transactions from block {} to {}", fromBlock, toBlock);
+    long lastIndexedBlock = ethereumClientConnector.indexContractTransactions(fromBlock,
+                                                                              toBlock,
+                                                                              this::indexContractTransactionsChunk);
+    LOG.info("End indexing contract transactions of {}/{} blocks in {}ms",
+             lastIndexedBlock - fromBlock + 1,
+             toBlock - fromBlock + 1,
+             System.currentTimeMillis() - startTime);
+    return lastIndexedBlock;
+  }
+
+  private void indexContractTransactionsChunk(List<org.web3j.protocol.core.methods.response.Log> logs, long toBlock) {
+    RequestLifeCycle.begin(container);
+    try {
+      for (org.web3j.protocol.core.methods.response.Log log : logs) {
+        String transactionHash = log.getTransactionHash();
+        if (StringUtils.isBlank(transactionHash)) {
+          continue;
+        }
+        ContractTransactionEvent contractEvent = new ContractTransactionEvent(transactionHash,
+                                                                              log.getAddress(),
+                                                                              log.getData(),
+                                                                              log.getTopics(),
+                                                                              log.getBlockNumber().longValue());
+        if (transactionService.getTransactionByHash(transactionHash) != null || hasManagedWalletInTransaction(contractEvent)) {
+          refreshTransactionFromBlockchain(transactionHash);
+        }
+      }
+      saveLastWatchedBlockNumber(toBlock);
+    } finally {
+      RequestLifeCycle.end();
+    }
+  }
+
   private void processTransactionRefreshingFromBlockchain() {
+    // Start as much workers as needed to drain the queue in parallel, the
+    // requests rate to blockchain is throttled by the shared rate limiter
+    int workersToStart = Math.min(refreshWorkersCount - activeRefreshWorkers.get(), transactionDetailsToRefresh.size());
+    for (int i = 0; i < workersToStart; i++) {
+      activeRefreshWorkers.incrementAndGet();
+      try {
+        transactionRefreshWorkers.execute(this::refreshTransactionsFromQueue);
+      } catch (RejectedExecutionException e) {
+        activeRefreshWorkers.decrementAndGet();
+        LOG.debug("Transaction refresh worker not started, the service may be stopping", e);
+        return;
+      }
+    }
+  }
+
+  private void refreshTransactionsFromQueue() {
+    List<TransactionDetail> transactionsToRetry = new ArrayList<>();
     ExoContainerContext.setCurrentContainer(container);
-    RequestLifeCycle.begin(container);
     try {
-      // Limit to 10 to not exceed rate limit all time
-      int limit = transactionDetailsToRefresh.size() > 10 ? 10 : transactionDetailsToRefresh.size();
-      for (int i = 0; i < limit; i++) {
-        TransactionDetail transactionDetail = transactionDetailsToRefresh.poll();
+      TransactionDetail transactionDetail;
+      while (!Thread.currentThread().isInterrupted() && (transactionDetail = transactionDetailsToRefresh.poll()) != null) {
         String hash = transactionDetail.getHash();
+        RequestLifeCycle.begin(container);
         try {
           refreshTransactionFromBlockchain(hash);
         } catch (Exception e) {
-          LOG.warn("Error while refreshing transaction with hash {}. Retry it after few seconds.", hash, e);
-          addTransactionToRefreshFromBlockchain(transactionDetail);
+          if (ExceptionUtils.indexOfType(e, MaxRequestRateReachedException.class) >= 0) {
+            // A request of this refresh has been rejected by provider, which
+            // was already reported to the rate limiter, thus retry it on
+            // next tick
+            LOG.debug("Requests rate limit reached while refreshing transaction with hash {}", hash);
+          } else {
+            LOG.warn("Error while refreshing transaction with hash {}. Retry it after few seconds.", hash, e);
+          }
+          transactionsToRetry.add(transactionDetail);
+        } finally {
+          RequestLifeCycle.end();
         }
       }
     } finally {
-      RequestLifeCycle.end();
+      activeRefreshWorkers.decrementAndGet();
+      transactionsToRetry.forEach(this::addTransactionToRefreshFromBlockchain);
     }
   }
 
@@ -368,8 +527,40 @@ public class EthereumBlockchainTransactionService implements BlockchainTransacti
     boolean broadcastMinedTransaction = transactionDetail.isPending()
         || (transactionDetail.isSucceeded() != transactionReceipt.isStatusOK());
 
-    computeTransactionDetail(transactionDetail, contractDetail, transaction, transactionReceipt);
+    computeTransactionDetail(transactionDetail,
+                             contractDetail,
+                             transactionReceipt,
+                             transaction.getFrom(),
+                             transaction.getTo(),
+                             transaction.getGasPrice(),
+                             transaction.getNonce().longValue(),
+                             transaction.getValue());
+    saveMinedTransactionDetail(transactionDetail, broadcastMinedTransaction);
+  }
 
+  private void retrieveTransactionDetailsFromReceipt(TransactionDetail transactionDetail,
+                                                     TransactionReceipt transactionReceipt,
+                                                     BigInteger gasPrice) {
+    ContractDetail contractDetail = getContractDetail();
+    if (contractDetail == null) {
+      throw new IllegalStateException("Principal contract detail wasn't found in database");
+    }
+
+    boolean broadcastMinedTransaction = transactionDetail.isPending()
+        || (transactionDetail.isSucceeded() != transactionReceipt.isStatusOK());
+
+    computeTransactionDetail(transactionDetail,
+                             contractDetail,
+                             transactionReceipt,
+                             transactionReceipt.getFrom(),
+                             transactionReceipt.getTo(),
+                             gasPrice,
+                             transactionDetail.getNonce(),
+                             null);
+    saveMinedTransactionDetail(transactionDetail, broadcastMinedTransaction);
+  }
+
+  private void saveMinedTransactionDetail(TransactionDetail transactionDetail, boolean broadcastMinedTransaction) {
     // Compute wallets
     if (StringUtils.isNotBlank(transactionDetail.getFrom()) && isWalletEmpty(transactionDetail.getFromWallet())) {
       Wallet wallet = accountService.getWalletByAddress(transactionDetail.getFrom());
@@ -427,6 +618,48 @@ public class EthereumBlockchainTransactionService implements BlockchainTransacti
     }
   }
 
+  private boolean isSentByWallet(TransactionDetail transactionDetail) {
+    return transactionDetail != null && StringUtils.isNotBlank(transactionDetail.getRawTransaction())
+        && StringUtils.isNotBlank(transactionDetail.getFrom());
+  }
+
+  private boolean isMinedReceipt(TransactionReceipt transactionReceipt) {
+    return transactionReceipt != null && transactionReceipt.getBlockNumber() != null
+        && StringUtils.isNotBlank(transactionReceipt.getBlockHash())
+        && !StringUtils.equalsIgnoreCase(EMPTY_HASH, transactionReceipt.getBlockHash())
+        && StringUtils.isNotBlank(transactionReceipt.getFrom()) && transactionReceipt.getGasUsed() != null;
+  }
+
+  private BigInteger getGasPrice(TransactionDetail transactionDetail, TransactionReceipt transactionReceipt) {
+    if (StringUtils.isNotBlank(transactionReceipt.getEffectiveGasPrice())) {
+      // Effectively paid gas price
+      return Numeric.decodeQuantity(transactionReceipt.getEffectiveGasPrice());
+    } else if (transactionDetail.getGasPrice() > 0) {
+      // Gas price used when sending the transaction
+      return BigInteger.valueOf((long) transactionDetail.getGasPrice());
+    } else {
+      return null;
+    }
+  }
+
+  private void updateLastWatchedBlockNumber(BigInteger blockNumber) {
+    if (blockNumber == null) {
+      return;
+    }
+    long refreshedBlockNumber = blockNumber.longValue();
+    if (refreshedBlockNumber > lastRefreshedBlockNumber.getAndAccumulate(refreshedBlockNumber, Math::max)) {
+      // Save the highest refreshed block number under lock, thus a slower
+      // refresh worker never saves a lower block number after a faster one
+      synchronized (lastRefreshedBlockNumber) {
+        long highestBlockNumber = lastRefreshedBlockNumber.get();
+        if (highestBlockNumber > getLastWatchedBlockNumber()) {
+          saveLastWatchedBlockNumber(highestBlockNumber);
+          ethereumClientConnector.setLastWatchedBlockNumber(highestBlockNumber);
+        }
+      }
+    }
+  }
+
   private boolean isTransactionPendingOnBlockchain(Transaction transaction) {
     String blockHash = transaction.getBlockHash();
     return StringUtils.isBlank(blockHash) || StringUtils.equalsIgnoreCase(EMPTY_HASH, blockHash)
@@ -446,16 +679,37 @@ public class EthereumBlockchainTransactionService implements BlockchainTransacti
     boolean maxSendingTentativesReached = isMaxSendingTentativesReached(transactionDetail);
     boolean isTimedOut = isTransactionTimedOut(transactionDetail);
     boolean isEffectivelySent = isEffectivelySentToBlockchain(transactionDetail);
-    boolean isAlreadySent = transactionDetail.getSendingAttemptCount() > 0 || transactionDetail.getSentTimestamp() > 0;
     // Never send transactions in those conditions:
     // - transaction is not pending anymore
     // - transaction has reached its maximum tentatives
     // - transaction has been attempted to be sent for a while
-    // - transaction is never sent before (we will just reattempt sending
-    // failing
-    // transactions) and the max transactions to send is reached
-    return isPending && !maxSendingTentativesReached && !isTimedOut && !isEffectivelySent
-        && (isAlreadySent || transactionService.canSendTransactionToBlockchain(transactionDetail.getFrom()));
+    return isPending && !maxSendingTentativesReached && !isTimedOut && !isEffectivelySent;
+  }
+
+  private boolean isAlreadySentToBlockchain(TransactionDetail transactionDetail) {
+    return transactionDetail.getSendingAttemptCount() > 0 || transactionDetail.getSentTimestamp() > 0;
+  }
+
+  /**
+   * Reserves a sending slot for a transaction never sent before, when the
+   * pending transactions saved as sent and the ones being sent of the sender
+   * don't reach the max parallel transactions
+   */
+  private boolean reserveSendingSlot(String senderAddress) {
+    AtomicBoolean reserved = new AtomicBoolean();
+    sendingTransactionsCount.compute(StringUtils.lowerCase(senderAddress), (key, count) -> {
+      int sendingCount = count == null ? 0 : count;
+      if (transactionService.canSendTransactionToBlockchain(senderAddress, sendingCount)) {
+        reserved.set(true);
+        return sendingCount + 1;
+      }
+      return count;
+    });
+    return reserved.get();
+  }
+
+  private void releaseSendingSlot(String senderAddress) {
+    sendingTransactionsCount.computeIfPresent(StringUtils.lowerCase(senderAddress), (key, count) -> count > 1 ? count - 1 : null);
   }
 
   private boolean isEffectivelySentToBlockchain(TransactionDetail transactionDetail) {
@@ -515,6 +769,7 @@ public class EthereumBlockchainTransactionService implements BlockchainTransacti
       boolean hasError = transactionError != null && StringUtils.isBlank(transaction.getResult());
       if (hasError) {
         if (isRequestRateLimitReached(transactionError)) {
+          ethereumClientConnector.reportRateLimitReached();
           throw new MaxRequestRateReachedException(transactionDetail.getHash(), transactionError.getMessage());
         } else if (isAlreadySentError(transactionError)) {
           // Trigger sent to blockchain only when it's the first time sending
@@ -595,27 +850,30 @@ public class EthereumBlockchainTransactionService implements BlockchainTransacti
     return NONCE_TOO_LOW_MESSAGE_PATTERN.matcher(message).find();
   }
 
-  private void computeTransactionDetail(TransactionDetail transactionDetail,
+  private void computeTransactionDetail(TransactionDetail transactionDetail, // NOSONAR
                                         ContractDetail contractDetail,
-                                        Transaction transaction,
-                                        TransactionReceipt transactionReceipt) {
-    transactionDetail.setFrom(transaction.getFrom());
+                                        TransactionReceipt transactionReceipt,
+                                        String senderAddress,
+                                        String receiverAddress,
+                                        BigInteger gasPrice,
+                                        long nonce,
+                                        BigInteger weiAmount) {
+    transactionDetail.setFrom(senderAddress);
     transactionDetail.setSucceeded(transactionReceipt.isStatusOK());
     transactionDetail.setGasUsed(transactionReceipt.getGasUsed().intValue());
-    transactionDetail.setGasPrice(transaction.getGasPrice().doubleValue());
+    transactionDetail.setGasPrice(gasPrice.doubleValue());
     transactionDetail.setPending(false);
-    transactionDetail.setNonce(transaction.getNonce().longValue());
+    transactionDetail.setNonce(nonce);
     if (transactionDetail.getTimestamp() <= 0) {
       transactionDetail.setTimestamp(System.currentTimeMillis());
     }
 
-    if (transaction.getValue().compareTo(BigInteger.ZERO) >= 0) {
-      BigInteger weiAmount = transaction.getValue();
+    // The value is kept as is when not retrieved from blockchain
+    if (weiAmount != null && weiAmount.compareTo(BigInteger.ZERO) >= 0) {
       transactionDetail.setValueDecimal(weiAmount, ETHER_TO_WEI_DECIMALS);
     }
 
     String contractAddress = contractDetail.getAddress();
-    String receiverAddress = transaction.getTo();
 
     boolean isContractTransaction = StringUtils.equalsIgnoreCase(contractAddress, receiverAddress);
     if (isContractTransaction) {
@@ -671,41 +929,132 @@ public class EthereumBlockchainTransactionService implements BlockchainTransacti
     }
   }
 
-  private TransactionDetail sendTransactionToBlockchain(TransactionDetail transactionDetail) {
+  private Collection<List<TransactionDetail>> getSendingLanes(List<TransactionDetail> transactionsToSend) {
+    Map<String, List<TransactionDetail>> lanes = new LinkedHashMap<>();
+    for (TransactionDetail transactionDetail : transactionsToSend) {
+      lanes.computeIfAbsent(StringUtils.lowerCase(transactionDetail.getFrom()), key -> new ArrayList<>()).add(transactionDetail);
+    }
+    lanes.values().forEach(lane -> lane.sort(Comparator.comparingLong(TransactionDetail::getNonce)));
+    return lanes.values();
+  }
+
+  private void sendLaneTransactionsInContainer(List<TransactionDetail> lane,
+                                               List<TransactionDetail> sentTransactions,
+                                               AtomicReference<RuntimeException> sendingError) {
+    ExoContainerContext.setCurrentContainer(container);
+    RequestLifeCycle.begin(container);
+    try {
+      sendLaneTransactions(lane, sentTransactions, sendingError);
+    } finally {
+      RequestLifeCycle.end();
+    }
+  }
+
+  /**
+   * Send transactions of a same sender in nonce order while keeping up to
+   * {@link WalletTransactionService#getMaxParallelPendingTransactions()}
+   * transactions in flight
+   */
+  private void sendLaneTransactions(List<TransactionDetail> lane,
+                                    List<TransactionDetail> sentTransactions,
+                                    AtomicReference<RuntimeException> sendingError) {
+    long maxInFlightTransactions = Math.max(1, transactionService.getMaxParallelPendingTransactions());
+    Deque<TransactionSending> inFlightTransactions = new ArrayDeque<>();
+    try {
+      for (TransactionDetail transactionDetail : lane) {
+        if (sendingError.get() != null) {
+          break;
+        }
+        if (inFlightTransactions.size() >= maxInFlightTransactions) {
+          addSentTransaction(sentTransactions, inFlightTransactions.poll().waitForResult());
+        }
+        CompletableFuture<TransactionDetail> future = sendTransactionToBlockchain(transactionDetail);
+        if (future != null) {
+          inFlightTransactions.add(new TransactionSending(transactionDetail, future));
+        }
+      }
+      while (!inFlightTransactions.isEmpty()) {
+        addSentTransaction(sentTransactions, inFlightTransactions.poll().waitForResult());
+      }
+    } catch (MaxRequestRateReachedException | BlockchainRequestException e) {
+      sendingError.compareAndSet(null, e);
+      // Let already sent transactions be handled before stopping the lane
+      inFlightTransactions.forEach(TransactionSending::waitForResultQuietly);
+    }
+  }
+
+  private void waitForLanes(List<Future<?>> laneFutures, AtomicReference<RuntimeException> sendingError) {
+    for (Future<?> laneFuture : laneFutures) {
+      try {
+        laneFuture.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        laneFutures.forEach(future -> future.cancel(true));
+        return;
+      } catch (ExecutionException e) {
+        LOG.warn("Error while sending transactions lane to blockchain", e.getCause());
+      }
+    }
+  }
+
+  private void addSentTransaction(List<TransactionDetail> sentTransactions, TransactionDetail transactionDetail) {
+    if (transactionDetail != null && transactionDetail.isPending() && transactionDetail.getSentTimestamp() > 0) {
+      sentTransactions.add(transactionDetail);
+    }
+  }
+
+  private CompletableFuture<TransactionDetail> sendTransactionToBlockchain(TransactionDetail transactionDetail) {
     if (!canSendPendingTransactionToBlockchain(transactionDetail)) {
       if (canCheckPendingTransactionValidity(transactionDetail)) {
         checkPendingTransactionValidity(transactionDetail);
       }
       return null;
     }
+    // The slot is kept until the transaction is saved as sent, thus the
+    // transactions in flight are counted as well
+    String senderAddress = transactionDetail.getFrom();
+    boolean slotReserved = !isAlreadySentToBlockchain(transactionDetail);
+    if (slotReserved && !reserveSendingSlot(senderAddress)) {
+      return null;
+    }
 
+    CompletableFuture<TransactionDetail> sendingFuture = null;
     try {
       CompletableFuture<EthSendTransaction> future = ethereumClientConnector.sendTransactionToBlockchain(transactionDetail);
       if (future != null) {
-        CompletableFuture<TransactionDetail> completableFuture = future.handle((ethSendTransaction, throwable) -> {
-          if (throwable != null) {
-            throw new BlockchainRequestException(TRANSFER_SIG, throwable);
-          }
-          ExoContainerContext.setCurrentContainer(container);
-          RequestLifeCycle.begin(container);
+        sendingFuture = future.handle((ethSendTransaction, throwable) -> {
           try {
-            boolean sent = handleTransactionSendingRequest(transactionDetail, ethSendTransaction);
-            if (sent) {
-              broadcastTransactionSentToBlockchain(transactionDetail);
+            if (throwable != null) {
+              throw new BlockchainRequestException(TRANSFER_SIG, throwable);
+            }
+            ExoContainerContext.setCurrentContainer(container);
+            RequestLifeCycle.begin(container);
+            try {
+              boolean sent = handleTransactionSendingRequest(transactionDetail, ethSendTransaction);
+              if (sent) {
+                broadcastTransactionSentToBlockchain(transactionDetail);
+              }
+              return transactionDetail;
+            } finally {
+              RequestLifeCycle.end();
             }
-            return transactionDetail;
           } finally {
-            RequestLifeCycle.end();
+            if (slotReserved) {
+              releaseSendingSlot(senderAddress);
+            }
           }
         });
-        return completableFuture.get();
       }
+      return sendingFuture;
     } catch (MaxRequestRateReachedException | BlockchainRequestException e) {
       throw e;
     } catch (Throwable e) { // NOSONAR
       throw new BlockchainRequestException(transactionDetail.getHash(), e);
+    } finally {
+      if (slotReserved && sendingFuture == null) {
+        releaseSendingSlot(senderAddress);
+      }
     }
-    return null;
   }
 
   private void broadcastTransactionSentToBlockchain(TransactionDetail transactionDetail) {
@@ -742,8 +1091,47 @@ public class EthereumBlockchainTransactionService implements BlockchainTransacti
         + transactionError.getData();
   }
 
-  private int compareTransactionDate(TransactionDetail transactionDetail, TransactionDetail otherTransactionDetail) {
-    return (int) (transactionDetail.getTimestamp() - otherTransactionDetail.getTimestamp());
+
+  private static class TransactionSending {
+
+    private final TransactionDetail                    transactionDetail;
+
+    private final CompletableFuture<TransactionDetail> future;
+
+    private TransactionSending(TransactionDetail transactionDetail, CompletableFuture<TransactionDetail> future) {
+      this.transactionDetail = transactionDetail;
+      this.future = future;
+    }
+
+    private TransactionDetail waitForResult() {
+      try {
+        return future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new BlockchainRequestException(transactionDetail.getHash(), e);
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof MaxRequestRateReachedException maxRequestRateReachedException) {
+          throw maxRequestRateReachedException;
+        } else if (cause instanceof BlockchainRequestException blockchainRequestException) {
+          throw blockchainRequestException;
+        } else {
+          throw new BlockchainRequestException(transactionDetail.getHash(), cause);
+        }
+      } catch (MaxRequestRateReachedException | BlockchainRequestException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new BlockchainRequestException(transactionDetail.getHash(), e);
+      }
+    }
+
+    private void waitForResultQuietly() {
+      try {
+        waitForResult();
+      } catch (Exception e) {
+        LOG.debug("Error while sending transaction {} to blockchain", transactionDetail.getHash(), e);
+      }
+    }
   }
 
 }
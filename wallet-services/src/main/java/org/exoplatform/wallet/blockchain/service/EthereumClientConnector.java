@@ -23,10 +23,12 @@ import static org.exoplatform.wallet.utils.WalletUtils.OPERATION_GET_FILTER_CHAN
 import static org.exoplatform.wallet.utils.WalletUtils.OPERATION_GET_FILTER_LOGS;
 import static org.exoplatform.wallet.utils.WalletUtils.OPERATION_GET_GAS_PRICE;
 import static org.exoplatform.wallet.utils.WalletUtils.OPERATION_GET_LAST_BLOCK_NUMBER;
+import static org.exoplatform.wallet.utils.WalletUtils.OPERATION_GET_LOGS;
 import static org.exoplatform.wallet.utils.WalletUtils.OPERATION_GET_TRANSACTION;
 import static org.exoplatform.wallet.utils.WalletUtils.OPERATION_GET_TRANSACTION_COUNT;
 import static org.exoplatform.wallet.utils.WalletUtils.OPERATION_GET_TRANSACTION_RECEIPT;
 import static org.exoplatform.wallet.utils.WalletUtils.OPERATION_NEW_FILTER;
+import static org.exoplatform.wallet.utils.WalletUtils.OPERATION_READ_FROM_TOKEN;
 import static org.exoplatform.wallet.utils.WalletUtils.OPERATION_SEND_TRANSACTION;
 import static org.exoplatform.wallet.utils.WalletUtils.OPERATION_UNINSTALL_FILTER;
 import static org.exoplatform.wallet.utils.WalletUtils.convertFromDecimals;
@@ -37,24 +39,45 @@ import static org.exoplatform.wallet.utils.WalletUtils.getWebsocketURL;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.StringUtils;
 import org.picocontainer.Startable;
 import org.web3j.abi.EventEncoder;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.generated.Uint256;
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthCall;
 import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.EthLog;
 import org.web3j.protocol.core.methods.response.EthSendTransaction;
 import org.web3j.protocol.core.methods.response.EthTransaction;
 import org.web3j.protocol.core.methods.response.Transaction;
@@ -62,6 +85,7 @@ import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.websocket.WebSocketClient;
 import org.web3j.protocol.websocket.WebSocketListener;
 import org.web3j.protocol.websocket.WebSocketService;
+import org.web3j.protocol.websocket.events.LogNotification;
 import org.web3j.utils.Async;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -74,6 +98,7 @@ import org.exoplatform.services.cache.future.FutureExoCache;
 import org.exoplatform.services.listener.ListenerService;
 import org.exoplatform.services.log.ExoLogger;
 import org.exoplatform.services.log.Log;
+import org.exoplatform.wallet.blockchain.MaxRequestRateReachedException;
 import org.exoplatform.wallet.contract.MeedsToken;
 import org.exoplatform.wallet.model.ContractTransactionEvent;
 import org.exoplatform.wallet.model.transaction.TransactionDetail;
@@ -95,6 +120,15 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
 
   public static final int                                 DEFAULT_POLLING_TIME         = 15 * 1000;
 
+  public static final int                                 DEFAULT_INDEXER_CHUNK_SIZE   = 2000;
+
+  public static final int                                 DEFAULT_INDEXER_PARALLELISM  = 4;
+
+  private static final int                                MINIMUM_RESUBSCRIPTION_DELAY = 1000;
+
+  private static final String                             TRANSFER_TOPIC               =
+                                                              EventEncoder.encode(MeedsToken.TRANSFER_EVENT);
+
   private static final Log                                LOG                          =
                                                               ExoLogger.getLogger(EthereumClientConnector.class);
 
@@ -110,6 +144,12 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
 
   private FutureCache<String, TransactionReceipt, Object> receiptFutureCache           = null;
 
+  private EthereumRequestBatcher                          requestBatcher               = null;
+
+  private BlockchainRequestRateLimiter                    rateLimiter                  = null;
+
+  private BlockchainLogIndexer                            contractLogIndexer           = null;
+
   private ScheduledExecutorService                        subscriptionVerifierExecutor = null;
 
   private ScheduledExecutorService                        connectionVerifierExecutor   = null;
@@ -118,6 +158,8 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
 
   private boolean                                         permanentlyScanBlockchain    = false;
 
+  private boolean                                         logsSubscriptionEnabled      = false;
+
   private boolean                                         listeningToBlockchain        = false;
 
   private boolean                                         serviceStopping              = false;
@@ -136,6 +178,8 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
 
   private long                                            lastWatchedBlockNumber;
 
+  private final AtomicInteger                             resubscriptionAttempts       = new AtomicInteger();
+
   public EthereumClientConnector(CacheService cacheService) {
     String pollingIntervalParam = System.getProperty("exo.wallet.blockchain.polling.intervalInSeconds");
     if (StringUtils.isNotBlank(pollingIntervalParam)) {
@@ -147,12 +191,37 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
     String permanentlyScanParam = System.getProperty("exo.wallet.blockchain.permanentlyScan", "false");
     permanentlyScanBlockchain = Boolean.parseBoolean(permanentlyScanParam);
 
+    String logsSubscriptionParam = System.getProperty("exo.wallet.blockchain.logsSubscription.enabled", "false");
+    logsSubscriptionEnabled = Boolean.parseBoolean(logsSubscriptionParam);
+
     ThreadFactory namedThreadFactory = new ThreadFactoryBuilder().setNameFormat("Ethereum-websocket-connector-%d").build();
     connectionVerifierExecutor = Executors.newSingleThreadScheduledExecutor(namedThreadFactory);
 
     namedThreadFactory = new ThreadFactoryBuilder().setNameFormat("Ethereum-contract-flowable-%d").build();
     subscriptionVerifierExecutor = Executors.newSingleThreadScheduledExecutor(namedThreadFactory);
 
+    String batchMaxSizeParam = System.getProperty("exo.wallet.blockchain.batch.maxSize");
+    int batchMaxSize = StringUtils.isBlank(batchMaxSizeParam) ? EthereumRequestBatcher.DEFAULT_MAX_BATCH_SIZE
+                                                              : Integer.parseInt(batchMaxSizeParam);
+    String batchFlushDelayParam = System.getProperty("exo.wallet.blockchain.batch.flushDelayInMillis");
+    long batchFlushDelay = StringUtils.isBlank(batchFlushDelayParam) ? EthereumRequestBatcher.DEFAULT_FLUSH_DELAY
+                                                                     : Long.parseLong(batchFlushDelayParam);
+
+    String maxRequestsPerSecondParam = System.getProperty("exo.wallet.blockchain.requests.maxPerSecond");
+    double maxRequestsPerSecond = StringUtils.isBlank(maxRequestsPerSecondParam) ?
+                                                                                 BlockchainRequestRateLimiter.DEFAULT_MAX_REQUESTS_PER_SECOND :
+                                                                                 Double.parseDouble(maxRequestsPerSecondParam);
+    rateLimiter = new BlockchainRequestRateLimiter(maxRequestsPerSecond);
+    requestBatcher = new EthereumRequestBatcher(() -> getWeb3j(false), batchMaxSize, batchFlushDelay, rateLimiter);
+
+    String indexerChunkSizeParam = System.getProperty("exo.wallet.blockchain.indexer.chunkSize");
+    int indexerChunkSize = StringUtils.isBlank(indexerChunkSizeParam) ? DEFAULT_INDEXER_CHUNK_SIZE
+                                                                      : Integer.parseInt(indexerChunkSizeParam);
+    String indexerParallelChunksParam = System.getProperty("exo.wallet.blockchain.indexer.parallelChunks");
+    int indexerParallelChunks = StringUtils.isBlank(indexerParallelChunksParam) ? DEFAULT_INDEXER_PARALLELISM
+                                                                                : Integer.parseInt(indexerParallelChunksParam);
+    contractLogIndexer = new BlockchainLogIndexer(this::getContractTransferLogs, indexerChunkSize, indexerParallelChunks);
+
     ExoCache<String, Transaction> transactionCache = cacheService.getCacheInstance("wallet.blockchain.transaction");
     ExoCache<String, TransactionReceipt> receiptCache = cacheService.getCacheInstance("wallet.blockchain.transactionReceipt");
     transactionFutureCache = new FutureExoCache<>((context, hash) -> getTransactionFromBlockchain(hash), transactionCache);
@@ -189,6 +258,8 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
     this.serviceStopping = true;
     connectionVerifierExecutor.shutdownNow();
     subscriptionVerifierExecutor.shutdownNow();
+    requestBatcher.stop();
+    contractLogIndexer.stop();
     stopListeningToBlockchain();
     closeConnection();
   }
@@ -197,6 +268,10 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
     return permanentlyScanBlockchain;
   }
 
+  public boolean isLogsSubscriptionEnabled() {
+    return logsSubscriptionEnabled;
+  }
+
   public boolean isListeningToBlockchain() {
     return listeningToBlockchain;
   }
@@ -207,7 +282,7 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
    * @param transactionHash transaction hash to retrieve
    * @return Web3j Transaction object
    */
-  @Lock(duration = 30, timeUnit = TimeUnit.SECONDS)
+  @Lock(key = "#0", duration = 30, timeUnit = TimeUnit.SECONDS)
   public Transaction getTransaction(String transactionHash) {
     return transactionFutureCache.get(null, StringUtils.lowerCase(transactionHash));
   }
@@ -221,7 +296,7 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
    */
   @ExoWalletStatistic(service = "blockchain", local = false, operation = OPERATION_GET_TRANSACTION)
   public Transaction getTransactionFromBlockchain(String transactionHash) throws IOException {
-    EthTransaction ethTransaction = getWeb3j(true).ethGetTransactionByHash(transactionHash).send();
+    EthTransaction ethTransaction = sendRequest(getWeb3j(true).ethGetTransactionByHash(transactionHash));
     return ethTransaction == null ? null : ethTransaction.getResult();
   }
 
@@ -231,14 +306,47 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
    * @param transactionHash transaction hash to retrieve
    * @return Web3j Transaction receipt object
    */
-  @Lock(duration = 30, timeUnit = TimeUnit.SECONDS)
+  @Lock(key = "#0", duration = 30, timeUnit = TimeUnit.SECONDS)
   public TransactionReceipt getTransactionReceipt(String transactionHash) {
     return receiptFutureCache.get(null, StringUtils.lowerCase(transactionHash));
   }
 
   @ExoWalletStatistic(service = "blockchain", local = false, operation = OPERATION_GET_ETHER_BALANCE)
   public final BigInteger getEtherBalanceOf(String address) throws IOException { // NOSONAR
-    return getWeb3j(true).ethGetBalance(address, DefaultBlockParameterName.LATEST).send().getBalance();
+    return sendRequest(getWeb3j(true).ethGetBalance(address, DefaultBlockParameterName.LATEST)).getBalance();
+  }
+
+  /**
+   * Retrieves the token balance of a wallet as it was at a given block, thus
+   * it includes only the transfers mined until this block
+   * 
+   * @param contractAddress token contract address
+   * @param address wallet address
+   * @param blockNumber block at which the balance is read
+   * @return token balance, not converted from token decimals
+   * @throws IOException when a network error happens or when the blockchain
+   *           provider answers with an error
+   */
+  @ExoWalletStatistic(service = "blockchain", local = false, operation = OPERATION_READ_FROM_TOKEN)
+  @SuppressWarnings("rawtypes")
+  public BigInteger getTokenBalanceOf(String contractAddress, String address, long blockNumber) throws IOException {
+    Function function = new Function(MeedsToken.FUNC_BALANCEOF,
+                                     Arrays.<Type> asList(new Address(address)),
+                                     Arrays.<TypeReference<?>> asList(new TypeReference<Uint256>() {
+                                     }));
+    String data = FunctionEncoder.encode(function);
+    EthCall ethCall = sendRequest(getWeb3j(true).ethCall(org.web3j.protocol.core.methods.request.Transaction.createEthCallTransaction(null,
+                                                                                                                                     contractAddress,
+                                                                                                                                     data),
+                                                         new DefaultBlockParameterNumber(blockNumber)));
+    if (ethCall == null) {
+      throw new IOException("No response received when retrieving token balance of " + address + " at block " + blockNumber);
+    } else if (ethCall.hasError()) {
+      throw new IOException("Error retrieving token balance of " + address + " at block " + blockNumber + ": "
+          + ethCall.getError().getMessage());
+    }
+    List<Type> result = FunctionReturnDecoder.decode(ethCall.getValue(), function.getOutputParameters());
+    return result.isEmpty() ? BigInteger.ZERO : (BigInteger) result.get(0).getValue();
   }
 
   /**
@@ -250,17 +358,84 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
    */
   @ExoWalletStatistic(service = "blockchain", local = false, operation = OPERATION_GET_TRANSACTION_RECEIPT)
   public TransactionReceipt getTransactionReceiptFromBlockchain(String transactionHash) throws IOException {
-    EthGetTransactionReceipt ethGetTransactionReceipt = getWeb3j(true).ethGetTransactionReceipt(transactionHash).send();
+    EthGetTransactionReceipt ethGetTransactionReceipt = sendRequest(getWeb3j(true).ethGetTransactionReceipt(transactionHash));
     return ethGetTransactionReceipt == null ? null : ethGetTransactionReceipt.getResult();
   }
 
+  /**
+   * Retrieves the Transfer events logs of the contract emitted in a range of
+   * blocks
+   * 
+   * @param fromBlock first block of the range, inclusive
+   * @param toBlock last block of the range, inclusive
+   * @return {@link List} of contract Transfer logs
+   * @throws IOException when a network error happens or when the blockchain
+   *           provider answers with an error, like when the range has too many
+   *           logs
+   */
+  @ExoWalletStatistic(service = "blockchain", local = false, operation = OPERATION_GET_LOGS)
+  public List<org.web3j.protocol.core.methods.response.Log> getContractTransferLogs(long fromBlock,
+                                                                                    long toBlock) throws IOException {
+    EthFilter ethFilter = newContractTransferFilter(new DefaultBlockParameterNumber(fromBlock),
+                                                    new DefaultBlockParameterNumber(toBlock));
+    EthLog ethLog = sendRequest(getWeb3j(true).ethGetLogs(ethFilter));
+    if (ethLog == null) {
+      throw new IOException("No response received when retrieving contract logs from block " + fromBlock + " to " + toBlock);
+    } else if (ethLog.hasError()) {
+      throw new IOException("Error retrieving contract logs from block " + fromBlock + " to " + toBlock + ": "
+          + ethLog.getError().getMessage());
+    }
+    List<org.web3j.protocol.core.methods.response.Log> logs = new ArrayList<>();
+    for (EthLog.LogResult<?> logResult : ethLog.getLogs()) {
+      if (logResult.get() instanceof org.web3j.protocol.core.methods.response.Log log) {
+        logs.add(log);
+      }
+    }
+    return logs;
+  }
+
+  /**
+   * Broadcasts a mined contract transaction event for a Transfer log of the
+   * contract
+   * 
+   * @param log contract Transfer event log
+   * @throws Exception when an error happens while broadcasting the event
+   */
+  public void handleContractTransactionMined(org.web3j.protocol.core.methods.response.Log log) throws Exception {
+    if (StringUtils.isNotBlank(log.getTransactionHash())) {
+      this.setLastWatchedBlockNumber(log.getBlockNumber().longValue());
+      broadcastContractTransactionMined(log);
+    }
+  }
+
+  /**
+   * Indexes the contract Transfer events of a range of blocks. The logs of
+   * each chunk of blocks are handled synchronously, in block order, by the
+   * chunk handler before indexing the next chunk.
+   * 
+   * @param fromBlock first block to index, inclusive
+   * @param toBlock last block to index, inclusive
+   * @param chunkHandler handles the Transfer logs of each chunk of blocks and
+   *          makes its checkpoint
+   * @return last indexed block number
+   */
+  public long indexContractTransactions(long fromBlock, long toBlock, BlockchainLogIndexer.ChunkHandler chunkHandler) {
+    if (fromBlock > toBlock) {
+      return fromBlock - 1;
+    }
+    return contractLogIndexer.index(fromBlock, toBlock, (logs, chunkToBlock) -> {
+      chunkHandler.handle(logs, chunkToBlock);
+      setLastWatchedBlockNumber(chunkToBlock);
+    });
+  }
+
   /**
    * @return last mined block number from blockchain
    */
   @ExoWalletStatistic(service = "blockchain", local = false, operation = OPERATION_GET_LAST_BLOCK_NUMBER)
   public long getLastestBlockNumber() {
     try {
-      BigInteger blockNumber = getWeb3j(true).ethBlockNumber().send().getBlockNumber();
+      BigInteger blockNumber = sendRequest(getWeb3j(true).ethBlockNumber()).getBlockNumber();
       return blockNumber.longValue();
     } catch (IOException e) {
       throw new IllegalStateException("Connection error with Blockchain while attempting to retrieve block number", e);
@@ -279,6 +454,8 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
    */
   @ExoWalletStatistic(service = "blockchain", local = false, operation = OPERATION_SEND_TRANSACTION)
   public CompletableFuture<EthSendTransaction> sendTransactionToBlockchain(TransactionDetail transactionDetail) throws IOException {
+    // Transactions sending isn't throttled to not delay payouts behind
+    // reads, a rate limit rejection is reported by the caller
     return getWeb3j(false).ethSendRawTransaction(transactionDetail.getRawTransaction()).sendAsync();
   }
 
@@ -299,7 +476,8 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
     if (blockParameterName == null) {
       blockParameterName = DefaultBlockParameterName.LATEST;
     }
-    return getWeb3j(false).ethGetTransactionCount(walletAddress, blockParameterName).send().getTransactionCount();
+    return sendUnthrottledRequest(getWeb3j(false).ethGetTransactionCount(walletAddress,
+                                                                         blockParameterName)).getTransactionCount();
   }
 
   /**
@@ -320,7 +498,32 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
    */
   @ExoWalletStatistic(service = "blockchain", local = false, operation = OPERATION_GET_GAS_PRICE)
   public BigInteger getGasPrice() throws IOException {
-    return getWeb3j(false).ethGasPrice().send().getGasPrice();
+    return sendUnthrottledRequest(getWeb3j(false).ethGasPrice()).getGasPrice();
+  }
+
+  /**
+   * @return {@link EthereumRequestBatcher} used to group concurrent read
+   *         requests into JSON-RPC batches
+   */
+  public EthereumRequestBatcher getRequestBatcher() {
+    return requestBatcher;
+  }
+
+  /**
+   * @return {@link BlockchainRequestRateLimiter} shared by the read requests
+   *         sent to blockchain, the requests used to send transactions aren't
+   *         throttled
+   */
+  public BlockchainRequestRateLimiter getRateLimiter() {
+    return rateLimiter;
+  }
+
+  /**
+   * Notify the requests rate limiter that the blockchain provider has rejected
+   * a request because of its requests rate limit
+   */
+  public void reportRateLimitReached() {
+    rateLimiter.reportRateLimitReached();
   }
 
   public Web3j getWeb3j(boolean waitUntilConnected) {
@@ -348,6 +551,10 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
     case OPERATION_GET_ETHER_BALANCE:
       parameters.put("address", methodArgs[0]);
       break;
+    case OPERATION_READ_FROM_TOKEN:
+      parameters.put("contract_address", methodArgs[0]);
+      parameters.put("contract_method", MeedsToken.FUNC_BALANCEOF);
+      break;
     case OPERATION_GET_TRANSACTION:
       parameters.put("transaction_hash", methodArgs[0]);
       break;
@@ -394,6 +601,10 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
         parameters.put("amount_ether", valueAmount);
       }
       break;
+    case OPERATION_GET_LOGS:
+      parameters.put("from_block", methodArgs[0]);
+      parameters.put("to_block", methodArgs[1]);
+      break;
     case OPERATION_NEW_FILTER:
     case OPERATION_GET_FILTER_LOGS:
     case OPERATION_GET_FILTER_CHANGES:
@@ -615,15 +826,15 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
   @ExoWalletStatistic(service = "blockchain", local = false, operation = OPERATION_GET_FILTER_LOGS)
   protected Disposable subscribeToBlockchain(DefaultBlockParameterNumber lastWatchedBlock) {
     try {
-      org.web3j.protocol.core.methods.request.EthFilter ethFilter =
-                                                                  new org.web3j.protocol.core.methods.request.EthFilter(lastWatchedBlock,
-                                                                                                                        DefaultBlockParameterName.LATEST,
-                                                                                                                        getContractAddress());
-      ethFilter.addSingleTopic(EventEncoder.encode(MeedsToken.TRANSFER_EVENT));
-      Flowable<org.web3j.protocol.core.methods.response.Log> flowable = getWeb3j(true).ethLogFlowable(ethFilter);
-      ethFilterSubscribtion = flowable.subscribe(this::handleNewContractTransactionMined,
-                                                 exception -> LOG.debug("Error event received when watching events on contract",
-                                                                        exception));
+      if (logsSubscriptionEnabled) {
+        ethFilterSubscribtion = subscribeToContractLogs(lastWatchedBlock.getBlockNumber().longValue());
+      } else {
+        EthFilter ethFilter = newContractTransferFilter(lastWatchedBlock, DefaultBlockParameterName.LATEST);
+        Flowable<org.web3j.protocol.core.methods.response.Log> flowable = getWeb3j(true).ethLogFlowable(ethFilter);
+        ethFilterSubscribtion = flowable.subscribe(this::handleContractTransactionMined,
+                                                   exception -> LOG.debug("Error event received when watching events on contract",
+                                                                          exception));
+      }
       return ethFilterSubscribtion;
     } catch (Exception e) {
       LOG.warn("Error while subscribing to Blockchain Filter Contract events", e);
@@ -692,20 +903,137 @@ public class EthereumClientConnector implements ExoWalletStatisticService, Start
     return null;
   }
 
-  private void handleNewContractTransactionMined(org.web3j.protocol.core.methods.response.Log log) throws Exception {
+  /**
+   * Subscribes to contract Transfer logs pushed by the blockchain node through
+   * the websocket connection, then retrieves the logs mined since the last
+   * watched block and before the subscription. When the subscription ends,
+   * like when the connection is lost, a new subscription is attempted after a
+   * growing delay, then periodically by the subscription verifier until the
+   * connection is established again.
+   */
+  private Disposable subscribeToContractLogs(long fromBlock) throws IOException {
+    // The pushed logs don't move the last watched block number until the gap
+    // is filled, else the blocks of a failed gap filling would be skipped by
+    // the next subscription
+    AtomicBoolean gapFilled = new AtomicBoolean();
+    AtomicLong lastPushedBlockNumber = new AtomicLong();
+    Flowable<LogNotification> flowable = getWeb3j(true).logsNotifications(Collections.singletonList(getContractAddress()),
+                                                                          Collections.singletonList(TRANSFER_TOPIC));
+    Disposable subscription = flowable.subscribe(notification -> handlePushedContractLog(notification,
+                                                                                         gapFilled,
+                                                                                         lastPushedBlockNumber),
+                                                 exception -> {
+                                                   LOG.debug("Contract logs subscription closed, subscribe again", exception);
+                                                   resubscribeToContractLogs();
+                                                 },
+                                                 this::resubscribeToContractLogs);
+    // Fill the gap of logs mined while not subscribed
+    long lastBlockNumber = getLastestBlockNumber();
+    long lastIndexedBlock = indexContractTransactions(fromBlock, lastBlockNumber, (logs, chunkToBlock) -> {
+      for (org.web3j.protocol.core.methods.response.Log log : logs) {
+        broadcastContractTransactionMined(log);
+      }
+    });
+    if (lastIndexedBlock < lastBlockNumber) {
+      subscription.dispose();
+      throw new IOException("Error retrieving contract logs mined since block " + fromBlock);
+    }
+    gapFilled.set(true);
+    setLastWatchedBlockNumber(lastPushedBlockNumber.get());
+    resubscriptionAttempts.set(0);
+    return subscription;
+  }
+
+  private void handlePushedContractLog(LogNotification notification,
+                                       AtomicBoolean gapFilled,
+                                       AtomicLong lastPushedBlockNumber) throws Exception {
+    org.web3j.protocol.core.methods.response.Log log = toLog(notification);
+    if (StringUtils.isBlank(log.getTransactionHash())) {
+      return;
+    }
+    broadcastContractTransactionMined(log);
+    long blockNumber = log.getBlockNumber().longValue();
+    if (gapFilled.get()) {
+      setLastWatchedBlockNumber(blockNumber);
+    } else {
+      lastPushedBlockNumber.accumulateAndGet(blockNumber, Math::max);
+    }
+  }
+
+  private void resubscribeToContractLogs() {
+    if (!this.serviceStopping) {
+      // Wait an exponentially growing delay, bounded by the polling interval,
+      // to not flood the blockchain provider when it closes the subscriptions
+      int attempts = resubscriptionAttempts.getAndIncrement();
+      long delay = Math.min(getPollingInterval(), MINIMUM_RESUBSCRIPTION_DELAY << Math.min(attempts, 10));
+      try {
+        subscriptionVerifierExecutor.schedule(this::checkSubscription, delay, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        LOG.debug("Contract logs subscription not renewed, the service may be stopping", e);
+      }
+    }
+  }
+
+  private void broadcastContractTransactionMined(org.web3j.protocol.core.methods.response.Log log) throws Exception {
     String transactionHash = log.getTransactionHash();
     if (StringUtils.isBlank(transactionHash)) {
       return;
     }
-    long blockNumber = log.getBlockNumber().longValue();
-    this.setLastWatchedBlockNumber(blockNumber);
     getListenerService().broadcast(CONTRACT_TRANSACTION_MINED_EVENT,
                                    null,
                                    new ContractTransactionEvent(transactionHash,
                                                                 log.getAddress(),
                                                                 log.getData(),
                                                                 log.getTopics(),
-                                                                blockNumber));
+                                                                log.getBlockNumber().longValue()));
+  }
+
+  private org.web3j.protocol.core.methods.response.Log toLog(LogNotification notification) {
+    org.web3j.protocol.websocket.events.Log notificationLog = notification.getParams().getResult();
+    org.web3j.protocol.core.methods.response.Log log = new org.web3j.protocol.core.methods.response.Log();
+    log.setAddress(notificationLog.getAddress());
+    log.setBlockHash(notificationLog.getBlockHash());
+    log.setBlockNumber(notificationLog.getBlockNumber());
+    log.setData(notificationLog.getData());
+    log.setLogIndex(notificationLog.getLogIndex());
+    log.setTopics(notificationLog.getTopics());
+    log.setTransactionHash(notificationLog.getTransactionHash());
+    log.setTransactionIndex(notificationLog.getTransactionIndex());
+    return log;
+  }
+
+  private EthFilter newContractTransferFilter(DefaultBlockParameter fromBlock, DefaultBlockParameter toBlock) {
+    EthFilter ethFilter = new EthFilter(fromBlock, toBlock, getContractAddress());
+    ethFilter.addSingleTopic(TRANSFER_TOPIC);
+    return ethFilter;
+  }
+
+  /**
+   * Sends a read request through the requests batcher, which acquires a
+   * permit of the requests rate limiter once per HTTP call
+   */
+  private <T extends Response<?>> T sendRequest(Request<?, T> request) throws IOException {
+    return checkRateLimit(requestBatcher.send(request));
+  }
+
+  /**
+   * Sends a request needed to send transactions immediately, without waiting
+   * behind throttled read requests
+   */
+  private <T extends Response<?>> T sendUnthrottledRequest(Request<?, T> request) throws IOException {
+    return checkRateLimit(request.send());
+  }
+
+  private <T extends Response<?>> T checkRateLimit(T response) throws IOException {
+    if (response != null && response.hasError() && response.getError().getCode() == 429) {
+      LOG.debug("Blockchain provider requests rate limit reached: {}", response.getError().getMessage());
+      rateLimiter.reportRateLimitReached();
+      throw new IOException("Error sending request to blockchain",
+                            new MaxRequestRateReachedException(response.getError().getMessage()));
+    } else {
+      rateLimiter.reportSuccess();
+    }
+    return response;
   }
 
   private DefaultBlockParameterNumber getLastWatchedBlock() {
@@ -0,0 +1,350 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.blockchain.service;
+
+import static org.exoplatform.wallet.statistic.StatisticUtils.ERROR_MSG;
+import static org.exoplatform.wallet.utils.WalletUtils.OPERATION_SEND_BATCH;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.exoplatform.services.log.ExoLogger;
+import org.exoplatform.services.log.Log;
+import org.exoplatform.wallet.statistic.ExoWalletStatistic;
+import org.exoplatform.wallet.statistic.ExoWalletStatisticService;
+
+/**
+ * A helper class that collects Web3j requests emitted concurrently during a
+ * short delay and sends them to blockchain as a single JSON-RPC batch, then
+ * dispatches each response to its requester. A single permit of the requests
+ * rate limiter is acquired per HTTP call, whatever the batch size.
+ */
+public class EthereumRequestBatcher implements ExoWalletStatisticService {
+
+  public static final int                    DEFAULT_MAX_BATCH_SIZE = 20;
+
+  public static final long                   DEFAULT_FLUSH_DELAY    = 10;
+
+  private static final int                   SENDER_THREADS         = 4;
+
+  private static final int                   SENDER_QUEUE_SIZE      = 100;
+
+  private static final Log                   LOG                    = ExoLogger.getLogger(EthereumRequestBatcher.class);
+
+  private final Supplier<Web3j>              web3jSupplier;
+
+  private final int                          maxBatchSize;
+
+  private final long                         flushDelay;
+
+  private final BlockchainRequestRateLimiter rateLimiter;
+
+  private final List<BatchedRequest<?>>      pendingRequests        = new ArrayList<>();
+
+  private final ScheduledExecutorService     flushExecutor;
+
+  private final ExecutorService              sendExecutor;
+
+  private ScheduledFuture<?>                 flushFuture;
+
+  private volatile boolean                   stopped;
+
+  public EthereumRequestBatcher(Supplier<Web3j> web3jSupplier, int maxBatchSize, long flushDelay) {
+    this(web3jSupplier, maxBatchSize, flushDelay, null);
+  }
+
+  public EthereumRequestBatcher(Supplier<Web3j> web3jSupplier,
+                                int maxBatchSize,
+                                long flushDelay,
+                                BlockchainRequestRateLimiter rateLimiter) {
+    this.web3jSupplier = web3jSupplier;
+    this.maxBatchSize = maxBatchSize;
+    this.flushDelay = flushDelay;
+    this.rateLimiter = rateLimiter;
+
+    ThreadFactory namedThreadFactory = new ThreadFactoryBuilder().setNameFormat("Ethereum-request-batcher-%d").build();
+    this.flushExecutor = Executors.newSingleThreadScheduledExecutor(namedThreadFactory);
+
+    // Batches, filled by requesters or flushed after the delay, are sent by a
+    // bounded pool of threads, thus a slow batch doesn't delay the next ones.
+    // When the pool is saturated or stopped, the submitter sends the batch
+    // itself, which throttles requesters and never leaves a request
+    // unanswered
+    namedThreadFactory = new ThreadFactoryBuilder().setNameFormat("Ethereum-request-sender-%d").build();
+    this.sendExecutor = new ThreadPoolExecutor(SENDER_THREADS,
+                                               SENDER_THREADS,
+                                               0L,
+                                               TimeUnit.MILLISECONDS,
+                                               new LinkedBlockingQueue<>(SENDER_QUEUE_SIZE),
+                                               namedThreadFactory,
+                                               (task, executor) -> task.run());
+  }
+
+  /**
+   * Send a request to blockchain, when batching is enabled, the request is
+   * queued to be sent with other concurrent requests in a single JSON-RPC batch
+   *
+   * @param <T> {@link Response} type
+   * @param request Web3j {@link Request} to send
+   * @return Web3j {@link Response} of the request
+   * @throws IOException when a network error happens
+   * @throws IllegalStateException when the batcher is stopped
+   */
+  public <T extends Response<?>> T send(Request<?, T> request) throws IOException {
+    if (stopped) {
+      throw new IllegalStateException("Server is stopping, thus no Web3 request should be emitted");
+    }
+    if (!isEnabled()) {
+      acquirePermit();
+      return request.send();
+    }
+    try {
+      return enqueue(request).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for blockchain batch response", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException ioException) {
+        throw ioException;
+      } else if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      } else {
+        throw new IOException("Error while sending blockchain batch request", cause);
+      }
+    }
+  }
+
+  public boolean isEnabled() {
+    return maxBatchSize > 1;
+  }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  public long getFlushDelay() {
+    return flushDelay;
+  }
+
+  public void stop() {
+    List<BatchedRequest<?>> requestsToSend;
+    synchronized (pendingRequests) {
+      stopped = true;
+      requestsToSend = drainPendingRequests();
+    }
+    flushExecutor.shutdownNow();
+    sendExecutor.shutdown();
+    sendRequests(requestsToSend);
+  }
+
+  @Override
+  public Map<String, Object> getStatisticParameters(String operation, Object result, Object... methodArgs) {
+    if (!OPERATION_SEND_BATCH.equals(operation)) {
+      LOG.warn("Statistic type {} not managed", operation);
+      return null; // NOSONAR
+    }
+    Map<String, Object> parameters = new HashMap<>();
+    List<?> requests = (List<?>) methodArgs[0];
+    int failedRequests = result instanceof Integer failedCount ? failedCount : requests.size();
+    if (failedRequests > 0) {
+      parameters.put(ERROR_MSG, failedRequests + "/" + requests.size() + " requests failed");
+    }
+    parameters.put("batch_failed_size", failedRequests);
+    parameters.put("batch_size", requests.size());
+    parameters.put("batch_max_size", maxBatchSize);
+    parameters.put("batch_flush_delay_ms", flushDelay);
+    parameters.put("batch_operations",
+                   requests.stream()
+                           .map(request -> ((BatchedRequest<?>) request).request.getMethod())
+                           .distinct()
+                           .collect(Collectors.joining(",")));
+    return parameters;
+  }
+
+  protected <T extends Response<?>> CompletableFuture<T> enqueue(Request<?, T> request) {
+    BatchedRequest<T> batchedRequest = new BatchedRequest<>(request);
+    List<BatchedRequest<?>> requestsToSend = null;
+    synchronized (pendingRequests) {
+      if (stopped) {
+        throw new IllegalStateException("Server is stopping, thus no Web3 request should be emitted");
+      }
+      pendingRequests.add(batchedRequest);
+      if (pendingRequests.size() >= maxBatchSize) {
+        requestsToSend = drainPendingRequests();
+      } else if (flushFuture == null) {
+        flushFuture = flushExecutor.schedule(this::flush, flushDelay, TimeUnit.MILLISECONDS);
+      }
+    }
+    if (requestsToSend != null) {
+      submitRequests(requestsToSend);
+    }
+    return batchedRequest.future;
+  }
+
+  protected void flush() {
+    List<BatchedRequest<?>> requestsToSend;
+    synchronized (pendingRequests) {
+      requestsToSend = drainPendingRequests();
+    }
+    submitRequests(requestsToSend);
+  }
+
+  /**
+   * Sends a list of requests in a single JSON-RPC batch and completes each
+   * request with its response
+   *
+   * @param requests requests to send
+   * @return number of requests which failed, either because the batch
+   *         couldn't be sent or because their response holds an error
+   */
+  @ExoWalletStatistic(service = "blockchain", local = false, operation = OPERATION_SEND_BATCH)
+  protected int sendBatch(List<BatchedRequest<?>> requests) {
+    try {
+      Web3j web3j = web3jSupplier.get();
+      if (web3j == null) {
+        throw new IOException("Blockchain connection isn't established");
+      }
+      BatchRequest batchRequest = web3j.newBatch();
+      requests.forEach(batchedRequest -> batchRequest.add(batchedRequest.request));
+      acquirePermit();
+      BatchResponse batchResponse = batchRequest.send();
+      return dispatchResponses(requests, batchResponse == null ? null : batchResponse.getResponses());
+    } catch (Exception e) {
+      LOG.debug("Error while sending a batch of {} requests to blockchain", requests.size(), e);
+      requests.forEach(batchedRequest -> batchedRequest.future.completeExceptionally(e));
+      return requests.size();
+    }
+  }
+
+  private void submitRequests(List<BatchedRequest<?>> requests) {
+    if (!requests.isEmpty()) {
+      sendExecutor.execute(() -> sendRequests(requests));
+    }
+  }
+
+  private void sendRequests(List<BatchedRequest<?>> requests) {
+    if (requests.isEmpty()) {
+      return;
+    } else if (requests.size() == 1) {
+      // No need to wrap a single request in a batch
+      acquirePermit();
+      requests.get(0).sendSingle();
+    } else {
+      sendBatch(requests);
+    }
+  }
+
+  private void acquirePermit() {
+    if (rateLimiter != null) {
+      rateLimiter.acquire();
+    }
+  }
+
+  private List<BatchedRequest<?>> drainPendingRequests() {
+    List<BatchedRequest<?>> requestsToSend = new ArrayList<>(pendingRequests);
+    pendingRequests.clear();
+    if (flushFuture != null) {
+      flushFuture.cancel(false);
+      flushFuture = null;
+    }
+    return requestsToSend;
+  }
+
+  private int dispatchResponses(List<BatchedRequest<?>> requests, List<? extends Response<?>> responses) {
+    if (responses == null) {
+      throw new IllegalStateException("Empty batch response received from blockchain");
+    }
+    Map<Long, Response<?>> responsesById = new HashMap<>();
+    responses.forEach(response -> responsesById.putIfAbsent(response.getId(), response));
+    int failedRequests = 0;
+    for (int i = 0; i < requests.size(); i++) {
+      BatchedRequest<?> batchedRequest = requests.get(i);
+      Response<?> response = i < responses.size() ? responses.get(i) : null;
+      if (response == null || response.getId() != batchedRequest.request.getId()) {
+        // Batch responses order isn't guaranteed by JSON-RPC specification
+        response = responsesById.getOrDefault(batchedRequest.request.getId(), response);
+      }
+      if (!batchedRequest.complete(response)) {
+        failedRequests++;
+      }
+    }
+    return failedRequests;
+  }
+
+  protected static class BatchedRequest<T extends Response<?>> {
+
+    private final Request<?, T>        request;
+
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+
+    private BatchedRequest(Request<?, T> request) {
+      this.request = request;
+    }
+
+    /**
+     * @param response JSON-RPC response of the request
+     * @return true if a response without error was received
+     */
+    private boolean complete(Response<?> response) {
+      if (response == null) {
+        future.completeExceptionally(new IOException("No response received for request '" + request.getMethod() + "'"));
+        return false;
+      } else {
+        try {
+          future.complete(request.getResponseType().cast(response));
+          return !response.hasError();
+        } catch (ClassCastException e) {
+          future.completeExceptionally(e);
+          return false;
+        }
+      }
+    }
+
+    private void sendSingle() {
+      try {
+        future.complete(request.send());
+      } catch (Exception e) {
+        future.completeExceptionally(e);
+      }
+    }
+  }
+
+}
@@ -29,10 +29,10 @@ import static org.exoplatform.wallet.utils.WalletUtils.getWebsocketURL;
 import static org.exoplatform.wallet.utils.WalletUtils.isUserRewardingAdmin;
 import static org.exoplatform.wallet.utils.WalletUtils.toJsonString;
 
-import java.io.IOException;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -41,6 +41,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.picocontainer.Startable;
@@ -88,6 +90,7 @@ import org.exoplatform.wallet.model.Wallet;
 import org.exoplatform.wallet.model.WalletType;
 import org.exoplatform.wallet.model.settings.GlobalSettings;
 import org.exoplatform.wallet.model.transaction.TransactionDetail;
+import org.exoplatform.wallet.service.BlockchainTransactionService;
 import org.exoplatform.wallet.service.WalletAccountService;
 import org.exoplatform.wallet.service.WalletContractService;
 import org.exoplatform.wallet.service.WalletService;
@@ -96,6 +99,7 @@ import org.exoplatform.wallet.service.WalletTransactionService;
 import org.exoplatform.wallet.statistic.ExoWalletStatistic;
 import org.exoplatform.wallet.statistic.ExoWalletStatisticService;
 import org.exoplatform.wallet.storage.WalletStorage;
+import org.exoplatform.wallet.utils.MethodInvoker;
 
 public class EthereumWalletTokenAdminService implements WalletTokenAdminService, Startable, ExoWalletStatisticService {
   private static final Log                        LOG                                     =
@@ -127,6 +131,8 @@ public class EthereumWalletTokenAdminService implements WalletTokenAdminService,
 
   private WalletTransactionService                transactionService;
 
+  private BlockchainTransactionService            blockchainTransactionService;
+
   private MeedsToken                              ertInstance;
 
   private long                                    networkId                               = 0;
@@ -141,9 +147,7 @@ public class EthereumWalletTokenAdminService implements WalletTokenAdminService,
 
   private String                                  adminPrivateKey;
 
-  private long                                    adminBlockchainNonce;
-
-  private long                                    adminBlockchainNonceLastUpdate;
+  private AdminNonceAllocator                     adminNonceAllocator;
 
   private boolean                                 checkAdminKey = true;
 
@@ -151,6 +155,8 @@ public class EthereumWalletTokenAdminService implements WalletTokenAdminService,
 
   private FutureCache<String, BigInteger, Object> etherBalanceFutureCache                 = null;
 
+  private Map<String, MethodInvoker>              contractMethodInvokers                  = new ConcurrentHashMap<>();
+
   public EthereumWalletTokenAdminService(PortalContainer container,
                                          CacheService cacheService,
                                          WalletService walletService,
@@ -306,6 +312,21 @@ public class EthereumWalletTokenAdminService implements WalletTokenAdminService,
     return tokenBalanceFutureCache.get(null, address.toLowerCase());
   }
 
+  @Override
+  public BigInteger getTokenBalanceOfAtLastWatchedBlock(String address) throws Exception {
+    if (StringUtils.isBlank(address)) {
+      throw new IllegalArgumentException(RECEIVER_ADDRESS_PARAMETER_IS_MANDATORY);
+    }
+    // Transfers of the last watched block and the previous ones are already
+    // applied to stored balances, while the ones mined afterwards will be
+    // applied once saved as mined, thus mustn't be included
+    long lastWatchedBlockNumber = getBlockchainTransactionService().getLastWatchedBlockNumber();
+    if (lastWatchedBlockNumber <= 0) {
+      return getTokenBalanceOf(address);
+    }
+    return getClientConnector().getTokenBalanceOf(checkContractAddress(), address, lastWatchedBlockNumber);
+  }
+
   @Override
   public final BigInteger getEtherBalanceOf(String address) throws Exception { // NOSONAR
     return etherBalanceFutureCache.get(null, address.toLowerCase());
@@ -347,6 +368,7 @@ public class EthereumWalletTokenAdminService implements WalletTokenAdminService,
     transactionDetail.setGasPrice(walletService.getGasPrice());
 
     getTransactionService().saveTransactionDetail(transactionDetail, false);
+    confirmAdminNonce(transactionDetail.getNonce());
     return transactionDetail;
   }
 
@@ -387,6 +409,7 @@ public class EthereumWalletTokenAdminService implements WalletTokenAdminService,
       transactionDetail.setAdminOperation(false);
       if (StringUtils.isNotBlank(transactionDetail.getHash())) {
         getTransactionService().saveTransactionDetail(transactionDetail, false);
+        confirmAdminNonce(transactionDetail.getNonce());
       }
     }
     return transactionDetail;
@@ -397,6 +420,103 @@ public class EthereumWalletTokenAdminService implements WalletTokenAdminService,
     return sendToken(transactionDetail, issuerUsername);
   }
 
+  @Override
+  public List<TransactionDetail> rewardAll(List<TransactionDetail> transactionDetails, String issuerUsername) throws Exception {
+    if (transactionDetails == null || transactionDetails.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<TransactionDetail> validTransactions = new ArrayList<>();
+    for (TransactionDetail transactionDetail : transactionDetails) {
+      if (transactionDetail == null) {
+        LOG.warn("Ignore reward transaction: {}", TRANSACTION_DETAIL_IS_MANDATORY);
+      } else if (StringUtils.isBlank(transactionDetail.getTo())) {
+        LOG.warn("Ignore reward transaction: {}", RECEIVER_ADDRESS_PARAMETER_IS_MANDATORY);
+        transactionDetail.setPending(false);
+      } else if (transactionDetail.getContractAmount() <= 0) {
+        LOG.warn("Ignore reward transaction to {}: token amount parameter has to be positive", transactionDetail.getTo());
+        transactionDetail.setPending(false);
+      } else {
+        validTransactions.add(transactionDetail);
+      }
+    }
+    if (validTransactions.isEmpty()) {
+      return transactionDetails;
+    }
+
+    checkAdminWalletIsValid();
+
+    if (StringUtils.isBlank(configuredContractAddress)) {
+      throw new IllegalStateException(NO_CONFIGURED_CONTRACT_ADDRESS);
+    }
+    Credentials adminCredentials = getAdminCredentials();
+    if (adminCredentials == null) {
+      throw new IllegalStateException("Can't find admin credentials");
+    }
+    Wallet issuerWallet = getIssuerWallet(issuerUsername);
+    String adminWalletAddress = getAdminWalletAddress();
+    double adminGasPrice = walletService.getGasPrice();
+    BigInteger gasPrice = BigDecimal.valueOf(adminGasPrice).toBigInteger();
+    BigInteger gasLimit = BigInteger.valueOf(getGasLimit());
+    long chainId = getNetworkId();
+    long timestamp = System.currentTimeMillis();
+
+    AdminNonceAllocator nonceAllocator = getAdminNonceAllocator();
+    long[] nonces = nonceAllocator.allocate(validTransactions.size());
+    for (int index = 0; index < validTransactions.size(); index++) {
+      TransactionDetail transactionDetail = validTransactions.get(index);
+      transactionDetail.setNonce(nonces[index]);
+      transactionDetail.setGasPrice(adminGasPrice);
+      try {
+        BigInteger tokenAmount = transactionDetail.getContractAmountDecimal(configuredContractDecimals);
+        Function transferFunction = getTransferFunctionCall(transactionDetail.getTo(), tokenAmount);
+        signRawTransaction(configuredContractAddress,
+                           transferFunction,
+                           BigInteger.ZERO,
+                           transactionDetail,
+                           adminCredentials,
+                           gasPrice,
+                           gasLimit,
+                           chainId);
+        transactionDetail.setPending(true);
+      } catch (Exception e) {
+        LOG.warn("Error while signing reward transaction to {}", transactionDetail.getTo(), e);
+        nonceAllocator.release(nonces[index]);
+        transactionDetail.setPending(false);
+        transactionDetail.setNonce(0);
+        transactionDetail.setHash(null);
+        transactionDetail.setRawTransaction(null);
+      }
+      if (issuerWallet != null) {
+        transactionDetail.setIssuer(issuerWallet);
+      }
+      transactionDetail.setNetworkId(this.networkId);
+      transactionDetail.setFrom(adminWalletAddress);
+      transactionDetail.setContractAddress(configuredContractAddress);
+      transactionDetail.setContractMethodName(MeedsToken.FUNC_TRANSFER);
+      transactionDetail.setTimestamp(timestamp);
+      transactionDetail.setAdminOperation(false);
+    }
+
+    List<TransactionDetail> signedTransactions = validTransactions.stream()
+                                                                  .filter(TransactionDetail::isPending)
+                                                                  .collect(Collectors.toList());
+    try {
+      getTransactionService().saveTransactionDetails(signedTransactions);
+    } catch (RuntimeException e) {
+      // Transactions weren't stored, thus their nonces can be reused
+      signedTransactions.forEach(transactionDetail -> {
+        nonceAllocator.release(transactionDetail.getNonce());
+        transactionDetail.setPending(false);
+        transactionDetail.setNonce(0);
+        transactionDetail.setHash(null);
+        transactionDetail.setRawTransaction(null);
+      });
+      throw e;
+    }
+    signedTransactions.forEach(transactionDetail -> nonceAllocator.confirm(transactionDetail.getNonce()));
+    return transactionDetails;
+  }
+
   @Override
   public void boostAdminTransactions() {
     List<TransactionDetail> pendingTransactions =
@@ -458,9 +578,10 @@ public class EthereumWalletTokenAdminService implements WalletTokenAdminService,
     BigInteger walletEtherBalance = getEtherBalanceOf(walletAddress);
     wallet.setEtherBalance(convertFromDecimals(walletEtherBalance, ETHER_TO_WEI_DECIMALS));
 
-    if (wallet.getTokenBalance() == null || walletModifications == null || walletModifications.contains(MeedsToken.FUNC_TRANSFER)
-        || walletModifications.contains(MeedsToken.FUNC_TRANSFERFROM)) {
-      BigInteger walletTokenBalance = getTokenBalanceOf(walletAddress);
+    // Token balance is maintained locally from mined transfers, thus it's
+    // retrieved from blockchain only to initialize or to reconcile it
+    if (wallet.getTokenBalance() == null || walletModifications == null) {
+      BigInteger walletTokenBalance = getTokenBalanceOfAtLastWatchedBlock(walletAddress);
       wallet.setTokenBalance(convertFromDecimals(walletTokenBalance, configuredContractDecimals));
     }
   }
@@ -505,11 +626,11 @@ public class EthereumWalletTokenAdminService implements WalletTokenAdminService,
                                      final String methodName,
                                      final Object... arguments) throws Exception {
     MeedsToken contractInstance = getContractInstance(contractAddress);
-    Method methodToInvoke = getMethod(methodName);
-    if (methodToInvoke == null) {
+    MethodInvoker methodInvoker = getMethodInvoker(methodName);
+    if (methodInvoker == null) {
       throw new IllegalStateException("Can't find method " + methodName + " in Token instance");
     }
-    RemoteCall<?> response = (RemoteCall<?>) methodToInvoke.invoke(contractInstance, arguments);
+    RemoteCall<?> response = (RemoteCall<?>) methodInvoker.invoke(contractInstance, arguments);
     return response.send();
   }
 
@@ -570,11 +691,36 @@ public class EthereumWalletTokenAdminService implements WalletTokenAdminService,
     BigInteger gasPrice = BigDecimal.valueOf(adminGasPrice).toBigInteger();
     transactionDetail.setGasPrice(adminGasPrice);
     BigInteger gasLimit = BigInteger.valueOf(getGasLimit());
-    if (transactionDetail.getNonce() == 0) {
-      BigInteger nonceToUse = getAdminNonce();
-      transactionDetail.setNonce(nonceToUse.longValue());
+    boolean allocatedNonce = transactionDetail.getNonce() == 0;
+    if (allocatedNonce) {
+      transactionDetail.setNonce(getAdminNonceAllocator().allocate());
     }
 
+    try {
+      signRawTransaction(toAddress,
+                         function,
+                         etherValueInWei,
+                         transactionDetail,
+                         adminCredentials,
+                         gasPrice,
+                         gasLimit,
+                         getNetworkId());
+    } catch (Exception e) {
+      if (allocatedNonce) {
+        getAdminNonceAllocator().release(transactionDetail.getNonce());
+      }
+      throw e;
+    }
+  }
+
+  private void signRawTransaction(String toAddress,
+                                  Function function,
+                                  BigInteger etherValueInWei,
+                                  TransactionDetail transactionDetail,
+                                  Credentials adminCredentials,
+                                  BigInteger gasPrice,
+                                  BigInteger gasLimit,
+                                  long chainId) {
     RawTransaction rawTransaction = null;
     if (function != null) {
       String transactionData = FunctionEncoder.encode(function);
@@ -592,24 +738,42 @@ public class EthereumWalletTokenAdminService implements WalletTokenAdminService,
                                                              etherValueInWei);
     }
 
-    byte[] signedMessage = TransactionEncoder.signMessage(rawTransaction, getNetworkId(), adminCredentials);
+    byte[] signedMessage = TransactionEncoder.signMessage(rawTransaction, chainId, adminCredentials);
     String rawTransactionString = Numeric.toHexString(signedMessage);
     transactionDetail.setRawTransaction(rawTransactionString);
     transactionDetail.setHash(generateHash(rawTransactionString));
   }
 
-  private BigInteger getAdminNonce() throws IOException {
+  private void confirmAdminNonce(long nonce) {
+    if (adminNonceAllocator != null) {
+      adminNonceAllocator.confirm(nonce);
+    }
+  }
+
+  private AdminNonceAllocator getAdminNonceAllocator() {
     String adminAddress = getAdminWalletAddress();
-    if (System.currentTimeMillis() - adminBlockchainNonceLastUpdate > 15000) {
-      try {
-        adminBlockchainNonce = getClientConnector().getNonce(adminAddress, DefaultBlockParameterName.PENDING).longValue();
-        adminBlockchainNonceLastUpdate = System.currentTimeMillis();
-      } catch (Exception e) {
-        LOG.warn("Error retrieving nonce of admin wallet, use last sent nonce", e);
+    AdminNonceAllocator allocator = adminNonceAllocator;
+    if (allocator == null || !StringUtils.equalsIgnoreCase(allocator.getAddress(), adminAddress)) {
+      synchronized (this) {
+        allocator = adminNonceAllocator;
+        if (allocator == null || !StringUtils.equalsIgnoreCase(allocator.getAddress(), adminAddress)) {
+          allocator = newAdminNonceAllocator(adminAddress);
+          adminNonceAllocator = allocator;
+        }
       }
     }
-    long storedNonce = getTransactionService().getNonce(adminAddress);
-    return BigInteger.valueOf(Long.max(adminBlockchainNonce, storedNonce));
+    return allocator;
+  }
+
+  private AdminNonceAllocator newAdminNonceAllocator(String adminAddress) {
+    return new AdminNonceAllocator(adminAddress,
+                                   () -> getClientConnector().getNonce(adminAddress, DefaultBlockParameterName.PENDING)
+                                                             .longValue(),
+                                   () -> getTransactionService().getNonce(adminAddress),
+                                   nonce -> getTransactionService().countPendingTransactionsWithSameNonce(StringUtils.EMPTY,
+                                                                                                          adminAddress,
+                                                                                                          nonce) > 0,
+                                   AdminNonceAllocator.DEFAULT_RECONCILIATION_PERIOD);
   }
 
   private MeedsToken getContractInstance(final String contractAddress) {
@@ -636,15 +800,23 @@ public class EthereumWalletTokenAdminService implements WalletTokenAdminService,
   }
 
   private void setIssuer(TransactionDetail transactionDetail, String issuerUsername) {
-    if (StringUtils.isNotBlank(issuerUsername)) {
-      Wallet issuerWallet = getAccountService().getWalletByTypeAndId(WalletType.USER.name(), issuerUsername);
-      if (issuerWallet == null) {
-        throw new IllegalStateException("Can't find identity of user with id " + issuerUsername);
-      }
+    Wallet issuerWallet = getIssuerWallet(issuerUsername);
+    if (issuerWallet != null) {
       transactionDetail.setIssuer(issuerWallet);
     }
   }
 
+  private Wallet getIssuerWallet(String issuerUsername) {
+    if (StringUtils.isBlank(issuerUsername)) {
+      return null;
+    }
+    Wallet issuerWallet = getAccountService().getWalletByTypeAndId(WalletType.USER.name(), issuerUsername);
+    if (issuerWallet == null) {
+      throw new IllegalStateException("Can't find identity of user with id " + issuerUsername);
+    }
+    return issuerWallet;
+  }
+
   private final void checkAdminWalletIsValid() {
     String adminAddress = getAdminWalletAddress();
     if (adminAddress == null) {
@@ -680,15 +852,17 @@ public class EthereumWalletTokenAdminService implements WalletTokenAdminService,
     }
   }
 
-  private Method getMethod(String methodName) {
-    Method methodToInvoke = null;
-    Method[] methods = MeedsToken.class.getDeclaredMethods();
-    for (Method method : methods) {
-      if (StringUtils.equals(methodName, method.getName())) {
-        methodToInvoke = method;
+  private MethodInvoker getMethodInvoker(String methodName) {
+    return contractMethodInvokers.computeIfAbsent(methodName, name -> {
+      Method methodToInvoke = null;
+      Method[] methods = MeedsToken.class.getDeclaredMethods();
+      for (Method method : methods) {
+        if (StringUtils.equals(name, method.getName())) {
+          methodToInvoke = method;
+        }
       }
-    }
-    return methodToInvoke;
+      return MethodInvoker.of(methodToInvoke);
+    });
   }
 
   private ContractDetail getPrincipalContractDetail() {
@@ -703,6 +877,13 @@ public class EthereumWalletTokenAdminService implements WalletTokenAdminService,
     return transactionService;
   }
 
+  private BlockchainTransactionService getBlockchainTransactionService() {
+    if (blockchainTransactionService == null) {
+      blockchainTransactionService = CommonsUtils.getService(BlockchainTransactionService.class);
+    }
+    return blockchainTransactionService;
+  }
+
   private WalletStorage getAccountStorage() {
     if (accountStorage == null) {
       accountStorage = CommonsUtils.getService(WalletStorage.class);
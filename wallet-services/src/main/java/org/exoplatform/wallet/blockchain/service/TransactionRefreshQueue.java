@@ -0,0 +1,163 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2022 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.blockchain.service;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+
+import org.exoplatform.wallet.model.transaction.TransactionDetail;
+
+/**
+ * A queue of transactions to refresh from blockchain, de-duplicated by
+ * lowercase transaction hash. Transactions are polled by priority first, then
+ * by transaction timestamp. Lookup and removal by hash are made in constant
+ * time using a hash index, while the priority ordering is kept using a heap
+ * where removed and re-prioritized entries are lazily discarded.
+ */
+public class TransactionRefreshQueue {
+
+  private static final Comparator<QueueEntry> ENTRY_COMPARATOR = Comparator.comparing((QueueEntry entry) -> !entry.prioritized)
+                                                                           .thenComparingLong(entry -> entry.timestamp)
+                                                                           .thenComparingLong(entry -> entry.sequence);
+
+  private final Map<String, QueueEntry>       entries          = new ConcurrentHashMap<>();
+
+  private final PriorityQueue<QueueEntry>     heap             = new PriorityQueue<>(ENTRY_COMPARATOR);
+
+  private final AtomicLong                    sequence         = new AtomicLong();
+
+  /**
+   * Add a transaction to refresh if not already queued
+   *
+   * @param transactionDetail {@link TransactionDetail} to refresh
+   * @return true if the transaction wasn't already queued
+   */
+  public boolean add(TransactionDetail transactionDetail) {
+    return add(transactionDetail, false);
+  }
+
+  /**
+   * Add a transaction to refresh if not already queued, else bump its priority
+   * when requested
+   *
+   * @param transactionDetail {@link TransactionDetail} to refresh
+   * @param prioritize whether the transaction should be refreshed before not
+   *          prioritized ones
+   * @return true if the transaction wasn't already queued
+   */
+  public synchronized boolean add(TransactionDetail transactionDetail, boolean prioritize) {
+    String hash = getKey(transactionDetail.getHash());
+    if (hash == null) {
+      return false;
+    }
+    QueueEntry existingEntry = entries.get(hash);
+    if (existingEntry != null) {
+      if (prioritize && !existingEntry.prioritized) {
+        // Replace the entry in index, the old one will be discarded from heap
+        // when polled
+        push(new QueueEntry(hash,
+                            transactionDetail,
+                            true,
+                            Math.min(existingEntry.timestamp, transactionDetail.getTimestamp()),
+                            sequence.incrementAndGet()));
+      }
+      return false;
+    }
+    push(new QueueEntry(hash, transactionDetail, prioritize, transactionDetail.getTimestamp(), sequence.incrementAndGet()));
+    return true;
+  }
+
+  /**
+   * @return next {@link TransactionDetail} to refresh or null if empty
+   */
+  public synchronized TransactionDetail poll() {
+    QueueEntry entry;
+    while ((entry = heap.poll()) != null) {
+      if (entries.remove(entry.hash, entry)) {
+        return entry.transactionDetail;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param transactionHash transaction hash
+   * @return true if the transaction is queued
+   */
+  public boolean contains(String transactionHash) {
+    String hash = getKey(transactionHash);
+    return hash != null && entries.containsKey(hash);
+  }
+
+  /**
+   * @param transactionHash transaction hash
+   * @return true if the transaction was queued and has been removed
+   */
+  public boolean remove(String transactionHash) {
+    String hash = getKey(transactionHash);
+    return hash != null && entries.remove(hash) != null;
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  private void push(QueueEntry entry) {
+    entries.put(entry.hash, entry);
+    heap.add(entry);
+    if (heap.size() > 2 * entries.size() + 16) {
+      // Purge discarded entries from heap
+      heap.clear();
+      heap.addAll(entries.values());
+    }
+  }
+
+  private String getKey(String transactionHash) {
+    return StringUtils.isBlank(transactionHash) ? null : transactionHash.toLowerCase();
+  }
+
+  private static class QueueEntry {
+
+    private final String            hash;
+
+    private final TransactionDetail transactionDetail;
+
+    private final boolean           prioritized;
+
+    private final long              timestamp;
+
+    private final long              sequence;
+
+    private QueueEntry(String hash, TransactionDetail transactionDetail, boolean prioritized, long timestamp, long sequence) {
+      this.hash = hash;
+      this.transactionDetail = transactionDetail;
+      this.prioritized = prioritized;
+      this.timestamp = timestamp;
+      this.sequence = sequence;
+    }
+  }
+
+}
@@ -16,7 +16,12 @@
  */
 package org.exoplatform.wallet.dao;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import jakarta.persistence.TypedQuery;
 
@@ -27,6 +32,14 @@ import org.exoplatform.wallet.entity.WalletEntity;
 
 public class WalletAccountDAO extends GenericDAOJPAImpl<WalletEntity, Long> {
 
+  /**
+   * Maximum count of addresses or identifiers bound to a single IN clause, to
+   * keep under the database limits of expressions in a list
+   */
+  private static final int ADDRESSES_PAGE_SIZE = 500;
+
+  private static final int STREAM_FETCH_SIZE   = 500;
+
   @Override
   public void deleteAll() {
     throw new UnsupportedOperationException();
@@ -45,6 +58,76 @@ public class WalletAccountDAO extends GenericDAOJPAImpl<WalletEntity, Long> {
     return resultList == null || resultList.isEmpty() ? null : resultList.get(0);
   }
 
+  /**
+   * @param addresses wallet addresses
+   * @return {@link List} of {@link WalletEntity} having one of the addresses
+   */
+  public List<WalletEntity> findByAddresses(Collection<String> addresses) {
+    if (addresses == null || addresses.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<String> addressesList = addresses.stream()
+                                          .filter(StringUtils::isNotBlank)
+                                          .map(StringUtils::lowerCase)
+                                          .distinct()
+                                          .collect(Collectors.toList());
+    List<WalletEntity> walletEntities = new ArrayList<>(addressesList.size());
+    for (int i = 0; i < addressesList.size(); i += ADDRESSES_PAGE_SIZE) {
+      TypedQuery<WalletEntity> query = getEntityManager().createNamedQuery("Wallet.findByAddresses",
+                                                                           WalletEntity.class);
+      query.setParameter("addresses", addressesList.subList(i, Math.min(i + ADDRESSES_PAGE_SIZE, addressesList.size())));
+      walletEntities.addAll(query.getResultList());
+    }
+    return walletEntities;
+  }
+
+  /**
+   * @param ids wallet identifiers, which are the owners identity ids
+   * @return {@link List} of {@link WalletEntity} having one of the identifiers
+   */
+  public List<WalletEntity> findByIds(Collection<Long> ids) {
+    if (ids == null || ids.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<Long> idsList = ids.stream().distinct().collect(Collectors.toList());
+    List<WalletEntity> walletEntities = new ArrayList<>(idsList.size());
+    for (int i = 0; i < idsList.size(); i += ADDRESSES_PAGE_SIZE) {
+      TypedQuery<WalletEntity> query = getEntityManager().createNamedQuery("Wallet.findByIds",
+                                                                           WalletEntity.class);
+      query.setParameter("ids", idsList.subList(i, Math.min(i + ADDRESSES_PAGE_SIZE, idsList.size())));
+      walletEntities.addAll(query.getResultList());
+    }
+    return walletEntities;
+  }
+
+  /**
+   * Retrieves all wallets with their blockchain state of a contract using a
+   * single query. When many blockchain states are stored for a wallet, the
+   * most recent one is returned first.
+   *
+   * @param contractAddress contract address of blockchain state
+   * @return {@link List} of {@link WalletStateProjection} sorted by wallet id
+   */
+  public List<WalletStateProjection> findAllWithBlockchainState(String contractAddress) {
+    return getWalletsWithBlockchainStateQuery(contractAddress).getResultList();
+  }
+
+  /**
+   * Same as {@link #findAllWithBlockchainState(String)} but rows are fetched
+   * progressively from database while the stream is consumed. The returned
+   * {@link Stream} has to be closed.
+   *
+   * @param contractAddress contract address of blockchain state
+   * @return {@link Stream} of {@link WalletStateProjection} sorted by wallet
+   *         id
+   */
+  public Stream<WalletStateProjection> streamAllWithBlockchainState(String contractAddress) {
+    TypedQuery<WalletStateProjection> query = getWalletsWithBlockchainStateQuery(contractAddress);
+    query.setHint("org.hibernate.fetchSize", STREAM_FETCH_SIZE);
+    query.setHint("org.hibernate.readOnly", true);
+    return query.getResultStream();
+  }
+
   public List<WalletEntity> findListByAddress(String address) {
     TypedQuery<WalletEntity> query = getEntityManager().createNamedQuery("Wallet.findByAddress",
                                                                          WalletEntity.class);
@@ -52,4 +135,11 @@ public class WalletAccountDAO extends GenericDAOJPAImpl<WalletEntity, Long> {
     return query.getResultList();
   }
 
+  private TypedQuery<WalletStateProjection> getWalletsWithBlockchainStateQuery(String contractAddress) {
+    TypedQuery<WalletStateProjection> query = getEntityManager().createNamedQuery("Wallet.findAllWithBlockchainState",
+                                                                                  WalletStateProjection.class);
+    query.setParameter("contractAddress", StringUtils.lowerCase(contractAddress));
+    return query;
+  }
+
 }
@@ -19,8 +19,12 @@ package org.exoplatform.wallet.dao;
 import java.util.List;
 
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 
+import org.apache.commons.lang3.StringUtils;
+
+import org.exoplatform.commons.api.persistence.ExoTransactional;
 import org.exoplatform.commons.persistence.impl.GenericDAOJPAImpl;
 import org.exoplatform.services.log.ExoLogger;
 import org.exoplatform.services.log.Log;
@@ -35,7 +39,7 @@ public class WalletBlockchainStateDAO extends GenericDAOJPAImpl<WalletBlockchain
                                                   getEntityManager().createNamedQuery("WalletBlockchainState.findByWalletIdAndContract",
                                                                                       WalletBlockchainStateEntity.class);
     query.setParameter("walletId", walletId);
-    query.setParameter("contractAddress", contractAddress);
+    query.setParameter("contractAddress", StringUtils.lowerCase(contractAddress));
     try {
       List<WalletBlockchainStateEntity> resultList = query.getResultList();
       if (resultList == null || resultList.isEmpty()) {
@@ -51,4 +55,45 @@ public class WalletBlockchainStateDAO extends GenericDAOJPAImpl<WalletBlockchain
     }
   }
 
+  /**
+   * Adds an amount to the stored token balance of a wallet using a single
+   * update statement. Nothing is changed when the wallet doesn't have a
+   * stored blockchain state yet, its balance will be retrieved from
+   * blockchain instead.
+   *
+   * @param address wallet address
+   * @param contractAddress contract address
+   * @param amount amount to add, negative to subtract it
+   * @return number of updated blockchain states
+   */
+  @ExoTransactional
+  public int addTokenBalance(String address, String contractAddress, double amount) {
+    Query query = getEntityManager().createNamedQuery("WalletBlockchainState.addTokenBalance");
+    query.setParameter("address", StringUtils.lowerCase(address));
+    query.setParameter("contractAddress", StringUtils.lowerCase(contractAddress));
+    query.setParameter("amount", amount);
+    return query.executeUpdate();
+  }
+
+  /**
+   * Updates the stored ether balance and initialization flag of a wallet
+   * using a single update statement, without changing its stored token
+   * balance.
+   *
+   * @param walletId wallet technical identifier
+   * @param contractAddress contract address
+   * @param etherBalance ether balance to store
+   * @param initialized whether the wallet is initialized on contract
+   * @return number of updated blockchain states
+   */
+  @ExoTransactional
+  public int updateEtherBalance(long walletId, String contractAddress, double etherBalance, boolean initialized) {
+    Query query = getEntityManager().createNamedQuery("WalletBlockchainState.updateEtherBalance");
+    query.setParameter("walletId", walletId);
+    query.setParameter("contractAddress", StringUtils.lowerCase(contractAddress));
+    query.setParameter("etherBalance", etherBalance);
+    query.setParameter("initialized", initialized);
+    return query.executeUpdate();
+  }
+
 }
@@ -0,0 +1,136 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.dao;
+
+import org.exoplatform.wallet.model.WalletProvider;
+import org.exoplatform.wallet.model.WalletState;
+import org.exoplatform.wallet.model.WalletType;
+
+/**
+ * Wallet columns retrieved together with its blockchain state of a contract
+ * in a single row. Blockchain state columns are null when the wallet has no
+ * stored state for the contract.
+ */
+public class WalletStateProjection {
+
+  private final Long           id;
+
+  private final WalletType     type;
+
+  private final String         address;
+
+  private final String         passPhrase;
+
+  private final boolean        enabled;
+
+  private final boolean        backedUp;
+
+  private final WalletProvider provider;
+
+  private final WalletState    initializationState;
+
+  private final boolean        hasPrivateKey;
+
+  private final Long           blockchainStateId;
+
+  private final Double         etherBalance;
+
+  private final Double         tokenBalance;
+
+  private final Boolean        initialized;
+
+  public WalletStateProjection(Long id, // NOSONAR
+                               WalletType type,
+                               String address,
+                               String passPhrase,
+                               Boolean enabled,
+                               Boolean backedUp,
+                               WalletProvider provider,
+                               WalletState initializationState,
+                               Long privateKeyId,
+                               Long blockchainStateId,
+                               Double etherBalance,
+                               Double tokenBalance,
+                               Boolean initialized) {
+    this.id = id;
+    this.type = type;
+    this.address = address;
+    this.passPhrase = passPhrase;
+    this.enabled = Boolean.TRUE.equals(enabled);
+    this.backedUp = Boolean.TRUE.equals(backedUp);
+    this.provider = provider;
+    this.initializationState = initializationState;
+    this.hasPrivateKey = privateKeyId != null;
+    this.blockchainStateId = blockchainStateId;
+    this.etherBalance = etherBalance;
+    this.tokenBalance = tokenBalance;
+    this.initialized = initialized;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public WalletType getType() {
+    return type;
+  }
+
+  public String getAddress() {
+    return address;
+  }
+
+  public String getPassPhrase() {
+    return passPhrase;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public boolean isBackedUp() {
+    return backedUp;
+  }
+
+  public WalletProvider getProvider() {
+    return provider;
+  }
+
+  public WalletState getInitializationState() {
+    return initializationState;
+  }
+
+  public boolean hasPrivateKey() {
+    return hasPrivateKey;
+  }
+
+  public Long getBlockchainStateId() {
+    return blockchainStateId;
+  }
+
+  public Double getEtherBalance() {
+    return etherBalance;
+  }
+
+  public Double getTokenBalance() {
+    return tokenBalance;
+  }
+
+  public Boolean getInitialized() {
+    return initialized;
+  }
+
+}
@@ -16,19 +16,40 @@
  */
 package org.exoplatform.wallet.dao;
 
-import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.Session;
 
+import org.exoplatform.commons.api.persistence.ExoTransactional;
 import org.exoplatform.commons.persistence.impl.GenericDAOJPAImpl;
 import org.exoplatform.wallet.entity.TransactionEntity;
 
 public class WalletTransactionDAO extends GenericDAOJPAImpl<TransactionEntity, Long> {
 
+  /**
+   * Count of statements sent to database in a single JDBC batch, it matches
+   * the allocation size of transaction identifiers sequence
+   */
+  public static final int     BATCH_SIZE                 = 50;
+
+  /**
+   * Maximum count of hashes bound to a single IN clause, to keep under the
+   * database limits of expressions in a list
+   */
+  private static final int    HASHES_PAGE_SIZE           = 500;
+
   private static final String NONCE_PARAM                = "nonce";
   
   private static final String HASH_PARAM                 = "hash";
@@ -45,8 +66,59 @@ public class WalletTransactionDAO extends GenericDAOJPAImpl<TransactionEntity, L
 
   private static final String NETWORK_ID_PARAM           = "networkId";
 
+  private static final String CURSOR_DATE_PARAM          = "cursorDate";
+
+  private static final String CURSOR_ID_PARAM            = "cursorId";
+
+  /**
+   * Creates new entities and updates existing ones using JDBC batches
+   *
+   * @param entities {@link Collection} of {@link TransactionEntity} to save
+   */
+  @ExoTransactional
+  public void saveAll(Collection<TransactionEntity> entities) {
+    EntityManager entityManager = getEntityManager();
+    Session session = entityManager.unwrap(Session.class);
+    Integer jdbcBatchSize = session.getJdbcBatchSize();
+    session.setJdbcBatchSize(BATCH_SIZE);
+    try {
+      int count = 0;
+      for (TransactionEntity entity : entities) {
+        if (entity.getId() == 0) {
+          entityManager.persist(entity);
+        } else {
+          entityManager.merge(entity);
+        }
+        if (++count % BATCH_SIZE == 0) {
+          entityManager.flush();
+        }
+      }
+      entityManager.flush();
+    } finally {
+      session.setJdbcBatchSize(jdbcBatchSize);
+    }
+  }
+
+  public List<TransactionEntity> getContractTransactions(String contractAddress,
+                                                         String contractMethodName,
+                                                         int limit) {
+    return getContractTransactions(contractAddress, contractMethodName, null, 0, limit);
+  }
+
+  /**
+   * @param contractAddress contract address
+   * @param contractMethodName contract method name to filter on, can be null
+   * @param cursorCreatedDate creation date of last transaction of previous
+   *          page, null to retrieve first page
+   * @param cursorId identifier of last transaction of previous page
+   * @param limit max count of transactions to retrieve, 0 for unlimited
+   * @return {@link List} of {@link TransactionEntity} sorted by creation date
+   *         and identifier descending
+   */
   public List<TransactionEntity> getContractTransactions(String contractAddress,
                                                          String contractMethodName,
+                                                         Long cursorCreatedDate,
+                                                         long cursorId,
                                                          int limit) {
     contractAddress = StringUtils.lowerCase(contractAddress);
 
@@ -54,6 +126,9 @@ public class WalletTransactionDAO extends GenericDAOJPAImpl<TransactionEntity, L
     if (StringUtils.isNotBlank(contractMethodName)) {
       queryName = "WalletTransaction.getContractTransactionsWithMethodName";
     }
+    if (cursorCreatedDate != null) {
+      queryName += "Before";
+    }
 
     TypedQuery<TransactionEntity> query = getEntityManager().createNamedQuery(queryName,
                                                                               TransactionEntity.class);
@@ -61,6 +136,7 @@ public class WalletTransactionDAO extends GenericDAOJPAImpl<TransactionEntity, L
     if (StringUtils.isNotBlank(contractMethodName)) {
       query.setParameter(CONTRACT_METHOD_NAME_PARAM, contractMethodName);
     }
+    setCursorParameters(query, cursorCreatedDate, cursorId);
     if (limit > 0) {
       query.setMaxResults(limit);
     }
@@ -69,9 +145,24 @@ public class WalletTransactionDAO extends GenericDAOJPAImpl<TransactionEntity, L
   }
 
   public List<TransactionEntity> getTransactions(long networkId, int limit) {
-    TypedQuery<TransactionEntity> query = getEntityManager().createNamedQuery("WalletTransaction.getNetworkTransactions",
-                                                                              TransactionEntity.class);
+    return getTransactions(networkId, null, 0, limit);
+  }
+
+  /**
+   * @param networkId blockchain network id
+   * @param cursorCreatedDate creation date of last transaction of previous
+   *          page, null to retrieve first page
+   * @param cursorId identifier of last transaction of previous page
+   * @param limit max count of transactions to retrieve, 0 for unlimited
+   * @return {@link List} of {@link TransactionEntity} sorted by creation date
+   *         and identifier descending
+   */
+  public List<TransactionEntity> getTransactions(long networkId, Long cursorCreatedDate, long cursorId, int limit) {
+    String queryName = cursorCreatedDate == null ? "WalletTransaction.getNetworkTransactions"
+                                                 : "WalletTransaction.getNetworkTransactionsBefore";
+    TypedQuery<TransactionEntity> query = getEntityManager().createNamedQuery(queryName, TransactionEntity.class);
     query.setParameter(NETWORK_ID_PARAM, networkId);
+    setCursorParameters(query, cursorCreatedDate, cursorId);
     if (limit > 0) {
       query.setMaxResults(limit);
     }
@@ -86,43 +177,26 @@ public class WalletTransactionDAO extends GenericDAOJPAImpl<TransactionEntity, L
                                                        int limit,
                                                        boolean onlyPending,
                                                        boolean includeAdministrationTransactions) {
+    WalletTransactionQueryBuilder queryBuilder = new WalletTransactionQueryBuilder(networkId, address);
+    queryBuilder.withContractAddress(contractAddress)
+                .withContractMethodName(contractMethodName)
+                .onlyPending(onlyPending)
+                .includeAdministrationTransactions(includeAdministrationTransactions);
+    return getWalletTransactions(queryBuilder, limit);
+  }
 
-    address = StringUtils.lowerCase(address);
-    contractAddress = StringUtils.lowerCase(contractAddress);
-    StringBuilder queryString = new StringBuilder("SELECT tx FROM WalletTransaction tx WHERE tx.networkId = ");
-    queryString.append(networkId);
-
-    if (!includeAdministrationTransactions) {
-      queryString.append(" AND tx.isAdminOperation = FALSE");
-    }
-    queryString.append(" AND tx.isDropped = FALSE");
-
-    queryString.append(" AND (tx.fromAddress = '");
-    queryString.append(address);
-    queryString.append("' OR tx.toAddress = '");
-    queryString.append(address);
-    queryString.append("' OR tx.byAddress = '");
-    queryString.append(address);
-    queryString.append("')");
-
-    if (StringUtils.isNotBlank(contractMethodName)) {
-      queryString.append(" AND tx.contractMethodName = '");
-      queryString.append(contractMethodName);
-      queryString.append("'");
-    }
-
-    if (onlyPending) {
-      queryString.append(" AND tx.isPending = TRUE");
-    }
-
-    if (StringUtils.isNotBlank(contractAddress)) {
-      queryString.append(" AND tx.contractAddress = '");
-      queryString.append(contractAddress);
-      queryString.append("' ");
-    }
-
-    queryString.append(" ORDER BY tx.createdDate DESC");
-    TypedQuery<TransactionEntity> query = getEntityManager().createQuery(queryString.toString(), TransactionEntity.class);
+  /**
+   * Retrieves wallet transactions using a statement that doesn't depend on
+   * filter values, thus shared by all wallets in query plan cache
+   *
+   * @param queryBuilder {@link WalletTransactionQueryBuilder} with filters to
+   *          apply
+   * @param limit max count of transactions to retrieve, 0 for unlimited
+   * @return {@link List} of {@link TransactionEntity} sorted by creation date
+   *         descending
+   */
+  public List<TransactionEntity> getWalletTransactions(WalletTransactionQueryBuilder queryBuilder, int limit) {
+    TypedQuery<TransactionEntity> query = queryBuilder.build(getEntityManager());
     if (limit > 0) {
       query.setMaxResults(limit);
     }
@@ -181,6 +255,90 @@ public class WalletTransactionDAO extends GenericDAOJPAImpl<TransactionEntity, L
     return getFirstItem(resultList);
   }
 
+  /**
+   * @param hashes transaction hashes
+   * @return {@link List} of {@link TransactionEntity} having one of the
+   *         hashes, sorted by descending id
+   */
+  public List<TransactionEntity> getTransactionsByHashes(Collection<String> hashes) {
+    if (hashes == null || hashes.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<String> hashesList = hashes.stream()
+                                    .filter(StringUtils::isNotBlank)
+                                    .map(StringUtils::lowerCase)
+                                    .distinct()
+                                    .toList();
+    List<TransactionEntity> transactionEntities = new ArrayList<>(hashesList.size());
+    for (int i = 0; i < hashesList.size(); i += HASHES_PAGE_SIZE) {
+      TypedQuery<TransactionEntity> query = getEntityManager().createNamedQuery("WalletTransaction.getTransactionsByHashes",
+                                                                                TransactionEntity.class);
+      query.setParameter("hashes", hashesList.subList(i, Math.min(i + HASHES_PAGE_SIZE, hashesList.size())));
+      transactionEntities.addAll(query.getResultList());
+    }
+    return transactionEntities;
+  }
+
+  /**
+   * @param hashes {@link Collection} of transaction hashes
+   * @return count of distinct hashes of stored transactions which are still
+   *         pending
+   */
+  public long countPendingTransactionsByHashes(Collection<String> hashes) {
+    if (hashes == null || hashes.isEmpty()) {
+      return 0;
+    }
+    List<String> hashesList = hashes.stream()
+                                    .filter(StringUtils::isNotBlank)
+                                    .map(StringUtils::lowerCase)
+                                    .distinct()
+                                    .toList();
+    long count = 0;
+    for (int i = 0; i < hashesList.size(); i += HASHES_PAGE_SIZE) {
+      TypedQuery<Long> query = getEntityManager().createNamedQuery("WalletTransaction.countPendingTransactionsByHashes",
+                                                                   Long.class);
+      query.setParameter("hashes", hashesList.subList(i, Math.min(i + HASHES_PAGE_SIZE, hashesList.size())));
+      Long result = query.getSingleResult();
+      count += result == null ? 0 : result;
+    }
+    return count;
+  }
+
+  /**
+   * @param ids {@link Collection} of transaction technical identifiers
+   * @return {@link Set} of identifiers of stored transactions which are still
+   *         pending
+   */
+  public Set<Long> getPendingTransactionIds(Collection<Long> ids) {
+    if (ids == null || ids.isEmpty()) {
+      return Collections.emptySet();
+    }
+    List<Long> idsList = ids.stream().distinct().toList();
+    Set<Long> pendingIds = new HashSet<>();
+    for (int i = 0; i < idsList.size(); i += HASHES_PAGE_SIZE) {
+      TypedQuery<Long> query = getEntityManager().createNamedQuery("WalletTransaction.getPendingTransactionIds", Long.class);
+      query.setParameter("ids", idsList.subList(i, Math.min(i + HASHES_PAGE_SIZE, idsList.size())));
+      pendingIds.addAll(query.getResultList());
+    }
+    return pendingIds;
+  }
+
+  /**
+   * Marks a stored transaction as not pending using a conditional update
+   * statement, thus when the same transaction is saved concurrently, only one
+   * of the saving operations makes the transition
+   *
+   * @param id transaction technical identifier
+   * @return true if the stored transaction was pending and has been marked as
+   *         not pending by this call
+   */
+  @ExoTransactional
+  public boolean markAsNotPending(long id) {
+    Query query = getEntityManager().createNamedQuery("WalletTransaction.markAsNotPending");
+    query.setParameter("id", id);
+    return query.executeUpdate() == 1;
+  }
+
   public TransactionEntity getPendingTransactionByHash(String hash) {
     TypedQuery<TransactionEntity> query = getEntityManager().createNamedQuery("WalletTransaction.getPendingTransactionByHash",
                                                                               TransactionEntity.class);
@@ -200,6 +358,30 @@ public class WalletTransactionDAO extends GenericDAOJPAImpl<TransactionEntity, L
     return toNotNullList(resultList);
   }
 
+  /**
+   * @param networkId blockchain network id
+   * @param fromAddress transaction sender address
+   * @param nonces {@link Collection} of transaction nonces
+   * @return {@link List} of pending {@link TransactionEntity} of the sender
+   *         having one of the nonces
+   */
+  public List<TransactionEntity> getPendingTransactionsWithNonces(long networkId, String fromAddress, Collection<Long> nonces) {
+    if (nonces == null || nonces.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<Long> noncesList = nonces.stream().distinct().toList();
+    List<TransactionEntity> transactionEntities = new ArrayList<>();
+    for (int i = 0; i < noncesList.size(); i += HASHES_PAGE_SIZE) {
+      TypedQuery<TransactionEntity> query = getEntityManager().createNamedQuery("WalletTransaction.getPendingTransactionsWithNonces",
+                                                                                TransactionEntity.class);
+      query.setParameter("nonces", noncesList.subList(i, Math.min(i + HASHES_PAGE_SIZE, noncesList.size())));
+      query.setParameter(NETWORK_ID_PARAM, networkId);
+      query.setParameter(ADDRESS_PARAM, StringUtils.lowerCase(fromAddress));
+      transactionEntities.addAll(query.getResultList());
+    }
+    return transactionEntities;
+  }
+
   public long countPendingTransactionsWithSameNonce(long networkId, String transactionHash, String fromAddress, long nonce) {
     TypedQuery<Long> query = getEntityManager().createNamedQuery("WalletTransaction.countPendingTransactionsWithSameNonce", Long.class);
     query.setParameter(NONCE_PARAM, nonce);
@@ -219,32 +401,43 @@ public class WalletTransactionDAO extends GenericDAOJPAImpl<TransactionEntity, L
     return toNotNullLong(result);
   }
 
-  public double countReceivedContractAmount(String contractAddress,
-                                            String address,
-                                            ZonedDateTime startDate,
-                                            ZonedDateTime endDate) {
-    TypedQuery<Double> query = getEntityManager().createNamedQuery("WalletTransaction.countReceivedContractAmount",
-                                                                   Double.class);
-    query.setParameter(CONTRACT_ADDRESS_PARAM, StringUtils.lowerCase(contractAddress));
-    query.setParameter(ADDRESS_PARAM, StringUtils.lowerCase(address));
-    query.setParameter(START_DATE, toMilliSeconds(startDate));
-    query.setParameter(END_DATE, toMilliSeconds(endDate));
-    Double result = query.getSingleResult();
-    return toNotNullDouble(result);
-  }
-
-  public double countSentContractAmount(String contractAddress,
-                                        String address,
-                                        ZonedDateTime startDate,
-                                        ZonedDateTime endDate) {
-    TypedQuery<Double> query = getEntityManager().createNamedQuery("WalletTransaction.countSentContractAmount",
-                                                                   Double.class);
+  /**
+   * @param contractAddress contract address
+   * @param startDate start date in milliseconds, inclusive
+   * @param endDate end date in milliseconds, exclusive
+   * @return amounts received by each wallet through mined contract transfers
+   */
+  public Map<String, Double> getReceivedContractAmounts(String contractAddress, long startDate, long endDate) {
+    return getContractAmountsByAddress("WalletTransaction.sumReceivedContractAmountsByAddress",
+                                       contractAddress,
+                                       startDate,
+                                       endDate);
+  }
+
+  /**
+   * @param contractAddress contract address
+   * @param startDate start date in milliseconds, inclusive
+   * @param endDate end date in milliseconds, exclusive
+   * @return amounts sent by each wallet through mined contract transfers
+   */
+  public Map<String, Double> getSentContractAmounts(String contractAddress, long startDate, long endDate) {
+    return getContractAmountsByAddress("WalletTransaction.sumSentContractAmountsByAddress",
+                                       contractAddress,
+                                       startDate,
+                                       endDate);
+  }
+
+  /**
+   * @param contractAddress contract address
+   * @return creation date in milliseconds of first stored transaction of the
+   *         contract, 0 if none
+   */
+  public long getFirstContractTransactionDate(String contractAddress) {
+    TypedQuery<Long> query = getEntityManager().createNamedQuery("WalletTransaction.getFirstContractTransactionDate",
+                                                                 Long.class);
     query.setParameter(CONTRACT_ADDRESS_PARAM, StringUtils.lowerCase(contractAddress));
-    query.setParameter(ADDRESS_PARAM, StringUtils.lowerCase(address));
-    query.setParameter(START_DATE, toMilliSeconds(startDate));
-    query.setParameter(END_DATE, toMilliSeconds(endDate));
-    Double result = query.getSingleResult();
-    return toNotNullDouble(result);
+    Long result = query.getSingleResult();
+    return toNotNullLong(result);
   }
 
   public List<TransactionEntity> getTransactionsToSend(long networkId) {
@@ -273,8 +466,32 @@ public class WalletTransactionDAO extends GenericDAOJPAImpl<TransactionEntity, L
     return toNotNullLong(result);
   }
 
-  private long toMilliSeconds(ZonedDateTime date) {
-    return date.toInstant().toEpochMilli();
+  private Map<String, Double> getContractAmountsByAddress(String queryName,
+                                                         String contractAddress,
+                                                         long startDate,
+                                                         long endDate) {
+    TypedQuery<Object[]> query = getEntityManager().createNamedQuery(queryName, Object[].class);
+    query.setParameter(CONTRACT_ADDRESS_PARAM, StringUtils.lowerCase(contractAddress));
+    query.setParameter(START_DATE, startDate);
+    query.setParameter(END_DATE, endDate);
+    List<Object[]> resultList = query.getResultList();
+    if (resultList == null || resultList.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    Map<String, Double> amounts = new HashMap<>();
+    for (Object[] result : resultList) {
+      if (result[0] != null && result[1] != null) {
+        amounts.put((String) result[0], ((Number) result[1]).doubleValue());
+      }
+    }
+    return amounts;
+  }
+
+  private void setCursorParameters(TypedQuery<TransactionEntity> query, Long cursorCreatedDate, long cursorId) {
+    if (cursorCreatedDate != null) {
+      query.setParameter(CURSOR_DATE_PARAM, cursorCreatedDate);
+      query.setParameter(CURSOR_ID_PARAM, cursorId);
+    }
   }
 
   private List<TransactionEntity> toNotNullList(List<TransactionEntity> result) {
@@ -285,10 +502,6 @@ public class WalletTransactionDAO extends GenericDAOJPAImpl<TransactionEntity, L
     return result == null ? 0 : result;
   }
 
-  private double toNotNullDouble(Double result) {
-    return result == null ? 0 : result;
-  }
-
   private TransactionEntity getFirstItem(List<TransactionEntity> resultList) {
     return resultList == null || resultList.isEmpty() ? null : resultList.get(0);
   }
@@ -0,0 +1,138 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import org.apache.commons.lang3.StringUtils;
+
+import org.exoplatform.commons.api.persistence.ExoTransactional;
+import org.exoplatform.commons.persistence.impl.GenericDAOJPAImpl;
+import org.exoplatform.wallet.entity.TransactionDailyRollupEntity;
+
+public class WalletTransactionDailyRollupDAO extends GenericDAOJPAImpl<TransactionDailyRollupEntity, Long> {
+
+  private static final String ADDRESS_PARAM          = "address";
+
+  private static final String CONTRACT_ADDRESS_PARAM = "contractAddress";
+
+  private static final String DAY_PARAM              = "day";
+
+  /**
+   * @param address wallet address
+   * @param contractAddress contract address
+   * @param startDay first epoch day to retrieve, inclusive
+   * @param endDay last epoch day to retrieve, exclusive
+   * @return {@link List} of {@link TransactionDailyRollupEntity} sorted by day
+   */
+  public List<TransactionDailyRollupEntity> getRollups(String address, String contractAddress, long startDay, long endDay) {
+    TypedQuery<TransactionDailyRollupEntity> query =
+                                                   getEntityManager().createNamedQuery("WalletTransactionDailyRollup.getRollups",
+                                                                                       TransactionDailyRollupEntity.class);
+    query.setParameter(ADDRESS_PARAM, StringUtils.lowerCase(address));
+    query.setParameter(CONTRACT_ADDRESS_PARAM, StringUtils.lowerCase(contractAddress));
+    query.setParameter("startDay", startDay);
+    query.setParameter("endDay", endDay);
+    List<TransactionDailyRollupEntity> result = query.getResultList();
+    return result == null ? Collections.emptyList() : result;
+  }
+
+  /**
+   * Adds amounts to the rollup of a wallet for a given day using a single
+   * update statement, the rollup is created if not existing yet. When the
+   * rollup is created concurrently by another transaction, a
+   * {@link PersistenceException} is thrown and the operation can be retried
+   * in a new transaction, in which the update statement will apply.
+   *
+   * @param address wallet address
+   * @param contractAddress contract address
+   * @param day epoch day
+   * @param income received amount to add
+   * @param outcome sent amount to add
+   */
+  @ExoTransactional
+  public void addAmounts(String address, String contractAddress, long day, double income, double outcome) {
+    address = StringUtils.lowerCase(address);
+    contractAddress = StringUtils.lowerCase(contractAddress);
+    Query query = getEntityManager().createNamedQuery("WalletTransactionDailyRollup.addAmounts");
+    query.setParameter(ADDRESS_PARAM, address);
+    query.setParameter(CONTRACT_ADDRESS_PARAM, contractAddress);
+    query.setParameter(DAY_PARAM, day);
+    query.setParameter("income", income);
+    query.setParameter("outcome", outcome);
+    if (query.executeUpdate() == 0) {
+      persistAndFlush(Collections.singletonList(new TransactionDailyRollupEntity(address,
+                                                                                  contractAddress,
+                                                                                  day,
+                                                                                  income,
+                                                                                  outcome)));
+    }
+  }
+
+  /**
+   * Replaces all rollups of a contract for a given day. When a rollup of the
+   * day is created concurrently by another transaction, a
+   * {@link PersistenceException} is thrown and the operation can be retried
+   * in a new transaction.
+   *
+   * @param contractAddress contract address
+   * @param day epoch day
+   * @param amounts received and sent amounts, in this order, by wallet
+   *          address
+   */
+  @ExoTransactional
+  public void replaceDayRollups(String contractAddress, long day, Map<String, double[]> amounts) {
+    contractAddress = StringUtils.lowerCase(contractAddress);
+    EntityManager entityManager = getEntityManager();
+    Query query = entityManager.createNamedQuery("WalletTransactionDailyRollup.deleteDayRollups");
+    query.setParameter(CONTRACT_ADDRESS_PARAM, contractAddress);
+    query.setParameter(DAY_PARAM, day);
+    query.executeUpdate();
+    List<TransactionDailyRollupEntity> rollups = new ArrayList<>(amounts.size());
+    for (Map.Entry<String, double[]> entry : amounts.entrySet()) {
+      double[] addressAmounts = entry.getValue();
+      rollups.add(new TransactionDailyRollupEntity(StringUtils.lowerCase(entry.getKey()),
+                                                   contractAddress,
+                                                   day,
+                                                   addressAmounts[0],
+                                                   addressAmounts[1]));
+    }
+    persistAndFlush(rollups);
+  }
+
+  private void persistAndFlush(List<TransactionDailyRollupEntity> rollups) {
+    EntityManager entityManager = getEntityManager();
+    try {
+      rollups.forEach(entityManager::persist);
+      // Flush to get unique constraint violations here instead of on commit
+      entityManager.flush();
+    } catch (PersistenceException e) {
+      // Avoid flushing again the rejected rollups on next operations
+      rollups.stream().filter(entityManager::contains).forEach(entityManager::detach);
+      throw e;
+    }
+  }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.dao;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import org.apache.commons.lang3.StringUtils;
+
+import org.exoplatform.wallet.entity.TransactionEntity;
+
+/**
+ * Builds the query retrieving transactions of a wallet. Filter values are
+ * always bound as named parameters, thus the JPQL statement only depends on
+ * which filters are used and not on their values. This allows Hibernate query
+ * plan cache and database statements cache to reuse the same statement for
+ * all wallets.
+ */
+public class WalletTransactionQueryBuilder {
+
+  private static final String               NETWORK_ID_PARAM                  = "networkId";
+
+  private static final String               ADDRESS_PARAM                     = "address";
+
+  private static final String               CONTRACT_ADDRESS_PARAM            = "contractAddress";
+
+  private static final String               CONTRACT_METHOD_NAME_PARAM        = "methodName";
+
+  private static final String               CURSOR_DATE_PARAM                 = "cursorDate";
+
+  private static final String               CURSOR_ID_PARAM                   = "cursorId";
+
+  private static final int                  EXCLUDE_ADMIN_FILTER              = 1;
+
+  private static final int                  ONLY_PENDING_FILTER               = 1 << 1;
+
+  private static final int                  CONTRACT_ADDRESS_FILTER           = 1 << 2;
+
+  private static final int                  METHOD_NAME_FILTER                = 1 << 3;
+
+  private static final int                  CURSOR_FILTER                     = 1 << 4;
+
+  private static final Map<Integer, String> QUERIES                           = new ConcurrentHashMap<>();
+
+  private long                              networkId;
+
+  private String                            address;
+
+  private String                            contractAddress;
+
+  private String                            contractMethodName;
+
+  private boolean                           onlyPending;
+
+  private boolean                           includeAdministrationTransactions = true;
+
+  private Long                              cursorCreatedDate;
+
+  private long                              cursorId;
+
+  public WalletTransactionQueryBuilder(long networkId, String address) {
+    this.networkId = networkId;
+    this.address = StringUtils.lowerCase(address);
+  }
+
+  public WalletTransactionQueryBuilder withContractAddress(String contractAddress) {
+    this.contractAddress = StringUtils.lowerCase(contractAddress);
+    return this;
+  }
+
+  public WalletTransactionQueryBuilder withContractMethodName(String contractMethodName) {
+    this.contractMethodName = contractMethodName;
+    return this;
+  }
+
+  public WalletTransactionQueryBuilder onlyPending(boolean onlyPending) {
+    this.onlyPending = onlyPending;
+    return this;
+  }
+
+  public WalletTransactionQueryBuilder includeAdministrationTransactions(boolean includeAdministrationTransactions) {
+    this.includeAdministrationTransactions = includeAdministrationTransactions;
+    return this;
+  }
+
+  /**
+   * Restricts results to transactions strictly older than the given position
+   * in the list sorted by creation date and identifier descending
+   *
+   * @param createdDate creation date of last retrieved transaction
+   * @param id identifier of last retrieved transaction
+   * @return this builder
+   */
+  public WalletTransactionQueryBuilder before(long createdDate, long id) {
+    this.cursorCreatedDate = createdDate;
+    this.cursorId = id;
+    return this;
+  }
+
+  /**
+   * @param entityManager {@link EntityManager} used to create the query
+   * @return {@link TypedQuery} with all filter values bound as parameters
+   */
+  public TypedQuery<TransactionEntity> build(EntityManager entityManager) {
+    TypedQuery<TransactionEntity> query = entityManager.createQuery(getQueryString(), TransactionEntity.class);
+    query.setParameter(NETWORK_ID_PARAM, networkId);
+    query.setParameter(ADDRESS_PARAM, address);
+    if (StringUtils.isNotBlank(contractAddress)) {
+      query.setParameter(CONTRACT_ADDRESS_PARAM, contractAddress);
+    }
+    if (StringUtils.isNotBlank(contractMethodName)) {
+      query.setParameter(CONTRACT_METHOD_NAME_PARAM, contractMethodName);
+    }
+    if (cursorCreatedDate != null) {
+      query.setParameter(CURSOR_DATE_PARAM, cursorCreatedDate);
+      query.setParameter(CURSOR_ID_PARAM, cursorId);
+    }
+    return query;
+  }
+
+  /**
+   * @return JPQL statement matching used filters, the same instance is
+   *         returned for the same filters combination
+   */
+  public String getQueryString() {
+    return QUERIES.computeIfAbsent(getFilters(), WalletTransactionQueryBuilder::buildQueryString);
+  }
+
+  private int getFilters() {
+    int filters = 0;
+    if (!includeAdministrationTransactions) {
+      filters |= EXCLUDE_ADMIN_FILTER;
+    }
+    if (onlyPending) {
+      filters |= ONLY_PENDING_FILTER;
+    }
+    if (StringUtils.isNotBlank(contractAddress)) {
+      filters |= CONTRACT_ADDRESS_FILTER;
+    }
+    if (StringUtils.isNotBlank(contractMethodName)) {
+      filters |= METHOD_NAME_FILTER;
+    }
+    if (cursorCreatedDate != null) {
+      filters |= CURSOR_FILTER;
+    }
+    return filters;
+  }
+
+  private static String buildQueryString(int filters) {
+    StringBuilder queryString = new StringBuilder("SELECT tx FROM WalletTransaction tx WHERE tx.networkId = :");
+    queryString.append(NETWORK_ID_PARAM);
+    if ((filters & EXCLUDE_ADMIN_FILTER) != 0) {
+      queryString.append(" AND tx.isAdminOperation = FALSE");
+    }
+    queryString.append(" AND tx.isDropped = FALSE");
+    queryString.append(" AND (tx.fromAddress = :").append(ADDRESS_PARAM);
+    queryString.append(" OR tx.toAddress = :").append(ADDRESS_PARAM);
+    queryString.append(" OR tx.byAddress = :").append(ADDRESS_PARAM).append(")");
+    if ((filters & METHOD_NAME_FILTER) != 0) {
+      queryString.append(" AND tx.contractMethodName = :").append(CONTRACT_METHOD_NAME_PARAM);
+    }
+    if ((filters & ONLY_PENDING_FILTER) != 0) {
+      queryString.append(" AND tx.isPending = TRUE");
+    }
+    if ((filters & CONTRACT_ADDRESS_FILTER) != 0) {
+      queryString.append(" AND tx.contractAddress = :").append(CONTRACT_ADDRESS_PARAM);
+    }
+    if ((filters & CURSOR_FILTER) != 0) {
+      queryString.append(" AND (tx.createdDate < :").append(CURSOR_DATE_PARAM);
+      queryString.append(" OR (tx.createdDate = :").append(CURSOR_DATE_PARAM);
+      queryString.append(" AND tx.id < :").append(CURSOR_ID_PARAM).append("))");
+    }
+    queryString.append(" ORDER BY tx.createdDate DESC, tx.id DESC");
+    return queryString.toString();
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.*;
+
+import org.exoplatform.commons.api.persistence.ExoEntity;
+
+/**
+ * Token amounts received and sent by a wallet on a contract during a day,
+ * computed from mined transactions. The day is the epoch day in server time
+ * zone.
+ */
+@Entity(name = "WalletTransactionDailyRollup")
+@ExoEntity
+@Table(name = "ADDONS_WALLET_TX_DAILY_ROLLUP")
+@NamedQuery(name = "WalletTransactionDailyRollup.getRollups", query = "SELECT r FROM WalletTransactionDailyRollup r WHERE r.address = :address AND r.contractAddress = :contractAddress AND r.day >= :startDay AND r.day < :endDay ORDER BY r.day ASC")
+@NamedQuery(name = "WalletTransactionDailyRollup.addAmounts", query = "UPDATE WalletTransactionDailyRollup r SET r.income = r.income + :income, r.outcome = r.outcome + :outcome WHERE r.address = :address AND r.contractAddress = :contractAddress AND r.day = :day")
+@NamedQuery(name = "WalletTransactionDailyRollup.deleteDayRollups", query = "DELETE FROM WalletTransactionDailyRollup r WHERE r.contractAddress = :contractAddress AND r.day = :day")
+public class TransactionDailyRollupEntity implements Serializable {
+
+  private static final long serialVersionUID = 2370151931455327012L;
+
+  @Id
+  @SequenceGenerator(name = "SEQ_WALLET_TX_DAILY_ROLLUP", sequenceName = "SEQ_WALLET_TX_DAILY_ROLLUP", allocationSize = 1)
+  @GeneratedValue(strategy = GenerationType.AUTO, generator = "SEQ_WALLET_TX_DAILY_ROLLUP")
+  @Column(name = "ROLLUP_ID")
+  private Long              id;
+
+  @Column(name = "ADDRESS", nullable = false)
+  private String            address;
+
+  @Column(name = "CONTRACT_ADDRESS", nullable = false)
+  private String            contractAddress;
+
+  @Column(name = "ROLLUP_DAY", nullable = false)
+  private long              day;
+
+  @Column(name = "INCOME", nullable = false)
+  private double            income;
+
+  @Column(name = "OUTCOME", nullable = false)
+  private double            outcome;
+
+  public TransactionDailyRollupEntity() {
+  }
+
+  public TransactionDailyRollupEntity(String address, String contractAddress, long day, double income, double outcome) {
+    this.address = address;
+    this.contractAddress = contractAddress;
+    this.day = day;
+    this.income = income;
+    this.outcome = outcome;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getAddress() {
+    return address;
+  }
+
+  public void setAddress(String address) {
+    this.address = address;
+  }
+
+  public String getContractAddress() {
+    return contractAddress;
+  }
+
+  public void setContractAddress(String contractAddress) {
+    this.contractAddress = contractAddress;
+  }
+
+  public long getDay() {
+    return day;
+  }
+
+  public void setDay(long day) {
+    this.day = day;
+  }
+
+  public double getIncome() {
+    return income;
+  }
+
+  public void setIncome(double income) {
+    this.income = income;
+  }
+
+  public double getOutcome() {
+    return outcome;
+  }
+
+  public void setOutcome(double outcome) {
+    this.outcome = outcome;
+  }
+
+}
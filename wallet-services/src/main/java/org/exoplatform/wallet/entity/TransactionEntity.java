@@ -28,18 +28,27 @@ import org.exoplatform.commons.api.persistence.ExoEntity;
 @ExoEntity
 @DynamicUpdate
 @Table(name = "ADDONS_WALLET_TRANSACTION")
-@NamedQuery(name = "WalletTransaction.countReceivedContractAmount", query = "SELECT SUM(tx.contractAmount) FROM WalletTransaction tx WHERE tx.contractAddress = :contractAddress AND tx.toAddress = :address AND (tx.contractMethodName = 'reward' OR tx.contractMethodName = 'initializeAccount' OR tx.contractMethodName = 'transfer' OR tx.contractMethodName = 'transferFrom') AND tx.createdDate >= :startDate AND tx.createdDate < :endDate")
-@NamedQuery(name = "WalletTransaction.countSentContractAmount", query = "SELECT SUM(tx.contractAmount) FROM WalletTransaction tx WHERE tx.contractAddress = :contractAddress AND tx.fromAddress = :address AND (tx.contractMethodName = 'reward' OR tx.contractMethodName = 'initializeAccount' OR tx.contractMethodName = 'transfer' OR tx.contractMethodName = 'transferFrom') AND tx.createdDate >= :startDate AND tx.createdDate < :endDate")
-@NamedQuery(name = "WalletTransaction.getContractTransactions", query = "SELECT tx FROM WalletTransaction tx WHERE (tx.contractAddress = :contractAddress OR tx.toAddress = :contractAddress) ORDER BY tx.createdDate DESC")
-@NamedQuery(name = "WalletTransaction.getContractTransactionsWithMethodName", query = "SELECT tx FROM WalletTransaction tx WHERE (tx.contractAddress = :contractAddress OR tx.toAddress = :contractAddress) AND tx.contractMethodName = :methodName ORDER BY tx.createdDate DESC")
-@NamedQuery(name = "WalletTransaction.getNetworkTransactions", query = "SELECT tx FROM WalletTransaction tx WHERE tx.networkId = :networkId ORDER BY tx.createdDate DESC")
+@NamedQuery(name = "WalletTransaction.sumReceivedContractAmountsByAddress", query = "SELECT tx.toAddress, SUM(tx.contractAmount) FROM WalletTransaction tx WHERE tx.contractAddress = :contractAddress AND tx.isPending = FALSE AND tx.isSuccess = TRUE AND tx.contractMethodName IN ('reward', 'initializeAccount', 'transfer', 'transferFrom') AND tx.createdDate >= :startDate AND tx.createdDate < :endDate GROUP BY tx.toAddress")
+@NamedQuery(name = "WalletTransaction.sumSentContractAmountsByAddress", query = "SELECT tx.fromAddress, SUM(tx.contractAmount) FROM WalletTransaction tx WHERE tx.contractAddress = :contractAddress AND tx.isPending = FALSE AND tx.isSuccess = TRUE AND tx.contractMethodName IN ('reward', 'initializeAccount', 'transfer', 'transferFrom') AND tx.createdDate >= :startDate AND tx.createdDate < :endDate GROUP BY tx.fromAddress")
+@NamedQuery(name = "WalletTransaction.getFirstContractTransactionDate", query = "SELECT MIN(tx.createdDate) FROM WalletTransaction tx WHERE tx.contractAddress = :contractAddress")
+@NamedQuery(name = "WalletTransaction.getContractTransactions", query = "SELECT tx FROM WalletTransaction tx WHERE (tx.contractAddress = :contractAddress OR tx.toAddress = :contractAddress) ORDER BY tx.createdDate DESC, tx.id DESC")
+@NamedQuery(name = "WalletTransaction.getContractTransactionsBefore", query = "SELECT tx FROM WalletTransaction tx WHERE (tx.contractAddress = :contractAddress OR tx.toAddress = :contractAddress) AND (tx.createdDate < :cursorDate OR (tx.createdDate = :cursorDate AND tx.id < :cursorId)) ORDER BY tx.createdDate DESC, tx.id DESC")
+@NamedQuery(name = "WalletTransaction.getContractTransactionsWithMethodName", query = "SELECT tx FROM WalletTransaction tx WHERE (tx.contractAddress = :contractAddress OR tx.toAddress = :contractAddress) AND tx.contractMethodName = :methodName ORDER BY tx.createdDate DESC, tx.id DESC")
+@NamedQuery(name = "WalletTransaction.getContractTransactionsWithMethodNameBefore", query = "SELECT tx FROM WalletTransaction tx WHERE (tx.contractAddress = :contractAddress OR tx.toAddress = :contractAddress) AND tx.contractMethodName = :methodName AND (tx.createdDate < :cursorDate OR (tx.createdDate = :cursorDate AND tx.id < :cursorId)) ORDER BY tx.createdDate DESC, tx.id DESC")
+@NamedQuery(name = "WalletTransaction.getNetworkTransactions", query = "SELECT tx FROM WalletTransaction tx WHERE tx.networkId = :networkId ORDER BY tx.createdDate DESC, tx.id DESC")
+@NamedQuery(name = "WalletTransaction.getNetworkTransactionsBefore", query = "SELECT tx FROM WalletTransaction tx WHERE tx.networkId = :networkId AND (tx.createdDate < :cursorDate OR (tx.createdDate = :cursorDate AND tx.id < :cursorId)) ORDER BY tx.createdDate DESC, tx.id DESC")
 @NamedQuery(name = "WalletTransaction.getPendingEtherTransactions", query = "SELECT tx FROM WalletTransaction tx WHERE tx.networkId = :networkId AND (tx.fromAddress = :address OR tx.toAddress = :address) AND tx.isPending = TRUE AND tx.contractAddress IS NULL AND tx.sentDate > 0 ORDER BY tx.nonce ASC")
 @NamedQuery(name = "WalletTransaction.getPendingWalletTransactionsSent", query = "SELECT tx FROM WalletTransaction tx WHERE tx.networkId = :networkId AND tx.fromAddress = :address AND tx.isPending = TRUE AND tx.sentDate > 0 ORDER BY tx.nonce ASC")
 @NamedQuery(name = "WalletTransaction.getPendingWalletTransactionsNotSent", query = "SELECT tx FROM WalletTransaction tx WHERE tx.networkId = :networkId AND tx.fromAddress = :address AND tx.isPending = TRUE AND tx.sentDate = 0 ORDER BY tx.nonce ASC")
 @NamedQuery(name = "WalletTransaction.countContractPendingTransactionsSent", query = "SELECT count(tx) FROM WalletTransaction tx WHERE tx.networkId = :networkId AND tx.isPending = TRUE AND tx.contractAddress IS NOT NULL AND tx.sentDate > 0")
 @NamedQuery(name = "WalletTransaction.getTransactionByHash", query = "SELECT tx FROM WalletTransaction tx WHERE tx.hash = :hash order by tx.id desc")
+@NamedQuery(name = "WalletTransaction.getTransactionsByHashes", query = "SELECT tx FROM WalletTransaction tx WHERE tx.hash IN (:hashes) ORDER BY tx.id DESC")
+@NamedQuery(name = "WalletTransaction.countPendingTransactionsByHashes", query = "SELECT count(DISTINCT tx.hash) FROM WalletTransaction tx WHERE tx.hash IN (:hashes) AND tx.isPending = TRUE")
+@NamedQuery(name = "WalletTransaction.getPendingTransactionIds", query = "SELECT tx.id FROM WalletTransaction tx WHERE tx.id IN (:ids) AND tx.isPending = TRUE")
+@NamedQuery(name = "WalletTransaction.markAsNotPending", query = "UPDATE WalletTransaction tx SET tx.isPending = FALSE WHERE tx.id = :id AND tx.isPending = TRUE")
 @NamedQuery(name = "WalletTransaction.getPendingTransactionByHash", query = "SELECT tx FROM WalletTransaction tx WHERE tx.hash = :hash and tx.isPending=true order by tx.createdDate DESC")
 @NamedQuery(name = "WalletTransaction.getPendingTransactionsWithSameNonce", query = "SELECT tx FROM WalletTransaction tx WHERE tx.isPending = TRUE AND tx.nonce = :nonce AND tx.networkId = :networkId AND tx.fromAddress = :address AND tx.hash <> :hash")
+@NamedQuery(name = "WalletTransaction.getPendingTransactionsWithNonces", query = "SELECT tx FROM WalletTransaction tx WHERE tx.isPending = TRUE AND tx.nonce IN (:nonces) AND tx.networkId = :networkId AND tx.fromAddress = :address")
 @NamedQuery(name = "WalletTransaction.countPendingTransactionsWithSameNonce", query = "SELECT count(tx) FROM WalletTransaction tx WHERE tx.isPending = TRUE AND tx.nonce = :nonce AND tx.networkId = :networkId AND tx.fromAddress = :address AND tx.hash <> :hash")
 @NamedQuery(name = "WalletTransaction.getMaxUsedNonce", query = "SELECT MAX(tx.nonce) FROM WalletTransaction tx WHERE tx.networkId = :networkId AND tx.fromAddress = :address")
 @NamedQuery(name = "WalletTransaction.getTransactionsToSend", query = "SELECT tx FROM WalletTransaction tx WHERE tx.networkId = :networkId AND tx.isPending = TRUE AND tx.rawTransaction IS NOT NULL ORDER BY tx.nonce ASC")
@@ -50,8 +59,15 @@ public class TransactionEntity implements Serializable {
 
   private static final long serialVersionUID = 485850826850947238L;
 
+  /**
+   * The allocation size must match the increment of SEQ_WALLET_TRANSACTION
+   * (changeSet 1.3.0-32) on DBs using sequences, since the sequence value is
+   * used as upper bound of the identifiers allocated by a server. DBs without
+   * sequences (MySQL, MSSQL) use auto increment columns where the allocation
+   * size isn't used.
+   */
   @Id
-  @SequenceGenerator(name = "SEQ_WALLET_TRANSACTION", sequenceName = "SEQ_WALLET_TRANSACTION", allocationSize = 1)
+  @SequenceGenerator(name = "SEQ_WALLET_TRANSACTION", sequenceName = "SEQ_WALLET_TRANSACTION", allocationSize = 50)
   @GeneratedValue(strategy = GenerationType.AUTO, generator = "SEQ_WALLET_TRANSACTION")
   @Column(name = "TRANSACTION_ID")
   private long              id;
@@ -33,6 +33,14 @@ import org.exoplatform.commons.api.persistence.ExoEntity;
       name = "WalletBlockchainState.findByWalletIdAndContract",
       query = "SELECT wb FROM WalletBlockchainState wb WHERE wb.wallet.id = :walletId AND  wb.contractAddress = :contractAddress ORDER BY wb.id DESC"
   ),
+  @NamedQuery(
+      name = "WalletBlockchainState.addTokenBalance",
+      query = "UPDATE WalletBlockchainState wb SET wb.tokenBalance = wb.tokenBalance + :amount WHERE wb.contractAddress = :contractAddress AND wb.wallet.id IN (SELECT w.id FROM Wallet w WHERE w.address = :address)"
+  ),
+  @NamedQuery(
+      name = "WalletBlockchainState.updateEtherBalance",
+      query = "UPDATE WalletBlockchainState wb SET wb.etherBalance = :etherBalance, wb.isInitialized = :initialized WHERE wb.wallet.id = :walletId AND wb.contractAddress = :contractAddress"
+  ),
 })
 public class WalletBlockchainStateEntity implements Serializable {
   private static final long serialVersionUID = -7294965683405044055L;
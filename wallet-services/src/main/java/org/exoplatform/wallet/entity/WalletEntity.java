@@ -33,6 +33,9 @@ import org.exoplatform.wallet.model.WalletType;
 @DynamicUpdate
 @Table(name = "ADDONS_WALLET_ACCOUNT")
 @NamedQuery(name = "Wallet.findByAddress", query = "SELECT w FROM Wallet w WHERE LOWER(w.address) = :address")
+@NamedQuery(name = "Wallet.findByAddresses", query = "SELECT w FROM Wallet w WHERE LOWER(w.address) IN (:addresses)")
+@NamedQuery(name = "Wallet.findByIds", query = "SELECT w FROM Wallet w WHERE w.id IN (:ids)")
+@NamedQuery(name = "Wallet.findAllWithBlockchainState", query = "SELECT NEW org.exoplatform.wallet.dao.WalletStateProjection(w.id, w.type, w.address, w.passPhrase, w.isEnabled, w.isBackedUp, w.provider, w.initializationState, pk.id, wb.id, wb.etherBalance, wb.tokenBalance, wb.isInitialized) FROM Wallet w LEFT JOIN w.privateKey pk LEFT JOIN w.blockchainState wb ON wb.contractAddress = :contractAddress ORDER BY w.id ASC, wb.id DESC")
 public class WalletEntity implements Serializable {
   private static final long                       serialVersionUID = -1622032986992776281L;
 
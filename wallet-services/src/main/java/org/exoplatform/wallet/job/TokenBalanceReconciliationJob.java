@@ -0,0 +1,119 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.job;
+
+import static org.exoplatform.wallet.utils.WalletUtils.getContractAddress;
+import static org.exoplatform.wallet.utils.WalletUtils.getContractDetail;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+
+import org.exoplatform.container.ExoContainer;
+import org.exoplatform.container.ExoContainerContext;
+import org.exoplatform.container.PortalContainer;
+import org.exoplatform.container.component.RequestLifeCycle;
+import org.exoplatform.services.log.ExoLogger;
+import org.exoplatform.services.log.Log;
+import org.exoplatform.wallet.model.ContractDetail;
+import org.exoplatform.wallet.model.Wallet;
+import org.exoplatform.wallet.service.WalletAccountService;
+
+/**
+ * A job that reconciles the token balances of wallets, maintained in internal
+ * database from mined transfers, with their balances on blockchain. This
+ * fixes balances modified by transactions that weren't saved as mined in
+ * internal database, like transfers made outside the platform or missed
+ * while the server was down. To not starve real-time blockchain requests,
+ * only the token balance is read, with a single request per wallet, and the
+ * wallets are reconciled by pages over the job executions, ordered by
+ * technical identifier. The page size can be configured using
+ * {@code exo.wallet.TokenBalanceReconciliationJob.pageSize} property.
+ */
+@DisallowConcurrentExecution
+public class TokenBalanceReconciliationJob implements Job {
+
+  private static final Log        LOG                       = ExoLogger.getLogger(TokenBalanceReconciliationJob.class);
+
+  private static final int        DEFAULT_PAGE_SIZE         = 100;
+
+  // Quartz instantiates the job on each execution
+  private static final AtomicLong LAST_RECONCILED_WALLET_ID = new AtomicLong();
+
+  protected ExoContainer          container;
+
+  protected WalletAccountService  walletAccountService;
+
+  private final int               pageSize;
+
+  public TokenBalanceReconciliationJob() {
+    this.container = PortalContainer.getInstance();
+    this.walletAccountService = this.container.getComponentInstanceOfType(WalletAccountService.class);
+
+    String pageSizeParam = System.getProperty("exo.wallet.TokenBalanceReconciliationJob.pageSize");
+    this.pageSize = StringUtils.isBlank(pageSizeParam) ? DEFAULT_PAGE_SIZE : Math.max(1, Integer.parseInt(pageSizeParam));
+  }
+
+  @Override
+  public void execute(JobExecutionContext context) throws JobExecutionException {
+    ExoContainerContext.setCurrentContainer(container);
+    if (StringUtils.isBlank(getContractAddress())) {
+      return;
+    }
+    ContractDetail contractDetail = getContractDetail();
+    List<Wallet> wallets = getWalletsToReconcile(LAST_RECONCILED_WALLET_ID.get());
+    if (wallets.isEmpty() && LAST_RECONCILED_WALLET_ID.get() > 0) {
+      // All wallets were reconciled, start again from the first one
+      wallets = getWalletsToReconcile(0);
+    }
+    long startTime = System.currentTimeMillis();
+    for (Wallet wallet : wallets) {
+      RequestLifeCycle.begin(this.container);
+      try {
+        walletAccountService.refreshWalletTokenBalanceFromBlockchain(wallet, contractDetail);
+      } catch (Exception e) {
+        LOG.warn("Error while reconciling token balance of wallet {}", wallet.getAddress(), e);
+      } finally {
+        RequestLifeCycle.end();
+      }
+      LAST_RECONCILED_WALLET_ID.set(wallet.getTechnicalId());
+    }
+    LOG.debug("Token balances of {} wallets reconciled in {}ms", wallets.size(), System.currentTimeMillis() - startTime);
+  }
+
+  private List<Wallet> getWalletsToReconcile(long fromWalletId) {
+    RequestLifeCycle.begin(this.container);
+    try (Stream<Wallet> wallets = walletAccountService.streamWallets()) {
+      // Wallets without stored balance will retrieve it from blockchain on
+      // their first refresh
+      return wallets.filter(wallet -> wallet.getTechnicalId() > fromWalletId && StringUtils.isNotBlank(wallet.getAddress())
+          && wallet.getTokenBalance() != null)
+                    .limit(pageSize)
+                    .collect(Collectors.toList());
+    } finally {
+      RequestLifeCycle.end();
+    }
+  }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.job;
+
+import static org.exoplatform.wallet.utils.WalletUtils.LAST_ROLLUP_DAY_KEY_NAME;
+import static org.exoplatform.wallet.utils.WalletUtils.WALLET_CONTEXT;
+import static org.exoplatform.wallet.utils.WalletUtils.WALLET_SCOPE;
+import static org.exoplatform.wallet.utils.WalletUtils.getContractAddress;
+
+import java.time.LocalDate;
+
+import org.apache.commons.lang3.StringUtils;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+
+import org.exoplatform.commons.api.settings.SettingService;
+import org.exoplatform.commons.api.settings.SettingValue;
+import org.exoplatform.container.ExoContainer;
+import org.exoplatform.container.ExoContainerContext;
+import org.exoplatform.container.PortalContainer;
+import org.exoplatform.container.component.RequestLifeCycle;
+import org.exoplatform.services.log.ExoLogger;
+import org.exoplatform.services.log.Log;
+import org.exoplatform.wallet.service.WalletTransactionService;
+import org.exoplatform.wallet.storage.TransactionStorage;
+
+/**
+ * A job that rebuilds daily token flow rollups from stored transactions. On
+ * first execution, the rollups of the whole history are computed day by day,
+ * then each execution recomputes the days since last rebuilt day, including
+ * this one. Since a transaction can be mined up to
+ * {@link WalletTransactionService#getPendingTransactionMaxDays()} days after
+ * its creation, those days preceding the last rebuilt day are recomputed as
+ * well to reconcile rollups of days touched by transactions mined late.
+ */
+@DisallowConcurrentExecution
+public class TransactionRollupJob implements Job {
+
+  private static final Log           LOG = ExoLogger.getLogger(TransactionRollupJob.class);
+
+  protected ExoContainer             container;
+
+  protected TransactionStorage       transactionStorage;
+
+  protected SettingService           settingService;
+
+  protected WalletTransactionService transactionService;
+
+  public TransactionRollupJob() {
+    this.container = PortalContainer.getInstance();
+    this.transactionStorage = this.container.getComponentInstanceOfType(TransactionStorage.class);
+    this.settingService = this.container.getComponentInstanceOfType(SettingService.class);
+    this.transactionService = this.container.getComponentInstanceOfType(WalletTransactionService.class);
+  }
+
+  @Override
+  public void execute(JobExecutionContext context) throws JobExecutionException {
+    ExoContainerContext.setCurrentContainer(container);
+    String contractAddress = getContractAddress();
+    if (StringUtils.isBlank(contractAddress)) {
+      return;
+    }
+    LocalDate startDay = getStartDay(contractAddress);
+    if (startDay == null) {
+      return;
+    }
+    LocalDate today = LocalDate.now();
+    long startTime = System.currentTimeMillis();
+    for (LocalDate day = startDay; !day.isAfter(today); day = day.plusDays(1)) {
+      RequestLifeCycle.begin(this.container);
+      try {
+        transactionStorage.rebuildDailyRollups(contractAddress, day);
+        saveLastRollupDay(contractAddress, day);
+      } catch (Exception e) {
+        LOG.error("Error while rebuilding transactions rollups of day {}", day, e);
+        return;
+      } finally {
+        RequestLifeCycle.end();
+      }
+    }
+    LOG.debug("Transactions rollups rebuilt from {} in {}ms", startDay, System.currentTimeMillis() - startTime);
+  }
+
+  private LocalDate getStartDay(String contractAddress) {
+    RequestLifeCycle.begin(this.container);
+    try {
+      SettingValue<?> lastRollupDayValue = settingService.get(WALLET_CONTEXT,
+                                                              WALLET_SCOPE,
+                                                              LAST_ROLLUP_DAY_KEY_NAME + contractAddress);
+      if (lastRollupDayValue != null && lastRollupDayValue.getValue() != null) {
+        // Recompute last rebuilt day which may have been partially rolled up
+        // and the previous days which may have transactions mined meanwhile
+        LocalDate lastRollupDay = LocalDate.ofEpochDay(Long.parseLong(lastRollupDayValue.getValue().toString()));
+        return lastRollupDay.minusDays(Math.max(1, transactionService.getPendingTransactionMaxDays()));
+      }
+      return transactionStorage.getFirstContractTransactionDay(contractAddress);
+    } catch (Exception e) {
+      LOG.error("Error while retrieving transactions rollups start day", e);
+      return null;
+    } finally {
+      RequestLifeCycle.end();
+    }
+  }
+
+  private void saveLastRollupDay(String contractAddress, LocalDate day) {
+    settingService.set(WALLET_CONTEXT,
+                       WALLET_SCOPE,
+                       LAST_ROLLUP_DAY_KEY_NAME + contractAddress,
+                       SettingValue.create(day.toEpochDay()));
+  }
+
+}
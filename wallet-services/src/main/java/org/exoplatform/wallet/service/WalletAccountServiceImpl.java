@@ -18,6 +18,10 @@ package org.exoplatform.wallet.service;
 
 import static org.exoplatform.wallet.statistic.StatisticUtils.OPERATION;
 import static org.exoplatform.wallet.utils.WalletUtils.ADMIN_KEY_PARAMETER;
+import static org.exoplatform.wallet.utils.WalletUtils.CONTRACT_FUNC_INITIALIZEACCOUNT;
+import static org.exoplatform.wallet.utils.WalletUtils.CONTRACT_FUNC_REWARD;
+import static org.exoplatform.wallet.utils.WalletUtils.CONTRACT_FUNC_TRANSFER;
+import static org.exoplatform.wallet.utils.WalletUtils.CONTRACT_FUNC_TRANSFERFROM;
 import static org.exoplatform.wallet.utils.WalletUtils.MODIFY_ADDRESS_ASSOCIATED_EVENT;
 import static org.exoplatform.wallet.utils.WalletUtils.NEW_ADDRESS_ASSOCIATED_EVENT;
 import static org.exoplatform.wallet.utils.WalletUtils.SIMPLE_CHARS;
@@ -33,6 +37,7 @@ import static org.exoplatform.wallet.utils.WalletUtils.canAccessWallet;
 import static org.exoplatform.wallet.utils.WalletUtils.checkUserIsSpaceManager;
 import static org.exoplatform.wallet.utils.WalletUtils.computeWalletFromIdentity;
 import static org.exoplatform.wallet.utils.WalletUtils.computeWalletIdentity;
+import static org.exoplatform.wallet.utils.WalletUtils.convertFromDecimals;
 import static org.exoplatform.wallet.utils.WalletUtils.getContractAddress;
 import static org.exoplatform.wallet.utils.WalletUtils.getContractDetail;
 import static org.exoplatform.wallet.utils.WalletUtils.getIdentityById;
@@ -47,11 +52,13 @@ import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
 import java.security.SignatureException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import jakarta.servlet.ServletContext;
 
@@ -86,6 +93,7 @@ import org.exoplatform.wallet.statistic.ExoWalletStatistic;
 import org.exoplatform.wallet.statistic.ExoWalletStatisticService;
 import org.exoplatform.wallet.storage.AddressLabelStorage;
 import org.exoplatform.wallet.storage.WalletStorage;
+import org.exoplatform.wallet.utils.WalletUtils;
 
 public class WalletAccountServiceImpl implements WalletAccountService, ExoWalletStatisticService, Startable {
 
@@ -168,12 +176,31 @@ public class WalletAccountServiceImpl implements WalletAccountService, ExoWallet
 
   @Override
   public Set<Wallet> listWallets() {
-    Set<Wallet> wallets = accountStorage.listWallets();
-    wallets.forEach(wallet -> {
-      retrieveWalletBlockchainState(wallet);
+    String contractAddress = getContractAddress();
+    Set<Wallet> wallets;
+    if (StringUtils.isBlank(contractAddress)) {
+      LOG.warn("Contract address is empty, thus wallets can't be refreshed");
+      wallets = accountStorage.listWallets();
+    } else {
+      wallets = accountStorage.listWallets(contractAddress);
+      // Wallets without stored blockchain state are retrieved from blockchain
+      wallets.stream()
+             .filter(wallet -> wallet.getEtherBalance() == null && StringUtils.isNotBlank(wallet.getAddress()))
+             .forEach(wallet -> refreshWalletFromBlockchain(wallet, null, null));
+    }
+    wallets.forEach(WalletUtils::hideWalletOwnerPrivateInformation);
+    return wallets;
+  }
+
+  @Override
+  public Stream<Wallet> streamWallets() {
+    String contractAddress = getContractAddress();
+    Stream<Wallet> wallets = StringUtils.isBlank(contractAddress) ? accountStorage.listWallets().stream()
+                                                                  : accountStorage.streamWallets(contractAddress);
+    return wallets.map(wallet -> {
       hideWalletOwnerPrivateInformation(wallet);
+      return wallet;
     });
-    return wallets;
   }
 
   @Override
@@ -216,11 +243,20 @@ public class WalletAccountServiceImpl implements WalletAccountService, ExoWallet
                                                                        : walletsModifications.get(wallet.getAddress());
         accountStorage.retrieveWalletBlockchainState(wallet, contractDetail.getAddress());
         Wallet originalWallet = wallet.clone();
+        // The token balance is retrieved from blockchain only when not stored
+        // yet or when reconciling the whole wallet state, else the stored one
+        // is maintained by mined transfers and mustn't be overwritten by the
+        // value read before retrieving the wallet state
+        boolean refreshTokenBalance = wallet.getTokenBalance() == null || walletModifications == null;
 
         getTokenAdminService().retrieveWalletInformationFromBlockchain(wallet,
                                                                        contractDetail,
                                                                        walletModifications);
-        saveWalletBlockchainState(wallet, contractDetail.getAddress());
+        if (refreshTokenBalance) {
+          saveWalletBlockchainState(wallet, contractDetail.getAddress());
+        } else {
+          accountStorage.saveWalletEtherBalance(wallet, contractDetail.getAddress());
+        }
 
         if (!StringUtils.equalsIgnoreCase(wallet.getInitializationState(), WalletState.INITIALIZED.name()) &&
             !StringUtils.equalsIgnoreCase(wallet.getInitializationState(), WalletState.PENDING.name()) &&
@@ -231,8 +267,11 @@ public class WalletAccountServiceImpl implements WalletAccountService, ExoWallet
           setInitializationStatus(wallet.getAddress(), WalletState.INITIALIZED);
         }
 
+        // The token balance may already have been updated locally when the
+        // transfer transaction has been saved as mined
         if (!Objects.equals(originalWallet.getEtherBalance(), wallet.getEtherBalance())
-            || !Objects.equals(originalWallet.getTokenBalance(), wallet.getTokenBalance())) {
+            || !Objects.equals(originalWallet.getTokenBalance(), wallet.getTokenBalance())
+            || isTokenTransfer(walletModifications)) {
           getListenerService().broadcast(WALLET_MODIFIED_EVENT, null, wallet);
         }
       } catch (Exception e) {
@@ -246,6 +285,36 @@ public class WalletAccountServiceImpl implements WalletAccountService, ExoWallet
     }
   }
 
+  @Override
+  public void refreshWalletTokenBalanceFromBlockchain(Wallet wallet, ContractDetail contractDetail) {
+    if (wallet == null || StringUtils.isBlank(wallet.getAddress())) {
+      return;
+    }
+
+    if (contractDetail == null) {
+      contractDetail = getSettings().getContractDetail();
+    }
+
+    if (getTokenAdminService() == null) {
+      LOG.warn("Can't refresh wallet token balance from blockchain because TokenAdminService isn't initialized yet");
+    } else {
+      try {
+        BigInteger tokenBalance = getTokenAdminService().getTokenBalanceOfAtLastWatchedBlock(wallet.getAddress());
+        double blockchainTokenBalance = convertFromDecimals(tokenBalance, contractDetail.getDecimals());
+        // Retrieve last stored state to not overwrite the ether balance with
+        // an outdated value
+        accountStorage.retrieveWalletBlockchainState(wallet, contractDetail.getAddress());
+        if (!Objects.equals(wallet.getTokenBalance(), blockchainTokenBalance)) {
+          wallet.setTokenBalance(blockchainTokenBalance);
+          saveWalletBlockchainState(wallet, contractDetail.getAddress());
+          getListenerService().broadcast(WALLET_MODIFIED_EVENT, null, wallet);
+        }
+      } catch (Exception e) {
+        LOG.error("Error refreshing wallet token balance on blockchain", e);
+      }
+    }
+  }
+
   @Override
   public long getWalletsCount() {
     return accountStorage.getWalletsCount();
@@ -409,6 +478,43 @@ public class WalletAccountServiceImpl implements WalletAccountService, ExoWallet
     return getWalletByAddress(address, null);
   }
 
+  @Override
+  public Map<String, Wallet> getWalletsByAddresses(Collection<String> addresses) {
+    if (addresses == null || addresses.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    Map<String, Wallet> wallets = accountStorage.getWalletsByAddresses(addresses, getContractAddress());
+    wallets.values().forEach(wallet -> computeWalletFromIdentity(wallet, getIdentityById(wallet.getTechnicalId())));
+    return wallets;
+  }
+
+  @Override
+  public Map<Long, Wallet> getWalletsByIdentityIds(Collection<Long> identityIds) {
+    if (identityIds == null || identityIds.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    Map<Long, Wallet> storedWallets = accountStorage.getWalletsByIdentityIds(identityIds, getContractAddress());
+    Map<Long, Wallet> wallets = new HashMap<>();
+    for (Long identityId : identityIds) {
+      if (identityId == null || identityId == 0 || wallets.containsKey(identityId)) {
+        continue;
+      }
+      Identity identity = getIdentityById(identityId);
+      if (identity == null) {
+        LOG.debug("Can't find identity with id {}", identityId);
+        continue;
+      }
+      Wallet wallet = storedWallets.get(identityId);
+      if (wallet == null) {
+        wallet = new Wallet();
+        wallet.setEnabled(true);
+      }
+      computeWalletFromIdentity(wallet, identity);
+      wallets.put(identityId, wallet);
+    }
+    return wallets;
+  }
+
   @Override
   public void createAdminAccount(String privateKey, String currentUser) throws IllegalAccessException {
     getTokenAdminService().createAdminAccount(privateKey, currentUser);
@@ -1030,4 +1136,12 @@ public class WalletAccountServiceImpl implements WalletAccountService, ExoWallet
     return value != null && Boolean.parseBoolean(value.getValue().toString());
   }
 
+  private boolean isTokenTransfer(Set<String> walletModifications) {
+    return walletModifications != null
+        && (walletModifications.contains(CONTRACT_FUNC_TRANSFER)
+            || walletModifications.contains(CONTRACT_FUNC_TRANSFERFROM)
+            || walletModifications.contains(CONTRACT_FUNC_REWARD)
+            || walletModifications.contains(CONTRACT_FUNC_INITIALIZEACCOUNT));
+  }
+
 }
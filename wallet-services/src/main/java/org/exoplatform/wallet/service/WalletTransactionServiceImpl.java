@@ -35,9 +35,13 @@ import org.exoplatform.services.log.Log;
 import org.exoplatform.social.core.space.model.Space;
 import org.exoplatform.social.core.space.spi.SpaceService;
 import org.exoplatform.wallet.model.*;
+import org.exoplatform.wallet.model.transaction.TransactionCursor;
+import org.exoplatform.wallet.model.transaction.TransactionDailyAmount;
 import org.exoplatform.wallet.model.transaction.TransactionDetail;
+import org.exoplatform.wallet.model.transaction.TransactionDetailPage;
 import org.exoplatform.wallet.model.transaction.TransactionStatistics;
 import org.exoplatform.wallet.storage.TransactionStorage;
+import org.exoplatform.wallet.utils.WalletUtils;
 
 public class WalletTransactionServiceImpl implements WalletTransactionService {
 
@@ -140,30 +144,58 @@ public class WalletTransactionServiceImpl implements WalletTransactionService {
                                                  boolean onlyPending,
                                                  boolean administration,
                                                  String currentUser) throws IllegalAccessException {
-    if (administration && !isUserRewardingAdmin(currentUser)) {
-      throw new IllegalAccessException(currentUser + " user is not allowed to get administrative transactions");
-    }
+    return getTransactions(address,
+                           contractAddress,
+                           contractMethodName,
+                           hash,
+                           null,
+                           limit,
+                           onlyPending,
+                           administration,
+                           currentUser);
+  }
 
-    if (contractService.isContract(address)) {
-      if (isUserRewardingAdmin(currentUser)) {
-        return getContractTransactions(address, contractMethodName, limit, currentUser);
-      } else {
-        throw new IllegalAccessException(currentUser + " user is not allowed to get all contract transactions");
-      }
-    } else if (StringUtils.isNotBlank(address)) {
-      return getWalletTransactions(address,
-                                   contractAddress,
-                                   contractMethodName,
-                                   hash,
-                                   limit,
-                                   onlyPending,
-                                   administration,
-                                   currentUser);
-    } else if (administration) {
-      return getTransactions(limit, currentUser);
-    } else {
-      throw new IllegalStateException(currentUser + " user is not allowed to get all contract transactions");
-    }
+  @Override
+  public TransactionDetailPage getTransactionsPage(String address, // NOSONAR
+                                                   String contractAddress,
+                                                   String contractMethodName,
+                                                   String hash,
+                                                   String cursor,
+                                                   int limit,
+                                                   boolean onlyPending,
+                                                   boolean administration,
+                                                   String currentUser) throws IllegalAccessException {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Transactions page limit must be positive");
+    }
+    TransactionCursor transactionCursor = TransactionCursor.decode(cursor);
+    // Retrieve one more transaction to know whether a next page exists
+    List<TransactionDetail> transactionDetails = getTransactions(address,
+                                                                 contractAddress,
+                                                                 contractMethodName,
+                                                                 transactionCursor == null ? hash : null,
+                                                                 transactionCursor,
+                                                                 limit + 1,
+                                                                 onlyPending,
+                                                                 administration,
+                                                                 currentUser);
+    // When searching for a hash, the storage may return more transactions than
+    // requested to include the searched one, thus the first page is extended up
+    // to it to not break the list order
+    int pageSize = limit;
+    if (transactionCursor == null && StringUtils.isNotBlank(hash)) {
+      pageSize = Math.max(limit, getTransactionIndex(transactionDetails, hash) + 1);
+    }
+    String nextCursor = null;
+    if (transactionDetails.size() > pageSize) {
+      transactionDetails = new ArrayList<>(transactionDetails.subList(0, pageSize));
+      nextCursor = TransactionCursor.of(transactionDetails.get(transactionDetails.size() - 1)).encode();
+    } else if (pageSize > limit) {
+      // The searched transaction is the last retrieved one, older transactions
+      // may exist
+      nextCursor = TransactionCursor.of(transactionDetails.get(transactionDetails.size() - 1)).encode();
+    }
+    return new TransactionDetailPage(transactionDetails, nextCursor);
   }
 
   @Override
@@ -224,22 +256,25 @@ public class WalletTransactionServiceImpl implements WalletTransactionService {
       throw new IllegalArgumentException("Uknown periodicity parameter: " + periodicity);
     }
 
-    // Compute income and outcome
-    for (LocalDate startDate : periodList) {
-      ZonedDateTime startDateTime = startDate.atStartOfDay(ZoneId.systemDefault());
-      ZonedDateTime endDateTime = getEndDate(startDate, periodicity);
-
-      String contractAddress = getContractAddress();
-      double receivedContractAmount = transactionStorage.countReceivedContractAmount(contractAddress,
-                                                                                     address,
-                                                                                     startDateTime,
-                                                                                     endDateTime);
-      transactionStatistics.getIncome().add(String.valueOf(receivedContractAmount));
-      double sentContractAmount = transactionStorage.countSentContractAmount(contractAddress,
-                                                                             address,
-                                                                             startDateTime,
-                                                                             endDateTime);
-      transactionStatistics.getOutcome().add(String.valueOf(sentContractAmount));
+    // Compute income and outcome from daily rollups of the whole period
+    LocalDate endDate = getEndDate(periodList.get(periodList.size() - 1), periodicity).toLocalDate();
+    List<TransactionDailyAmount> dailyAmounts = transactionStorage.getDailyContractAmounts(getContractAddress(),
+                                                                                           address,
+                                                                                           periodList.get(0),
+                                                                                           endDate);
+    double[] income = new double[periodList.size()];
+    double[] outcome = new double[periodList.size()];
+    int periodIndex = 0;
+    for (TransactionDailyAmount dailyAmount : dailyAmounts) {
+      while (periodIndex < periodList.size() - 1 && !dailyAmount.getDay().isBefore(periodList.get(periodIndex + 1))) {
+        periodIndex++;
+      }
+      income[periodIndex] += dailyAmount.getIncome();
+      outcome[periodIndex] += dailyAmount.getOutcome();
+    }
+    for (int i = 0; i < periodList.size(); i++) {
+      transactionStatistics.getIncome().add(String.valueOf(income[i]));
+      transactionStatistics.getOutcome().add(String.valueOf(outcome[i]));
     }
     return transactionStatistics;
   }
@@ -283,6 +318,24 @@ public class WalletTransactionServiceImpl implements WalletTransactionService {
     return transactionDetail;
   }
 
+  @Override
+  public Map<String, TransactionDetail> getTransactionsByHashes(Collection<String> hashes) {
+    if (hashes == null || hashes.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    Map<String, TransactionDetail> transactions = transactionStorage.getTransactionsByHashes(hashes);
+    retrieveWalletsDetails(new ArrayList<>(transactions.values()));
+    return transactions;
+  }
+
+  @Override
+  public long countPendingTransactionsByHashes(Collection<String> hashes) {
+    if (hashes == null || hashes.isEmpty()) {
+      return 0;
+    }
+    return transactionStorage.countPendingTransactionsByHashes(hashes);
+  }
+
   @Override
   public TransactionDetail getPendingTransactionByHash(String hash) {
     TransactionDetail transactionDetail = transactionStorage.getPendingTransactionByHash(hash);
@@ -301,6 +354,11 @@ public class WalletTransactionServiceImpl implements WalletTransactionService {
     }
   }
 
+  @Override
+  public void saveTransactionDetails(List<TransactionDetail> transactionDetails) {
+    transactionStorage.saveTransactionDetails(transactionDetails);
+  }
+
   @Override
   public long countPendingTransactionsWithSameNonce(String transactionHash, String fromAddress, long nonce) {
     return transactionStorage.countPendingTransactionsWithSameNonce(getNetworkId(), transactionHash, fromAddress, nonce);
@@ -316,14 +374,48 @@ public class WalletTransactionServiceImpl implements WalletTransactionService {
     if (CollectionUtils.isNotEmpty(transactions)) {
       // Change status of other transactions having same nonce only when
       // none succeeded
-      transactions.forEach(replacedTransaction -> {
-        replacedTransaction.setDropped(true);
-        replacedTransaction.setPending(false);
-        replacedTransaction.setNonce(0);
-        saveTransactionDetail(replacedTransaction, true);
-        broadcastTransactionReplacedEvent(replacedTransaction, replacingTransaction);
-      });
+      transactions.forEach(replacedTransaction -> cancelReplacedTransaction(replacedTransaction, replacingTransaction));
+    }
+  }
+
+  @Override
+  public void cancelTransactionsWithSameNonce(List<TransactionDetail> replacingTransactions) {
+    if (CollectionUtils.isEmpty(replacingTransactions)) {
+      return;
     }
+    Map<String, List<TransactionDetail>> transactionsBySender = new HashMap<>();
+    for (TransactionDetail transactionDetail : replacingTransactions) {
+      if (StringUtils.isNotBlank(transactionDetail.getFrom())) {
+        String senderKey = transactionDetail.getNetworkId() + "-" + StringUtils.lowerCase(transactionDetail.getFrom());
+        transactionsBySender.computeIfAbsent(senderKey, key -> new ArrayList<>()).add(transactionDetail);
+      }
+    }
+    for (List<TransactionDetail> senderTransactions : transactionsBySender.values()) {
+      Map<Long, TransactionDetail> transactionsByNonce = new HashMap<>();
+      Set<String> transactionHashes = new HashSet<>();
+      for (TransactionDetail transactionDetail : senderTransactions) {
+        transactionsByNonce.putIfAbsent(transactionDetail.getNonce(), transactionDetail);
+        transactionHashes.add(StringUtils.lowerCase(transactionDetail.getHash()));
+      }
+      TransactionDetail senderTransaction = senderTransactions.get(0);
+      List<TransactionDetail> pendingTransactions =
+                                                  transactionStorage.getPendingTransactionsWithNonces(senderTransaction.getNetworkId(),
+                                                                                                      senderTransaction.getFrom(),
+                                                                                                      transactionsByNonce.keySet());
+      for (TransactionDetail pendingTransaction : pendingTransactions) {
+        if (!transactionHashes.contains(StringUtils.lowerCase(pendingTransaction.getHash()))) {
+          cancelReplacedTransaction(pendingTransaction, transactionsByNonce.get(pendingTransaction.getNonce()));
+        }
+      }
+    }
+  }
+
+  private void cancelReplacedTransaction(TransactionDetail replacedTransaction, TransactionDetail replacingTransaction) {
+    replacedTransaction.setDropped(true);
+    replacedTransaction.setPending(false);
+    replacedTransaction.setNonce(0);
+    saveTransactionDetail(replacedTransaction, true);
+    broadcastTransactionReplacedEvent(replacedTransaction, replacingTransaction);
   }
 
   @Override
@@ -353,13 +445,19 @@ public class WalletTransactionServiceImpl implements WalletTransactionService {
   @Override
   public List<TransactionDetail> getTransactionsToSend() {
     List<TransactionDetail> transactionsToSend = transactionStorage.getTransactionsToSend(getNetworkId());
-    transactionsToSend.forEach(this::retrieveWalletsDetails);
+    retrieveWalletsDetails(transactionsToSend);
     return transactionsToSend;
   }
 
   @Override
   public boolean canSendTransactionToBlockchain(String fromAddress) {
-    return transactionStorage.countPendingTransactionSent(getNetworkId(), fromAddress) < this.getMaxParallelPendingTransactions();
+    return canSendTransactionToBlockchain(fromAddress, 0);
+  }
+
+  @Override
+  public boolean canSendTransactionToBlockchain(String fromAddress, long sendingTransactionsCount) {
+    long sentTransactionsCount = transactionStorage.countPendingTransactionSent(getNetworkId(), fromAddress);
+    return sentTransactionsCount + sendingTransactionsCount < this.getMaxParallelPendingTransactions();
   }
 
   @Override
@@ -377,14 +475,60 @@ public class WalletTransactionServiceImpl implements WalletTransactionService {
     return transactionStorage.countTransactions();
   }
 
-  private List<TransactionDetail> getTransactions(int limit, String currentUser) {
-    List<TransactionDetail> transactionDetails = transactionStorage.getTransactions(getNetworkId(), limit);
-    transactionDetails.stream().forEach(transactionDetail -> retrieveWalletsDetails(transactionDetail, currentUser));
+  private List<TransactionDetail> getTransactions(String address, // NOSONAR
+                                                  String contractAddress,
+                                                  String contractMethodName,
+                                                  String hash,
+                                                  TransactionCursor cursor,
+                                                  int limit,
+                                                  boolean onlyPending,
+                                                  boolean administration,
+                                                  String currentUser) throws IllegalAccessException {
+    if (administration && !isUserRewardingAdmin(currentUser)) {
+      throw new IllegalAccessException(currentUser + " user is not allowed to get administrative transactions");
+    }
+
+    if (contractService.isContract(address)) {
+      if (isUserRewardingAdmin(currentUser)) {
+        return getContractTransactions(address, contractMethodName, cursor, limit, currentUser);
+      } else {
+        throw new IllegalAccessException(currentUser + " user is not allowed to get all contract transactions");
+      }
+    } else if (StringUtils.isNotBlank(address)) {
+      return getWalletTransactions(address,
+                                   contractAddress,
+                                   contractMethodName,
+                                   hash,
+                                   cursor,
+                                   limit,
+                                   onlyPending,
+                                   administration,
+                                   currentUser);
+    } else if (administration) {
+      return getTransactions(cursor, limit, currentUser);
+    } else {
+      throw new IllegalStateException(currentUser + " user is not allowed to get all contract transactions");
+    }
+  }
+
+  private int getTransactionIndex(List<TransactionDetail> transactionDetails, String hash) {
+    for (int i = 0; i < transactionDetails.size(); i++) {
+      if (StringUtils.equalsIgnoreCase(transactionDetails.get(i).getHash(), hash)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private List<TransactionDetail> getTransactions(TransactionCursor cursor, int limit, String currentUser) {
+    List<TransactionDetail> transactionDetails = transactionStorage.getTransactions(getNetworkId(), cursor, limit);
+    retrieveWalletsDetails(transactionDetails, currentUser);
     return transactionDetails;
   }
 
   private List<TransactionDetail> getContractTransactions(String contractAddress,
                                                           String contractMethodName,
+                                                          TransactionCursor cursor,
                                                           int limit,
                                                           String currentUser) throws IllegalAccessException {
     ContractDetail contractDetail = contractService.getContractDetail(contractAddress);
@@ -399,8 +543,9 @@ public class WalletTransactionServiceImpl implements WalletTransactionService {
 
     List<TransactionDetail> transactionDetails = transactionStorage.getContractTransactions(contractAddress,
                                                                                             contractMethodName,
+                                                                                            cursor,
                                                                                             limit);
-    transactionDetails.stream().forEach(transactionDetail -> retrieveWalletsDetails(transactionDetail, currentUser));
+    retrieveWalletsDetails(transactionDetails, currentUser);
     return transactionDetails;
   }
 
@@ -408,6 +553,7 @@ public class WalletTransactionServiceImpl implements WalletTransactionService {
                                                         String contractAddress,
                                                         String contractMethodName,
                                                         String hash,
+                                                        TransactionCursor cursor,
                                                         int limit,
                                                         boolean pending,
                                                         boolean administration,
@@ -425,50 +571,88 @@ public class WalletTransactionServiceImpl implements WalletTransactionService {
                                                                                           contractAddress,
                                                                                           contractMethodName,
                                                                                           hash,
+                                                                                          cursor,
                                                                                           limit,
                                                                                           pending,
                                                                                           administration);
 
-    transactionDetails.stream().forEach(transactionDetail -> retrieveWalletsDetails(transactionDetail, currentUser));
+    retrieveWalletsDetails(transactionDetails, currentUser);
     return transactionDetails;
   }
 
   private void retrieveWalletsDetails(TransactionDetail transactionDetail) {
-    if (transactionDetail == null || StringUtils.isBlank(transactionDetail.getFrom())) {
-      return;
-    }
-    if (transactionDetail.getFromWallet() == null) {
-      Wallet senderWallet = accountService.getWalletByAddress(transactionDetail.getFrom());
-      transactionDetail.setFromWallet(senderWallet);
-      hideWalletOwnerPrivateInformation(senderWallet);
-    }
-    if (transactionDetail.getToWallet() == null && StringUtils.isNotBlank(transactionDetail.getTo())) {
-      Wallet receiverWallet = accountService.getWalletByAddress(transactionDetail.getTo());
-      hideWalletOwnerPrivateInformation(receiverWallet);
-      transactionDetail.setToWallet(receiverWallet);
-    }
-    if (transactionDetail.getByWallet() == null && StringUtils.isNotBlank(transactionDetail.getBy())) {
-      Wallet senderWalletBy = accountService.getWalletByAddress(transactionDetail.getBy());
-      hideWalletOwnerPrivateInformation(senderWalletBy);
-      transactionDetail.setByWallet(senderWalletBy);
-    }
-    if (transactionDetail.getIssuer() == null && transactionDetail.getIssuerId() > 0) {
-      Wallet issuerWallet = accountService.getWalletByIdentityId(transactionDetail.getIssuerId());
-      transactionDetail.setIssuer(issuerWallet);
-    }
+    retrieveWalletsDetails(Collections.singletonList(transactionDetail));
   }
 
   private void retrieveWalletsDetails(TransactionDetail transactionDetail, String currentUser) {
-    if (transactionDetail == null || StringUtils.isBlank(transactionDetail.getFrom())) {
+    retrieveWalletsDetails(Collections.singletonList(transactionDetail), currentUser);
+  }
+
+  private void retrieveWalletsDetails(List<TransactionDetail> transactionDetails, String currentUser) {
+    retrieveWalletsDetails(transactionDetails);
+    for (TransactionDetail transactionDetail : transactionDetails) {
+      if (transactionDetail == null || StringUtils.isBlank(transactionDetail.getFrom())) {
+        continue;
+      }
+      if (StringUtils.isNotBlank(transactionDetail.getBy())) {
+        if (!displayTransactionsLabel(transactionDetail.getByWallet(), currentUser)) {
+          transactionDetail.setLabel(null);
+        }
+      } else if (!displayTransactionsLabel(transactionDetail.getFromWallet(), currentUser)) {
+        transactionDetail.setLabel(null);
+      }
+    }
+  }
+
+  /**
+   * Retrieves wallets of all transactions at once: the wallets of all sender,
+   * receiver and delegated sender addresses are retrieved using a single
+   * lookup and each issuer wallet is retrieved once
+   *
+   * @param transactionDetails {@link List} of {@link TransactionDetail} to
+   *          complete
+   */
+  private void retrieveWalletsDetails(List<TransactionDetail> transactionDetails) {
+    if (CollectionUtils.isEmpty(transactionDetails)) {
       return;
     }
-    retrieveWalletsDetails(transactionDetail);
-    if (StringUtils.isNotBlank(transactionDetail.getBy())) {
-      if (!displayTransactionsLabel(transactionDetail.getByWallet(), currentUser)) {
-        transactionDetail.setLabel(null);
+    Set<String> addresses = new HashSet<>();
+    for (TransactionDetail transactionDetail : transactionDetails) {
+      if (transactionDetail == null || StringUtils.isBlank(transactionDetail.getFrom())) {
+        continue;
+      }
+      addAddress(addresses, transactionDetail.getFromWallet(), transactionDetail.getFrom());
+      addAddress(addresses, transactionDetail.getToWallet(), transactionDetail.getTo());
+      addAddress(addresses, transactionDetail.getByWallet(), transactionDetail.getBy());
+    }
+    Map<String, Wallet> wallets = addresses.isEmpty() ? Collections.emptyMap()
+                                                      : accountService.getWalletsByAddresses(addresses);
+    wallets.values().forEach(WalletUtils::hideWalletOwnerPrivateInformation);
+
+    Map<Long, Wallet> issuers = new HashMap<>();
+    for (TransactionDetail transactionDetail : transactionDetails) {
+      if (transactionDetail == null || StringUtils.isBlank(transactionDetail.getFrom())) {
+        continue;
+      }
+      if (transactionDetail.getFromWallet() == null) {
+        transactionDetail.setFromWallet(wallets.get(StringUtils.lowerCase(transactionDetail.getFrom())));
       }
-    } else if (!displayTransactionsLabel(transactionDetail.getFromWallet(), currentUser)) {
-      transactionDetail.setLabel(null);
+      if (transactionDetail.getToWallet() == null && StringUtils.isNotBlank(transactionDetail.getTo())) {
+        transactionDetail.setToWallet(wallets.get(StringUtils.lowerCase(transactionDetail.getTo())));
+      }
+      if (transactionDetail.getByWallet() == null && StringUtils.isNotBlank(transactionDetail.getBy())) {
+        transactionDetail.setByWallet(wallets.get(StringUtils.lowerCase(transactionDetail.getBy())));
+      }
+      if (transactionDetail.getIssuer() == null && transactionDetail.getIssuerId() > 0) {
+        transactionDetail.setIssuer(issuers.computeIfAbsent(transactionDetail.getIssuerId(),
+                                                            accountService::getWalletByIdentityId));
+      }
+    }
+  }
+
+  private void addAddress(Set<String> addresses, Wallet wallet, String address) {
+    if (wallet == null && StringUtils.isNotBlank(address)) {
+      addresses.add(StringUtils.lowerCase(address));
     }
   }
 
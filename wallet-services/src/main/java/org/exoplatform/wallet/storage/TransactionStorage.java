@@ -16,36 +16,86 @@
  */
 package org.exoplatform.wallet.storage;
 
+import static org.exoplatform.wallet.utils.WalletUtils.CONTRACT_FUNC_INITIALIZEACCOUNT;
+import static org.exoplatform.wallet.utils.WalletUtils.CONTRACT_FUNC_REWARD;
+import static org.exoplatform.wallet.utils.WalletUtils.CONTRACT_FUNC_TRANSFER;
+import static org.exoplatform.wallet.utils.WalletUtils.CONTRACT_FUNC_TRANSFERFROM;
 import static org.exoplatform.wallet.utils.WalletUtils.TRANSACTION_CREATED_EVENT;
 import static org.exoplatform.wallet.utils.WalletUtils.TRANSACTION_MODIFIED_EVENT;
+import static org.exoplatform.wallet.utils.WalletUtils.TRANSACTIONS_CREATED_EVENT;
+import static org.exoplatform.wallet.utils.WalletUtils.TRANSACTIONS_MODIFIED_EVENT;
 import static org.exoplatform.wallet.utils.WalletUtils.formatTransactionHash;
 
-import java.time.ZonedDateTime;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
+import jakarta.persistence.PersistenceException;
+
 import org.apache.commons.lang3.StringUtils;
 
 import org.exoplatform.services.listener.ListenerService;
 import org.exoplatform.services.log.ExoLogger;
 import org.exoplatform.services.log.Log;
+import org.exoplatform.wallet.dao.WalletBlockchainStateDAO;
 import org.exoplatform.wallet.dao.WalletTransactionDAO;
+import org.exoplatform.wallet.dao.WalletTransactionDailyRollupDAO;
+import org.exoplatform.wallet.dao.WalletTransactionQueryBuilder;
+import org.exoplatform.wallet.entity.TransactionDailyRollupEntity;
 import org.exoplatform.wallet.entity.TransactionEntity;
 import org.exoplatform.wallet.model.Wallet;
+import org.exoplatform.wallet.model.transaction.TransactionCursor;
+import org.exoplatform.wallet.model.transaction.TransactionDailyAmount;
 import org.exoplatform.wallet.model.transaction.TransactionDetail;
 
 public class TransactionStorage {
 
-  private static final Log     LOG = ExoLogger.getLogger(TransactionStorage.class);
+  private static final Log                LOG                     = ExoLogger.getLogger(TransactionStorage.class);
+
+  /**
+   * Contract methods moving tokens between wallets and thus counted in
+   * wallets income and outcome
+   */
+  private static final List<String>       ROLLUP_CONTRACT_METHODS = Arrays.asList(CONTRACT_FUNC_REWARD,
+                                                                                  CONTRACT_FUNC_INITIALIZEACCOUNT,
+                                                                                  CONTRACT_FUNC_TRANSFER,
+                                                                                  CONTRACT_FUNC_TRANSFERFROM);
+
+  private WalletTransactionDAO            walletTransactionDAO;
 
-  private WalletTransactionDAO walletTransactionDAO;
+  private WalletTransactionDailyRollupDAO walletTransactionDailyRollupDAO;
 
-  private ListenerService      listenerService;
+  private WalletBlockchainStateDAO        walletBlockchainStateDAO;
+
+  private ListenerService                 listenerService;
+
+  /**
+   * Mined transfers are added to daily rollups under the read lock, from their
+   * pending state transition until their amounts are added, while a day rebuild
+   * holds the write lock. Thus a rebuild never reads a transfer as mined before
+   * its amounts are added, which would count it twice.
+   */
+  private final ReadWriteLock             rollupsLock             = new ReentrantReadWriteLock();
 
-  public TransactionStorage(ListenerService listenerService, WalletTransactionDAO walletTransactionDAO) {
+  public TransactionStorage(ListenerService listenerService,
+                            WalletTransactionDAO walletTransactionDAO,
+                            WalletTransactionDailyRollupDAO walletTransactionDailyRollupDAO,
+                            WalletBlockchainStateDAO walletBlockchainStateDAO) {
     this.listenerService = listenerService;
     this.walletTransactionDAO = walletTransactionDAO;
+    this.walletTransactionDailyRollupDAO = walletTransactionDailyRollupDAO;
+    this.walletBlockchainStateDAO = walletBlockchainStateDAO;
   }
 
   /**
@@ -106,8 +156,28 @@ public class TransactionStorage {
   public List<TransactionDetail> getContractTransactions(String contractAddress,
                                                          String contractMethodName,
                                                          int limit) {
+    return getContractTransactions(contractAddress, contractMethodName, null, limit);
+  }
+
+  /**
+   * @param contractAddress filter transactions by a contract address
+   * @param contractMethodName filter transactions by a contract method
+   * @param cursor {@link TransactionCursor} of last transaction of previous
+   *          page, null to retrieve first page
+   * @param limit size limit of transactions to retrieve
+   * @return {@link List} of {@link TransactionDetail} with corresponding filter
+   *         entries
+   */
+  public List<TransactionDetail> getContractTransactions(String contractAddress,
+                                                         String contractMethodName,
+                                                         TransactionCursor cursor,
+                                                         int limit) {
+    Long cursorCreatedDate = cursor == null ? null : cursor.getCreatedDate();
+    long cursorId = cursor == null ? 0 : cursor.getId();
     List<TransactionEntity> transactions = walletTransactionDAO.getContractTransactions(StringUtils.lowerCase(contractAddress),
                                                                                         contractMethodName,
+                                                                                        cursorCreatedDate,
+                                                                                        cursorId,
                                                                                         limit);
     return fromEntities(transactions);
   }
@@ -119,7 +189,21 @@ public class TransactionStorage {
    *         network id
    */
   public List<TransactionDetail> getTransactions(long networkId, int limit) {
-    List<TransactionEntity> transactions = walletTransactionDAO.getTransactions(networkId, limit);
+    return getTransactions(networkId, null, limit);
+  }
+
+  /**
+   * @param networkId blockchain network id
+   * @param cursor {@link TransactionCursor} of last transaction of previous
+   *          page, null to retrieve first page
+   * @param limit size limit of transactions to retrieve
+   * @return {@link List} of {@link TransactionDetail} for selected blockchain
+   *         network id
+   */
+  public List<TransactionDetail> getTransactions(long networkId, TransactionCursor cursor, int limit) {
+    Long cursorCreatedDate = cursor == null ? null : cursor.getCreatedDate();
+    long cursorId = cursor == null ? 0 : cursor.getId();
+    List<TransactionEntity> transactions = walletTransactionDAO.getTransactions(networkId, cursorCreatedDate, cursorId, limit);
     return fromEntities(transactions);
   }
 
@@ -144,10 +228,46 @@ public class TransactionStorage {
                                                        int limit,
                                                        boolean pending,
                                                        boolean administration) {
+    return getWalletTransactions(networkId,
+                                 address,
+                                 contractAddress,
+                                 contractMethodName,
+                                 hash,
+                                 null,
+                                 limit,
+                                 pending,
+                                 administration);
+  }
+
+  /**
+   * @param networkId blockchain network id
+   * @param address wallet address
+   * @param contractAddress filter transactions by a contract address
+   * @param contractMethodName filter transactions by a contract method
+   * @param hash retrieve include in the list of transactions this hash even if
+   *          the limit is reached
+   * @param cursor {@link TransactionCursor} of last transaction of previous
+   *          page, null to retrieve first page
+   * @param limit size limit of transactions to retrieve
+   * @param pending whether include pending or not
+   * @param administration whether include administration transactions or not
+   * @return {@link List} of {@link TransactionDetail} with corresponding filter
+   *         entries
+   */
+  public List<TransactionDetail> getWalletTransactions(long networkId, // NOSONAR
+                                                       String address,
+                                                       String contractAddress,
+                                                       String contractMethodName,
+                                                       String hash,
+                                                       TransactionCursor cursor,
+                                                       int limit,
+                                                       boolean pending,
+                                                       boolean administration) {
     List<TransactionEntity> transactions = getWalletTransactions(networkId,
                                                                  address,
                                                                  contractAddress,
                                                                  contractMethodName,
+                                                                 cursor,
                                                                  limit,
                                                                  pending,
                                                                  administration);
@@ -160,6 +280,7 @@ public class TransactionStorage {
                                    contractAddress,
                                    contractMethodName,
                                    hash,
+                                   cursor,
                                    limitToSearchForHash,
                                    pending,
                                    administration);
@@ -171,16 +292,19 @@ public class TransactionStorage {
                                                         String address,
                                                         String contractAddress,
                                                         String contractMethodName,
+                                                        TransactionCursor cursor,
                                                         int limit,
                                                         boolean pending,
                                                         boolean administration) {
-    return walletTransactionDAO.getWalletTransactions(networkId,
-                                                      address,
-                                                      contractAddress,
-                                                      contractMethodName,
-                                                      limit,
-                                                      pending,
-                                                      administration);
+    WalletTransactionQueryBuilder queryBuilder = new WalletTransactionQueryBuilder(networkId, address);
+    queryBuilder.withContractAddress(contractAddress)
+                .withContractMethodName(contractMethodName)
+                .onlyPending(pending)
+                .includeAdministrationTransactions(administration);
+    if (cursor != null) {
+      queryBuilder.before(cursor.getCreatedDate(), cursor.getId());
+    }
+    return walletTransactionDAO.getWalletTransactions(queryBuilder, limit);
   }
 
   /**
@@ -189,22 +313,88 @@ public class TransactionStorage {
    * @param transactionDetail decoded transaction detail
    */
   public void saveTransactionDetail(TransactionDetail transactionDetail) {
-    if (transactionDetail.getTimestamp() <= 0) {
-      transactionDetail.setTimestamp(System.currentTimeMillis());
+    computeTimestamps(transactionDetail);
+    TransactionEntity transactionEntity = toEntity(transactionDetail);
+    boolean rollupTransaction = isRollupTransaction(transactionEntity);
+    if (rollupTransaction) {
+      rollupsLock.readLock().lock();
     }
-    if (transactionDetail.getSentTimestamp() <= 0 && StringUtils.isBlank(transactionDetail.getRawTransaction())) {
-      // Transaction sent by external wallet, thus add sending timestamp
-      transactionDetail.setSentTimestamp(transactionDetail.getTimestamp());
+    boolean created = transactionEntity.getId() == 0;
+    try {
+      if (created) {
+        transactionEntity = walletTransactionDAO.create(transactionEntity);
+        transactionDetail.setId(transactionEntity.getId());
+        if (rollupTransaction) {
+          addMinedTransfer(transactionEntity);
+        }
+      } else {
+        boolean minedTransfer = rollupTransaction && walletTransactionDAO.markAsNotPending(transactionEntity.getId());
+        walletTransactionDAO.update(transactionEntity);
+        if (minedTransfer) {
+          addMinedTransfer(transactionEntity);
+        }
+      }
+    } finally {
+      if (rollupTransaction) {
+        rollupsLock.readLock().unlock();
+      }
     }
-    TransactionEntity transactionEntity = toEntity(transactionDetail);
-    if (transactionEntity.getId() == 0) {
-      transactionEntity = walletTransactionDAO.create(transactionEntity);
-      transactionDetail.setId(transactionEntity.getId());
-      broadcastTransactionEvent(transactionDetail, TRANSACTION_CREATED_EVENT);
-    } else {
-      walletTransactionDAO.update(transactionEntity);
-      broadcastTransactionEvent(transactionDetail, TRANSACTION_MODIFIED_EVENT);
+    broadcastTransactionEvent(transactionDetail, created ? TRANSACTION_CREATED_EVENT : TRANSACTION_MODIFIED_EVENT);
+  }
+
+  /**
+   * Saves a list of decoded transaction details in internal database using
+   * batched statements. A single {@code TRANSACTIONS_CREATED_EVENT}
+   * and a single {@code TRANSACTIONS_MODIFIED_EVENT} are triggered
+   * with the list of created and modified transactions.
+   *
+   * @param transactionDetails {@link Collection} of decoded transaction details
+   */
+  public void saveTransactionDetails(Collection<TransactionDetail> transactionDetails) {
+    if (transactionDetails == null || transactionDetails.isEmpty()) {
+      return;
+    }
+    List<TransactionEntity> transactionEntities = new ArrayList<>(transactionDetails.size());
+    for (TransactionDetail transactionDetail : transactionDetails) {
+      computeTimestamps(transactionDetail);
+      transactionEntities.add(toEntity(transactionDetail));
+    }
+    rollupsLock.readLock().lock();
+    try {
+      Set<Long> pendingIds = walletTransactionDAO.getPendingTransactionIds(transactionEntities.stream()
+                                                                                             .filter(this::isRollupTransaction)
+                                                                                             .map(TransactionEntity::getId)
+                                                                                             .filter(id -> id > 0)
+                                                                                             .toList());
+      List<TransactionEntity> rollupTransactions = new ArrayList<>();
+      for (TransactionEntity transactionEntity : transactionEntities) {
+        if (isRollupTransaction(transactionEntity)
+            && (transactionEntity.getId() == 0
+                || (pendingIds.contains(transactionEntity.getId())
+                    && walletTransactionDAO.markAsNotPending(transactionEntity.getId())))) {
+          rollupTransactions.add(transactionEntity);
+        }
+      }
+      walletTransactionDAO.saveAll(transactionEntities);
+      rollupTransactions.forEach(this::addMinedTransfer);
+    } finally {
+      rollupsLock.readLock().unlock();
     }
+
+    List<TransactionDetail> createdTransactions = new ArrayList<>();
+    List<TransactionDetail> modifiedTransactions = new ArrayList<>();
+    int index = 0;
+    for (TransactionDetail transactionDetail : transactionDetails) {
+      TransactionEntity transactionEntity = transactionEntities.get(index++);
+      if (transactionDetail.getId() == 0) {
+        transactionDetail.setId(transactionEntity.getId());
+        createdTransactions.add(transactionDetail);
+      } else {
+        modifiedTransactions.add(transactionDetail);
+      }
+    }
+    broadcastTransactionsEvent(createdTransactions, TRANSACTIONS_CREATED_EVENT);
+    broadcastTransactionsEvent(modifiedTransactions, TRANSACTIONS_MODIFIED_EVENT);
   }
 
   /**
@@ -227,6 +417,22 @@ public class TransactionStorage {
     return fromEntities(transactionEntities);
   }
 
+  /**
+   * Return list of pending transactions for a given address that corresponds
+   * to one of the nonces using a single lookup
+   * 
+   * @param networkId blockchain network id
+   * @param fromAddress transaction sender address
+   * @param nonces Nonces of the transactions
+   * @return {@link List} of {@link TransactionDetail}
+   */
+  public List<TransactionDetail> getPendingTransactionsWithNonces(long networkId, String fromAddress, Collection<Long> nonces) {
+    List<TransactionEntity> transactionEntities = walletTransactionDAO.getPendingTransactionsWithNonces(networkId,
+                                                                                                        fromAddress,
+                                                                                                        nonces);
+    return fromEntities(transactionEntities);
+  }
+
   /**
    * Count the number of transactions for a given address that corresponds to a
    * given nonce and that are always marked as pending
@@ -253,6 +459,38 @@ public class TransactionStorage {
     return fromEntity(transactionEntity);
   }
 
+  /**
+   * Retrieve {@link TransactionDetail}s identified by their blockchain hashes
+   * using a single lookup
+   *
+   * @param hashes blockchain transaction hashes
+   * @return {@link Map} of found {@link TransactionDetail} indexed by lower
+   *         case hash
+   */
+  public Map<String, TransactionDetail> getTransactionsByHashes(Collection<String> hashes) {
+    List<TransactionEntity> transactionEntities = walletTransactionDAO.getTransactionsByHashes(hashes);
+    if (transactionEntities.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    Map<String, TransactionDetail> transactions = new HashMap<>();
+    for (TransactionEntity transactionEntity : transactionEntities) {
+      // Keep last transaction saved with the hash, like getTransactionByHash
+      transactions.computeIfAbsent(StringUtils.lowerCase(transactionEntity.getHash()), key -> fromEntity(transactionEntity));
+    }
+    return transactions;
+  }
+
+  /**
+   * Count stored transactions which are still pending using a single lookup,
+   * without retrieving them
+   *
+   * @param hashes blockchain transaction hashes
+   * @return count of distinct hashes of pending transactions
+   */
+  public long countPendingTransactionsByHashes(Collection<String> hashes) {
+    return walletTransactionDAO.countPendingTransactionsByHashes(hashes);
+  }
+
   /**
    * Retrieve a {@link TransactionDetail} identified by its blockchain hash
    *
@@ -285,37 +523,135 @@ public class TransactionStorage {
   }
 
   /**
+   * Retrieves daily token amounts received and sent by a wallet from
+   * pre-aggregated rollups, using a single range read
+   *
    * @param contractAddress blockchain contract address
    * @param address wallet address
-   * @param startDate start date of selected period
-   * @param endDate end date of selected period
-   * @return sum of token amounts received during selected period
+   * @param startDay first day of selected period, inclusive
+   * @param endDay last day of selected period, exclusive
+   * @return {@link List} of {@link TransactionDailyAmount} sorted by day, days
+   *         without any transfer are omitted
    */
-  public double countReceivedContractAmount(String contractAddress,
-                                            String address,
-                                            ZonedDateTime startDate,
-                                            ZonedDateTime endDate) {
-    return walletTransactionDAO.countReceivedContractAmount(contractAddress, address, startDate, endDate);
+  public List<TransactionDailyAmount> getDailyContractAmounts(String contractAddress,
+                                                              String address,
+                                                              LocalDate startDay,
+                                                              LocalDate endDay) {
+    List<TransactionDailyRollupEntity> rollups = walletTransactionDailyRollupDAO.getRollups(address,
+                                                                                             contractAddress,
+                                                                                             startDay.toEpochDay(),
+                                                                                             endDay.toEpochDay());
+    return rollups.stream()
+                  .map(rollup -> new TransactionDailyAmount(LocalDate.ofEpochDay(rollup.getDay()),
+                                                            rollup.getIncome(),
+                                                            rollup.getOutcome()))
+                  .collect(Collectors.toList());
   }
 
   /**
+   * Recomputes daily rollups of all wallets for a given day from stored
+   * transactions. This is used to backfill rollups of history and to
+   * reconcile rollups with transactions modified outside this storage.
+   *
    * @param contractAddress blockchain contract address
-   * @param address wallet address
-   * @param startDate start date of selected period
-   * @param endDate end date of selected period
-   * @return sum of token amounts sent during selected period
+   * @param day day to recompute
    */
-  public double countSentContractAmount(String contractAddress,
-                                        String address,
-                                        ZonedDateTime startDate,
-                                        ZonedDateTime endDate) {
-    return walletTransactionDAO.countSentContractAmount(contractAddress, address, startDate, endDate);
+  public void rebuildDailyRollups(String contractAddress, LocalDate day) {
+    long startDate = day.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    long endDate = day.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    rollupsLock.writeLock().lock();
+    try {
+      Map<String, double[]> amounts = new HashMap<>();
+      walletTransactionDAO.getReceivedContractAmounts(contractAddress, startDate, endDate)
+                          .forEach((address, amount) -> amounts.computeIfAbsent(address, key -> new double[2])[0] = amount);
+      walletTransactionDAO.getSentContractAmounts(contractAddress, startDate, endDate)
+                          .forEach((address, amount) -> amounts.computeIfAbsent(address, key -> new double[2])[1] = amount);
+      try {
+        walletTransactionDailyRollupDAO.replaceDayRollups(contractAddress, day.toEpochDay(), amounts);
+      } catch (PersistenceException e) {
+        // A rollup of the day was created meanwhile by a mined transfer of
+        // another server, retry in a new transaction
+        LOG.debug("Daily rollups of day {} modified concurrently, retry rebuilding them", day, e);
+        walletTransactionDailyRollupDAO.replaceDayRollups(contractAddress, day.toEpochDay(), amounts);
+      }
+    } finally {
+      rollupsLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * @param contractAddress blockchain contract address
+   * @return day of first stored transaction of the contract, null if none
+   */
+  public LocalDate getFirstContractTransactionDay(String contractAddress) {
+    long firstTransactionDate = walletTransactionDAO.getFirstContractTransactionDate(contractAddress);
+    return firstTransactionDate == 0 ? null : toLocalDate(firstTransactionDate);
   }
 
   public long countTransactions() {
     return walletTransactionDAO.count();
   }
 
+  private boolean isRollupTransaction(TransactionEntity transactionEntity) {
+    return !transactionEntity.isPending()
+        && transactionEntity.isSuccess()
+        && StringUtils.isNotBlank(transactionEntity.getContractAddress())
+        && ROLLUP_CONTRACT_METHODS.contains(transactionEntity.getContractMethodName())
+        && transactionEntity.getContractAmount() > 0;
+  }
+
+  private void addMinedTransfer(TransactionEntity transactionEntity) {
+    addToDailyRollups(transactionEntity);
+    addToTokenBalances(transactionEntity);
+  }
+
+  private void addToDailyRollups(TransactionEntity transactionEntity) {
+    try {
+      long day = toLocalDate(transactionEntity.getCreatedDate()).toEpochDay();
+      String contractAddress = transactionEntity.getContractAddress();
+      double amount = transactionEntity.getContractAmount();
+      if (StringUtils.isNotBlank(transactionEntity.getToAddress())) {
+        addToDailyRollup(transactionEntity.getToAddress(), contractAddress, day, amount, 0);
+      }
+      if (StringUtils.isNotBlank(transactionEntity.getFromAddress())) {
+        addToDailyRollup(transactionEntity.getFromAddress(), contractAddress, day, 0, amount);
+      }
+    } catch (Exception e) {
+      // The rollups will be reconciled by the periodic rebuild job
+      LOG.warn("Error updating daily rollups of transaction '{}'", transactionEntity.getHash(), e);
+    }
+  }
+
+  private void addToDailyRollup(String address, String contractAddress, long day, double income, double outcome) {
+    try {
+      walletTransactionDailyRollupDAO.addAmounts(address, contractAddress, day, income, outcome);
+    } catch (PersistenceException e) {
+      // The rollup was created meanwhile by another transaction, retry in a
+      // new transaction to update it
+      walletTransactionDailyRollupDAO.addAmounts(address, contractAddress, day, income, outcome);
+    }
+  }
+
+  private void addToTokenBalances(TransactionEntity transactionEntity) {
+    try {
+      String contractAddress = transactionEntity.getContractAddress();
+      double amount = transactionEntity.getContractAmount();
+      if (StringUtils.isNotBlank(transactionEntity.getToAddress())) {
+        walletBlockchainStateDAO.addTokenBalance(transactionEntity.getToAddress(), contractAddress, amount);
+      }
+      if (StringUtils.isNotBlank(transactionEntity.getFromAddress())) {
+        walletBlockchainStateDAO.addTokenBalance(transactionEntity.getFromAddress(), contractAddress, -amount);
+      }
+    } catch (Exception e) {
+      // The balances will be reconciled by the periodic reconciliation job
+      LOG.warn("Error updating token balances of transaction '{}'", transactionEntity.getHash(), e);
+    }
+  }
+
+  private LocalDate toLocalDate(long timestamp) {
+    return Instant.ofEpochMilli(timestamp).atZone(ZoneId.systemDefault()).toLocalDate();
+  }
+
   private void broadcastTransactionEvent(TransactionDetail transactionDetail, String eventName) {
     try {
       listenerService.broadcast(eventName, transactionDetail, transactionDetail);
@@ -324,6 +660,27 @@ public class TransactionStorage {
     }
   }
 
+  private void broadcastTransactionsEvent(List<TransactionDetail> transactionDetails, String eventName) {
+    if (transactionDetails.isEmpty()) {
+      return;
+    }
+    try {
+      listenerService.broadcast(eventName, null, transactionDetails);
+    } catch (Exception e) {
+      LOG.warn("Error when broadcasting event '{}' on {} transactions", eventName, transactionDetails.size());
+    }
+  }
+
+  private void computeTimestamps(TransactionDetail transactionDetail) {
+    if (transactionDetail.getTimestamp() <= 0) {
+      transactionDetail.setTimestamp(System.currentTimeMillis());
+    }
+    if (transactionDetail.getSentTimestamp() <= 0 && StringUtils.isBlank(transactionDetail.getRawTransaction())) {
+      // Transaction sent by external wallet, thus add sending timestamp
+      transactionDetail.setSentTimestamp(transactionDetail.getTimestamp());
+    }
+  }
+
   private List<TransactionDetail> fromEntities(List<TransactionEntity> transactions) {
     return transactions == null ? Collections.emptyList()
                                 : transactions.stream().sequential().map(this::fromEntity).collect(Collectors.toList());
@@ -20,7 +20,9 @@ import static org.exoplatform.wallet.utils.WalletUtils.computeWalletFromIdentity
 import static org.exoplatform.wallet.utils.WalletUtils.getIdentityById;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -83,6 +85,37 @@ public class WalletStorage {
     }
   }
 
+  /**
+   * Retrieves the list registered wallets with their blockchain state using a
+   * single query
+   * 
+   * @param contractAddress contract address to use for wallet blockchain state
+   * @return {@link Set} of {@link Wallet} details with associated addresses
+   */
+  public Set<Wallet> listWallets(String contractAddress) {
+    try (Stream<Wallet> wallets = streamWallets(contractAddress)) {
+      return wallets.collect(Collectors.toSet());
+    }
+  }
+
+  /**
+   * Retrieves the registered wallets with their blockchain state progressively
+   * while the returned {@link Stream} is consumed, thus without holding all
+   * wallets in memory. The returned {@link Stream} has to be closed.
+   * 
+   * @param contractAddress contract address to use for wallet blockchain state
+   * @return {@link Stream} of {@link Wallet} details with associated addresses
+   */
+  public Stream<Wallet> streamWallets(String contractAddress) {
+    AtomicLong lastWalletId = new AtomicLong(-1);
+    return walletAccountDAO.streamAllWithBlockchainState(contractAddress)
+                           // Rows are sorted by wallet id, keep first one of
+                           // each wallet which holds its last blockchain state
+                           .filter(walletState -> lastWalletId.getAndSet(walletState.getId()) != walletState.getId())
+                           .map(this::fromProjection)
+                           .filter(wallet -> StringUtils.isNotBlank(wallet.getType()));
+  }
+
   /**
    * @return associated wallets counts
    */
@@ -116,6 +149,42 @@ public class WalletStorage {
     return fromEntity(walletEntity);
   }
 
+  /**
+   * @param addresses wallet addresses
+   * @param contractAddress contract address to use for wallet blockchain state
+   * @return {@link Map} of found {@link Wallet} details indexed by lower case
+   *         address
+   */
+  public Map<String, Wallet> getWalletsByAddresses(Collection<String> addresses, String contractAddress) {
+    List<WalletEntity> walletEntities = walletAccountDAO.findByAddresses(addresses);
+    if (walletEntities.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    Map<String, Wallet> wallets = new HashMap<>();
+    for (WalletEntity walletEntity : walletEntities) {
+      // Keep first wallet found by address, like getWalletByAddress
+      wallets.computeIfAbsent(StringUtils.lowerCase(walletEntity.getAddress()), key -> fromEntity(walletEntity));
+    }
+    return wallets;
+  }
+
+  /**
+   * @param identityIds user/space technical identity ids
+   * @param contractAddress contract address to use for wallet blockchain state
+   * @return {@link Map} of found {@link Wallet} details indexed by identity id
+   */
+  public Map<Long, Wallet> getWalletsByIdentityIds(Collection<Long> identityIds, String contractAddress) {
+    List<WalletEntity> walletEntities = walletAccountDAO.findByIds(identityIds);
+    if (walletEntities.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    Map<Long, Wallet> wallets = new HashMap<>();
+    for (WalletEntity walletEntity : walletEntities) {
+      wallets.put(walletEntity.getId(), fromEntity(walletEntity));
+    }
+    return wallets;
+  }
+
   /**
    * Get wallet blockchain state from internal database
    * 
@@ -280,7 +349,7 @@ public class WalletStorage {
       }
       blockchainStateEntity.setWallet(walletEntity);
     }
-    blockchainStateEntity.setContractAddress(contractAddress);
+    blockchainStateEntity.setContractAddress(StringUtils.lowerCase(contractAddress));
     blockchainStateEntity.setEtherBalance(wallet.getEtherBalance() == null ? 0 : wallet.getEtherBalance());
     blockchainStateEntity.setTokenBalance(wallet.getTokenBalance() == null ? 0 : wallet.getTokenBalance());
     blockchainStateEntity.setInitialized(wallet.getIsInitialized() != null && wallet.getIsInitialized());
@@ -291,6 +360,35 @@ public class WalletStorage {
     }
   }
 
+  /**
+   * Save wallet ether balance and initialization state in blockchain without
+   * changing its stored token balance, which may be updated meanwhile by mined
+   * transfers
+   * 
+   * @param wallet wallet to save its state
+   * @param contractAddress address of the contract on which the state is
+   *          associated
+   */
+  public void saveWalletEtherBalance(Wallet wallet, String contractAddress) {
+    if (StringUtils.isBlank(contractAddress)) {
+      throw new IllegalArgumentException("contractAddress is mandatory");
+    }
+    if (wallet == null) {
+      throw new IllegalArgumentException("wallet is mandatory");
+    }
+    long walletId = wallet.getTechnicalId();
+    if (walletId <= 0) {
+      throw new IllegalArgumentException("wallet ID is mandatory");
+    }
+    int updatedStates = blockchainStateDAO.updateEtherBalance(walletId,
+                                                              contractAddress,
+                                                              wallet.getEtherBalance() == null ? 0 : wallet.getEtherBalance(),
+                                                              wallet.getIsInitialized() != null && wallet.getIsInitialized());
+    if (updatedStates == 0) {
+      saveWalletBlockchainState(wallet, contractAddress);
+    }
+  }
+
   private String decodeWalletKey(String content) {
     return this.codec.decode(content);
   }
@@ -391,6 +489,27 @@ public class WalletStorage {
     return wallet;
   }
 
+  private Wallet fromProjection(WalletStateProjection walletState) {
+    Wallet wallet = new Wallet();
+    wallet.setTechnicalId(walletState.getId());
+    wallet.setAddress(walletState.getAddress());
+    wallet.setPassPhrase(walletState.getPassPhrase());
+    wallet.setEnabled(walletState.isEnabled());
+    wallet.setInitializationState(walletState.getInitializationState().name());
+    wallet.setBackedUp(walletState.isBackedUp());
+    wallet.setProvider(walletState.getProvider().name());
+    wallet.setHasPrivateKey(walletState.hasPrivateKey());
+    if (walletState.getBlockchainStateId() != null) {
+      wallet.setEtherBalance(walletState.getEtherBalance());
+      wallet.setTokenBalance(walletState.getTokenBalance());
+      wallet.setIsInitialized(walletState.getInitialized());
+    }
+
+    Identity identity = getIdentityById(walletState.getId());
+    computeWalletFromIdentity(wallet, identity);
+    return wallet;
+  }
+
   private WalletEntity toEntity(Wallet wallet) {
     WalletEntity walletEntity = null;
     if (wallet.getTechnicalId() > 0) {
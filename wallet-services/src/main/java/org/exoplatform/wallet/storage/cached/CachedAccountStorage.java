@@ -16,6 +16,12 @@
  */
 package org.exoplatform.wallet.storage.cached;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.commons.lang3.StringUtils;
 
 import org.exoplatform.commons.cache.future.FutureExoCache;
@@ -29,6 +35,8 @@ import org.exoplatform.web.security.codec.CodecInitializer;
 
 public class CachedAccountStorage extends WalletStorage {
 
+  private ExoCache<WalletCacheKey, Wallet>               walletCache       = null;
+
   private FutureExoCache<WalletCacheKey, Wallet, String> walletFutureCache = null;
 
   public CachedAccountStorage(CacheService cacheService,
@@ -39,7 +47,7 @@ public class CachedAccountStorage extends WalletStorage {
                               CodecInitializer codecInitializer) {
     super(walletAccountDAO, walletAccountBackupDAO, privateKeyDAO, blockchainStateDAO, codecInitializer);
 
-    ExoCache<WalletCacheKey, Wallet> walletCache = cacheService.getCacheInstance("wallet.account");
+    this.walletCache = cacheService.getCacheInstance("wallet.account");
 
     // Future cache is used for clustered environment improvements (usage of
     // putLocal VS put)
@@ -61,6 +69,59 @@ public class CachedAccountStorage extends WalletStorage {
     return wallet == null ? null : wallet.clone();
   }
 
+  @Override
+  public Map<String, Wallet> getWalletsByAddresses(Collection<String> addresses, String contractAddress) {
+    Map<String, Wallet> wallets = new HashMap<>();
+    List<String> notCachedAddresses = new ArrayList<>();
+    for (String address : addresses) {
+      if (StringUtils.isBlank(address)) {
+        continue;
+      }
+      address = StringUtils.lowerCase(address);
+      Wallet wallet = this.walletCache.get(new WalletCacheKey(address));
+      if (wallet == null) {
+        notCachedAddresses.add(address);
+      } else {
+        wallets.put(address, wallet.clone());
+      }
+    }
+    if (!notCachedAddresses.isEmpty()) {
+      // Retrieve all cache misses using a single query
+      Map<String, Wallet> storedWallets = super.getWalletsByAddresses(notCachedAddresses, contractAddress);
+      storedWallets.forEach((address, wallet) -> {
+        this.walletCache.putLocal(new WalletCacheKey(address), wallet);
+        wallets.put(address, wallet.clone());
+      });
+    }
+    return wallets;
+  }
+
+  @Override
+  public Map<Long, Wallet> getWalletsByIdentityIds(Collection<Long> identityIds, String contractAddress) {
+    Map<Long, Wallet> wallets = new HashMap<>();
+    List<Long> notCachedIdentityIds = new ArrayList<>();
+    for (Long identityId : identityIds) {
+      if (identityId == null || wallets.containsKey(identityId)) {
+        continue;
+      }
+      Wallet wallet = this.walletCache.get(new WalletCacheKey(identityId));
+      if (wallet == null) {
+        notCachedIdentityIds.add(identityId);
+      } else {
+        wallets.put(identityId, wallet.clone());
+      }
+    }
+    if (!notCachedIdentityIds.isEmpty()) {
+      // Retrieve all cache misses using a single query
+      Map<Long, Wallet> storedWallets = super.getWalletsByIdentityIds(notCachedIdentityIds, contractAddress);
+      storedWallets.forEach((identityId, wallet) -> {
+        this.walletCache.putLocal(new WalletCacheKey(identityId), wallet);
+        wallets.put(identityId, wallet.clone());
+      });
+    }
+    return wallets;
+  }
+
   @Override
   public Wallet getWalletByIdentityId(long identityId, String contractAddress) {
     Wallet wallet = this.walletFutureCache.get(contractAddress, new WalletCacheKey(identityId));
@@ -130,6 +191,14 @@ public class CachedAccountStorage extends WalletStorage {
     this.walletFutureCache.remove(new WalletCacheKey(wallet.getAddress()));
   }
 
+  @Override
+  public void saveWalletEtherBalance(Wallet wallet, String contractAddress) {
+    super.saveWalletEtherBalance(wallet, contractAddress);
+    long walletId = wallet.getTechnicalId();
+    this.walletFutureCache.remove(new WalletCacheKey(walletId));
+    this.walletFutureCache.remove(new WalletCacheKey(wallet.getAddress()));
+  }
+
   @Override
   public Wallet removeWallet(long identityId) {
     Wallet wallet = super.removeWallet(identityId);
@@ -16,23 +16,39 @@
  */
 package org.exoplatform.wallet.storage.cached;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
 import org.exoplatform.commons.cache.future.FutureExoCache;
 import org.exoplatform.commons.cache.future.Loader;
 import org.exoplatform.services.cache.CacheService;
 import org.exoplatform.services.cache.ExoCache;
 import org.exoplatform.services.listener.ListenerService;
+import org.exoplatform.wallet.dao.WalletBlockchainStateDAO;
 import org.exoplatform.wallet.dao.WalletTransactionDAO;
+import org.exoplatform.wallet.dao.WalletTransactionDailyRollupDAO;
 import org.exoplatform.wallet.model.transaction.TransactionDetail;
 import org.exoplatform.wallet.storage.TransactionStorage;
 
 public class CachedTransactionStorage extends TransactionStorage {
 
+  private ExoCache<String, TransactionDetail>               transactionCache       = null;
+
   private FutureExoCache<String, TransactionDetail, Object> transactionFutureCache = null;
 
-  public CachedTransactionStorage(CacheService cacheService, ListenerService listenerService, WalletTransactionDAO walletTransactionDAO) {
-    super(listenerService, walletTransactionDAO);
+  public CachedTransactionStorage(CacheService cacheService,
+                                  ListenerService listenerService,
+                                  WalletTransactionDAO walletTransactionDAO,
+                                  WalletTransactionDailyRollupDAO walletTransactionDailyRollupDAO,
+                                  WalletBlockchainStateDAO walletBlockchainStateDAO) {
+    super(listenerService, walletTransactionDAO, walletTransactionDailyRollupDAO, walletBlockchainStateDAO);
 
-    ExoCache<String, TransactionDetail> transactionCache = cacheService.getCacheInstance("wallet.transaction");
+    this.transactionCache = cacheService.getCacheInstance("wallet.transaction");
 
     // Future cache is used for clustered environment improvements (usage of
     // putLocal VS put)
@@ -50,12 +66,48 @@ public class CachedTransactionStorage extends TransactionStorage {
     return transactionDetail == null ? null : transactionDetail.clone();
   }
 
+  @Override
+  public Map<String, TransactionDetail> getTransactionsByHashes(Collection<String> hashes) {
+    Map<String, TransactionDetail> transactions = new HashMap<>();
+    List<String> notCachedHashes = new ArrayList<>();
+    for (String hash : hashes) {
+      if (StringUtils.isBlank(hash)) {
+        continue;
+      }
+      hash = hash.toLowerCase();
+      TransactionDetail transactionDetail = this.transactionCache.get(hash);
+      if (transactionDetail == null) {
+        notCachedHashes.add(hash);
+      } else {
+        transactions.put(hash, transactionDetail.clone());
+      }
+    }
+    if (!notCachedHashes.isEmpty()) {
+      // Retrieve all cache misses using a single query
+      Map<String, TransactionDetail> storedTransactions = super.getTransactionsByHashes(notCachedHashes);
+      storedTransactions.forEach((hash, transactionDetail) -> {
+        this.transactionCache.putLocal(hash, transactionDetail);
+        transactions.put(hash, transactionDetail.clone());
+      });
+    }
+    return transactions;
+  }
+
   @Override
   public void saveTransactionDetail(TransactionDetail transactionDetail) {
     super.saveTransactionDetail(transactionDetail);
     this.transactionFutureCache.remove(transactionDetail.getHash().toLowerCase());
   }
 
+  @Override
+  public void saveTransactionDetails(Collection<TransactionDetail> transactionDetails) {
+    super.saveTransactionDetails(transactionDetails);
+    if (transactionDetails != null) {
+      transactionDetails.forEach(transactionDetail -> this.transactionFutureCache.remove(transactionDetail.getHash()
+                                                                                                         .toLowerCase()));
+    }
+  }
+
   public void clearCache() {
     transactionFutureCache.clear();
   }
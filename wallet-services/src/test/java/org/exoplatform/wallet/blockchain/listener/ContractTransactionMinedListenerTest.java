@@ -108,7 +108,7 @@ public class ContractTransactionMinedListenerTest extends BaseWalletTest {
 
     listener.onEvent(event);
 
-    verify(blockchainTransactionService, times(1)).addTransactionToRefreshFromBlockchain(transactionDetail);
+    verify(blockchainTransactionService, times(1)).addTransactionToRefreshFromBlockchain(transactionDetail, true);
   }
 
   @Test
@@ -118,7 +118,7 @@ public class ContractTransactionMinedListenerTest extends BaseWalletTest {
 
     listener.onEvent(event);
 
-    verify(blockchainTransactionService, times(1)).addTransactionToRefreshFromBlockchain(transactionDetail);
+    verify(blockchainTransactionService, times(1)).addTransactionToRefreshFromBlockchain(transactionDetail, true);
   }
 
   @Test
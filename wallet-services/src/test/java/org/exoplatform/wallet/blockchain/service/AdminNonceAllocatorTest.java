@@ -0,0 +1,187 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.blockchain.service;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class AdminNonceAllocatorTest {
+
+  private static final String ADDRESS = "0xAdminAddress";
+
+  @Test
+  public void testInitializeFromHighestNonce() {
+    AtomicInteger blockchainCalls = new AtomicInteger();
+    AdminNonceAllocator allocator = new AdminNonceAllocator(ADDRESS, () -> {
+      blockchainCalls.incrementAndGet();
+      return 5L;
+    }, () -> 8L, nonce -> true, 60000);
+
+    assertEquals(-1, allocator.getNextNonce());
+    assertEquals(8, allocator.allocate());
+    assertEquals(9, allocator.allocate());
+    assertEquals(10, allocator.allocate());
+    assertEquals(1, blockchainCalls.get());
+  }
+
+  @Test
+  public void testInitializeWhenBlockchainNotReachable() {
+    AdminNonceAllocator allocator = new AdminNonceAllocator(ADDRESS, () -> {
+      throw new IOException();
+    }, () -> 3L, nonce -> true, 60000);
+
+    assertEquals(3, allocator.allocate());
+    assertEquals(4, allocator.allocate());
+  }
+
+  @Test
+  public void testReuseReleasedNonce() {
+    AdminNonceAllocator allocator = new AdminNonceAllocator(ADDRESS, () -> 0L, () -> 0L, nonce -> true, 60000);
+
+    assertEquals(0, allocator.allocate());
+    long releasedNonce = allocator.allocate();
+    assertEquals(2, allocator.allocate());
+    allocator.release(releasedNonce);
+    assertEquals(1, allocator.getGapsCount());
+
+    assertEquals(releasedNonce, allocator.allocate());
+    assertEquals(3, allocator.allocate());
+
+    // A confirmed nonce isn't released
+    allocator.confirm(3);
+    allocator.release(3);
+    assertEquals(4, allocator.allocate());
+  }
+
+  @Test
+  public void testReconcileWithBlockchain() {
+    AtomicLong blockchainNonce = new AtomicLong(10);
+    Set<Long> pendingNonces = new HashSet<>();
+    AdminNonceAllocator allocator = new AdminNonceAllocator(ADDRESS,
+                                                            blockchainNonce::get,
+                                                            () -> 0L,
+                                                            pendingNonces::contains,
+                                                            60000);
+    for (long i = 10; i < 15; i++) {
+      assertEquals(i, allocator.allocate());
+      allocator.confirm(i);
+      pendingNonces.add(i);
+    }
+
+    // Transactions sent from another place
+    blockchainNonce.set(20);
+    allocator.reconcile();
+    assertEquals(20, allocator.allocate());
+    allocator.confirm(20);
+    pendingNonces.add(20L);
+
+    // Pending transaction is dropped
+    blockchainNonce.set(20);
+    pendingNonces.remove(20L);
+    allocator.reconcile();
+    assertEquals(1, allocator.getGapsCount());
+    assertEquals(20, allocator.allocate());
+    assertEquals(21, allocator.allocate());
+  }
+
+  @Test
+  public void testReconcileWithStoredNonces() {
+    AtomicLong storedNonce = new AtomicLong(0);
+    Set<Long> pendingNonces = new HashSet<>();
+    AdminNonceAllocator allocator = new AdminNonceAllocator(ADDRESS,
+                                                            () -> 0L,
+                                                            storedNonce::get,
+                                                            pendingNonces::contains,
+                                                            60000);
+    assertEquals(0, allocator.allocate());
+    allocator.confirm(0);
+    pendingNonces.add(0L);
+    allocator.release(allocator.allocate());
+    assertEquals(1, allocator.getGapsCount());
+
+    // Transactions signed and stored by another cluster node
+    for (long i = 1; i < 5; i++) {
+      pendingNonces.add(i);
+    }
+    storedNonce.set(5);
+    allocator.reconcile();
+    assertEquals(0, allocator.getGapsCount());
+    assertEquals(5, allocator.allocate());
+
+    // A batch allocation reconciles first
+    storedNonce.set(10);
+    long[] nonces = allocator.allocate(2);
+    assertEquals(10, nonces[0]);
+    assertEquals(11, nonces[1]);
+  }
+
+  @Test
+  public void testNotReuseReservedNonceOnReconcile() {
+    AdminNonceAllocator allocator = new AdminNonceAllocator(ADDRESS, () -> 0L, () -> 0L, nonce -> false, 60000);
+
+    assertEquals(0, allocator.allocate());
+    // Transaction with nonce 0 is being signed, thus not stored yet
+    allocator.reconcile();
+    assertEquals(0, allocator.getGapsCount());
+    assertEquals(1, allocator.allocate());
+  }
+
+  @Test
+  public void testAllocateConcurrently() throws Exception {
+    AdminNonceAllocator allocator = new AdminNonceAllocator(ADDRESS, () -> 0L, () -> 0L, nonce -> true, 60000);
+    int threadsCount = 10;
+    int allocationsPerThread = 100;
+    List<Long> nonces = Collections.synchronizedList(new ArrayList<>());
+    ExecutorService executorService = Executors.newFixedThreadPool(threadsCount);
+    CountDownLatch startLatch = new CountDownLatch(1);
+    try {
+      for (int i = 0; i < threadsCount; i++) {
+        executorService.execute(() -> {
+          try {
+            startLatch.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          for (int j = 0; j < allocationsPerThread; j++) {
+            nonces.add(allocator.allocate());
+          }
+        });
+      }
+      startLatch.countDown();
+    } finally {
+      executorService.shutdown();
+      executorService.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    assertEquals(threadsCount * allocationsPerThread, nonces.size());
+    assertEquals(threadsCount * allocationsPerThread, new HashSet<>(nonces).size());
+  }
+
+}
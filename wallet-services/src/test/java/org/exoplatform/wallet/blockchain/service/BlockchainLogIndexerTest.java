@@ -0,0 +1,140 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.blockchain.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.utils.Numeric;
+
+public class BlockchainLogIndexerTest {
+
+  private BlockchainLogIndexer indexer;
+
+  @After
+  public void tearDown() {
+    if (indexer != null) {
+      indexer.stop();
+    }
+  }
+
+  @Test
+  public void testIndexLogsInBlockOrder() {
+    // Last chunks are retrieved first, while logs of a same chunk are
+    // retrieved unordered
+    CountDownLatch lastChunkRetrieved = new CountDownLatch(1);
+    indexer = new BlockchainLogIndexer((fromBlock, toBlock) -> {
+      if (fromBlock == 1) {
+        await(lastChunkRetrieved);
+        return Arrays.asList(newLog(5, 1), newLog(2, 0), newLog(5, 0));
+      } else if (fromBlock == 11) {
+        lastChunkRetrieved.countDown();
+        return Collections.singletonList(newLog(12, 0));
+      } else {
+        return Collections.emptyList();
+      }
+    }, 10, 2);
+
+    List<String> handledLogs = new ArrayList<>();
+    List<Long> checkpoints = new ArrayList<>();
+    long lastIndexedBlock = indexer.index(1,
+                                          25,
+                                          log -> handledLogs.add(log.getBlockNumber() + "-" + log.getLogIndex()),
+                                          checkpoints::add);
+
+    assertEquals(25, lastIndexedBlock);
+    assertEquals(Arrays.asList("2-0", "5-0", "5-1", "12-0"), handledLogs);
+    assertEquals(Arrays.asList(10L, 20L, 25L), checkpoints);
+  }
+
+  @Test
+  public void testIndexStopsAtFirstRetrievalError() {
+    indexer = new BlockchainLogIndexer((fromBlock, toBlock) -> {
+      if (fromBlock == 11) {
+        throw new IOException("Too many results");
+      }
+      return Collections.singletonList(newLog(fromBlock, 0));
+    }, 10, 3);
+
+    List<Long> handledBlocks = new ArrayList<>();
+    List<Long> checkpoints = new ArrayList<>();
+    long lastIndexedBlock = indexer.index(1, 50, log -> handledBlocks.add(log.getBlockNumber().longValue()), checkpoints::add);
+
+    assertEquals(10, lastIndexedBlock);
+    assertEquals(Collections.singletonList(1L), handledBlocks);
+    assertEquals(Collections.singletonList(10L), checkpoints);
+  }
+
+  @Test
+  public void testIndexStopsAtFirstHandlingError() {
+    indexer = new BlockchainLogIndexer((fromBlock, toBlock) -> Collections.singletonList(newLog(fromBlock, 0)), 5, 2);
+
+    List<Long> checkpoints = new ArrayList<>();
+    long lastIndexedBlock = indexer.index(1, 20, log -> {
+      if (log.getBlockNumber().longValue() == 11) {
+        throw new IllegalStateException("Error broadcasting event");
+      }
+    }, checkpoints::add);
+
+    assertEquals(10, lastIndexedBlock);
+    assertEquals(Arrays.asList(5L, 10L), checkpoints);
+  }
+
+  @Test
+  public void testIndexEmptyRange() {
+    indexer = new BlockchainLogIndexer((fromBlock, toBlock) -> {
+      throw new IllegalStateException("No logs should be retrieved");
+    }, 10, 2);
+
+    List<Long> checkpoints = new ArrayList<>();
+    assertEquals(9, indexer.index(10, 9, log -> {
+    }, checkpoints::add));
+    assertTrue(checkpoints.isEmpty());
+  }
+
+  private Log newLog(long blockNumber, long logIndex) {
+    Log log = new Log();
+    log.setBlockNumber(Numeric.encodeQuantity(BigInteger.valueOf(blockNumber)));
+    log.setLogIndex(Numeric.encodeQuantity(BigInteger.valueOf(logIndex)));
+    log.setTransactionHash("0x" + blockNumber + logIndex);
+    return log;
+  }
+
+  private void await(CountDownLatch latch) throws IOException {
+    try {
+      if (!latch.await(10, TimeUnit.SECONDS)) {
+        throw new IOException("Timeout waiting for latch");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+  }
+
+}
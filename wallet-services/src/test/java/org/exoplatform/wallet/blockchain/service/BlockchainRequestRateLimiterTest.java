@@ -0,0 +1,66 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2022 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.blockchain.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class BlockchainRequestRateLimiterTest {
+
+  @Test
+  public void testAcquireWhenDisabled() {
+    BlockchainRequestRateLimiter rateLimiter = new BlockchainRequestRateLimiter(0);
+    assertFalse(rateLimiter.isEnabled());
+    for (int i = 0; i < 1000; i++) {
+      rateLimiter.acquire();
+    }
+    rateLimiter.reportRateLimitReached();
+    assertEquals(1, rateLimiter.getRateLimitReachedCount());
+  }
+
+  @Test
+  public void testTryAcquireWithinBurst() {
+    BlockchainRequestRateLimiter rateLimiter = new BlockchainRequestRateLimiter(5);
+    assertTrue(rateLimiter.isEnabled());
+    for (int i = 0; i < 5; i++) {
+      assertEquals(0, rateLimiter.tryAcquire());
+    }
+    assertTrue(rateLimiter.tryAcquire() > 0);
+  }
+
+  @Test
+  public void testReportRateLimitReached() {
+    BlockchainRequestRateLimiter rateLimiter = new BlockchainRequestRateLimiter(20);
+    assertEquals(20d, rateLimiter.getRate(), 0);
+
+    rateLimiter.reportRateLimitReached();
+    assertEquals(1, rateLimiter.getRateLimitReachedCount());
+    assertEquals(10d, rateLimiter.getRate(), 0);
+    assertTrue(rateLimiter.tryAcquire() > 0);
+
+    rateLimiter.reportSuccess();
+    assertEquals(10.2d, rateLimiter.getRate(), 0.0001);
+    for (int i = 0; i < 100; i++) {
+      rateLimiter.reportSuccess();
+    }
+    assertEquals(20d, rateLimiter.getRate(), 0);
+  }
+
+}
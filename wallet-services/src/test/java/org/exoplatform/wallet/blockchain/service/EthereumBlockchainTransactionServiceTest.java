@@ -27,6 +27,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -36,10 +37,12 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 
@@ -47,12 +50,14 @@ import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.web3j.protocol.core.Response.Error;
 import org.web3j.protocol.core.methods.response.EthSendTransaction;
 import org.web3j.protocol.core.methods.response.Transaction;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Numeric;
 
 import com.google.javascript.jscomp.jarjar.com.google.common.base.Objects;
 
@@ -142,6 +147,39 @@ public class EthereumBlockchainTransactionServiceTest extends BaseWalletTest {
     verify(ethereumClientConnector, times(1)).renewTransactionListeningSubscription(anyLong());
   }
 
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  @Test
+  public void testOnServiceStartRefreshCaughtUpTransactionsBeforeCheckpoint() throws Exception {
+    long lastWatchedBlockNumber = 2559l;
+    long lastBlockNumber = lastWatchedBlockNumber + 2;
+    String hash = "0x" + StringUtils.repeat("1", 64);
+    SettingValue value = SettingValue.create(lastWatchedBlockNumber);
+    when(settingService.get(any(), any(), any())).thenReturn(value);
+    when(ethereumClientConnector.getLastestBlockNumber()).thenReturn(lastBlockNumber);
+    TransactionDetail transactionDetail = new TransactionDetail();
+    transactionDetail.setHash(hash);
+    transactionDetail.setPending(false);
+    transactionDetail.setSucceeded(true);
+    when(transactionService.getTransactionByHash(hash)).thenReturn(transactionDetail);
+    org.web3j.protocol.core.methods.response.Log log = new org.web3j.protocol.core.methods.response.Log();
+    log.setTransactionHash(hash);
+    log.setBlockNumber(Numeric.toHexStringWithPrefix(BigInteger.valueOf(lastBlockNumber)));
+    when(ethereumClientConnector.indexContractTransactions(eq(lastWatchedBlockNumber + 1),
+                                                           eq(lastBlockNumber),
+                                                           any())).thenAnswer(invocation -> {
+      invocation.getArgument(2, BlockchainLogIndexer.ChunkHandler.class).handle(Collections.singletonList(log), lastBlockNumber);
+      return lastBlockNumber;
+    });
+
+    service.startAsync();
+
+    InOrder inOrder = inOrder(transactionService, settingService);
+    inOrder.verify(transactionService, atLeast(1)).getTransactionByHash(hash);
+    inOrder.verify(settingService, atLeast(1))
+           .set(any(), any(), any(), argThat(setting -> Objects.equal(setting.getValue(), lastBlockNumber)));
+    verify(listenerService, never()).broadcast(anyString(), any(), any());
+  }
+
   @Test
   public void testHasManagedWalletInTransactionWhenNoTopics() throws Exception {
     ContractTransactionEvent contractTransactionEvent = newContractTransactionEvent();
@@ -434,6 +472,79 @@ public class EthereumBlockchainTransactionServiceTest extends BaseWalletTest {
     verify(transactionService, times(1)).cancelTransactionsWithSameNonce(transactionDetail);
   }
 
+  @Test
+  public void testRefreshTransactionFromBlockchainWhenSentByWallet_FinalizedFromReceipt() throws Exception {
+    ContractTransactionEvent contractTransactionEvent = newContractTransactionEvent();
+    String transactionHash = contractTransactionEvent.getTransactionHash();
+    String fromAddress = "0x2b7e115f52171d164529fdb1ac72571e608a474e";
+    long nonce = 25l;
+    String contractAddress = WalletUtils.getContractAddress();
+
+    TransactionDetail transactionDetail = new TransactionDetail();
+    transactionDetail.setHash(transactionHash);
+    transactionDetail.setTimestamp(System.currentTimeMillis());
+    transactionDetail.setSentTimestamp(System.currentTimeMillis());
+    transactionDetail.setPending(true);
+    transactionDetail.setRawTransaction(RAW_TRANSACTION);
+    transactionDetail.setNonce(nonce);
+    transactionDetail.setGasPrice(1);
+    transactionDetail.setSendingAttemptCount(1);
+    transactionDetail.setFrom(fromAddress);
+    when(transactionService.getTransactionByHash(transactionHash)).thenReturn(transactionDetail);
+
+    org.web3j.protocol.core.methods.response.Log log = mock(org.web3j.protocol.core.methods.response.Log.class);
+    when(log.getTopics()).thenReturn(contractTransactionEvent.getTopics());
+    when(log.getData()).thenReturn(contractTransactionEvent.getData());
+
+    BigInteger gasUsed = BigInteger.ONE;
+    BigInteger effectiveGasPrice = BigInteger.TWO;
+    TransactionReceipt transactionReceipt = mock(TransactionReceipt.class);
+    when(ethereumClientConnector.getTransactionReceipt(transactionHash)).thenReturn(transactionReceipt);
+    when(transactionReceipt.getBlockNumber()).thenReturn(BigInteger.TEN);
+    when(transactionReceipt.getBlockHash()).thenReturn("blockHash");
+    when(transactionReceipt.getFrom()).thenReturn(fromAddress);
+    when(transactionReceipt.getTo()).thenReturn(contractAddress);
+    when(transactionReceipt.getGasUsed()).thenReturn(gasUsed);
+    when(transactionReceipt.getEffectiveGasPrice()).thenReturn(Numeric.encodeQuantity(effectiveGasPrice));
+    when(transactionReceipt.isStatusOK()).thenReturn(true);
+    when(transactionReceipt.getLogs()).thenReturn(Collections.singletonList(log));
+
+    service.refreshTransactionFromBlockchain(transactionHash);
+    verify(ethereumClientConnector, never()).getTransaction(any());
+    verify(transactionService, times(1)).saveTransactionDetail(argThat(transactionTmp -> {
+      assertFalse(transactionTmp.isPending());
+      assertTrue(transactionTmp.isSucceeded());
+      assertEquals(effectiveGasPrice.doubleValue(), transactionTmp.getGasPrice(), 0);
+      assertEquals(gasUsed.intValue(), transactionTmp.getGasUsed());
+      assertEquals(nonce, transactionTmp.getNonce());
+      assertEquals(fromAddress, transactionTmp.getFrom());
+      assertEquals(MeedsToken.FUNC_TRANSFER, transactionTmp.getContractMethodName());
+      assertTrue(transactionTmp.getContractAmount() > 0);
+      assertEquals(contractAddress, transactionTmp.getContractAddress());
+      return true;
+    }), eq(true));
+    verify(transactionService, times(1)).cancelTransactionsWithSameNonce(transactionDetail);
+    verify(ethereumClientConnector, times(1)).setLastWatchedBlockNumber(BigInteger.TEN.longValue());
+  }
+
+  @Test
+  public void testRefreshTransactionFromBlockchainWhenSentByWallet_NotMinedYet() throws Exception {
+    String transactionHash = "transactionHash";
+    TransactionDetail transactionDetail = new TransactionDetail();
+    transactionDetail.setHash(transactionHash);
+    transactionDetail.setTimestamp(System.currentTimeMillis());
+    transactionDetail.setPending(true);
+    transactionDetail.setRawTransaction(RAW_TRANSACTION);
+    transactionDetail.setSendingAttemptCount(1);
+    transactionDetail.setFrom("fromAddress");
+    when(transactionService.getTransactionByHash(transactionHash)).thenReturn(transactionDetail);
+    when(transactionService.getMaxAttemptsToSend()).thenReturn(3l);
+
+    assertEquals(transactionDetail, service.refreshTransactionFromBlockchain(transactionHash));
+    verify(ethereumClientConnector, never()).getTransaction(any());
+    verify(transactionService, never()).saveTransactionDetail(any(), anyBoolean());
+  }
+
   @Test
   public void testSendPendingTransactionsToBlockchain_NoTransactions() throws Exception {
     service.sendPendingTransactionsToBlockchain();
@@ -458,7 +569,7 @@ public class EthereumBlockchainTransactionServiceTest extends BaseWalletTest {
     when(transactionService.getPendingTransactionMaxDays()).thenReturn(1l);
     when(transactionService.getMaxAttemptsToSend()).thenReturn(1l);
     when(transactionService.getTransactionsToSend()).thenReturn(Collections.singletonList(transactionDetail));
-    when(transactionService.canSendTransactionToBlockchain(fromAddress)).thenReturn(true);
+    when(transactionService.canSendTransactionToBlockchain(eq(fromAddress), anyLong())).thenReturn(true);
 
     List<TransactionDetail> sentTransactions = service.sendPendingTransactionsToBlockchain();
     assertNotNull(sentTransactions);
@@ -509,7 +620,7 @@ public class EthereumBlockchainTransactionServiceTest extends BaseWalletTest {
     when(resultFuture.get()).thenAnswer(invocation -> {
       return handler.get().apply(mock(EthSendTransaction.class), new IOException());
     });
-    when(transactionService.canSendTransactionToBlockchain(fromAddress)).thenReturn(true);
+    when(transactionService.canSendTransactionToBlockchain(eq(fromAddress), anyLong())).thenReturn(true);
 
     assertThrows(BlockchainRequestException.class, () -> service.sendPendingTransactionsToBlockchain());
 
@@ -565,7 +676,7 @@ public class EthereumBlockchainTransactionServiceTest extends BaseWalletTest {
     when(transactionService.getMaxAttemptsToSend()).thenReturn(1l);
     // Keep it on purpose to always check verifications are 0 even when this
     // condition is true
-    lenient().when(transactionService.canSendTransactionToBlockchain(fromAddress)).thenReturn(false);
+    lenient().when(transactionService.canSendTransactionToBlockchain(eq(fromAddress), anyLong())).thenReturn(false);
 
     service.sendPendingTransactionsToBlockchain();
 
@@ -598,7 +709,7 @@ public class EthereumBlockchainTransactionServiceTest extends BaseWalletTest {
     when(transactionService.getMaxAttemptsToSend()).thenReturn(1l);
     // Keep it on purpose to always check verifications are 0 even when this
     // condition is true
-    lenient().when(transactionService.canSendTransactionToBlockchain(fromAddress)).thenReturn(true);
+    lenient().when(transactionService.canSendTransactionToBlockchain(eq(fromAddress), anyLong())).thenReturn(true);
 
     CompletableFuture<EthSendTransaction> future = mock(CompletableFuture.class);
     CompletableFuture<TransactionDetail> resultFuture = mock(CompletableFuture.class);
@@ -639,7 +750,7 @@ public class EthereumBlockchainTransactionServiceTest extends BaseWalletTest {
 
     when(transactionService.getPendingTransactionMaxDays()).thenReturn(1l);
     when(transactionService.getMaxAttemptsToSend()).thenReturn(1l);
-    when(transactionService.canSendTransactionToBlockchain(fromAddress)).thenReturn(true);
+    when(transactionService.canSendTransactionToBlockchain(eq(fromAddress), anyLong())).thenReturn(true);
     when(ethereumClientConnector.sendTransactionToBlockchain(transactionDetail)).thenReturn(null);
 
     service.sendPendingTransactionsToBlockchain();
@@ -667,7 +778,7 @@ public class EthereumBlockchainTransactionServiceTest extends BaseWalletTest {
 
     when(transactionService.getPendingTransactionMaxDays()).thenReturn(1l);
     when(transactionService.getMaxAttemptsToSend()).thenReturn(1l);
-    when(transactionService.canSendTransactionToBlockchain(fromAddress)).thenReturn(true);
+    when(transactionService.canSendTransactionToBlockchain(eq(fromAddress), anyLong())).thenReturn(true);
     when(ethereumClientConnector.sendTransactionToBlockchain(transactionDetail)).thenThrow(new IOException());
 
     assertThrows(BlockchainRequestException.class, () -> service.sendPendingTransactionsToBlockchain());
@@ -697,7 +808,7 @@ public class EthereumBlockchainTransactionServiceTest extends BaseWalletTest {
 
     when(transactionService.getPendingTransactionMaxDays()).thenReturn(1l);
     when(transactionService.getMaxAttemptsToSend()).thenReturn(1l);
-    when(transactionService.canSendTransactionToBlockchain(fromAddress)).thenReturn(true);
+    when(transactionService.canSendTransactionToBlockchain(eq(fromAddress), anyLong())).thenReturn(true);
     CompletableFuture<EthSendTransaction> future = mock(CompletableFuture.class);
     CompletableFuture<TransactionDetail> resultFuture = mock(CompletableFuture.class);
 
@@ -736,7 +847,7 @@ public class EthereumBlockchainTransactionServiceTest extends BaseWalletTest {
 
     when(transactionService.getPendingTransactionMaxDays()).thenReturn(1l);
     when(transactionService.getMaxAttemptsToSend()).thenReturn(1l);
-    when(transactionService.canSendTransactionToBlockchain(fromAddress)).thenReturn(true);
+    when(transactionService.canSendTransactionToBlockchain(eq(fromAddress), anyLong())).thenReturn(true);
     CompletableFuture<EthSendTransaction> future = mock(CompletableFuture.class);
     CompletableFuture<TransactionDetail> resultFuture = mock(CompletableFuture.class);
 
@@ -778,7 +889,7 @@ public class EthereumBlockchainTransactionServiceTest extends BaseWalletTest {
 
     when(transactionService.getPendingTransactionMaxDays()).thenReturn(1l);
     when(transactionService.getMaxAttemptsToSend()).thenReturn(1l);
-    when(transactionService.canSendTransactionToBlockchain(fromAddress)).thenReturn(true);
+    when(transactionService.canSendTransactionToBlockchain(eq(fromAddress), anyLong())).thenReturn(true);
     CompletableFuture<EthSendTransaction> future = mock(CompletableFuture.class);
     CompletableFuture<TransactionDetail> resultFuture = mock(CompletableFuture.class);
 
@@ -831,7 +942,7 @@ public class EthereumBlockchainTransactionServiceTest extends BaseWalletTest {
 
     when(transactionService.getPendingTransactionMaxDays()).thenReturn(1l);
     when(transactionService.getMaxAttemptsToSend()).thenReturn(1l);
-    when(transactionService.canSendTransactionToBlockchain(fromAddress)).thenReturn(true);
+    when(transactionService.canSendTransactionToBlockchain(eq(fromAddress), anyLong())).thenReturn(true);
     CompletableFuture<EthSendTransaction> future = mock(CompletableFuture.class);
     CompletableFuture<TransactionDetail> resultFuture = mock(CompletableFuture.class);
 
@@ -878,7 +989,7 @@ public class EthereumBlockchainTransactionServiceTest extends BaseWalletTest {
 
     when(transactionService.getPendingTransactionMaxDays()).thenReturn(1l);
     when(transactionService.getMaxAttemptsToSend()).thenReturn(1l);
-    when(transactionService.canSendTransactionToBlockchain(fromAddress)).thenReturn(true);
+    when(transactionService.canSendTransactionToBlockchain(eq(fromAddress), anyLong())).thenReturn(true);
     CompletableFuture<EthSendTransaction> future = mock(CompletableFuture.class);
     CompletableFuture<TransactionDetail> resultFuture = mock(CompletableFuture.class);
 
@@ -926,7 +1037,7 @@ public class EthereumBlockchainTransactionServiceTest extends BaseWalletTest {
 
     when(transactionService.getPendingTransactionMaxDays()).thenReturn(1l);
     when(transactionService.getMaxAttemptsToSend()).thenReturn(1l);
-    when(transactionService.canSendTransactionToBlockchain(fromAddress)).thenReturn(true);
+    when(transactionService.canSendTransactionToBlockchain(eq(fromAddress), anyLong())).thenReturn(true);
     CompletableFuture<EthSendTransaction> future = mock(CompletableFuture.class);
     CompletableFuture<TransactionDetail> resultFuture = mock(CompletableFuture.class);
 
@@ -970,7 +1081,7 @@ public class EthereumBlockchainTransactionServiceTest extends BaseWalletTest {
 
     when(transactionService.getPendingTransactionMaxDays()).thenReturn(1l);
     when(transactionService.getMaxAttemptsToSend()).thenReturn(1l);
-    when(transactionService.canSendTransactionToBlockchain(fromAddress)).thenReturn(true);
+    when(transactionService.canSendTransactionToBlockchain(eq(fromAddress), anyLong())).thenReturn(true);
     CompletableFuture<EthSendTransaction> future = mock(CompletableFuture.class);
     CompletableFuture<TransactionDetail> resultFuture = mock(CompletableFuture.class);
 
@@ -1017,7 +1128,7 @@ public class EthereumBlockchainTransactionServiceTest extends BaseWalletTest {
 
     when(transactionService.getPendingTransactionMaxDays()).thenReturn(1l);
     when(transactionService.getMaxAttemptsToSend()).thenReturn(1l);
-    when(transactionService.canSendTransactionToBlockchain(fromAddress)).thenReturn(true);
+    when(transactionService.canSendTransactionToBlockchain(eq(fromAddress), anyLong())).thenReturn(true);
     CompletableFuture<EthSendTransaction> future = mock(CompletableFuture.class);
     CompletableFuture<TransactionDetail> resultFuture = mock(CompletableFuture.class);
 
@@ -1053,4 +1164,83 @@ public class EthereumBlockchainTransactionServiceTest extends BaseWalletTest {
                                                 handledTransactionDetail);
   }
 
+  @Test
+  public void testSendPendingTransactionsToBlockchain_SendInNonceOrderPerSender() throws Exception {
+    TransactionDetail firstSenderSecondTransaction = newTransactionToSend("hash1", "sender1", 2);
+    TransactionDetail firstSenderFirstTransaction = newTransactionToSend("hash2", "sender1", 1);
+    TransactionDetail secondSenderTransaction = newTransactionToSend("hash3", "sender2", 1);
+    when(transactionService.getTransactionsToSend()).thenReturn(Arrays.asList(firstSenderSecondTransaction,
+                                                                              firstSenderFirstTransaction,
+                                                                              secondSenderTransaction));
+    when(transactionService.getPendingTransactionMaxDays()).thenReturn(1l);
+    when(transactionService.getMaxAttemptsToSend()).thenReturn(1l);
+    when(transactionService.getMaxParallelPendingTransactions()).thenReturn(2l);
+    when(transactionService.canSendTransactionToBlockchain(anyString(), anyLong())).thenReturn(true);
+
+    List<String> sentHashes = Collections.synchronizedList(new ArrayList<>());
+    when(ethereumClientConnector.sendTransactionToBlockchain(any())).thenAnswer(invocation -> {
+      TransactionDetail transactionDetail = invocation.getArgument(0, TransactionDetail.class);
+      sentHashes.add(transactionDetail.getHash());
+      EthSendTransaction ethTransaction = mock(EthSendTransaction.class);
+      when(ethTransaction.getTransactionHash()).thenReturn(transactionDetail.getHash());
+      return CompletableFuture.completedFuture(ethTransaction);
+    });
+
+    List<TransactionDetail> pendingTransactions = service.sendPendingTransactionsToBlockchain();
+    assertNotNull(pendingTransactions);
+    assertEquals(3, pendingTransactions.size());
+    assertEquals(3, sentHashes.size());
+    assertTrue(sentHashes.indexOf("hash2") < sentHashes.indexOf("hash1"));
+
+    verify(transactionService, times(3)).saveTransactionDetail(any(), eq(false));
+    verify(listenerService, times(3)).broadcast(eq(TRANSACTION_SENT_TO_BLOCKCHAIN_EVENT), any(), any());
+  }
+
+  @Test
+  public void testSendPendingTransactionsToBlockchain_CountTransactionsBeingSent() throws Exception {
+    String fromAddress = "sender1";
+    when(transactionService.getTransactionsToSend()).thenReturn(Arrays.asList(newTransactionToSend("hash1", fromAddress, 1),
+                                                                              newTransactionToSend("hash2", fromAddress, 2),
+                                                                              newTransactionToSend("hash3", fromAddress, 3)));
+    when(transactionService.getPendingTransactionMaxDays()).thenReturn(1l);
+    when(transactionService.getMaxAttemptsToSend()).thenReturn(1l);
+    when(transactionService.getMaxParallelPendingTransactions()).thenReturn(3l);
+    // No transaction saved as sent yet, thus only the transactions being sent
+    // are counted
+    when(transactionService.canSendTransactionToBlockchain(eq(fromAddress),
+                                                           anyLong())).thenAnswer(invocation -> invocation.getArgument(1,
+                                                                                                                       Long.class) < 2);
+
+    List<String> sentHashes = Collections.synchronizedList(new ArrayList<>());
+    when(ethereumClientConnector.sendTransactionToBlockchain(any())).thenAnswer(invocation -> {
+      TransactionDetail transactionDetail = invocation.getArgument(0, TransactionDetail.class);
+      sentHashes.add(transactionDetail.getHash());
+      EthSendTransaction ethTransaction = mock(EthSendTransaction.class);
+      when(ethTransaction.getTransactionHash()).thenReturn(transactionDetail.getHash());
+      return new CompletableFuture<EthSendTransaction>().completeOnTimeout(ethTransaction, 100, TimeUnit.MILLISECONDS);
+    });
+
+    List<TransactionDetail> pendingTransactions = service.sendPendingTransactionsToBlockchain();
+    assertNotNull(pendingTransactions);
+    assertEquals(2, pendingTransactions.size());
+    assertEquals(Arrays.asList("hash1", "hash2"), sentHashes);
+
+    verify(transactionService, times(1)).canSendTransactionToBlockchain(fromAddress, 0);
+    verify(transactionService, times(1)).canSendTransactionToBlockchain(fromAddress, 1);
+    verify(transactionService, times(1)).canSendTransactionToBlockchain(fromAddress, 2);
+    verify(transactionService, times(2)).saveTransactionDetail(any(), eq(false));
+  }
+
+  private TransactionDetail newTransactionToSend(String hash, String fromAddress, long nonce) {
+    TransactionDetail transactionDetail = new TransactionDetail();
+    transactionDetail.setHash(hash);
+    transactionDetail.setFrom(fromAddress);
+    transactionDetail.setTimestamp(System.currentTimeMillis());
+    transactionDetail.setPending(true);
+    transactionDetail.setNonce(nonce);
+    transactionDetail.setRawTransaction(RAW_TRANSACTION);
+    transactionDetail.setSendingAttemptCount(0);
+    return transactionDetail;
+  }
+
 }
@@ -24,6 +24,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -34,6 +35,7 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.Collections;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -46,20 +48,26 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
 import org.web3j.protocol.core.methods.response.EthBlockNumber;
 import org.web3j.protocol.core.methods.response.EthGasPrice;
 import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
 import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.EthLog;
 import org.web3j.protocol.core.methods.response.EthTransaction;
 import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.core.methods.response.Transaction;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.websocket.WebSocketClient;
 import org.web3j.protocol.websocket.WebSocketService;
+import org.web3j.protocol.websocket.events.LogNotification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.exoplatform.services.cache.CacheService;
 import org.exoplatform.services.cache.concurrent.ConcurrentFIFOExoCache;
 import org.exoplatform.services.listener.ListenerService;
+import org.exoplatform.wallet.blockchain.MaxRequestRateReachedException;
 import org.exoplatform.wallet.model.ContractTransactionEvent;
 import org.exoplatform.wallet.model.transaction.TransactionDetail;
 import org.exoplatform.wallet.test.BaseWalletTest;
@@ -368,6 +376,20 @@ public class EthereumClientConnectorTest extends BaseWalletTest {
     assertEquals(BigInteger.TWO, service.getGasPrice());
   }
 
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  public void testGetGasPriceWhenRateLimitReached() throws Exception {
+    Request request = mock(Request.class);
+    when(web3j.ethGasPrice()).thenReturn(request);
+    EthGasPrice ethGasPrice = new EthGasPrice();
+    ethGasPrice.setError(new Response.Error(429, "Too many requests"));
+    when(request.send()).thenReturn(ethGasPrice);
+
+    IOException exception = assertThrows(IOException.class, () -> service.getGasPrice());
+    assertTrue(exception.getCause() instanceof MaxRequestRateReachedException);
+    assertEquals(1, service.getRateLimiter().getRateLimitReachedCount());
+  }
+
   @SuppressWarnings({ "unchecked", "rawtypes" })
   @Test
   public void testGetLatestNonceByDefault() throws Exception {
@@ -513,6 +535,122 @@ public class EthereumClientConnectorTest extends BaseWalletTest {
     assertTrue(ethFilterSubscribtion.isDisposed());
   }
 
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  public void testRenewTransactionListeningSubscriptionWithLogsSubscription() throws Exception {
+    System.setProperty("exo.wallet.blockchain.logsSubscription.enabled", "true");
+    try {
+      instantiateService();
+    } finally {
+      System.clearProperty("exo.wallet.blockchain.logsSubscription.enabled");
+    }
+    assertTrue(service.isLogsSubscriptionEnabled());
+    service.start();
+    service.connect();
+    assertTrue(service.isConnected());
+
+    Log minedLog = newLog();
+    long lastBlockNumber = minedLog.getBlockNumber().longValue();
+
+    Request blockNumberRequest = mock(Request.class);
+    when(web3j.ethBlockNumber()).thenReturn(blockNumberRequest);
+    EthBlockNumber ethBlockNumber = mock(EthBlockNumber.class);
+    when(blockNumberRequest.send()).thenReturn(ethBlockNumber);
+    when(ethBlockNumber.getBlockNumber()).thenReturn(BigInteger.valueOf(lastBlockNumber));
+
+    // Transaction mined while not subscribed
+    Request logsRequest = mock(Request.class);
+    when(web3j.ethGetLogs(any())).thenReturn(logsRequest);
+    EthLog ethLog = new EthLog();
+    ethLog.setResult(Collections.<EthLog.LogResult> singletonList(minedLog));
+    when(logsRequest.send()).thenReturn(ethLog);
+
+    Flowable<LogNotification> flowable = mock(Flowable.class);
+    when(web3j.logsNotifications(any(), any())).thenReturn(flowable);
+    Disposable logsSubscription = mock(Disposable.class);
+    AtomicReference<Consumer<? super LogNotification>> onNext = new AtomicReference<>();
+    when(flowable.subscribe(any(), any(), any())).thenAnswer(invocation -> {
+      onNext.set(invocation.getArgument(0, Consumer.class));
+      return logsSubscription;
+    });
+
+    Future<Disposable> future = service.renewTransactionListeningSubscription(lastBlockNumber - 4);
+    assertEquals(logsSubscription, future.get());
+    verify(web3j, never()).ethLogFlowable(any());
+    verify(listenerService, times(1)).broadcast(CONTRACT_TRANSACTION_MINED_EVENT,
+                                                null,
+                                                new ContractTransactionEvent(minedLog.getTransactionHash(),
+                                                                             minedLog.getAddress(),
+                                                                             minedLog.getData(),
+                                                                             minedLog.getTopics(),
+                                                                             lastBlockNumber));
+    assertEquals(lastBlockNumber, service.getLastWatchedBlockNumber());
+
+    // Transaction pushed by subscription
+    String notification = "{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscription\",\"params\":{\"subscription\":\"0x1\","
+        + "\"result\":{\"address\":\"" + minedLog.getAddress() + "\",\"blockNumber\":\"0x"
+        + Long.toHexString(lastBlockNumber + 1) + "\",\"logIndex\":\"0x0\",\"transactionHash\":\"pushedTransactionHash\","
+        + "\"data\":\"" + minedLog.getData() + "\",\"topics\":[]}}}";
+    onNext.get().accept(new ObjectMapper().readValue(notification, LogNotification.class));
+    verify(listenerService, times(1)).broadcast(CONTRACT_TRANSACTION_MINED_EVENT,
+                                                null,
+                                                new ContractTransactionEvent("pushedTransactionHash",
+                                                                             minedLog.getAddress(),
+                                                                             minedLog.getData(),
+                                                                             Collections.emptyList(),
+                                                                             lastBlockNumber + 1));
+    assertEquals(lastBlockNumber + 1, service.getLastWatchedBlockNumber());
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  public void testRenewTransactionListeningSubscriptionWithLogsSubscriptionWhenGapFillingFails() throws Exception {
+    System.setProperty("exo.wallet.blockchain.logsSubscription.enabled", "true");
+    try {
+      instantiateService();
+    } finally {
+      System.clearProperty("exo.wallet.blockchain.logsSubscription.enabled");
+    }
+    service.start();
+    service.connect();
+
+    Log minedLog = newLog();
+    long lastBlockNumber = minedLog.getBlockNumber().longValue();
+
+    Request blockNumberRequest = mock(Request.class);
+    when(web3j.ethBlockNumber()).thenReturn(blockNumberRequest);
+    EthBlockNumber ethBlockNumber = mock(EthBlockNumber.class);
+    when(blockNumberRequest.send()).thenReturn(ethBlockNumber);
+    when(ethBlockNumber.getBlockNumber()).thenReturn(BigInteger.valueOf(lastBlockNumber));
+
+    Flowable<LogNotification> flowable = mock(Flowable.class);
+    when(web3j.logsNotifications(any(), any())).thenReturn(flowable);
+    Disposable logsSubscription = mock(Disposable.class);
+    AtomicReference<Consumer<? super LogNotification>> onNext = new AtomicReference<>();
+    when(flowable.subscribe(any(), any(), any())).thenAnswer(invocation -> {
+      onNext.set(invocation.getArgument(0, Consumer.class));
+      return logsSubscription;
+    });
+
+    // Transaction pushed by subscription while the gap filling fails
+    String notification = "{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscription\",\"params\":{\"subscription\":\"0x1\","
+        + "\"result\":{\"address\":\"" + minedLog.getAddress() + "\",\"blockNumber\":\"0x"
+        + Long.toHexString(lastBlockNumber + 1) + "\",\"logIndex\":\"0x0\",\"transactionHash\":\"pushedTransactionHash\","
+        + "\"data\":\"" + minedLog.getData() + "\",\"topics\":[]}}}";
+    Request logsRequest = mock(Request.class);
+    when(web3j.ethGetLogs(any())).thenReturn(logsRequest);
+    when(logsRequest.send()).thenAnswer(invocation -> {
+      onNext.get().accept(new ObjectMapper().readValue(notification, LogNotification.class));
+      throw new IOException("Logs retrieval error");
+    });
+
+    Future<Disposable> future = service.renewTransactionListeningSubscription(lastBlockNumber - 4);
+    assertNull(future.get());
+    verify(logsSubscription, times(1)).dispose();
+    verify(listenerService, times(1)).broadcast(eq(CONTRACT_TRANSACTION_MINED_EVENT), any(), any());
+    assertEquals(lastBlockNumber - 4, service.getLastWatchedBlockNumber());
+  }
+
   private void instantiateService() {
     if (service != null && service.isConnected()) {
       service.stop();
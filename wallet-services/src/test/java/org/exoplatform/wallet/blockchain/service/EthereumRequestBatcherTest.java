@@ -0,0 +1,297 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2020 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.blockchain.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGasPrice;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EthereumRequestBatcherTest {
+
+  @Mock
+  private Web3j                  web3j;
+
+  private EthereumRequestBatcher batcher;
+
+  @After
+  public void tearDown() {
+    if (batcher != null) {
+      batcher.stop();
+    }
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  public void testSendWhenBatchDisabled() throws Exception {
+    batcher = new EthereumRequestBatcher(() -> web3j, 1, 10);
+    assertFalse(batcher.isEnabled());
+
+    Request request = mock(Request.class);
+    EthGasPrice response = new EthGasPrice();
+    when(request.send()).thenReturn(response);
+
+    assertEquals(response, batcher.send(request));
+    verify(web3j, never()).newBatch();
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  public void testSendSingleRequestWithoutBatch() throws Exception {
+    batcher = new EthereumRequestBatcher(() -> web3j, 10, 10);
+    assertTrue(batcher.isEnabled());
+
+    Request request = mock(Request.class);
+    EthGasPrice response = new EthGasPrice();
+    when(request.send()).thenReturn(response);
+
+    assertEquals(response, batcher.send(request));
+    verify(web3j, never()).newBatch();
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  public void testSendSingleRequestWithError() throws Exception {
+    batcher = new EthereumRequestBatcher(() -> web3j, 10, 10);
+
+    Request request = mock(Request.class);
+    when(request.send()).thenThrow(IOException.class);
+
+    assertThrows(IOException.class, () -> batcher.send(request));
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  public void testSendRequestsInBatchWhenMaxSizeReached() throws Exception {
+    int batchSize = 3;
+    batcher = new EthereumRequestBatcher(() -> web3j, batchSize, 60000);
+
+    List<Request> requests = new ArrayList<>();
+    List<EthGasPrice> responses = new ArrayList<>();
+    for (int i = 0; i < batchSize; i++) {
+      Request request = mock(Request.class);
+      when(request.getResponseType()).thenReturn(EthGasPrice.class);
+      when(request.getId()).thenReturn((long) i);
+      requests.add(request);
+      EthGasPrice response = new EthGasPrice();
+      response.setId(i);
+      responses.add(response);
+    }
+    BatchRequest batchRequest = mock(BatchRequest.class);
+    BatchResponse batchResponse = mock(BatchResponse.class);
+    when(web3j.newBatch()).thenReturn(batchRequest);
+    when(batchRequest.send()).thenReturn(batchResponse);
+    // Responses are retrieved in a different order than requests
+    when(batchResponse.getResponses()).thenReturn((List) Arrays.asList(responses.get(2), responses.get(0), responses.get(1)));
+
+    List<CompletableFuture<EthGasPrice>> futures = new ArrayList<>();
+    for (Request request : requests) {
+      futures.add(batcher.enqueue(request));
+    }
+    for (int i = 0; i < batchSize; i++) {
+      assertEquals(responses.get(i), futures.get(i).get());
+    }
+    verify(web3j, times(1)).newBatch();
+    verify(batchRequest, times(batchSize)).add(any());
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  public void testSendRequestsInBatchWhenFlushDelayReached() throws Exception {
+    batcher = new EthereumRequestBatcher(() -> web3j, 10, 10);
+
+    Request request1 = mock(Request.class);
+    when(request1.getResponseType()).thenReturn(EthGasPrice.class);
+    Request request2 = mock(Request.class);
+    when(request2.getResponseType()).thenReturn(EthGasPrice.class);
+    EthGasPrice response1 = new EthGasPrice();
+    EthGasPrice response2 = new EthGasPrice();
+
+    BatchRequest batchRequest = mock(BatchRequest.class);
+    BatchResponse batchResponse = mock(BatchResponse.class);
+    when(web3j.newBatch()).thenReturn(batchRequest);
+    when(batchRequest.send()).thenReturn(batchResponse);
+    when(batchResponse.getResponses()).thenReturn((List) Arrays.asList(response1, response2));
+
+    CompletableFuture<EthGasPrice> future1 = batcher.enqueue(request1);
+    CompletableFuture<EthGasPrice> future2 = batcher.enqueue(request2);
+    assertEquals(response1, future1.get());
+    assertEquals(response2, future2.get());
+    verify(request1, never()).send();
+    verify(request2, never()).send();
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  public void testSendRequestsInBatchWithError() throws Exception {
+    batcher = new EthereumRequestBatcher(() -> web3j, 2, 60000);
+
+    Request request1 = mock(Request.class);
+    Request request2 = mock(Request.class);
+    BatchRequest batchRequest = mock(BatchRequest.class);
+    when(web3j.newBatch()).thenReturn(batchRequest);
+    when(batchRequest.send()).thenThrow(IOException.class);
+
+    CompletableFuture<EthGasPrice> future1 = batcher.enqueue(request1);
+    CompletableFuture<EthGasPrice> future2 = batcher.enqueue(request2);
+    assertThrows(Exception.class, future1::get);
+    assertThrows(Exception.class, future2::get);
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  public void testSendRequestsInBatchCountsFailedResponses() throws Exception {
+    batcher = spy(new EthereumRequestBatcher(() -> web3j, 2, 60000));
+    CompletableFuture<Object> sendResult = new CompletableFuture<>();
+    doAnswer(invocation -> {
+      Object result = invocation.callRealMethod();
+      sendResult.complete(result);
+      return result;
+    }).when(batcher).sendBatch(any());
+
+    Request request1 = mock(Request.class);
+    when(request1.getResponseType()).thenReturn(EthGasPrice.class);
+    Request request2 = mock(Request.class);
+    when(request2.getResponseType()).thenReturn(EthGasPrice.class);
+    EthGasPrice response1 = new EthGasPrice();
+    EthGasPrice response2 = new EthGasPrice();
+    response2.setError(new Response.Error(-32000, "execution reverted"));
+
+    BatchRequest batchRequest = mock(BatchRequest.class);
+    BatchResponse batchResponse = mock(BatchResponse.class);
+    when(web3j.newBatch()).thenReturn(batchRequest);
+    when(batchRequest.send()).thenReturn(batchResponse);
+    when(batchResponse.getResponses()).thenReturn((List) Arrays.asList(response1, response2));
+
+    CompletableFuture<EthGasPrice> future1 = batcher.enqueue(request1);
+    CompletableFuture<EthGasPrice> future2 = batcher.enqueue(request2);
+    assertEquals(response1, future1.get());
+    assertEquals(response2, future2.get());
+    // Only the response holding an error is counted as failed
+    assertEquals(1, sendResult.get());
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  public void testSendRequestsInBatchWhileAnotherBatchIsSent() throws Exception {
+    batcher = new EthereumRequestBatcher(() -> web3j, 10, 10);
+
+    Request slowRequest1 = mock(Request.class);
+    Request slowRequest2 = mock(Request.class);
+    Request request1 = mock(Request.class);
+    when(request1.getResponseType()).thenReturn(EthGasPrice.class);
+    Request request2 = mock(Request.class);
+    when(request2.getResponseType()).thenReturn(EthGasPrice.class);
+    EthGasPrice response1 = new EthGasPrice();
+    EthGasPrice response2 = new EthGasPrice();
+
+    CountDownLatch slowBatchReleased = new CountDownLatch(1);
+    BatchRequest slowBatchRequest = mock(BatchRequest.class);
+    when(slowBatchRequest.send()).thenAnswer(invocation -> {
+      slowBatchReleased.await();
+      throw new IOException("Slow batch error");
+    });
+    BatchRequest batchRequest = mock(BatchRequest.class);
+    BatchResponse batchResponse = mock(BatchResponse.class);
+    when(web3j.newBatch()).thenReturn(slowBatchRequest, batchRequest);
+    when(batchRequest.send()).thenReturn(batchResponse);
+    when(batchResponse.getResponses()).thenReturn((List) Arrays.asList(response1, response2));
+
+    try {
+      CompletableFuture<EthGasPrice> slowFuture = batcher.enqueue(slowRequest1);
+      batcher.enqueue(slowRequest2);
+      verify(slowBatchRequest, timeout(5000)).send();
+
+      CompletableFuture<EthGasPrice> future1 = batcher.enqueue(request1);
+      CompletableFuture<EthGasPrice> future2 = batcher.enqueue(request2);
+      assertEquals(response1, future1.get(5, TimeUnit.SECONDS));
+      assertEquals(response2, future2.get(5, TimeUnit.SECONDS));
+      assertFalse(slowFuture.isDone());
+    } finally {
+      slowBatchReleased.countDown();
+    }
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  public void testSendWhenStopped() throws Exception {
+    batcher = new EthereumRequestBatcher(() -> web3j, 10, 60000);
+    Request request = mock(Request.class);
+    batcher.stop();
+
+    assertThrows(IllegalStateException.class, () -> batcher.send(request));
+    assertThrows(IllegalStateException.class, () -> batcher.enqueue(request));
+    verify(request, never()).send();
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  @Test
+  public void testSendRequestsInBatchAcquireSingleRatePermit() throws Exception {
+    BlockchainRequestRateLimiter rateLimiter = mock(BlockchainRequestRateLimiter.class);
+    batcher = new EthereumRequestBatcher(() -> web3j, 2, 60000, rateLimiter);
+
+    Request request1 = mock(Request.class);
+    when(request1.getResponseType()).thenReturn(EthGasPrice.class);
+    Request request2 = mock(Request.class);
+    when(request2.getResponseType()).thenReturn(EthGasPrice.class);
+    EthGasPrice response1 = new EthGasPrice();
+    EthGasPrice response2 = new EthGasPrice();
+
+    BatchRequest batchRequest = mock(BatchRequest.class);
+    BatchResponse batchResponse = mock(BatchResponse.class);
+    when(web3j.newBatch()).thenReturn(batchRequest);
+    when(batchRequest.send()).thenReturn(batchResponse);
+    when(batchResponse.getResponses()).thenReturn((List) Arrays.asList(response1, response2));
+
+    CompletableFuture<EthGasPrice> future1 = batcher.enqueue(request1);
+    CompletableFuture<EthGasPrice> future2 = batcher.enqueue(request2);
+    assertEquals(response1, future1.get());
+    assertEquals(response2, future2.get());
+    verify(rateLimiter, times(1)).acquire();
+  }
+
+}
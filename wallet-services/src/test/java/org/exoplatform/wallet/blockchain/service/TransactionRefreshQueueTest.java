@@ -0,0 +1,96 @@
+/*
+ * This file is part of the Meeds project (https://meeds.io/).
+ * Copyright (C) 2022 Meeds Association
+ * contact@meeds.io
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.exoplatform.wallet.blockchain.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import org.exoplatform.wallet.model.transaction.TransactionDetail;
+
+public class TransactionRefreshQueueTest {
+
+  @Test
+  public void testAddDeduplicateByHashIgnoringCase() {
+    TransactionRefreshQueue queue = new TransactionRefreshQueue();
+    assertTrue(queue.add(newTransactionDetail("0xABC", 1)));
+    assertFalse(queue.add(newTransactionDetail("0xabc", 2)));
+    assertFalse(queue.add(newTransactionDetail(null, 2)));
+
+    assertEquals(1, queue.size());
+    assertTrue(queue.contains("0xAbC"));
+  }
+
+  @Test
+  public void testPollByTimestamp() {
+    TransactionRefreshQueue queue = new TransactionRefreshQueue();
+    queue.add(newTransactionDetail("0x3", 3));
+    queue.add(newTransactionDetail("0x1", 1));
+    queue.add(newTransactionDetail("0x2", 2));
+
+    assertEquals("0x1", queue.poll().getHash());
+    assertEquals("0x2", queue.poll().getHash());
+    assertEquals("0x3", queue.poll().getHash());
+    assertNull(queue.poll());
+    assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  public void testPriorityBump() {
+    TransactionRefreshQueue queue = new TransactionRefreshQueue();
+    queue.add(newTransactionDetail("0x1", 1));
+    queue.add(newTransactionDetail("0x2", 2));
+    queue.add(newTransactionDetail("0x3", 3));
+    assertFalse(queue.add(newTransactionDetail("0x3", 3), true));
+    queue.add(newTransactionDetail("0x4", 4), true);
+
+    assertEquals(4, queue.size());
+    assertEquals("0x3", queue.poll().getHash());
+    assertEquals("0x4", queue.poll().getHash());
+    assertEquals("0x1", queue.poll().getHash());
+    assertEquals("0x2", queue.poll().getHash());
+    assertNull(queue.poll());
+  }
+
+  @Test
+  public void testRemove() {
+    TransactionRefreshQueue queue = new TransactionRefreshQueue();
+    queue.add(newTransactionDetail("0x1", 1));
+    queue.add(newTransactionDetail("0x2", 2));
+
+    assertTrue(queue.remove("0X1"));
+    assertFalse(queue.remove("0x1"));
+    assertFalse(queue.contains("0x1"));
+    assertEquals(1, queue.size());
+    assertEquals("0x2", queue.poll().getHash());
+    assertNull(queue.poll());
+
+    assertTrue(queue.add(newTransactionDetail("0x1", 1)));
+    assertEquals("0x1", queue.poll().getHash());
+  }
+
+  private TransactionDetail newTransactionDetail(String hash, long timestamp) {
+    TransactionDetail transactionDetail = new TransactionDetail();
+    transactionDetail.setHash(hash);
+    transactionDetail.setTimestamp(timestamp);
+    return transactionDetail;
+  }
+
+}
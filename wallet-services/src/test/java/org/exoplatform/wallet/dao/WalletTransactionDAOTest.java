@@ -19,10 +19,17 @@ package org.exoplatform.wallet.dao;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
-import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Test;
 
 import org.exoplatform.wallet.entity.TransactionEntity;
@@ -160,6 +167,124 @@ public class WalletTransactionDAOTest extends BaseWalletTest {
     assertEquals("Returned wallet transactions list count is not coherent", 10, transactions.size());
   }
 
+  /**
+   * Test get transactions of a wallet using all filters
+   */
+  @Test
+  public void testGetWalletTransactionsWithQueryBuilder() {
+    String contractAddress = "0xe9dfec7864af9e581a85ce3987d026be0f509ac9";
+    String contractMethodName = "transfer";
+    String address = "0xe8dfec7864af9e581a85ce3987d026be0f509ac9";
+
+    List<TransactionEntity> generatedTransactions = generateTransactions(address, contractAddress, contractMethodName);
+
+    WalletTransactionDAO walletTransactionDAO = getService(WalletTransactionDAO.class);
+    WalletTransactionQueryBuilder queryBuilder = new WalletTransactionQueryBuilder(NETWORK_ID, address);
+    List<TransactionEntity> transactions = walletTransactionDAO.getWalletTransactions(queryBuilder, 0);
+    assertEquals(generatedTransactions.size(), transactions.size());
+
+    queryBuilder.withContractAddress(contractAddress)
+                .withContractMethodName(contractMethodName)
+                .onlyPending(true)
+                .includeAdministrationTransactions(false);
+    String queryString = queryBuilder.getQueryString();
+    transactions = walletTransactionDAO.getWalletTransactions(queryBuilder, 0);
+    long expectedCount = generatedTransactions.stream()
+                                              .filter(transaction -> contractAddress.equals(transaction.getContractAddress())
+                                                  && contractMethodName.equals(transaction.getContractMethodName())
+                                                  && transaction.isPending() && !transaction.isAdminOperation())
+                                              .count();
+    assertEquals(expectedCount, transactions.size());
+    // Same filters combination reuses the same statement
+    assertSame(queryString, new WalletTransactionQueryBuilder(NETWORK_ID, "0x1").withContractAddress(contractAddress)
+                                                                                 .withContractMethodName(contractMethodName)
+                                                                                 .onlyPending(true)
+                                                                                 .includeAdministrationTransactions(false)
+                                                                                 .getQueryString());
+
+    // Filter values are bound as parameters and never interpreted
+    queryBuilder = new WalletTransactionQueryBuilder(NETWORK_ID, address + "' OR '1' = '1");
+    assertEquals(0, walletTransactionDAO.getWalletTransactions(queryBuilder, 0).size());
+  }
+
+  /**
+   * Test retrieving transactions of a wallet page by page using the creation
+   * date and identifier of last retrieved transaction
+   */
+  @Test
+  public void testGetWalletTransactionsWithCursor() {
+    String address = "0xe6dfec7864af9e581a85ce3987d026be0f509ac9";
+    generateTransactions(address, null, null);
+
+    WalletTransactionDAO walletTransactionDAO = getService(WalletTransactionDAO.class);
+    Set<Long> retrievedIds = new HashSet<>();
+    TransactionEntity lastTransaction = null;
+    int pageSize = 7;
+    int pagesCount = 0;
+    List<TransactionEntity> transactions;
+    do {
+      WalletTransactionQueryBuilder queryBuilder = new WalletTransactionQueryBuilder(NETWORK_ID, address);
+      if (lastTransaction != null) {
+        queryBuilder.before(lastTransaction.getCreatedDate(), lastTransaction.getId());
+      }
+      transactions = walletTransactionDAO.getWalletTransactions(queryBuilder, pageSize);
+      for (TransactionEntity transaction : transactions) {
+        if (lastTransaction != null) {
+          assertTrue("Transactions should be sorted by creation date and identifier descending",
+                     transaction.getCreatedDate() < lastTransaction.getCreatedDate()
+                         || (transaction.getCreatedDate() == lastTransaction.getCreatedDate()
+                             && transaction.getId() < lastTransaction.getId()));
+        }
+        assertTrue("Transaction retrieved twice", retrievedIds.add(transaction.getId()));
+        lastTransaction = transaction;
+      }
+      pagesCount++;
+    } while (transactions.size() == pageSize);
+    assertEquals(60, retrievedIds.size());
+    assertEquals(9, pagesCount);
+
+    TransactionEntity firstTransaction = walletTransactionDAO.getTransactions(NETWORK_ID, 1).get(0);
+    List<TransactionEntity> networkTransactions = walletTransactionDAO.getTransactions(NETWORK_ID,
+                                                                                       firstTransaction.getCreatedDate(),
+                                                                                       firstTransaction.getId(),
+                                                                                       0);
+    assertEquals(59, networkTransactions.size());
+  }
+
+  /**
+   * Test retrieving transactions of many distinct wallets: the same statement
+   * has to be reused from query plan cache for all wallets
+   */
+  @Test
+  public void testGetWalletTransactionsQueryPlanCacheWithManyAddresses() {
+    int addressesCount = 50;
+    WalletTransactionDAO walletTransactionDAO = getService(WalletTransactionDAO.class);
+    String queryString = new WalletTransactionQueryBuilder(NETWORK_ID, "0x0").onlyPending(true).getQueryString();
+
+    Statistics statistics = walletTransactionDAO.getEntityManager()
+                                                .getEntityManagerFactory()
+                                                .unwrap(SessionFactory.class)
+                                                .getStatistics();
+    boolean statisticsEnabled = statistics.isStatisticsEnabled();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+    try {
+      for (int i = 0; i < addressesCount; i++) {
+        String address = String.format("0x%040x", i);
+        WalletTransactionQueryBuilder queryBuilder = new WalletTransactionQueryBuilder(NETWORK_ID, address).onlyPending(true);
+        assertSame(queryString, queryBuilder.getQueryString());
+        walletTransactionDAO.getWalletTransactions(queryBuilder, 10);
+      }
+
+      long hitCount = statistics.getQueryPlanCacheHitCount();
+      long missCount = statistics.getQueryPlanCacheMissCount();
+      assertTrue("Query plan cache misses shouldn't depend on wallets count: " + missCount, missCount <= 1);
+      assertTrue("Query plan should be reused for distinct wallets: " + hitCount, hitCount >= addressesCount - 1);
+    } finally {
+      statistics.setStatisticsEnabled(statisticsEnabled);
+    }
+  }
+
   /**
    * Test get transactions by Nonce
    */
@@ -318,47 +443,73 @@ public class WalletTransactionDAOTest extends BaseWalletTest {
   }
 
   /**
-   * Test count received contract amounts
+   * Test search transactions by hashes
    */
   @Test
-  public void testCountReceivedContractAmount() {
-    String contractAddress = "contractAddress";
-    String address = "address";
-    String contractMethodName = "reward";
-
-    generateTransactions(address, contractAddress, contractMethodName, -1000);
-
-    ZonedDateTime start = ZonedDateTime.now();
-    generateTransactions(address, contractAddress, contractMethodName);
-    ZonedDateTime end = ZonedDateTime.now().plusSeconds(1);
-
-    generateTransactions(address, contractAddress, contractMethodName, 3000);
+  public void testGetTransactionsByHashes() {
+    for (int i = 0; i < 3; i++) {
+      createTransaction("hashtx" + i,
+                        null,
+                        null,
+                        0, // token amount
+                        0, // ether amount
+                        "from",
+                        "to",
+                        "by",
+                        0,
+                        "label",
+                        "message",
+                        true, // isSuccess
+                        true, // isPending
+                        1,
+                        true, // isAdminOperation
+                        System.currentTimeMillis());
+    }
 
     WalletTransactionDAO walletTransactionDAO = getService(WalletTransactionDAO.class);
-    double receivedAmount = walletTransactionDAO.countReceivedContractAmount(contractAddress, address, start, end);
-    assertEquals("Received amount isn't coherent", 10, receivedAmount, 0);
+    List<TransactionEntity> transactionEntities = walletTransactionDAO.getTransactionsByHashes(Arrays.asList("hashtx0",
+                                                                                                            "HASHTX2",
+                                                                                                            "fakehash"));
+    assertNotNull(transactionEntities);
+    assertEquals(2, transactionEntities.size());
+    assertTrue(transactionEntities.stream().anyMatch(transactionEntity -> "hashtx0".equals(transactionEntity.getHash())));
+    assertTrue(transactionEntities.stream().anyMatch(transactionEntity -> "hashtx2".equals(transactionEntity.getHash())));
+
+    assertTrue(walletTransactionDAO.getTransactionsByHashes(Collections.emptyList()).isEmpty());
   }
 
   /**
-   * Test count sent contract amounts
+   * Test count pending transactions by hashes
    */
   @Test
-  public void testCountSentContractAmount() {
-    String contractAddress = "contractAddress";
-    String address = "address";
-    String contractMethodName = "transfer";
-
-    generateTransactions(address, contractAddress, contractMethodName, -1000);
-
-    ZonedDateTime start = ZonedDateTime.now();
-    generateTransactions(address, contractAddress, contractMethodName);
-    ZonedDateTime end = ZonedDateTime.now().plusSeconds(1);
-
-    generateTransactions(address, contractAddress, contractMethodName, 3000);
+  public void testCountPendingTransactionsByHashes() {
+    for (int i = 0; i < 3; i++) {
+      createTransaction("pendinghashtx" + i,
+                        null,
+                        null,
+                        0, // token amount
+                        0, // ether amount
+                        "from",
+                        "to",
+                        "by",
+                        0,
+                        "label",
+                        "message",
+                        true, // isSuccess
+                        i != 1, // isPending
+                        1,
+                        true, // isAdminOperation
+                        System.currentTimeMillis());
+    }
 
     WalletTransactionDAO walletTransactionDAO = getService(WalletTransactionDAO.class);
-    double sentAmount = walletTransactionDAO.countSentContractAmount(contractAddress, address, start, end);
-    assertEquals("Sent amount isn't coherent", 10, sentAmount, 0);
+    assertEquals(1, walletTransactionDAO.countPendingTransactionsByHashes(Arrays.asList("pendinghashtx0",
+                                                                                        "PENDINGHASHTX1",
+                                                                                        "fakehash")));
+    assertEquals(2, walletTransactionDAO.countPendingTransactionsByHashes(Arrays.asList("pendinghashtx0",
+                                                                                        "pendinghashtx1",
+                                                                                        "pendinghashtx2")));
+    assertEquals(0, walletTransactionDAO.countPendingTransactionsByHashes(Collections.emptyList()));
   }
 
 }
@@ -33,6 +33,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -904,6 +905,50 @@ public class WalletAccountServiceTest extends BaseWalletTest {
 
     walletAccountService.refreshWalletFromBlockchain(wallet, contractDetail, walletModifications);
     verify(listenerService, times(1)).broadcast(eq(WALLET_MODIFIED_EVENT), eq(null), any(Wallet.class));
+    verify(accountStorage, times(2)).saveWalletEtherBalance(wallet, contractAddress);
+    verify(accountStorage, never()).saveWalletBlockchainState(wallet, contractAddress);
+  }
+
+  @Test
+  public void testRefreshWalletTokenBalanceFromBlockchain() throws Exception {
+    WalletStorage accountStorage = mock(WalletStorage.class);
+    ListenerService listenerService = mock(ListenerService.class);
+    WalletTokenAdminService tokenAdminService = mock(WalletTokenAdminService.class);
+
+    WalletAccountServiceImpl walletAccountService = new WalletAccountServiceImpl(mock(PortalContainer.class),
+                                                                                 accountStorage,
+                                                                                 mock(AddressLabelStorage.class),
+                                                                                 mock(SettingService.class),
+                                                                                 mock(InitParams.class));
+    walletAccountService.setTokenAdminService(tokenAdminService);
+    walletAccountService.setListenerService(listenerService);
+
+    String walletAddress = "walletAddress";
+    String contractAddress = "contractAddress";
+    ContractDetail contractDetail = mock(ContractDetail.class);
+    when(contractDetail.getAddress()).thenReturn(contractAddress);
+    when(contractDetail.getDecimals()).thenReturn(2);
+
+    Wallet wallet = new Wallet();
+    wallet.setAddress(walletAddress);
+    doAnswer(invocation -> {
+      wallet.setEtherBalance(0.02d);
+      wallet.setTokenBalance(3.02d);
+      return null;
+    }).when(accountStorage).retrieveWalletBlockchainState(wallet, contractAddress);
+
+    when(tokenAdminService.getTokenBalanceOfAtLastWatchedBlock(walletAddress)).thenReturn(BigInteger.valueOf(302));
+    walletAccountService.refreshWalletTokenBalanceFromBlockchain(wallet, contractDetail);
+    verify(accountStorage, never()).saveWalletBlockchainState(wallet, contractAddress);
+    verify(listenerService, never()).broadcast(eq(WALLET_MODIFIED_EVENT), eq(null), any(Wallet.class));
+    verify(tokenAdminService, never()).getEtherBalanceOf(walletAddress);
+
+    when(tokenAdminService.getTokenBalanceOfAtLastWatchedBlock(walletAddress)).thenReturn(BigInteger.valueOf(305));
+    walletAccountService.refreshWalletTokenBalanceFromBlockchain(wallet, contractDetail);
+    assertEquals(3.05d, wallet.getTokenBalance(), 0);
+    assertEquals(0.02d, wallet.getEtherBalance(), 0);
+    verify(accountStorage, times(1)).saveWalletBlockchainState(wallet, contractAddress);
+    verify(listenerService, times(1)).broadcast(eq(WALLET_MODIFIED_EVENT), eq(null), any(Wallet.class));
   }
 
 }
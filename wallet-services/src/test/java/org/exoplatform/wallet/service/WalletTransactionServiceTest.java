@@ -21,6 +21,8 @@ import static org.exoplatform.wallet.utils.WalletUtils.TRANSACTION_MODIFIED_EVEN
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertThrows;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -32,6 +34,7 @@ import org.exoplatform.services.listener.Event;
 import org.exoplatform.services.listener.Listener;
 import org.exoplatform.services.listener.ListenerService;
 import org.exoplatform.wallet.model.transaction.TransactionDetail;
+import org.exoplatform.wallet.model.transaction.TransactionDetailPage;
 import org.exoplatform.wallet.model.transaction.TransactionStatistics;
 import org.exoplatform.wallet.test.BaseWalletTest;
 import org.exoplatform.wallet.utils.WalletUtils;
@@ -174,6 +177,56 @@ public class WalletTransactionServiceTest extends BaseWalletTest {
     assertTrue(listenerInvoked.get());
   }
 
+  /**
+   * Test
+   * {@link WalletTransactionService#cancelTransactionsWithSameNonce(List)}
+   */
+  @Test
+  public void testCancelTransactionsWithSameNonce() {
+    WalletTransactionService walletTransactionService = getService(WalletTransactionService.class);
+    TransactionDetail transactionDetail = createTransactionDetail(generateTransactionHash(),
+                                                                  WalletUtils.CONTRACT_FUNC_TRANSFERFROM,
+                                                                  CONTRACT_AMOUNT,
+                                                                  ETHER_VALUE,
+                                                                  WALLET_ADDRESS_1,
+                                                                  WALLET_ADDRESS_2,
+                                                                  WALLET_ADDRESS_3,
+                                                                  USER_TEST_IDENTITY_ID,
+                                                                  TRANSACTION_LABEL,
+                                                                  TRANSACTION_MESSAGE,
+                                                                  false,
+                                                                  true,
+                                                                  false,
+                                                                  null,
+                                                                  System.currentTimeMillis());
+    walletTransactionService.saveTransactionDetail(transactionDetail, true);
+    TransactionDetail storedTransactionDetail = walletTransactionService.getTransactionByHash(transactionDetail.getHash());
+    entitiesToClean.add(storedTransactionDetail);
+
+    TransactionDetail transactionDetailReplacement = storedTransactionDetail.clone();
+    transactionDetailReplacement.setHash(generateTransactionHash());
+    transactionDetailReplacement.setId(0);
+    transactionDetailReplacement.setPending(true);
+    walletTransactionService.saveTransactionDetail(transactionDetailReplacement, true);
+    TransactionDetail storedTransactionDetailReplacement =
+                                                         walletTransactionService.getTransactionByHash(transactionDetailReplacement.getHash());
+    entitiesToClean.add(storedTransactionDetailReplacement);
+
+    TransactionDetail otherNonceTransaction = storedTransactionDetailReplacement.clone();
+    otherNonceTransaction.setHash(generateTransactionHash());
+    otherNonceTransaction.setNonce(storedTransactionDetailReplacement.getNonce() + 1);
+
+    walletTransactionService.cancelTransactionsWithSameNonce(Arrays.asList(storedTransactionDetailReplacement,
+                                                                           otherNonceTransaction));
+    storedTransactionDetail = walletTransactionService.getTransactionByHash(transactionDetail.getHash());
+    assertFalse(storedTransactionDetail.isPending());
+    assertTrue(storedTransactionDetail.isDropped());
+    assertEquals(0, storedTransactionDetail.getNonce());
+
+    storedTransactionDetailReplacement = walletTransactionService.getTransactionByHash(transactionDetailReplacement.getHash());
+    assertTrue(storedTransactionDetailReplacement.isPending());
+  }
+
   /**
    * Test
    * {@link WalletTransactionService#saveTransactionDetail(TransactionDetail, String)}
@@ -672,6 +725,71 @@ public class WalletTransactionServiceTest extends BaseWalletTest {
     assertEquals(pendingTransactionDetail.getHash(), pendingTransactions.iterator().next().getHash());
   }
 
+  /**
+   * Test
+   * {@link WalletTransactionService#getTransactionsPage(String, String, String, String, String, int, boolean, boolean, String)}
+   * when searched transaction isn't in the first transactions
+   * 
+   * @throws IllegalAccessException when user is not allowed to access wallet
+   *           transactions
+   */
+  @Test
+  public void testGetTransactionsPageWithSearchedHash() throws IllegalAccessException {
+    addCurrentUserWallet();
+
+    WalletTransactionService walletTransactionService = getService(WalletTransactionService.class);
+    List<String> hashes = new ArrayList<>();
+    long createdDate = System.currentTimeMillis() - 60000;
+    for (int i = 0; i < 6; i++) {
+      TransactionDetail transactionDetail = createTransactionDetail(generateTransactionHash(),
+                                                                    WalletUtils.CONTRACT_FUNC_TRANSFERFROM,
+                                                                    CONTRACT_AMOUNT,
+                                                                    ETHER_VALUE,
+                                                                    WALLET_ADDRESS_1,
+                                                                    WALLET_ADDRESS_2,
+                                                                    null,
+                                                                    CURRENT_USER_IDENTITY_ID,
+                                                                    TRANSACTION_LABEL,
+                                                                    TRANSACTION_MESSAGE,
+                                                                    true,
+                                                                    false,
+                                                                    false,
+                                                                    null,
+                                                                    createdDate + i * 1000);
+      entitiesToClean.add(transactionDetail);
+      hashes.add(transactionDetail.getHash());
+    }
+    // Oldest transactions are the last ones of the list
+    String searchedHash = hashes.get(1);
+
+    TransactionDetailPage transactionsPage = walletTransactionService.getTransactionsPage(WALLET_ADDRESS_1,
+                                                                                          null,
+                                                                                          null,
+                                                                                          searchedHash,
+                                                                                          null,
+                                                                                          2,
+                                                                                          false,
+                                                                                          false,
+                                                                                          CURRENT_USER);
+    List<TransactionDetail> transactions = transactionsPage.getTransactions();
+    assertEquals(5, transactions.size());
+    assertEquals(searchedHash, transactions.get(transactions.size() - 1).getHash());
+    assertNotNull(transactionsPage.getNextCursor());
+
+    transactionsPage = walletTransactionService.getTransactionsPage(WALLET_ADDRESS_1,
+                                                                    null,
+                                                                    null,
+                                                                    searchedHash,
+                                                                    transactionsPage.getNextCursor(),
+                                                                    2,
+                                                                    false,
+                                                                    false,
+                                                                    CURRENT_USER);
+    assertEquals(1, transactionsPage.getTransactions().size());
+    assertEquals(hashes.get(0), transactionsPage.getTransactions().get(0).getHash());
+    assertNull(transactionsPage.getNextCursor());
+  }
+
   @Test
   public void testCountContractPendingTransactionsToSend() {
     WalletTransactionService walletTransactionService = getService(WalletTransactionService.class);
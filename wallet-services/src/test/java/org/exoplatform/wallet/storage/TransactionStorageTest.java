@@ -21,14 +21,20 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
-import java.time.ZonedDateTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.junit.Test;
 
+import org.exoplatform.wallet.dao.WalletBlockchainStateDAO;
 import org.exoplatform.wallet.entity.TransactionEntity;
+import org.exoplatform.wallet.model.Wallet;
+import org.exoplatform.wallet.model.transaction.TransactionDailyAmount;
 import org.exoplatform.wallet.model.transaction.TransactionDetail;
+import org.exoplatform.wallet.service.WalletAccountService;
 import org.exoplatform.wallet.test.BaseWalletTest;
 import org.exoplatform.wallet.utils.WalletUtils;
 
@@ -394,55 +400,231 @@ public class TransactionStorageTest extends BaseWalletTest {
   }
 
   /**
-   * Test count received contract amounts
+   * Test saving a list of new and existing transactions at once
+   */
+  @Test
+  public void testSaveTransactionDetails() {
+    TransactionDetail existingTransactionDetail = createTransactionDetail(null,
+                                                                          null,
+                                                                          0,
+                                                                          0,
+                                                                          "from",
+                                                                          "to",
+                                                                          "by",
+                                                                          0,
+                                                                          "label",
+                                                                          "message",
+                                                                          false,
+                                                                          true,
+                                                                          false,
+                                                                          null,
+                                                                          0);
+    existingTransactionDetail.setLabel("updatedLabel");
+
+    List<TransactionDetail> transactionDetails = new ArrayList<>();
+    transactionDetails.add(existingTransactionDetail);
+    for (int i = 0; i < 3; i++) {
+      TransactionDetail transactionDetail = new TransactionDetail();
+      transactionDetail.setNetworkId(NETWORK_ID);
+      transactionDetail.setHash(generateTransactionHash());
+      transactionDetail.setFrom("from");
+      transactionDetail.setTo("to" + i);
+      transactionDetail.setContractAmount(i + 1d);
+      transactionDetail.setPending(true);
+      transactionDetail.setRawTransaction("rawTransaction" + i);
+      transactionDetail.setNonce(NONCE + i);
+      transactionDetails.add(transactionDetail);
+    }
+
+    TransactionStorage transactionStorage = getService(TransactionStorage.class);
+    transactionStorage.saveTransactionDetails(transactionDetails);
+    entitiesToClean.addAll(transactionDetails.subList(1, transactionDetails.size()));
+
+    assertEquals(existingTransactionDetail.getId(), transactionDetails.get(0).getId());
+    assertEquals("updatedLabel", transactionStorage.getTransactionByHash(existingTransactionDetail.getHash()).getLabel());
+    for (int i = 1; i < transactionDetails.size(); i++) {
+      TransactionDetail transactionDetail = transactionDetails.get(i);
+      assertTrue(transactionDetail.getId() > 0);
+      assertTrue(transactionDetail.getTimestamp() > 0);
+      TransactionDetail savedTransactionDetail = transactionStorage.getTransactionByHash(transactionDetail.getHash());
+      assertNotNull(savedTransactionDetail);
+      assertEquals(transactionDetail.getId(), savedTransactionDetail.getId());
+      assertEquals(transactionDetail.getNonce(), savedTransactionDetail.getNonce());
+    }
+  }
+
+  /**
+   * Test that daily rollups are updated once when a transfer is mined
    */
   @Test
-  public void testCountReceivedContractAmount() {
-    String contractAddress = "contractAddress";
-    String address = "address";
-    String contractMethodName = "reward";
+  public void testSaveMinedTransactionUpdatesDailyRollups() {
+    String contractAddress = "0xeeefec7864af9e581a85ce3987d026be0f509bbb";
+    TransactionDetail transactionDetail = createTransactionDetail(null,
+                                                                  "transfer",
+                                                                  5,
+                                                                  0,
+                                                                  "from",
+                                                                  "to",
+                                                                  null,
+                                                                  0,
+                                                                  "label",
+                                                                  "message",
+                                                                  false, // isSuccess
+                                                                  true, // isPending
+                                                                  false, // isAdminOperation
+                                                                  null,
+                                                                  0);
+    TransactionStorage transactionStorage = getService(TransactionStorage.class);
+    transactionDetail.setContractAddress(contractAddress);
+    transactionStorage.saveTransactionDetail(transactionDetail);
 
-    // Make sure that creation time is one second before period of selected
-    // period of time
-    generateTransactions(address, contractAddress, contractMethodName, -1000);
+    LocalDate today = LocalDate.now();
+    LocalDate tomorrow = today.plusDays(1);
+    assertTrue("Pending transaction shouldn't be counted",
+               transactionStorage.getDailyContractAmounts(contractAddress, "to", today, tomorrow).isEmpty());
 
-    ZonedDateTime start = ZonedDateTime.now();
-    generateTransactions(address, contractAddress, contractMethodName);
-    ZonedDateTime end = ZonedDateTime.now().plusSeconds(1);
+    transactionDetail.setPending(false);
+    transactionDetail.setSucceeded(true);
+    transactionStorage.saveTransactionDetail(transactionDetail);
+    // Saving again a mined transaction mustn't count it twice
+    transactionStorage.saveTransactionDetail(transactionDetail);
 
-    // Make sure that creation time is one second after period of selected
-    // period of time
-    generateTransactions(address, contractAddress, contractMethodName, 3000);
+    List<TransactionDailyAmount> receiverAmounts = transactionStorage.getDailyContractAmounts(contractAddress,
+                                                                                               "to",
+                                                                                               today,
+                                                                                               tomorrow);
+    assertEquals(1, receiverAmounts.size());
+    assertEquals(today, receiverAmounts.get(0).getDay());
+    assertEquals(5, receiverAmounts.get(0).getIncome(), 0);
+    assertEquals(0, receiverAmounts.get(0).getOutcome(), 0);
+
+    List<TransactionDailyAmount> senderAmounts = transactionStorage.getDailyContractAmounts(contractAddress,
+                                                                                             "from",
+                                                                                             today,
+                                                                                             tomorrow);
+    assertEquals(1, senderAmounts.size());
+    assertEquals(0, senderAmounts.get(0).getIncome(), 0);
+    assertEquals(5, senderAmounts.get(0).getOutcome(), 0);
+  }
 
+  /**
+   * Test that daily rollups are updated once when a transfer is mined and
+   * saved many times in bulk
+   */
+  @Test
+  public void testSaveMinedTransactionsUpdatesDailyRollupsOnce() {
+    String contractAddress = "0xeeefec7864af9e581a85ce3987d026be0f509ccc";
+    TransactionDetail transactionDetail = createTransactionDetail(null,
+                                                                  "transfer",
+                                                                  3,
+                                                                  0,
+                                                                  "from",
+                                                                  "to",
+                                                                  null,
+                                                                  0,
+                                                                  "label",
+                                                                  "message",
+                                                                  false, // isSuccess
+                                                                  true, // isPending
+                                                                  false, // isAdminOperation
+                                                                  null,
+                                                                  0);
     TransactionStorage transactionStorage = getService(TransactionStorage.class);
-    double receivedAmount = transactionStorage.countReceivedContractAmount(contractAddress, address, start, end);
-    assertEquals("Received amount isn't coherent", 10, receivedAmount, 0);
+    transactionDetail.setContractAddress(contractAddress);
+    transactionStorage.saveTransactionDetail(transactionDetail);
+
+    transactionDetail.setPending(false);
+    transactionDetail.setSucceeded(true);
+    transactionStorage.saveTransactionDetails(Collections.singletonList(transactionDetail));
+    // Saving again a mined transaction mustn't count it twice
+    transactionStorage.saveTransactionDetails(Collections.singletonList(transactionDetail));
+    transactionStorage.saveTransactionDetail(transactionDetail);
+
+    LocalDate today = LocalDate.now();
+    List<TransactionDailyAmount> receiverAmounts = transactionStorage.getDailyContractAmounts(contractAddress,
+                                                                                               "to",
+                                                                                               today,
+                                                                                               today.plusDays(1));
+    assertEquals(1, receiverAmounts.size());
+    assertEquals(3, receiverAmounts.get(0).getIncome(), 0);
   }
 
   /**
-   * Test count sent contract amounts
+   * Test that stored token balances of wallets are updated once when a
+   * transfer is mined
    */
   @Test
-  public void testCountSentContractAmount() {
-    String contractAddress = "contractAddress";
-    String address = "address";
-    String contractMethodName = "transfer";
+  public void testSaveMinedTransactionUpdatesTokenBalances() {
+    String contractAddress = WalletUtils.getContractAddress();
+    addCurrentUserWallet();
+    WalletAccountService walletAccountService = getService(WalletAccountService.class);
+    Wallet wallet = newWallet();
+    wallet.setEtherBalance(1d);
+    wallet.setTokenBalance(20d);
+    walletAccountService.saveWalletBlockchainState(wallet, contractAddress);
+
+    TransactionDetail transactionDetail = createTransactionDetail(null,
+                                                                  "transfer",
+                                                                  5,
+                                                                  0,
+                                                                  WALLET_ADDRESS_1,
+                                                                  WALLET_ADDRESS_2,
+                                                                  null,
+                                                                  0,
+                                                                  "label",
+                                                                  "message",
+                                                                  false, // isSuccess
+                                                                  true, // isPending
+                                                                  false, // isAdminOperation
+                                                                  null,
+                                                                  0);
+    WalletBlockchainStateDAO walletBlockchainStateDAO = getService(WalletBlockchainStateDAO.class);
+    restartTransaction();
+    assertEquals("Pending transaction shouldn't be counted",
+                 20,
+                 walletBlockchainStateDAO.findByWalletIdAndContract(CURRENT_USER_IDENTITY_ID, contractAddress)
+                                         .getTokenBalance(),
+                 0);
 
-    // Make sure that creation time is one second before period of selected
-    // period of time
-    generateTransactions(address, contractAddress, contractMethodName, -1000);
+    TransactionStorage transactionStorage = getService(TransactionStorage.class);
+    transactionDetail.setPending(false);
+    transactionDetail.setSucceeded(true);
+    transactionStorage.saveTransactionDetail(transactionDetail);
+    // Saving again a mined transaction mustn't count it twice
+    transactionStorage.saveTransactionDetail(transactionDetail);
 
-    ZonedDateTime start = ZonedDateTime.now();
-    generateTransactions(address, contractAddress, contractMethodName);
-    ZonedDateTime end = ZonedDateTime.now().plusSeconds(1);
+    restartTransaction();
+    assertEquals(15,
+                 walletBlockchainStateDAO.findByWalletIdAndContract(CURRENT_USER_IDENTITY_ID, contractAddress)
+                                         .getTokenBalance(),
+                 0);
+  }
 
-    // Make sure that creation time is one second after period of selected
-    // period of time
-    generateTransactions(address, contractAddress, contractMethodName, 3000);
+  /**
+   * Test rebuilding daily rollups from stored transactions
+   */
+  @Test
+  public void testRebuildDailyRollups() {
+    String address = "0xeaaaec7864af9e581a85ce3987d026be0f509aaa";
+    // Mined transactions are generated on this contract address
+    String contractAddress = "0xeeefec7864af9e581a85ce3987d026be0f509aaa";
+    generateTransactions(address, "contractAddress", "reward");
 
     TransactionStorage transactionStorage = getService(TransactionStorage.class);
-    double sentAmount = transactionStorage.countSentContractAmount(contractAddress, address, start, end);
-    assertEquals("Sent amount isn't coherent", 10, sentAmount, 0);
+    LocalDate today = LocalDate.now();
+    assertEquals(today, transactionStorage.getFirstContractTransactionDay(contractAddress));
+
+    transactionStorage.rebuildDailyRollups(contractAddress, today);
+    // Rebuilding twice must give the same result
+    transactionStorage.rebuildDailyRollups(contractAddress, today);
+
+    List<TransactionDailyAmount> dailyAmounts = transactionStorage.getDailyContractAmounts(contractAddress,
+                                                                                            address,
+                                                                                            today.minusDays(1),
+                                                                                            today.plusDays(1));
+    assertEquals(1, dailyAmounts.size());
+    assertEquals(10, dailyAmounts.get(0).getIncome(), 0);
+    assertEquals(10, dailyAmounts.get(0).getOutcome(), 0);
   }
 
 }
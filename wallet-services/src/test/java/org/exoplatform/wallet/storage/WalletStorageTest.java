@@ -23,7 +23,11 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Test;
 
@@ -148,6 +152,35 @@ public class WalletStorageTest extends BaseWalletTest {
     assertNull("Shouldn't find wallet with not recognized address", wallet);
   }
 
+  /**
+   * Check wallet storage: retrieve many wallets by addresses at once
+   */
+  @Test
+  public void testGetWalletsByAddresses() {
+    WalletStorage walletStorage = getService(WalletStorage.class);
+
+    Wallet wallet = newWallet();
+    wallet = walletStorage.saveWallet(wallet, true);
+    assertNotNull(wallet);
+    this.entitiesToClean.add(wallet);
+
+    Map<String, Wallet> wallets = walletStorage.getWalletsByAddresses(Arrays.asList(WALLET_ADDRESS_1, "new-address", null),
+                                                                      null);
+    assertEquals(1, wallets.size());
+    assertNull("Shouldn't find wallet with not recognized address", wallets.get("new-address"));
+    checkWalletContent(wallets.get(WALLET_ADDRESS_1.toLowerCase()),
+                       CURRENT_USER_IDENTITY_ID,
+                       WALLET_ADDRESS_1,
+                       PHRASE,
+                       INITIALIZATION_STATE,
+                       IS_ENABLED);
+
+    // Retrieve again from cache
+    wallets = walletStorage.getWalletsByAddresses(Arrays.asList(WALLET_ADDRESS_1.toUpperCase()), null);
+    assertEquals(1, wallets.size());
+    assertEquals(wallet.getTechnicalId(), wallets.get(WALLET_ADDRESS_1.toLowerCase()).getTechnicalId());
+  }
+
   /**
    * Check wallet storage: retrieve by id
    */
@@ -195,6 +228,44 @@ public class WalletStorageTest extends BaseWalletTest {
     checkWalletContent(wallet, CURRENT_USER_IDENTITY_ID, WALLET_ADDRESS_1, PHRASE, INITIALIZATION_STATE, IS_ENABLED);
   }
 
+  /**
+   * Check wallet storage: list wallets with their blockchain state
+   */
+  @Test
+  public void testListWalletsWithBlockchainState() {
+    WalletStorage walletStorage = getService(WalletStorage.class);
+    String contractAddress = WalletUtils.getContractAddress();
+
+    Wallet wallet = newWallet();
+    wallet = walletStorage.saveWallet(wallet, true);
+    assertNotNull(wallet);
+    this.entitiesToClean.add(wallet);
+
+    Set<Wallet> listWallets = walletStorage.listWallets(contractAddress);
+    assertEquals(1, listWallets.size());
+    Wallet listedWallet = listWallets.iterator().next();
+    checkWalletContent(listedWallet, CURRENT_USER_IDENTITY_ID, WALLET_ADDRESS_1, PHRASE, INITIALIZATION_STATE, IS_ENABLED);
+    assertNull("Wallet without stored blockchain state shouldn't have balances", listedWallet.getTokenBalance());
+
+    wallet.setTokenBalance(2d);
+    wallet.setEtherBalance(4d);
+    wallet.setIsInitialized(true);
+    walletStorage.saveWalletBlockchainState(wallet, contractAddress);
+
+    try (Stream<Wallet> walletsStream = walletStorage.streamWallets(contractAddress)) {
+      listWallets = walletsStream.collect(Collectors.toSet());
+    }
+    assertEquals(1, listWallets.size());
+    listedWallet = listWallets.iterator().next();
+    assertEquals(2d, listedWallet.getTokenBalance(), 0);
+    assertEquals(4d, listedWallet.getEtherBalance(), 0);
+    assertTrue(listedWallet.getIsInitialized());
+
+    listWallets = walletStorage.listWallets("0x" + contractAddress.hashCode());
+    assertEquals(1, listWallets.size());
+    assertNull("Blockchain state of other contracts shouldn't be used", listWallets.iterator().next().getTokenBalance());
+  }
+
   /**
    * Check wallet private key storage: save
    */
@@ -354,6 +425,45 @@ public class WalletStorageTest extends BaseWalletTest {
     this.entitiesToClean.add(storedWallet);
   }
 
+  /**
+   * Check wallet ether balance storage without changing the stored token
+   * balance {@link WalletStorage#saveWalletEtherBalance(Wallet, String)}
+   */
+  @Test
+  public void testSaveWalletEtherBalance() {
+    WalletStorage walletStorage = getService(WalletStorage.class);
+
+    String contractAddress = WalletUtils.getContractAddress();
+
+    Wallet wallet = newWallet();
+    wallet = walletStorage.saveWallet(wallet, true);
+    this.entitiesToClean.add(wallet);
+
+    try {
+      walletStorage.saveWalletEtherBalance(wallet, null);
+      fail("should throw exception when contract address is null");
+    } catch (IllegalArgumentException e) {
+      // Expected
+    }
+
+    wallet.setTokenBalance(2d);
+    wallet.setEtherBalance(4d);
+    wallet.setIsInitialized(false);
+    walletStorage.saveWalletBlockchainState(wallet, contractAddress);
+
+    // Token balance changed meanwhile by a mined transfer
+    wallet.setTokenBalance(1d);
+    wallet.setEtherBalance(5d);
+    wallet.setIsInitialized(true);
+    walletStorage.saveWalletEtherBalance(wallet, contractAddress);
+
+    Wallet storedWallet = walletStorage.getWalletByIdentityId(wallet.getTechnicalId(), contractAddress);
+    walletStorage.retrieveWalletBlockchainState(storedWallet, contractAddress);
+    assertEquals(5d, storedWallet.getEtherBalance(), 0);
+    assertEquals(2d, storedWallet.getTokenBalance(), 0);
+    assertTrue(storedWallet.getIsInitialized());
+  }
+
   /**
    * Checks whether identity has a wallet or not
    */
@@ -55,6 +55,7 @@ import org.exoplatform.wallet.dao.WalletAccountDAO;
 import org.exoplatform.wallet.dao.WalletBlockchainStateDAO;
 import org.exoplatform.wallet.dao.WalletPrivateKeyDAO;
 import org.exoplatform.wallet.dao.WalletTransactionDAO;
+import org.exoplatform.wallet.dao.WalletTransactionDailyRollupDAO;
 import org.exoplatform.wallet.entity.AddressLabelEntity;
 import org.exoplatform.wallet.entity.TransactionEntity;
 import org.exoplatform.wallet.entity.WalletBackupEntity;
@@ -185,11 +186,13 @@ public abstract class BaseWalletTest extends AbstractKernelTest {
     WalletPrivateKeyDAO walletPrivateKeyDAO = getService(WalletPrivateKeyDAO.class);
     WalletBlockchainStateDAO walletBlockchainStateDAO = getService(WalletBlockchainStateDAO.class);
     WalletTransactionDAO walletTransactionDAO = getService(WalletTransactionDAO.class);
+    WalletTransactionDailyRollupDAO walletTransactionDailyRollupDAO = getService(WalletTransactionDailyRollupDAO.class);
 
     LOG.info("Cleaning {} objects after test finished", entitiesToClean.size());
 
     restartTransaction();
     walletBlockchainStateDAO.deleteAll();
+    walletTransactionDailyRollupDAO.deleteAll();
     restartTransaction();
 
     if (!entitiesToClean.isEmpty()) {
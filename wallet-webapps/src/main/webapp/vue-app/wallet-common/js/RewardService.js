@@ -92,6 +92,8 @@ export function sendRewards(date) {
         // Ignore exception, not parsable to JSON
       }
       throw new Error('Error sending rewards');
+    } else if (resp.status === 200) {
+      return resp.json();
     }
   });
 }
@@ -34,6 +34,16 @@ export function loadTransactions(account, contractDetails, transactions, onlyPen
     });
 }
 
+export function loadTransactionsPage(account, contractDetails, transactions, cursor, pageSize, filterObject, isAdministration) {
+  return getStoredTransactionsPage(account, contractDetails && contractDetails.isContract && contractDetails.address, pageSize || 10, cursor, filterObject, false, isAdministration)
+    .then((transactionsPage) => {
+      transactionsPage.transactions.forEach((storedTransaction) => {
+        loadTransactionDetailsAndWatchPending(account, contractDetails, transactions, storedTransaction);
+      });
+      return transactionsPage;
+    });
+}
+
 export function refreshTransactionDetail(hash) {
   return fetch(`/portal/rest/wallet/api/transaction/refreshTransactionFromBlockchain?hash=${hash}`, {
     method: 'GET',
@@ -99,6 +109,29 @@ export function getStoredTransactions(account, contractAddress, limit, filterObj
     });
 }
 
+export function getStoredTransactionsPage(account, contractAddress, limit, cursor, filterObject, onlyPending, isAdministration) {
+  const transactionHashToSearch = filterObject && filterObject.hash;
+  const transactionContractMethodName = filterObject && filterObject.contractMethodName;
+
+  return fetch(`/portal/rest/wallet/api/transaction/getTransactionsPage?address=${account || ''}&contractAddress=${contractAddress || ''}&contractMethodName=${transactionContractMethodName || ''}&limit=${limit}&cursor=${encodeURIComponent(cursor || '')}&hash=${transactionHashToSearch || ''}&pending=${onlyPending || false}&administration=${isAdministration || false}`, {credentials: 'include'})
+    .then((resp) => {
+      if (resp && resp.ok) {
+        return resp.json();
+      } else {
+        return null;
+      }
+    })
+    .then((transactionsPage) => {
+      return {
+        transactions: (transactionsPage && transactionsPage.transactions) || [],
+        nextCursor: transactionsPage && transactionsPage.nextCursor,
+      };
+    })
+    .catch((error) => {
+      throw new Error('Error retrieving transactions list', error);
+    });
+}
+
 export function getNonce(from) {
   return fetch(`/portal/rest/wallet/api/transaction/getNonce?from=${from}`, {credentials: 'include'}).then((resp) => {
     if (resp && resp.ok) {